@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.aggregate;
+
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.ValueVector;
+
+/**
+ * The state of an aggregation over the non-null values of a vector.
+ * Partial states computed over consecutive ranges of a vector can be merged.
+ * @param <T> the type of the state.
+ */
+public abstract class BaseAggregate<T extends BaseAggregate<T>> {
+
+  /**
+   * The number of values aggregated.
+   */
+  protected long count;
+
+  /**
+   * Gets the number of non-null values aggregated.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Checks if no value was aggregated, in which case the other results are undefined.
+   */
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  protected void checkNotEmpty() {
+    Preconditions.checkState(count != 0, "No value was aggregated");
+  }
+
+  /**
+   * Gets the memory address of the validity buffer of a vector, to aggregate its values with
+   * {@link #update(long, int, int)}. The validity buffer is materialized if needed, so this must be
+   * called once, before the vector is shared by multiple threads.
+   * @param vector the vector.
+   * @return the address of the validity buffer, or 0 if the vector has no null value.
+   */
+  static long getValidityAddress(ValueVector vector) {
+    return vector.getNullCount() == 0 ? 0 : BitVectorHelper.getValidityBitmap(vector).memoryAddress();
+  }
+
+  /**
+   * Aggregates the non-null values of a range of a vector. The validity buffer is read 64 bits at
+   * a time, so that blocks with only null values are skipped, and blocks without null values are
+   * aggregated in a tight loop.
+   * @param validityAddress the address of the validity buffer of the vector, as returned by
+   *     {@link #getValidityAddress(ValueVector)}.
+   * @param startIndex the index of the first value to aggregate.
+   * @param endIndex the index after the last value to aggregate.
+   */
+  void update(long validityAddress, int startIndex, int endIndex) {
+    if (validityAddress == 0) {
+      if (startIndex < endIndex) {
+        accumulateRange(startIndex, endIndex);
+      }
+      return;
+    }
+    for (int blockStart = startIndex; blockStart < endIndex; blockStart += 64) {
+      final int blockLength = Math.min(64, endIndex - blockStart);
+      long bits = BitVectorHelper.getBits(validityAddress, blockStart, blockLength);
+      if (bits == 0) {
+        continue;
+      }
+      if (blockLength == 64 && bits == -1L) {
+        accumulateRange(blockStart, blockStart + 64);
+        continue;
+      }
+      while (bits != 0) {
+        accumulate(blockStart + Long.numberOfTrailingZeros(bits));
+        bits &= bits - 1;
+      }
+    }
+  }
+
+  /**
+   * Aggregates a range of values, none of them being null.
+   */
+  abstract void accumulateRange(int startIndex, int endIndex);
+
+  /**
+   * Aggregates a non-null value.
+   */
+  abstract void accumulate(int index);
+
+  /**
+   * Merges the state of the values following the values of this state.
+   * @param next the state of the following values.
+   */
+  public abstract void merge(T next);
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.aggregate;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+import org.apache.arrow.vector.DecimalVector;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * The state of an aggregation over decimal values. The values are aggregated as 128 bit
+ * integers, and the sum is kept on 192 bits so that it cannot overflow. Big decimals are only
+ * created by the getters.
+ */
+public final class DecimalAggregate extends BaseAggregate<DecimalAggregate> {
+
+  private static final BigInteger TWO_TO_64 = BigInteger.ONE.shiftLeft(64);
+
+  private final long address;
+
+  private final int scale;
+
+  private long sumLow;
+
+  private long sumMiddle;
+
+  private long sumHigh;
+
+  private long minLow = -1L;
+
+  private long minHigh = Long.MAX_VALUE;
+
+  private long maxLow = 0;
+
+  private long maxHigh = Long.MIN_VALUE;
+
+  private long firstLow;
+
+  private long firstHigh;
+
+  private long lastLow;
+
+  private long lastHigh;
+
+  DecimalAggregate(DecimalVector vector) {
+    this.address = vector.getDataBuffer().memoryAddress();
+    this.scale = vector.getScale();
+  }
+
+  /**
+   * Gets the sum of the values, with the scale of the vector.
+   */
+  public BigDecimal getSum() {
+    final BigInteger unscaled = BigInteger.valueOf(sumHigh).shiftLeft(128)
+        .add(toUnsigned(sumMiddle).shiftLeft(64)).add(toUnsigned(sumLow));
+    return new BigDecimal(unscaled, scale);
+  }
+
+  /**
+   * Gets the smallest value.
+   */
+  public BigDecimal getMin() {
+    checkNotEmpty();
+    return toBigDecimal(minHigh, minLow);
+  }
+
+  /**
+   * Gets the largest value.
+   */
+  public BigDecimal getMax() {
+    checkNotEmpty();
+    return toBigDecimal(maxHigh, maxLow);
+  }
+
+  /**
+   * Gets the mean of the values, rounded to 34 digits.
+   */
+  public BigDecimal getMean() {
+    checkNotEmpty();
+    return getSum().divide(BigDecimal.valueOf(count), MathContext.DECIMAL128);
+  }
+
+  /**
+   * Gets the first non-null value.
+   */
+  public BigDecimal getFirst() {
+    checkNotEmpty();
+    return toBigDecimal(firstHigh, firstLow);
+  }
+
+  /**
+   * Gets the last non-null value.
+   */
+  public BigDecimal getLast() {
+    checkNotEmpty();
+    return toBigDecimal(lastHigh, lastLow);
+  }
+
+  private BigDecimal toBigDecimal(long high, long low) {
+    return new BigDecimal(BigInteger.valueOf(high).shiftLeft(64).add(toUnsigned(low)), scale);
+  }
+
+  private static BigInteger toUnsigned(long value) {
+    final BigInteger result = BigInteger.valueOf(value);
+    return value >= 0 ? result : result.add(TWO_TO_64);
+  }
+
+  @Override
+  void accumulateRange(int startIndex, int endIndex) {
+    for (int i = startIndex; i < endIndex; i++) {
+      accumulate(i);
+    }
+  }
+
+  @Override
+  void accumulate(int index) {
+    // the values are stored in little endian order.
+    final long offset = address + (long) index * DecimalVector.TYPE_WIDTH;
+    final long low = PlatformDependent.getLong(offset);
+    final long high = PlatformDependent.getLong(offset + 8);
+    if (count == 0) {
+      firstLow = low;
+      firstHigh = high;
+    }
+    add(low, high, high >> 63);
+    if (high < minHigh || (high == minHigh && Long.compareUnsigned(low, minLow) < 0)) {
+      minLow = low;
+      minHigh = high;
+    }
+    if (high > maxHigh || (high == maxHigh && Long.compareUnsigned(low, maxLow) > 0)) {
+      maxLow = low;
+      maxHigh = high;
+    }
+    lastLow = low;
+    lastHigh = high;
+    count++;
+  }
+
+  /**
+   * Adds a 192 bit integer to the sum.
+   */
+  private void add(long low, long middle, long high) {
+    final long newLow = sumLow + low;
+    final long lowCarry = Long.compareUnsigned(newLow, low) < 0 ? 1 : 0;
+    final long partialMiddle = sumMiddle + middle;
+    long middleCarry = Long.compareUnsigned(partialMiddle, middle) < 0 ? 1 : 0;
+    final long newMiddle = partialMiddle + lowCarry;
+    if (lowCarry != 0 && newMiddle == 0) {
+      middleCarry++;
+    }
+    sumLow = newLow;
+    sumMiddle = newMiddle;
+    sumHigh += high + middleCarry;
+  }
+
+  @Override
+  public void merge(DecimalAggregate next) {
+    if (next.count == 0) {
+      return;
+    }
+    if (count == 0) {
+      firstLow = next.firstLow;
+      firstHigh = next.firstHigh;
+    }
+    add(next.sumLow, next.sumMiddle, next.sumHigh);
+    if (next.minHigh < minHigh || (next.minHigh == minHigh && Long.compareUnsigned(next.minLow, minLow) < 0)) {
+      minLow = next.minLow;
+      minHigh = next.minHigh;
+    }
+    if (next.maxHigh > maxHigh || (next.maxHigh == maxHigh && Long.compareUnsigned(next.maxLow, maxLow) > 0)) {
+      maxLow = next.maxLow;
+      maxHigh = next.maxHigh;
+    }
+    lastLow = next.lastLow;
+    lastHigh = next.lastHigh;
+    count += next.count;
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.aggregate;
+
+import org.apache.arrow.vector.BaseFixedWidthVector;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * The state of an aggregation over floating point values. As with {@link Math#min(double, double)},
+ * the minimum and maximum are NaN if any value is NaN.
+ */
+public final class DoubleAggregate extends BaseAggregate<DoubleAggregate> {
+
+  private final long address;
+
+  private final boolean singlePrecision;
+
+  private double sum;
+
+  private double min = Double.POSITIVE_INFINITY;
+
+  private double max = Double.NEGATIVE_INFINITY;
+
+  private double first;
+
+  private double last;
+
+  DoubleAggregate(BaseFixedWidthVector vector) {
+    this.address = vector.getDataBuffer().memoryAddress();
+    this.singlePrecision = vector.getTypeWidth() == 4;
+  }
+
+  /**
+   * Gets the sum of the values.
+   */
+  public double getSum() {
+    return sum;
+  }
+
+  /**
+   * Gets the smallest value.
+   */
+  public double getMin() {
+    checkNotEmpty();
+    return min;
+  }
+
+  /**
+   * Gets the largest value.
+   */
+  public double getMax() {
+    checkNotEmpty();
+    return max;
+  }
+
+  /**
+   * Gets the mean of the values.
+   */
+  public double getMean() {
+    checkNotEmpty();
+    return sum / count;
+  }
+
+  /**
+   * Gets the first non-null value.
+   */
+  public double getFirst() {
+    checkNotEmpty();
+    return first;
+  }
+
+  /**
+   * Gets the last non-null value.
+   */
+  public double getLast() {
+    checkNotEmpty();
+    return last;
+  }
+
+  private double get(int index) {
+    return singlePrecision ? Float.intBitsToFloat(PlatformDependent.getInt(address + ((long) index << 2))) :
+        Double.longBitsToDouble(PlatformDependent.getLong(address + ((long) index << 3)));
+  }
+
+  @Override
+  void accumulateRange(int startIndex, int endIndex) {
+    if (count == 0) {
+      first = get(startIndex);
+    }
+    double sum = this.sum;
+    double min = this.min;
+    double max = this.max;
+    if (singlePrecision) {
+      for (int i = startIndex; i < endIndex; i++) {
+        final double value = Float.intBitsToFloat(PlatformDependent.getInt(address + ((long) i << 2)));
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+      }
+    } else {
+      for (int i = startIndex; i < endIndex; i++) {
+        final double value = Double.longBitsToDouble(PlatformDependent.getLong(address + ((long) i << 3)));
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+      }
+    }
+    this.sum = sum;
+    this.min = min;
+    this.max = max;
+    last = get(endIndex - 1);
+    count += endIndex - startIndex;
+  }
+
+  @Override
+  void accumulate(int index) {
+    final double value = get(index);
+    if (count == 0) {
+      first = value;
+    }
+    sum += value;
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+    last = value;
+    count++;
+  }
+
+  @Override
+  public void merge(DoubleAggregate next) {
+    if (next.count == 0) {
+      return;
+    }
+    if (count == 0) {
+      first = next.first;
+    }
+    sum += next.sum;
+    min = Math.min(min, next.min);
+    max = Math.max(max, next.max);
+    last = next.last;
+    count += next.count;
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.aggregate;
+
+import org.apache.arrow.vector.BaseFixedWidthVector;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * The state of an aggregation over integer or temporal values, which are stored as integers of
+ * 1, 2, 4 or 8 bytes. Temporal values are aggregated in the unit of their vector.
+ * The sum wraps around on overflow, like long arithmetic.
+ */
+public final class LongAggregate extends BaseAggregate<LongAggregate> {
+
+  private final long address;
+
+  private final int typeWidth;
+
+  /**
+   * Clears the bits of the sign extension of unsigned values narrower than 8 bytes.
+   */
+  private final long valueMask;
+
+  /**
+   * Flips the sign bit of unsigned 8 byte values, so that they compare as signed longs.
+   */
+  private final long compareBias;
+
+  private long sum;
+
+  private long biasedMin = Long.MAX_VALUE;
+
+  private long biasedMax = Long.MIN_VALUE;
+
+  private long first;
+
+  private long last;
+
+  LongAggregate(BaseFixedWidthVector vector, boolean unsigned) {
+    this.address = vector.getDataBuffer().memoryAddress();
+    this.typeWidth = vector.getTypeWidth();
+    this.valueMask = unsigned && typeWidth < 8 ? (1L << (typeWidth * 8)) - 1 : -1L;
+    this.compareBias = unsigned && typeWidth == 8 ? Long.MIN_VALUE : 0;
+  }
+
+  /**
+   * Gets the sum of the values.
+   */
+  public long getSum() {
+    return sum;
+  }
+
+  /**
+   * Gets the smallest value. For unsigned 8 byte values, the result is to be read as unsigned.
+   */
+  public long getMin() {
+    checkNotEmpty();
+    return biasedMin ^ compareBias;
+  }
+
+  /**
+   * Gets the largest value. For unsigned 8 byte values, the result is to be read as unsigned.
+   */
+  public long getMax() {
+    checkNotEmpty();
+    return biasedMax ^ compareBias;
+  }
+
+  /**
+   * Gets the mean of the values.
+   */
+  public double getMean() {
+    checkNotEmpty();
+    if (compareBias != 0 && sum < 0) {
+      // the sum of unsigned 8 byte values exceeds Long.MAX_VALUE.
+      return ((sum >>> 1) * 2.0 + (sum & 1)) / count;
+    }
+    return (double) sum / count;
+  }
+
+  /**
+   * Gets the first non-null value.
+   */
+  public long getFirst() {
+    checkNotEmpty();
+    return first;
+  }
+
+  /**
+   * Gets the last non-null value.
+   */
+  public long getLast() {
+    checkNotEmpty();
+    return last;
+  }
+
+  private long get(int index) {
+    switch (typeWidth) {
+      case 8:
+        return PlatformDependent.getLong(address + ((long) index << 3));
+      case 4:
+        return PlatformDependent.getInt(address + ((long) index << 2)) & valueMask;
+      case 2:
+        return PlatformDependent.getShort(address + ((long) index << 1)) & valueMask;
+      default:
+        return PlatformDependent.getByte(address + index) & valueMask;
+    }
+  }
+
+  @Override
+  void accumulateRange(int startIndex, int endIndex) {
+    if (count == 0) {
+      first = get(startIndex);
+    }
+    long sum = this.sum;
+    long min = biasedMin;
+    long max = biasedMax;
+    // one loop per width, so that the loops are simple enough to be unrolled by the compiler.
+    switch (typeWidth) {
+      case 8:
+        for (int i = startIndex; i < endIndex; i++) {
+          final long value = PlatformDependent.getLong(address + ((long) i << 3));
+          sum += value;
+          min = Math.min(min, value ^ compareBias);
+          max = Math.max(max, value ^ compareBias);
+        }
+        break;
+      case 4:
+        for (int i = startIndex; i < endIndex; i++) {
+          final long value = PlatformDependent.getInt(address + ((long) i << 2)) & valueMask;
+          sum += value;
+          min = Math.min(min, value);
+          max = Math.max(max, value);
+        }
+        break;
+      case 2:
+        for (int i = startIndex; i < endIndex; i++) {
+          final long value = PlatformDependent.getShort(address + ((long) i << 1)) & valueMask;
+          sum += value;
+          min = Math.min(min, value);
+          max = Math.max(max, value);
+        }
+        break;
+      default:
+        for (int i = startIndex; i < endIndex; i++) {
+          final long value = PlatformDependent.getByte(address + i) & valueMask;
+          sum += value;
+          min = Math.min(min, value);
+          max = Math.max(max, value);
+        }
+        break;
+    }
+    this.sum = sum;
+    biasedMin = min;
+    biasedMax = max;
+    last = get(endIndex - 1);
+    count += endIndex - startIndex;
+  }
+
+  @Override
+  void accumulate(int index) {
+    final long value = get(index);
+    if (count == 0) {
+      first = value;
+    }
+    sum += value;
+    biasedMin = Math.min(biasedMin, value ^ compareBias);
+    biasedMax = Math.max(biasedMax, value ^ compareBias);
+    last = value;
+    count++;
+  }
+
+  @Override
+  public void merge(LongAggregate next) {
+    if (next.count == 0) {
+      return;
+    }
+    if (count == 0) {
+      first = next.first;
+    }
+    sum += next.sum;
+    biasedMin = Math.min(biasedMin, next.biasedMin);
+    biasedMax = Math.max(biasedMax, next.biasedMax);
+    last = next.last;
+    count += next.count;
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.aggregate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.IntervalUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+
+/**
+ * Computes the count, sum, minimum, maximum, mean, first and last of the non-null values of a vector.
+ * <ul>
+ *   <li>{@link #aggregateLong(BaseFixedWidthVector)} supports integer, date, time, timestamp,
+ *   duration and year-month interval vectors.</li>
+ *   <li>{@link #aggregateDouble(BaseFixedWidthVector)} supports floating point vectors.</li>
+ *   <li>{@link #aggregateDecimal(DecimalVector)} supports decimal vectors.</li>
+ * </ul>
+ * The multi-threaded variants split the vector into ranges aggregated by different threads,
+ * and merge their states in order.
+ */
+public final class VectorAggregator {
+
+  /**
+   * The ranges aggregated by different threads start at multiples of this value, so that
+   * their validity bits are read a word at a time.
+   */
+  private static final int RANGE_ALIGNMENT = 64;
+
+  private VectorAggregator() {
+  }
+
+  /**
+   * Aggregates the values of an integer or temporal vector.
+   * @param vector the vector to aggregate.
+   * @return the aggregation state.
+   */
+  public static LongAggregate aggregateLong(BaseFixedWidthVector vector) {
+    final LongAggregate aggregate = new LongAggregate(vector, isUnsigned(vector));
+    aggregate.update(BaseAggregate.getValidityAddress(vector), 0, vector.getValueCount());
+    return aggregate;
+  }
+
+  /**
+   * Aggregates the values of an integer or temporal vector by multiple threads.
+   * @param vector the vector to aggregate.
+   * @param threadPool the thread pool to use.
+   * @param numThreads the number of threads to use.
+   * @return the aggregation state.
+   * @throws ExecutionException if an exception occurs in a thread.
+   * @throws InterruptedException if a thread is interrupted.
+   */
+  public static LongAggregate aggregateLong(BaseFixedWidthVector vector, ExecutorService threadPool, int numThreads)
+      throws ExecutionException, InterruptedException {
+    final boolean unsigned = isUnsigned(vector);
+    return aggregate(vector, () -> new LongAggregate(vector, unsigned), threadPool, numThreads);
+  }
+
+  /**
+   * Aggregates the values of a floating point vector.
+   * @param vector the vector to aggregate.
+   * @return the aggregation state.
+   */
+  public static DoubleAggregate aggregateDouble(BaseFixedWidthVector vector) {
+    checkFloatingPoint(vector);
+    final DoubleAggregate aggregate = new DoubleAggregate(vector);
+    aggregate.update(BaseAggregate.getValidityAddress(vector), 0, vector.getValueCount());
+    return aggregate;
+  }
+
+  /**
+   * Aggregates the values of a floating point vector by multiple threads.
+   * @param vector the vector to aggregate.
+   * @param threadPool the thread pool to use.
+   * @param numThreads the number of threads to use.
+   * @return the aggregation state.
+   * @throws ExecutionException if an exception occurs in a thread.
+   * @throws InterruptedException if a thread is interrupted.
+   */
+  public static DoubleAggregate aggregateDouble(BaseFixedWidthVector vector, ExecutorService threadPool,
+      int numThreads) throws ExecutionException, InterruptedException {
+    checkFloatingPoint(vector);
+    return aggregate(vector, () -> new DoubleAggregate(vector), threadPool, numThreads);
+  }
+
+  /**
+   * Aggregates the values of a decimal vector.
+   * @param vector the vector to aggregate.
+   * @return the aggregation state.
+   */
+  public static DecimalAggregate aggregateDecimal(DecimalVector vector) {
+    final DecimalAggregate aggregate = new DecimalAggregate(vector);
+    aggregate.update(BaseAggregate.getValidityAddress(vector), 0, vector.getValueCount());
+    return aggregate;
+  }
+
+  /**
+   * Aggregates the values of a decimal vector by multiple threads.
+   * @param vector the vector to aggregate.
+   * @param threadPool the thread pool to use.
+   * @param numThreads the number of threads to use.
+   * @return the aggregation state.
+   * @throws ExecutionException if an exception occurs in a thread.
+   * @throws InterruptedException if a thread is interrupted.
+   */
+  public static DecimalAggregate aggregateDecimal(DecimalVector vector, ExecutorService threadPool, int numThreads)
+      throws ExecutionException, InterruptedException {
+    return aggregate(vector, () -> new DecimalAggregate(vector), threadPool, numThreads);
+  }
+
+  private static <T extends BaseAggregate<T>> T aggregate(ValueVector vector, Supplier<T> stateFactory,
+      ExecutorService threadPool, int numThreads) throws ExecutionException, InterruptedException {
+    Preconditions.checkArgument(numThreads > 0, "The number of threads must be positive");
+    final int valueCount = vector.getValueCount();
+    final long validityAddress = BaseAggregate.getValidityAddress(vector);
+    final List<CompletableFuture<T>> futures = new ArrayList<>(numThreads);
+    try {
+      for (int i = 0; i < numThreads; i++) {
+        // convert to long to avoid overflow
+        final long start = (long) valueCount * i / numThreads;
+        final long end = (long) valueCount * (i + 1) / numThreads;
+        final int rangeStart = (int) (start - start % RANGE_ALIGNMENT);
+        final int rangeEnd = i == numThreads - 1 ? valueCount : (int) (end - end % RANGE_ALIGNMENT);
+        futures.add(CompletableFuture.supplyAsync(() -> {
+          final T state = stateFactory.get();
+          state.update(validityAddress, rangeStart, rangeEnd);
+          return state;
+        }, threadPool));
+      }
+
+      final T result = futures.get(0).get();
+      for (int i = 1; i < numThreads; i++) {
+        result.merge(futures.get(i).get());
+      }
+      return result;
+    } catch (ExecutionException | InterruptedException | RuntimeException e) {
+      // wait for the remaining tasks, so that none of them still reads the vector.
+      for (CompletableFuture<T> future : futures) {
+        try {
+          future.join();
+        } catch (RuntimeException ignored) {
+          // already reported.
+        }
+      }
+      throw e;
+    }
+  }
+
+  private static boolean isUnsigned(BaseFixedWidthVector vector) {
+    final ArrowType type = vector.getField().getType();
+    switch (type.getTypeID()) {
+      case Int:
+        return !((ArrowType.Int) type).getIsSigned();
+      case Date:
+      case Time:
+      case Timestamp:
+      case Duration:
+        return false;
+      case Interval:
+        if (((ArrowType.Interval) type).getUnit() == IntervalUnit.YEAR_MONTH) {
+          return false;
+        }
+        break;
+      default:
+        break;
+    }
+    throw new IllegalArgumentException("Cannot aggregate the values of a " + type + " vector as integers");
+  }
+
+  private static void checkFloatingPoint(BaseFixedWidthVector vector) {
+    final ArrowType type = vector.getField().getType();
+    Preconditions.checkArgument(type instanceof ArrowType.FloatingPoint &&
+        ((ArrowType.FloatingPoint) type).getPrecision() != FloatingPointPrecision.HALF,
+        "Cannot aggregate the values of a %s vector as floating point values", type);
+  }
+}
@@ -18,8 +18,10 @@
 package org.apache.arrow.algorithm.deduplicate;
 
 import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.util.ByteFunctionHelpers;
 import org.apache.arrow.util.DataSizeRoundingUtil;
 import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BaseFixedWidthVector;
 import org.apache.arrow.vector.BitVectorHelper;
 import org.apache.arrow.vector.IntVector;
 import org.apache.arrow.vector.ValueVector;
@@ -42,7 +44,14 @@ class DeduplicationUtils {
     Preconditions.checkArgument(runStarts.capacity() >= bufSize);
     runStarts.setZero(0, bufSize);
 
+    if (vector.getValueCount() == 0) {
+      return;
+    }
     BitVectorHelper.setBit(runStarts, 0);
+    if (vector instanceof BaseFixedWidthVector && ((BaseFixedWidthVector) vector).getTypeWidth() > 0) {
+      populateFixedWidthRunStartIndicators((BaseFixedWidthVector) vector, runStarts);
+      return;
+    }
     RangeEqualsVisitor visitor = new RangeEqualsVisitor(vector, vector, null);
     Range range = new Range(0, 0, 1);
     for (int i = 1; i < vector.getValueCount(); i++) {
@@ -53,6 +62,45 @@ class DeduplicationUtils {
     }
   }
 
+  /**
+   * Compares adjacent values of a fixed width vector directly in its data buffer, instead of going
+   * through a range equals visitor for each element.
+   */
+  private static void populateFixedWidthRunStartIndicators(BaseFixedWidthVector vector, ArrowBuf runStarts) {
+    final ArrowBuf data = vector.getDataBuffer();
+    final int typeWidth = vector.getTypeWidth();
+    boolean prevNull = vector.isNull(0);
+    for (int i = 1; i < vector.getValueCount(); i++) {
+      final boolean curNull = vector.isNull(i);
+      final boolean equal;
+      if (curNull || prevNull) {
+        equal = curNull && prevNull;
+      } else {
+        final long offset = (long) i * typeWidth;
+        switch (typeWidth) {
+          case 1:
+            equal = data.getByte(offset) == data.getByte(offset - 1);
+            break;
+          case 2:
+            equal = data.getShort(offset) == data.getShort(offset - 2);
+            break;
+          case 4:
+            equal = data.getInt(offset) == data.getInt(offset - 4);
+            break;
+          case 8:
+            equal = data.getLong(offset) == data.getLong(offset - 8);
+            break;
+          default:
+            equal = ByteFunctionHelpers.equal(data, offset - typeWidth, offset, data, offset, offset + typeWidth) != 0;
+        }
+      }
+      if (!equal) {
+        BitVectorHelper.setBit(runStarts, i);
+      }
+      prevNull = curNull;
+    }
+  }
+
   /**
    * Gets the run lengths, given the start positions.
    * @param runStarts the bit set for start positions.
@@ -75,6 +123,26 @@ class DeduplicationUtils {
     runLengths.setValueCount(lengthIndex);
   }
 
+  /**
+   * Gets the run ends, i.e. the index following the last element of each run, given the start positions.
+   * @param runStarts the bit set for start positions.
+   * @param runEnds the run end vector to populate.
+   * @param valueCount the number of values in the bit set.
+   */
+  public static void populateRunEnds(ArrowBuf runStarts, IntVector runEnds, int valueCount) {
+    int endIndex = 0;
+    for (int i = 1; i < valueCount; i++) {
+      if (BitVectorHelper.get(runStarts, i) != 0) {
+        runEnds.setSafe(endIndex++, i);
+      }
+    }
+
+    if (valueCount > 0) {
+      runEnds.setSafe(endIndex++, valueCount);
+    }
+    runEnds.setValueCount(endIndex);
+  }
+
   /**
    * Gets distinct values from the input vector by removing adjacent
    * duplicated values.
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.deduplicate;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
+
+/**
+ * Converts vectors to and from the run-end encoding.
+ */
+public final class RunEndEncoder {
+
+  private RunEndEncoder() {
+  }
+
+  /**
+   * Run-end encode a vector: each run of adjacent equal values becomes a single value of the output.
+   * @param input the vector to encode.
+   * @param output the encoded vector, whose values vector has the type of the input.
+   *     Its previous content is cleared.
+   * @param allocator the allocator for the temporary buffers.
+   * @param <V> vector type.
+   */
+  public static <V extends ValueVector> void encode(V input, RunEndEncodedVector output, BufferAllocator allocator) {
+    Preconditions.checkArgument(input.getMinorType() == output.getValuesVector().getMinorType(),
+        "The values vector of the output must be of type %s, got %s",
+        input.getMinorType(), output.getValuesVector().getMinorType());
+    output.clear();
+    try (VectorRunDeduplicator<V> deduplicator = new VectorRunDeduplicator<>(input, allocator)) {
+      // the values vector has the minor type of the input, checked above.
+      @SuppressWarnings("unchecked")
+      final V values = (V) output.getValuesVector();
+      deduplicator.populateDeduplicatedValues(values);
+      deduplicator.populateRunEnds(output.getRunEndsVector());
+    }
+    output.setValueCount(input.getValueCount());
+  }
+
+  /**
+   * Decode a run-end encoded vector, repeating each value for the length of its run.
+   * @param input the encoded vector.
+   * @param output the decoded vector, of the type of the values vector of the input.
+   *     Its elements are overwritten, starting at index 0.
+   * @param <V> vector type.
+   */
+  public static <V extends ValueVector> void decode(RunEndEncodedVector input, V output) {
+    final FieldVector values = input.getValuesVector();
+    Preconditions.checkArgument(values.getMinorType() == output.getMinorType(),
+        "The output must be of type %s, got %s", values.getMinorType(), output.getMinorType());
+    final int valueCount = input.getValueCount();
+    final int runCount = input.getRunCount();
+
+    if (output instanceof BaseFixedWidthVector) {
+      // size the output once, so that the copies need no capacity check.
+      while (output.getValueCapacity() < valueCount) {
+        output.reAlloc();
+      }
+      int start = 0;
+      for (int run = 0; run < runCount; run++) {
+        final int end = input.getRunEnd(run);
+        for (int i = start; i < end; i++) {
+          output.copyFrom(run, i, values);
+        }
+        start = end;
+      }
+    } else {
+      int start = 0;
+      for (int run = 0; run < runCount; run++) {
+        final int end = input.getRunEnd(run);
+        for (int i = start; i < end; i++) {
+          output.copyFromSafe(run, i, values);
+        }
+        start = end;
+      }
+    }
+    output.setValueCount(valueCount);
+  }
+}
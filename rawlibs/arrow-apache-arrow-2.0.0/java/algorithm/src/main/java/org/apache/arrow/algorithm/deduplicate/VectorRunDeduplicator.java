@@ -98,6 +98,18 @@ public class VectorRunDeduplicator<V extends ValueVector> implements AutoCloseab
     DeduplicationUtils.populateRunLengths(distinctValueBuffer, lengthVector, vector.getValueCount());
   }
 
+  /**
+   * Gets the index following the last element of each distinct value.
+   * @param runEndVector the vector for holding run end values.
+   */
+  public void populateRunEnds(IntVector runEndVector) {
+    if (distinctValueBuffer == null) {
+      createDistinctValueBuffer();
+    }
+
+    DeduplicationUtils.populateRunEnds(distinctValueBuffer, runEndVector, vector.getValueCount());
+  }
+
   @Override
   public void close() {
     if (distinctValueBuffer != null) {
@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.selection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Utilities to keep the values of vectors selected by a boolean mask, or by a selection vector
+ * holding the positions to keep in increasing order.
+ * The results are new vectors, whose buffers are allocated once with their final size.
+ */
+public final class VectorFilter {
+
+  private VectorFilter() {
+  }
+
+  /**
+   * Converts a boolean mask to a selection vector. Null values of the mask are not selected.
+   * @param mask the mask.
+   * @param allocator the allocator for the selection vector.
+   * @return the positions of the true values of the mask, in increasing order.
+   */
+  public static IntVector toSelectionVector(BitVector mask, BufferAllocator allocator) {
+    final int valueCount = mask.getValueCount();
+    final int wordCount = (valueCount + 63) >>> 6;
+    final ArrowBuf dataBuffer = mask.getDataBuffer();
+    final ArrowBuf validityBuffer = mask.getNullCount() == 0 ? null : mask.getValidityBuffer();
+
+    // first pass to size the selection vector.
+    long selectionCount = 0;
+    for (int i = 0; i < wordCount; i++) {
+      selectionCount += Long.bitCount(getSelectionWord(dataBuffer, validityBuffer, i, valueCount));
+    }
+
+    final IntVector selection = new IntVector("selection", allocator);
+    selection.allocateNew((int) selectionCount);
+    final long address = selection.getDataBuffer().memoryAddress();
+    long position = 0;
+    for (int i = 0; i < wordCount; i++) {
+      long word = getSelectionWord(dataBuffer, validityBuffer, i, valueCount);
+      while (word != 0) {
+        final int index = (i << 6) + Long.numberOfTrailingZeros(word);
+        PlatformDependent.putInt(address + position * IntVector.TYPE_WIDTH, index);
+        position++;
+        word &= word - 1;
+      }
+    }
+    // all the values of the selection vector are set.
+    BitVectorHelper.setRangeToOne(selection.getValidityBuffer(), 0, (int) selectionCount);
+    selection.setValueCount((int) selectionCount);
+    return selection;
+  }
+
+  /**
+   * Gets 64 bits of the mask, with the bits of null values cleared.
+   */
+  private static long getSelectionWord(ArrowBuf dataBuffer, ArrowBuf validityBuffer, int wordIndex, int valueCount) {
+    final long offset = (long) wordIndex << 6;
+    final int length = (int) Math.min(64, valueCount - offset);
+    long word = BitVectorHelper.getBits(dataBuffer, offset, length);
+    if (validityBuffer != null) {
+      word &= BitVectorHelper.getBits(validityBuffer, offset, length);
+    }
+    return word;
+  }
+
+  /**
+   * Keeps the values of a vector selected by a mask.
+   * @param vector the vector to filter.
+   * @param mask the mask, with the same value count as the vector. Null values of the mask are not selected.
+   * @param allocator the allocator for the result.
+   * @param <V> the vector type.
+   * @return a new vector with the selected values.
+   */
+  public static <V extends FieldVector> V filter(V vector, BitVector mask, BufferAllocator allocator) {
+    Preconditions.checkArgument(mask.getValueCount() == vector.getValueCount(),
+        "The mask must have the same value count as the vector");
+    try (IntVector selection = toSelectionVector(mask, allocator)) {
+      return filter(vector, selection, allocator);
+    }
+  }
+
+  /**
+   * Keeps the values of a vector at the positions of a selection vector.
+   * @param vector the vector to filter.
+   * @param selection the positions to keep, none of them can be null.
+   * @param allocator the allocator for the result.
+   * @param <V> the vector type.
+   * @return a new vector with the selected values.
+   */
+  public static <V extends FieldVector> V filter(V vector, IntVector selection, BufferAllocator allocator) {
+    Preconditions.checkArgument(selection.getNullCount() == 0, "The selection vector must not contain nulls");
+    @SuppressWarnings("unchecked")
+    final V result = (V) vector.getField().createVector(allocator);
+    try {
+      vector.accept(new VectorGatherer(result, selection), null);
+    } catch (RuntimeException e) {
+      result.close();
+      throw e;
+    }
+    return result;
+  }
+
+  /**
+   * Keeps the rows of a root selected by a mask.
+   * @param root the root to filter.
+   * @param mask the mask, with the same value count as the row count of the root.
+   * @param allocator the allocator for the result.
+   * @return a new root with the selected rows.
+   */
+  public static VectorSchemaRoot filter(VectorSchemaRoot root, BitVector mask, BufferAllocator allocator) {
+    Preconditions.checkArgument(mask.getValueCount() == root.getRowCount(),
+        "The mask must have the same value count as the row count of the root");
+    try (IntVector selection = toSelectionVector(mask, allocator)) {
+      return filter(root, selection, allocator);
+    }
+  }
+
+  /**
+   * Keeps the rows of a root at the positions of a selection vector.
+   * @param root the root to filter.
+   * @param selection the positions to keep, none of them can be null.
+   * @param allocator the allocator for the result.
+   * @return a new root with the selected rows.
+   */
+  public static VectorSchemaRoot filter(VectorSchemaRoot root, IntVector selection, BufferAllocator allocator) {
+    final List<FieldVector> results = new ArrayList<>(root.getFieldVectors().size());
+    try {
+      for (FieldVector vector : root.getFieldVectors()) {
+        results.add(filter(vector, selection, allocator));
+      }
+    } catch (RuntimeException e) {
+      AutoCloseables.close(e, results);
+      throw e;
+    }
+    return new VectorSchemaRoot(root.getSchema(), results, selection.getValueCount());
+  }
+
+  /**
+   * Keeps the rows of a root at the positions of a selection vector, filtering the columns
+   * by multiple threads.
+   * @param root the root to filter.
+   * @param selection the positions to keep, none of them can be null.
+   * @param allocator the allocator for the result, it must be safe to use from multiple threads.
+   * @param threadPool the thread pool to use.
+   * @return a new root with the selected rows.
+   * @throws ExecutionException if an exception occurs in a thread.
+   * @throws InterruptedException if a thread is interrupted.
+   */
+  public static VectorSchemaRoot filter(VectorSchemaRoot root, IntVector selection, BufferAllocator allocator,
+      ExecutorService threadPool) throws ExecutionException, InterruptedException {
+    Preconditions.checkArgument(selection.getNullCount() == 0, "The selection vector must not contain nulls");
+    final List<FieldVector> vectors = root.getFieldVectors();
+    final List<FieldVector> results = new ArrayList<>(vectors.size());
+    final CompletableFuture<?>[] futures = new CompletableFuture[vectors.size()];
+    for (int i = 0; i < vectors.size(); i++) {
+      final FieldVector result = vectors.get(i).getField().createVector(allocator);
+      results.add(result);
+      final FieldVector vector = vectors.get(i);
+      futures[i] = CompletableFuture.runAsync(() -> vector.accept(new VectorGatherer(result, selection), null),
+          threadPool);
+    }
+
+    try {
+      CompletableFuture.allOf(futures).get();
+    } catch (ExecutionException | InterruptedException | RuntimeException e) {
+      // wait for the remaining tasks before releasing their vectors.
+      for (CompletableFuture<?> future : futures) {
+        try {
+          future.join();
+        } catch (RuntimeException ignored) {
+          // already reported.
+        }
+      }
+      AutoCloseables.close(e, results);
+      throw e;
+    }
+    return new VectorSchemaRoot(root.getSchema(), results, selection.getValueCount());
+  }
+}
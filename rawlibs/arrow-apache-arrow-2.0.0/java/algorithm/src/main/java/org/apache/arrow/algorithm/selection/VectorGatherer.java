@@ -0,0 +1,644 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.selection;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseLargeVariableWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.NullVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.ViewVarCharVector;
+import org.apache.arrow.vector.compare.VectorVisitor;
+import org.apache.arrow.vector.complex.DenseUnionVector;
+import org.apache.arrow.vector.complex.FixedSizeListVector;
+import org.apache.arrow.vector.complex.LargeListVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.NonNullableStructVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.complex.UnionVector;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Copies the values of a vector at the positions given by a selection vector into an empty
+ * target vector of the same type. The target buffers are allocated once with their final size,
+ * and runs of consecutive positions are copied in bulk. Null positions of the selection vector
+ * produce null values.
+ */
+class VectorGatherer implements VectorVisitor<ValueVector, Void> {
+
+  /**
+   * The vector to fill, it must be empty.
+   */
+  private final ValueVector targetVector;
+
+  /**
+   * The positions to copy.
+   */
+  private final IntVector selection;
+
+  private final int selectionCount;
+
+  /**
+   * The validity buffer of the selection vector, or null if it has no null values.
+   */
+  private final ArrowBuf selectionValidity;
+
+  /**
+   * Constructs a new gatherer.
+   * @param targetVector the empty vector to fill.
+   * @param selection the positions to copy.
+   */
+  VectorGatherer(ValueVector targetVector, IntVector selection) {
+    this.targetVector = targetVector;
+    this.selection = selection;
+    this.selectionCount = selection.getValueCount();
+    this.selectionValidity = selection.getNullCount() == 0 ? null : BitVectorHelper.getValidityBitmap(selection);
+  }
+
+  private int getIndex(int position) {
+    return PlatformDependent.getInt(selection.getDataBuffer().memoryAddress() +
+        (long) position * IntVector.TYPE_WIDTH);
+  }
+
+  private boolean isNullIndex(int position) {
+    return selectionValidity != null && BitVectorHelper.get(selectionValidity, position) == 0;
+  }
+
+  private int getRunLength(int position, int sourceValueCount) {
+    return getRunLength(position, selectionCount, sourceValueCount);
+  }
+
+  /**
+   * Gets the length of the run of null positions, or of consecutive indices, starting at the given
+   * position of the selection, after checking the indices are within the source vector.
+   */
+  private int getRunLength(int position, int endPosition, int sourceValueCount) {
+    int length = 1;
+    if (isNullIndex(position)) {
+      while (position + length < endPosition && isNullIndex(position + length)) {
+        length++;
+      }
+      return length;
+    }
+    final int start = getIndex(position);
+    while (position + length < endPosition && !isNullIndex(position + length) &&
+        getIndex(position + length) == start + length) {
+      length++;
+    }
+    if (start < 0 || start + length > sourceValueCount) {
+      throw new IndexOutOfBoundsException(
+          String.format("Index %s out of bounds for a vector of %s values", start < 0 ? start : start + length - 1,
+              sourceValueCount));
+    }
+    return length;
+  }
+
+  private void checkType(ValueVector sourceVector) {
+    Preconditions.checkArgument(targetVector.getClass() == sourceVector.getClass(),
+        "The target vector must have the same type as the source vector");
+    Preconditions.checkArgument(targetVector.getValueCount() == 0, "The target vector must be empty");
+  }
+
+  private void gatherValidity(ValueVector sourceVector, ArrowBuf targetValidity) {
+    gatherValidity(sourceVector, targetValidity, 0, selectionCount);
+  }
+
+  /**
+   * Copies the validity bits of the selected positions in the given range.
+   */
+  private void gatherValidity(ValueVector sourceVector, ArrowBuf targetValidity, int startPosition, int endPosition) {
+    final boolean sourceHasNulls = sourceVector.getNullCount() != 0;
+    if (!sourceHasNulls && selectionValidity == null) {
+      BitVectorHelper.setRangeToOne(targetValidity, startPosition, endPosition - startPosition);
+      return;
+    }
+    final ArrowBuf sourceValidity = sourceHasNulls ? BitVectorHelper.getValidityBitmap(sourceVector) : null;
+    final int sourceValueCount = sourceVector.getValueCount();
+    for (int position = startPosition; position < endPosition; ) {
+      final int runLength = getRunLength(position, endPosition, sourceValueCount);
+      if (isNullIndex(position)) {
+        for (int i = 0; i < runLength; i++) {
+          BitVectorHelper.unsetBit(targetValidity, position + i);
+        }
+      } else if (sourceValidity == null) {
+        BitVectorHelper.setRangeToOne(targetValidity, position, runLength);
+      } else if (runLength == 1) {
+        final int bit = BitVectorHelper.get(sourceValidity, getIndex(position));
+        BitVectorHelper.setValidityBit(targetValidity, position, bit);
+      } else {
+        BitVectorHelper.copyBits(sourceValidity, getIndex(position), targetValidity, position, runLength);
+      }
+      position += runLength;
+    }
+  }
+
+  /**
+   * Creates the selection of the elements of the lists at the selected positions.
+   */
+  private IntVector gatherListElements(ArrowBuf offsets, int offsetWidth, int sourceValueCount) {
+    long elementCount = 0;
+    for (int position = 0; position < selectionCount; ) {
+      final int runLength = getRunLength(position, sourceValueCount);
+      if (!isNullIndex(position)) {
+        final int start = getIndex(position);
+        elementCount += getOffset(offsets, offsetWidth, start + runLength) - getOffset(offsets, offsetWidth, start);
+      }
+      position += runLength;
+    }
+    Preconditions.checkArgument(elementCount <= Integer.MAX_VALUE, "Too many list elements: %s", elementCount);
+
+    final IntVector elements = new IntVector("elements", targetVector.getAllocator());
+    try {
+      elements.allocateNew((int) elementCount);
+      int elementPosition = 0;
+      for (int position = 0; position < selectionCount; ) {
+        final int runLength = getRunLength(position, sourceValueCount);
+        if (!isNullIndex(position)) {
+          final int start = getIndex(position);
+          final long end = getOffset(offsets, offsetWidth, start + runLength);
+          for (long element = getOffset(offsets, offsetWidth, start); element < end; element++) {
+            elements.set(elementPosition++, (int) element);
+          }
+        }
+        position += runLength;
+      }
+      elements.setValueCount((int) elementCount);
+    } catch (RuntimeException e) {
+      elements.close();
+      throw e;
+    }
+    return elements;
+  }
+
+  /**
+   * Fills the offsets of the target lists or values, returning the total length.
+   */
+  private long gatherOffsets(ArrowBuf sourceOffsets, ArrowBuf targetOffsets, int offsetWidth, int sourceValueCount) {
+    long targetOffset = 0;
+    setOffset(targetOffsets, offsetWidth, 0, 0);
+    for (int position = 0; position < selectionCount; ) {
+      final int runLength = getRunLength(position, sourceValueCount);
+      if (isNullIndex(position)) {
+        // null values are empty.
+        for (int i = 1; i <= runLength; i++) {
+          setOffset(targetOffsets, offsetWidth, position + i, targetOffset);
+        }
+      } else {
+        final int start = getIndex(position);
+        final long base = getOffset(sourceOffsets, offsetWidth, start) - targetOffset;
+        for (int i = 1; i <= runLength; i++) {
+          setOffset(targetOffsets, offsetWidth, position + i, getOffset(sourceOffsets, offsetWidth, start + i) - base);
+        }
+        targetOffset = getOffset(targetOffsets, offsetWidth, position + runLength);
+      }
+      position += runLength;
+    }
+    return targetOffset;
+  }
+
+  private boolean hasOffsetCapacity(ArrowBuf offsets, int offsetWidth) {
+    return offsets.capacity() >= (long) (selectionCount + 1) * offsetWidth;
+  }
+
+  private static long getOffset(ArrowBuf offsets, int offsetWidth, int index) {
+    return offsetWidth == 4 ? offsets.getInt((long) index * 4) : offsets.getLong((long) index * 8);
+  }
+
+  private static void setOffset(ArrowBuf offsets, int offsetWidth, int index, long offset) {
+    if (offsetWidth == 4) {
+      offsets.setInt((long) index * 4, (int) offset);
+    } else {
+      offsets.setLong((long) index * 8, offset);
+    }
+  }
+
+  @Override
+  public ValueVector visit(BaseFixedWidthVector sourceVector, Void value) {
+    checkType(sourceVector);
+    final BaseFixedWidthVector target = (BaseFixedWidthVector) targetVector;
+    if (target.getValueCapacity() < selectionCount) {
+      target.allocateNew(selectionCount);
+    }
+    gatherFixedWidth(sourceVector, 0, selectionCount);
+    target.setValueCount(selectionCount);
+    return target;
+  }
+
+  /**
+   * Gathers the values of a range of the selection into a fixed width target vector, whose capacity
+   * is already ensured. Different threads can gather disjoint ranges starting at multiples of 64.
+   */
+  void gatherFixedWidth(BaseFixedWidthVector sourceVector, int startPosition, int endPosition) {
+    final BaseFixedWidthVector target = (BaseFixedWidthVector) targetVector;
+    gatherValidity(sourceVector, BitVectorHelper.getValidityBitmap(target), startPosition, endPosition);
+
+    final int typeWidth = sourceVector.getTypeWidth();
+    final int sourceValueCount = sourceVector.getValueCount();
+    if (typeWidth == 0) {
+      // bit vectors store their values as bits.
+      final ArrowBuf sourceData = sourceVector.getDataBuffer();
+      for (int position = startPosition; position < endPosition; ) {
+        final int runLength = getRunLength(position, endPosition, sourceValueCount);
+        if (!isNullIndex(position)) {
+          BitVectorHelper.copyBits(sourceData, getIndex(position), target.getDataBuffer(), position, runLength);
+        }
+        position += runLength;
+      }
+    } else {
+      final long sourceAddress = sourceVector.getDataBuffer().memoryAddress();
+      final long targetAddress = target.getDataBuffer().memoryAddress();
+      for (int position = startPosition; position < endPosition; ) {
+        final int runLength = getRunLength(position, endPosition, sourceValueCount);
+        if (isNullIndex(position)) {
+          position += runLength;
+          continue;
+        }
+        final long from = sourceAddress + (long) getIndex(position) * typeWidth;
+        final long to = targetAddress + (long) position * typeWidth;
+        if (runLength > 1) {
+          PlatformDependent.copyMemory(from, to, (long) runLength * typeWidth);
+        } else {
+          // single values are frequent in selections, avoid the overhead of a memory copy.
+          switch (typeWidth) {
+            case 1:
+              PlatformDependent.putByte(to, PlatformDependent.getByte(from));
+              break;
+            case 2:
+              PlatformDependent.putShort(to, PlatformDependent.getShort(from));
+              break;
+            case 4:
+              PlatformDependent.putInt(to, PlatformDependent.getInt(from));
+              break;
+            case 8:
+              PlatformDependent.putLong(to, PlatformDependent.getLong(from));
+              break;
+            default:
+              PlatformDependent.copyMemory(from, to, typeWidth);
+              break;
+          }
+        }
+        position += runLength;
+      }
+    }
+  }
+
+  @Override
+  public ValueVector visit(BaseVariableWidthVector sourceVector, Void value) {
+    checkType(sourceVector);
+    final BaseVariableWidthVector target = (BaseVariableWidthVector) targetVector;
+    final int sourceValueCount = sourceVector.getValueCount();
+    final ArrowBuf sourceOffsets = sourceVector.getOffsetBuffer();
+    final int offsetWidth = BaseVariableWidthVector.OFFSET_WIDTH;
+
+    // first pass to size the data buffer.
+    long dataSize = 0;
+    for (int position = 0; position < selectionCount; ) {
+      final int runLength = getRunLength(position, sourceValueCount);
+      if (!isNullIndex(position)) {
+        final int start = getIndex(position);
+        dataSize += sourceVector.getStartOffset(start + runLength) - sourceVector.getStartOffset(start);
+      }
+      position += runLength;
+    }
+    if (target.getValueCapacity() < selectionCount || !hasOffsetCapacity(target.getOffsetBuffer(), offsetWidth) ||
+        target.getDataBuffer().capacity() < dataSize) {
+      target.allocateNew(dataSize, selectionCount);
+    }
+
+    gatherValidity(sourceVector, BitVectorHelper.getValidityBitmap(target));
+    gatherOffsets(sourceOffsets, target.getOffsetBuffer(), offsetWidth, sourceValueCount);
+    final long sourceAddress = sourceVector.getDataBuffer().memoryAddress();
+    final long targetAddress = target.getDataBuffer().memoryAddress();
+    for (int position = 0; position < selectionCount; ) {
+      final int runLength = getRunLength(position, sourceValueCount);
+      if (isNullIndex(position)) {
+        position += runLength;
+        continue;
+      }
+      final int start = sourceVector.getStartOffset(getIndex(position));
+      final int end = sourceVector.getStartOffset(getIndex(position) + runLength);
+      PlatformDependent.copyMemory(sourceAddress + start, targetAddress + target.getStartOffset(position), end - start);
+      position += runLength;
+    }
+    target.setLastSet(selectionCount - 1);
+    target.setValueCount(selectionCount);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(BaseLargeVariableWidthVector sourceVector, Void value) {
+    checkType(sourceVector);
+    final BaseLargeVariableWidthVector target = (BaseLargeVariableWidthVector) targetVector;
+    final int sourceValueCount = sourceVector.getValueCount();
+    final ArrowBuf sourceOffsets = sourceVector.getOffsetBuffer();
+    final int offsetWidth = BaseLargeVariableWidthVector.OFFSET_WIDTH;
+
+    long dataSize = 0;
+    for (int position = 0; position < selectionCount; ) {
+      final int runLength = getRunLength(position, sourceValueCount);
+      if (!isNullIndex(position)) {
+        final int start = getIndex(position);
+        dataSize += getOffset(sourceOffsets, offsetWidth, start + runLength) -
+            getOffset(sourceOffsets, offsetWidth, start);
+      }
+      position += runLength;
+    }
+    if (target.getValueCapacity() < selectionCount || !hasOffsetCapacity(target.getOffsetBuffer(), offsetWidth) ||
+        target.getDataBuffer().capacity() < dataSize) {
+      target.allocateNew(dataSize, selectionCount);
+    }
+
+    gatherValidity(sourceVector, BitVectorHelper.getValidityBitmap(target));
+    gatherOffsets(sourceOffsets, target.getOffsetBuffer(), offsetWidth, sourceValueCount);
+    final long sourceAddress = sourceVector.getDataBuffer().memoryAddress();
+    final long targetAddress = target.getDataBuffer().memoryAddress();
+    for (int position = 0; position < selectionCount; ) {
+      final int runLength = getRunLength(position, sourceValueCount);
+      if (isNullIndex(position)) {
+        position += runLength;
+        continue;
+      }
+      final long start = getOffset(sourceOffsets, offsetWidth, getIndex(position));
+      final long end = getOffset(sourceOffsets, offsetWidth, getIndex(position) + runLength);
+      final long targetStart = getOffset(target.getOffsetBuffer(), offsetWidth, position);
+      PlatformDependent.copyMemory(sourceAddress + start, targetAddress + targetStart, end - start);
+      position += runLength;
+    }
+    target.setLastSet(selectionCount - 1);
+    target.setValueCount(selectionCount);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(ListVector sourceVector, Void value) {
+    checkType(sourceVector);
+    final ListVector target = (ListVector) targetVector;
+    final int sourceValueCount = sourceVector.getValueCount();
+    final int offsetWidth = ListVector.OFFSET_WIDTH;
+    if (target.getValueCapacity() < selectionCount || !hasOffsetCapacity(target.getOffsetBuffer(), offsetWidth)) {
+      target.setInitialCapacity(selectionCount);
+      target.allocateNew();
+    }
+
+    gatherValidity(sourceVector, BitVectorHelper.getValidityBitmap(target));
+    gatherOffsets(sourceVector.getOffsetBuffer(), target.getOffsetBuffer(), offsetWidth, sourceValueCount);
+    try (IntVector elements = gatherListElements(sourceVector.getOffsetBuffer(), offsetWidth, sourceValueCount)) {
+      gatherChild(sourceVector.getDataVector(), target.getDataVector(), elements);
+    }
+    target.setLastSet(selectionCount - 1);
+    target.setValueCount(selectionCount);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(LargeListVector sourceVector, Void value) {
+    checkType(sourceVector);
+    final LargeListVector target = (LargeListVector) targetVector;
+    final int sourceValueCount = sourceVector.getValueCount();
+    final int offsetWidth = LargeListVector.OFFSET_WIDTH;
+    if (target.getValueCapacity() < selectionCount || !hasOffsetCapacity(target.getOffsetBuffer(), offsetWidth)) {
+      target.setInitialCapacity(selectionCount);
+      target.allocateNew();
+    }
+
+    gatherValidity(sourceVector, BitVectorHelper.getValidityBitmap(target));
+    gatherOffsets(sourceVector.getOffsetBuffer(), target.getOffsetBuffer(), offsetWidth, sourceValueCount);
+    try (IntVector elements = gatherListElements(sourceVector.getOffsetBuffer(), offsetWidth, sourceValueCount)) {
+      gatherChild(sourceVector.getDataVector(), target.getDataVector(), elements);
+    }
+    target.setLastSet(selectionCount - 1);
+    target.setValueCount(selectionCount);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(FixedSizeListVector sourceVector, Void value) {
+    checkType(sourceVector);
+    final FixedSizeListVector target = (FixedSizeListVector) targetVector;
+    final int listSize = sourceVector.getListSize();
+    Preconditions.checkArgument(target.getListSize() == listSize, "The target vector must have the same list size");
+    Preconditions.checkArgument((long) selectionCount * listSize <= Integer.MAX_VALUE,
+        "Too many list elements: %s", (long) selectionCount * listSize);
+    final int sourceValueCount = sourceVector.getValueCount();
+    if (target.getValueCapacity() < selectionCount) {
+      target.setInitialCapacity(selectionCount);
+      target.allocateNew();
+    }
+
+    gatherValidity(sourceVector, BitVectorHelper.getValidityBitmap(target));
+    try (IntVector elements = new IntVector("elements", target.getAllocator())) {
+      elements.allocateNew(selectionCount * listSize);
+      for (int position = 0; position < selectionCount; ) {
+        final int runLength = getRunLength(position, sourceValueCount);
+        // the elements of null lists are left null.
+        if (!isNullIndex(position)) {
+          final int start = getIndex(position) * listSize;
+          for (int i = 0; i < runLength * listSize; i++) {
+            elements.set(position * listSize + i, start + i);
+          }
+        }
+        position += runLength;
+      }
+      elements.setValueCount(selectionCount * listSize);
+      gatherChild(sourceVector.getDataVector(), target.getDataVector(), elements);
+    }
+    target.setValueCount(selectionCount);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(NonNullableStructVector sourceVector, Void value) {
+    checkType(sourceVector);
+    final NonNullableStructVector target = (NonNullableStructVector) targetVector;
+    Preconditions.checkArgument(target.size() == sourceVector.size(),
+        "The target vector must have the same children as the source vector");
+    if (target instanceof StructVector) {
+      // allocates the validity buffer, and the children with enough capacity for fixed width values.
+      if (target.getValueCapacity() < selectionCount) {
+        target.setInitialCapacity(selectionCount);
+        target.allocateNew();
+      }
+      gatherValidity(sourceVector, BitVectorHelper.getValidityBitmap(target));
+    }
+    for (int i = 0; i < sourceVector.size(); i++) {
+      gatherChild(sourceVector.getChildByOrdinal(i), target.getChildByOrdinal(i), selection);
+    }
+    target.setValueCount(selectionCount);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(UnionVector sourceVector, Void value) {
+    checkType(sourceVector);
+    final UnionVector target = (UnionVector) targetVector;
+    final int sourceValueCount = sourceVector.getValueCount();
+    // the capacity of the children is ensured when gathering them.
+    if (target.getTypeBuffer().capacity() < selectionCount) {
+      target.allocateNew();
+      while (target.getTypeBuffer().capacity() < selectionCount) {
+        target.reAlloc();
+      }
+    }
+
+    // the type ids are one byte each.
+    final long sourceAddress = sourceVector.getTypeBufferAddress();
+    final long targetAddress = target.getTypeBufferAddress();
+    for (int position = 0; position < selectionCount; ) {
+      final int runLength = getRunLength(position, sourceValueCount);
+      if (isNullIndex(position)) {
+        // the type id of the null type.
+        PlatformDependent.setMemory(targetAddress + position, runLength, (byte) 0);
+      } else {
+        PlatformDependent.copyMemory(sourceAddress + getIndex(position), targetAddress + position, runLength);
+      }
+      position += runLength;
+    }
+
+    // the children of a sparse union have as many values as the union itself.
+    for (int i = 0; i < sourceVector.getChildrenFromFields().size(); i++) {
+      gatherChild(sourceVector.getChildrenFromFields().get(i), target.getChildrenFromFields().get(i), selection);
+    }
+    target.setValueCount(selectionCount);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(DenseUnionVector sourceVector, Void value) {
+    checkType(sourceVector);
+    final DenseUnionVector target = (DenseUnionVector) targetVector;
+    final int sourceValueCount = sourceVector.getValueCount();
+    // the capacity of the children is ensured when gathering them.
+    final long offsetBytes = (long) selectionCount * DenseUnionVector.OFFSET_WIDTH;
+    if (target.getTypeBuffer().capacity() < selectionCount || target.getOffsetBuffer().capacity() < offsetBytes) {
+      target.allocateNew();
+      while (target.getTypeBuffer().capacity() < selectionCount || target.getOffsetBuffer().capacity() < offsetBytes) {
+        target.reAlloc();
+      }
+    }
+
+    // count the values of each type, so that the children can be gathered in one go.
+    final int[] childCounts = new int[Byte.MAX_VALUE + 1];
+    for (int position = 0; position < selectionCount; position++) {
+      if (isNullIndex(position)) {
+        continue;
+      }
+      final int index = getIndex(position);
+      if (index < 0 || index >= sourceValueCount) {
+        throw new IndexOutOfBoundsException(
+            String.format("Index %s out of bounds for a vector of %s values", index, sourceValueCount));
+      }
+      final byte typeId = sourceVector.getTypeId(index);
+      if (typeId >= 0) {
+        childCounts[typeId]++;
+      }
+    }
+
+    final IntVector[] childSelections = new IntVector[Byte.MAX_VALUE + 1];
+    try {
+      for (int typeId = 0; typeId <= Byte.MAX_VALUE; typeId++) {
+        if (childCounts[typeId] > 0) {
+          childSelections[typeId] = new IntVector("elements", target.getAllocator());
+          childSelections[typeId].allocateNew(childCounts[typeId]);
+          childSelections[typeId].setValueCount(childCounts[typeId]);
+          childCounts[typeId] = 0;
+        }
+      }
+
+      for (int position = 0; position < selectionCount; position++) {
+        // null values have no type.
+        final byte typeId = isNullIndex(position) ? -1 : sourceVector.getTypeId(getIndex(position));
+        target.setTypeId(position, typeId);
+        if (typeId >= 0) {
+          childSelections[typeId].set(childCounts[typeId], sourceVector.getOffset(getIndex(position)));
+          target.getOffsetBuffer().setInt((long) position * DenseUnionVector.OFFSET_WIDTH, childCounts[typeId]);
+          childCounts[typeId]++;
+        }
+      }
+
+      for (int typeId = 0; typeId <= Byte.MAX_VALUE; typeId++) {
+        if (childSelections[typeId] != null) {
+          gatherChild(sourceVector.getVectorByType((byte) typeId), target.getVectorByType((byte) typeId),
+              childSelections[typeId]);
+        }
+      }
+    } finally {
+      for (IntVector childSelection : childSelections) {
+        if (childSelection != null) {
+          childSelection.close();
+        }
+      }
+    }
+    target.setValueCount(selectionCount);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(NullVector sourceVector, Void value) {
+    checkType(sourceVector);
+    targetVector.setValueCount(selectionCount);
+    return targetVector;
+  }
+
+  @Override
+  public ValueVector visit(RunEndEncodedVector sourceVector, Void value) {
+    if (selectionValidity != null) {
+      throw new UnsupportedOperationException("Null positions are not supported for run-end encoded vectors");
+    }
+    return copyValues(sourceVector);
+  }
+
+  @Override
+  public ValueVector visit(ViewVarCharVector sourceVector, Void value) {
+    return copyValues(sourceVector);
+  }
+
+  /**
+   * Copies the values one by one, for the vectors whose layout doesn't allow bulk copies.
+   */
+  private ValueVector copyValues(ValueVector sourceVector) {
+    checkType(sourceVector);
+    final int sourceValueCount = sourceVector.getValueCount();
+    for (int position = 0; position < selectionCount; position++) {
+      if (isNullIndex(position)) {
+        // only string view vectors get here with null positions.
+        ((ViewVarCharVector) targetVector).setNull(position);
+        continue;
+      }
+      final int index = getIndex(position);
+      if (index < 0 || index >= sourceValueCount) {
+        throw new IndexOutOfBoundsException(
+            String.format("Index %s out of bounds for a vector of %s values", index, sourceValueCount));
+      }
+      targetVector.copyFromSafe(index, position, sourceVector);
+    }
+    targetVector.setValueCount(selectionCount);
+    return targetVector;
+  }
+
+  private static void gatherChild(ValueVector sourceChild, ValueVector targetChild, IntVector childSelection) {
+    // the target children are freshly allocated, reset them so that they are filled from the start.
+    targetChild.setValueCount(0);
+    sourceChild.accept(new VectorGatherer(targetChild, childSelection), null);
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.selection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ViewVarCharVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
+import org.apache.arrow.vector.util.TransferPair;
+import org.apache.arrow.vector.util.VectorBatchAppender;
+
+/**
+ * Utilities to reorder vectors by an index vector, for example the result of
+ * {@link org.apache.arrow.algorithm.sort.IndexSorter}. The value at position i of the result is the
+ * value of the input at the index held at position i of the index vector. It is null if that
+ * index is null.
+ */
+public final class VectorTake {
+
+  /**
+   * The ranges of indices handled by different threads start at multiples of this value, so that
+   * they never share a byte of a validity buffer.
+   */
+  private static final int RANGE_ALIGNMENT = 64;
+
+  private VectorTake() {
+  }
+
+  /**
+   * Takes the values of a vector at the given indices.
+   * @param vector the vector to take values from.
+   * @param indices the indices of the values to take.
+   * @param allocator the allocator for the result.
+   * @param <V> the vector type.
+   * @return a new vector with as many values as the index vector.
+   */
+  public static <V extends FieldVector> V take(V vector, IntVector indices, BufferAllocator allocator) {
+    @SuppressWarnings("unchecked")
+    final V result = (V) vector.getField().createVector(allocator);
+    try {
+      vector.accept(new VectorGatherer(result, indices), null);
+    } catch (RuntimeException e) {
+      result.close();
+      throw e;
+    }
+    return result;
+  }
+
+  /**
+   * Takes the values of a vector at the given indices by multiple threads, each handling a range of
+   * the index vector. Fixed width values are written in place. The values of other vectors are
+   * gathered into one vector per range, which are then appended to the result.
+   * @param vector the vector to take values from.
+   * @param indices the indices of the values to take.
+   * @param allocator the allocator for the result, it must be safe to use from multiple threads.
+   * @param threadPool the thread pool to use.
+   * @param numThreads the number of threads to use.
+   * @param <V> the vector type.
+   * @return a new vector with as many values as the index vector.
+   * @throws ExecutionException if an exception occurs in a thread.
+   * @throws InterruptedException if a thread is interrupted.
+   */
+  public static <V extends FieldVector> V take(V vector, IntVector indices, BufferAllocator allocator,
+      ExecutorService threadPool, int numThreads) throws ExecutionException, InterruptedException {
+    Preconditions.checkArgument(numThreads > 0, "The number of threads must be positive");
+    final int indexCount = indices.getValueCount();
+    // the per value copies of these vectors are not worth splitting.
+    if (numThreads == 1 || indexCount <= RANGE_ALIGNMENT ||
+        vector instanceof RunEndEncodedVector || vector instanceof ViewVarCharVector) {
+      return take(vector, indices, allocator);
+    }
+
+    final int[] rangeStarts = new int[numThreads + 1];
+    for (int i = 0; i <= numThreads; i++) {
+      // convert to long to avoid overflow
+      final long start = (long) indexCount * i / numThreads;
+      rangeStarts[i] = i == numThreads ? indexCount : (int) (start - start % RANGE_ALIGNMENT);
+    }
+    // materialize the validity buffer of the source (lazy, or a shared slice) before the threads read it.
+    BitVectorHelper.getValidityBitmap(vector);
+
+    if (vector instanceof BaseFixedWidthVector) {
+      return takeFixedWidth(vector, indices, allocator, threadPool, rangeStarts);
+    }
+
+    @SuppressWarnings("unchecked")
+    final V result = (V) vector.getField().createVector(allocator);
+    final List<IntVector> rangeIndices = new ArrayList<>(numThreads);
+    final List<V> partialResults = new ArrayList<>(numThreads);
+    final List<CompletableFuture<Void>> futures = new ArrayList<>(numThreads);
+    try {
+      for (int i = 0; i < numThreads; i++) {
+        if (rangeStarts[i] == rangeStarts[i + 1]) {
+          continue;
+        }
+        // the aligned ranges are sliced without copying.
+        final TransferPair transferPair = indices.getTransferPair(allocator);
+        transferPair.splitAndTransfer(rangeStarts[i], rangeStarts[i + 1] - rangeStarts[i]);
+        final IntVector range = (IntVector) transferPair.getTo();
+        rangeIndices.add(range);
+        @SuppressWarnings("unchecked")
+        final V partialResult = (V) vector.getField().createVector(allocator);
+        partialResults.add(partialResult);
+        futures.add(CompletableFuture.runAsync(
+            () -> vector.accept(new VectorGatherer(partialResult, range), null), threadPool));
+      }
+      waitAll(futures);
+
+      VectorBatchAppender.batchAppend((FieldVector) result, partialResults.toArray(new FieldVector[0]));
+    } catch (ExecutionException | InterruptedException | RuntimeException e) {
+      awaitQuietly(futures);
+      AutoCloseables.close(e, result);
+      throw e;
+    } finally {
+      rangeIndices.forEach(IntVector::close);
+      partialResults.forEach(FieldVector::close);
+    }
+    return result;
+  }
+
+  private static <V extends FieldVector> V takeFixedWidth(V vector, IntVector indices, BufferAllocator allocator,
+      ExecutorService threadPool, int[] rangeStarts) throws ExecutionException, InterruptedException {
+    final BaseFixedWidthVector source = (BaseFixedWidthVector) vector;
+    final int indexCount = indices.getValueCount();
+    @SuppressWarnings("unchecked")
+    final V result = (V) vector.getField().createVector(allocator);
+    final List<CompletableFuture<Void>> futures = new ArrayList<>(rangeStarts.length - 1);
+    try {
+      final BaseFixedWidthVector target = (BaseFixedWidthVector) result;
+      target.allocateNew(indexCount);
+      // materialize the validity buffer before it is shared by the threads.
+      target.materializeValidity();
+
+      final VectorGatherer gatherer = new VectorGatherer(target, indices);
+      for (int i = 0; i < rangeStarts.length - 1; i++) {
+        final int start = rangeStarts[i];
+        final int end = rangeStarts[i + 1];
+        if (start < end) {
+          futures.add(CompletableFuture.runAsync(() -> gatherer.gatherFixedWidth(source, start, end), threadPool));
+        }
+      }
+      waitAll(futures);
+      target.setValueCount(indexCount);
+    } catch (ExecutionException | InterruptedException | RuntimeException e) {
+      awaitQuietly(futures);
+      AutoCloseables.close(e, result);
+      throw e;
+    }
+    return result;
+  }
+
+  /**
+   * Waits for all the tasks. The combined future only completes when all the tasks are done, even if
+   * some of them failed.
+   */
+  private static void waitAll(List<CompletableFuture<Void>> futures)
+      throws ExecutionException, InterruptedException {
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+  }
+
+  /**
+   * Waits for the submitted tasks after a failure or an interrupt, so that none of them still uses
+   * the vectors when they are closed.
+   */
+  private static void awaitQuietly(List<CompletableFuture<Void>> futures) {
+    for (CompletableFuture<Void> future : futures) {
+      try {
+        future.join();
+      } catch (RuntimeException ignored) {
+        // already reported.
+      }
+    }
+  }
+}
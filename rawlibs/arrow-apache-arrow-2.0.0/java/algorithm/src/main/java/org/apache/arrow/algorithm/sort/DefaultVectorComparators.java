@@ -34,7 +34,9 @@ import org.apache.arrow.vector.UInt2Vector;
 import org.apache.arrow.vector.UInt4Vector;
 import org.apache.arrow.vector.UInt8Vector;
 import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.ViewVarCharVector;
 import org.apache.arrow.vector.complex.BaseRepeatedValueVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
 
 /**
  * Default comparator implementations for different types of vectors.
@@ -72,10 +74,16 @@ public class DefaultVectorComparators {
       }
     } else if (vector instanceof BaseVariableWidthVector) {
       return (VectorValueComparator<T>) new VariableWidthComparator();
+    } else if (vector instanceof ViewVarCharVector) {
+      return (VectorValueComparator<T>) new ViewVarCharComparator();
     } else if (vector instanceof BaseRepeatedValueVector) {
       VectorValueComparator<?> innerComparator =
               createDefaultComparator(((BaseRepeatedValueVector) vector).getDataVector());
       return new RepeatedValueComparator(innerComparator);
+    } else if (vector instanceof RunEndEncodedVector) {
+      VectorValueComparator<?> valuesComparator =
+              createDefaultComparator(((RunEndEncodedVector) vector).getValuesVector());
+      return (VectorValueComparator<T>) new RunEndEncodedComparator(valuesComparator);
     }
 
     throw new IllegalArgumentException("No default comparator for " + vector.getClass().getCanonicalName());
@@ -375,6 +383,24 @@ public class DefaultVectorComparators {
     }
   }
 
+  /**
+   * Default comparator for {@link ViewVarCharVector}.
+   * The comparison is in lexicographic order, with null comes first.
+   * Strings whose first 4 bytes differ are compared without reading the data buffers.
+   */
+  public static class ViewVarCharComparator extends VectorValueComparator<ViewVarCharVector> {
+
+    @Override
+    public int compareNotNull(int index1, int index2) {
+      return vector1.compareValues(index1, vector2, index2);
+    }
+
+    @Override
+    public VectorValueComparator<ViewVarCharVector> createNew() {
+      return new ViewVarCharComparator();
+    }
+  }
+
   /**
    * Default comparator for {@link BaseRepeatedValueVector}.
    * It works by comparing the underlying vector in a lexicographic order.
@@ -426,6 +452,39 @@ public class DefaultVectorComparators {
     }
   }
 
+  /**
+   * Default comparator for {@link RunEndEncodedVector}.
+   * It works by comparing the values of the runs holding the elements.
+   * @param <T> values vector type.
+   */
+  public static class RunEndEncodedComparator<T extends ValueVector>
+          extends VectorValueComparator<RunEndEncodedVector> {
+
+    private VectorValueComparator<T> valuesComparator;
+
+    public RunEndEncodedComparator(VectorValueComparator<T> valuesComparator) {
+      this.valuesComparator = valuesComparator;
+    }
+
+    @Override
+    public int compareNotNull(int index1, int index2) {
+      return valuesComparator.compare(vector1.getPhysicalIndex(index1), vector2.getPhysicalIndex(index2));
+    }
+
+    @Override
+    public VectorValueComparator<RunEndEncodedVector> createNew() {
+      return new RunEndEncodedComparator<>(valuesComparator.createNew());
+    }
+
+    @Override
+    public void attachVectors(RunEndEncodedVector vector1, RunEndEncodedVector vector2) {
+      this.vector1 = vector1;
+      this.vector2 = vector2;
+
+      valuesComparator.attachVectors((T) vector1.getValuesVector(), (T) vector2.getValuesVector());
+    }
+  }
+
   private DefaultVectorComparators() {
   }
 }
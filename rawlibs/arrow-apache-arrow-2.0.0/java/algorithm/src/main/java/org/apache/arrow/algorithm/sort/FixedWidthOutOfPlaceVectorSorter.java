@@ -42,7 +42,7 @@ public class FixedWidthOutOfPlaceVectorSorter<V extends BaseFixedWidthVector> im
 
     // buffers referenced in the sort
     ArrowBuf srcValueBuffer = srcVector.getDataBuffer();
-    ArrowBuf dstValidityBuffer = dstVector.getValidityBuffer();
+    ArrowBuf dstValidityBuffer = BitVectorHelper.getValidityBitmap(dstVector);
     ArrowBuf dstValueBuffer = dstVector.getDataBuffer();
 
     // check buffer size
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.aggregate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.UInt8Vector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link VectorAggregator}.
+ */
+public class TestVectorAggregator {
+
+  private static final int VECTOR_LENGTH = 1000;
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(1024 * 1024);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  /**
+   * Values in [128, 192) are null, so that a whole block of 64 values is skipped,
+   * and so are the multiples of 5.
+   */
+  private static boolean isNull(int index) {
+    return (index >= 128 && index < 192) || index % 5 == 0;
+  }
+
+  private IntVector createIntVector() {
+    IntVector vector = new IntVector("vector", allocator);
+    vector.allocateNew(VECTOR_LENGTH);
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      if (isNull(i)) {
+        vector.setNull(i);
+      } else {
+        vector.set(i, i % 2 == 0 ? i : -i);
+      }
+    }
+    vector.setValueCount(VECTOR_LENGTH);
+    return vector;
+  }
+
+  private void verifyIntAggregate(LongAggregate aggregate) {
+    long count = 0;
+    long sum = 0;
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      if (!isNull(i)) {
+        final long value = i % 2 == 0 ? i : -i;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+      }
+    }
+    assertEquals(count, aggregate.getCount());
+    assertEquals(sum, aggregate.getSum());
+    assertEquals(min, aggregate.getMin());
+    assertEquals(max, aggregate.getMax());
+    assertEquals((double) sum / count, aggregate.getMean(), 0);
+    assertEquals(-1, aggregate.getFirst());
+    assertEquals(-999, aggregate.getLast());
+  }
+
+  @Test
+  public void testAggregateInt() {
+    try (IntVector vector = createIntVector()) {
+      verifyIntAggregate(VectorAggregator.aggregateLong(vector));
+    }
+  }
+
+  @Test
+  public void testAggregateUnsigned() {
+    try (UInt8Vector vector = new UInt8Vector("vector", allocator)) {
+      vector.allocateNew(3);
+      vector.set(0, 1L);
+      vector.set(1, -1L);
+      vector.set(2, Long.MAX_VALUE);
+      vector.setValueCount(3);
+
+      LongAggregate aggregate = VectorAggregator.aggregateLong(vector);
+      assertEquals(3, aggregate.getCount());
+      assertEquals(1L, aggregate.getMin());
+      // the largest unsigned value
+      assertEquals(-1L, aggregate.getMax());
+    }
+  }
+
+  @Test
+  public void testAggregateTimestamp() {
+    try (TimeStampMilliVector vector = new TimeStampMilliVector("vector", allocator)) {
+      vector.allocateNew(3);
+      vector.set(0, 1_600_000_000_000L);
+      vector.setNull(1);
+      vector.set(2, 1_500_000_000_000L);
+      vector.setValueCount(3);
+
+      LongAggregate aggregate = VectorAggregator.aggregateLong(vector);
+      assertEquals(2, aggregate.getCount());
+      assertEquals(1_500_000_000_000L, aggregate.getMin());
+      assertEquals(1_600_000_000_000L, aggregate.getMax());
+      assertEquals(1_600_000_000_000L, aggregate.getFirst());
+      assertEquals(1_500_000_000_000L, aggregate.getLast());
+    }
+  }
+
+  @Test
+  public void testAggregateDouble() {
+    try (Float8Vector vector = new Float8Vector("vector", allocator)) {
+      vector.allocateNew(VECTOR_LENGTH);
+      double sum = 0;
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        if (isNull(i)) {
+          vector.setNull(i);
+        } else {
+          vector.set(i, i * 0.5);
+          sum += i * 0.5;
+        }
+      }
+      vector.setValueCount(VECTOR_LENGTH);
+
+      DoubleAggregate aggregate = VectorAggregator.aggregateDouble(vector);
+      assertEquals(sum, aggregate.getSum(), 1e-9);
+      assertEquals(0.5, aggregate.getMin(), 0);
+      assertEquals(999 * 0.5, aggregate.getMax(), 0);
+      assertEquals(0.5, aggregate.getFirst(), 0);
+      assertEquals(999 * 0.5, aggregate.getLast(), 0);
+    }
+  }
+
+  @Test
+  public void testAggregateDecimal() {
+    try (DecimalVector vector = new DecimalVector("vector", allocator, 38, 2)) {
+      vector.allocateNew(4);
+      BigDecimal large = new BigDecimal("999999999999999999999999999999999999.99");
+      vector.set(0, large);
+      vector.set(1, large);
+      vector.setNull(2);
+      vector.set(3, new BigDecimal("-12.34"));
+      vector.setValueCount(4);
+
+      DecimalAggregate aggregate = VectorAggregator.aggregateDecimal(vector);
+      assertEquals(3, aggregate.getCount());
+      // the sum exceeds the range of a 128 bit integer.
+      assertEquals(large.add(large).add(new BigDecimal("-12.34")), aggregate.getSum());
+      assertEquals(new BigDecimal("-12.34"), aggregate.getMin());
+      assertEquals(large, aggregate.getMax());
+      assertEquals(large, aggregate.getFirst());
+      assertEquals(new BigDecimal("-12.34"), aggregate.getLast());
+    }
+  }
+
+  @Test
+  public void testParallelAggregate() throws Exception {
+    ExecutorService threadPool = Executors.newFixedThreadPool(4);
+    try (IntVector vector = createIntVector()) {
+      verifyIntAggregate(VectorAggregator.aggregateLong(vector, threadPool, 4));
+      // more threads than blocks of values.
+      verifyIntAggregate(VectorAggregator.aggregateLong(vector, threadPool, 50));
+    } finally {
+      threadPool.shutdown();
+    }
+  }
+
+  @Test
+  public void testAggregateEmpty() {
+    try (IntVector vector = new IntVector("vector", allocator)) {
+      vector.allocateNew(10);
+      vector.setValueCount(10);
+      for (int i = 0; i < 10; i++) {
+        vector.setNull(i);
+      }
+
+      LongAggregate aggregate = VectorAggregator.aggregateLong(vector);
+      assertTrue(aggregate.isEmpty());
+      assertEquals(0, aggregate.getSum());
+      assertThrows(IllegalStateException.class, aggregate::getMin);
+    }
+  }
+
+  @Test
+  public void testAggregateUnsupportedType() {
+    try (Float8Vector floatVector = new Float8Vector("float", allocator);
+         IntVector intVector = new IntVector("int", allocator)) {
+      assertThrows(IllegalArgumentException.class, () -> VectorAggregator.aggregateLong(floatVector));
+      assertThrows(IllegalArgumentException.class, () -> VectorAggregator.aggregateDouble(intVector));
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.deduplicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.compare.VectorEqualsVisitor;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link RunEndEncoder}.
+ */
+public class TestRunEndEncoder {
+
+  private static final int VECTOR_LENGTH = 100;
+
+  private static final int REPETITION_COUNT = 3;
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(1024 * 1024);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  @Test
+  public void testEncodeDecodeFixedWidth() {
+    try (BigIntVector origVec = new BigIntVector("vec", allocator);
+         BigIntVector decodedVec = new BigIntVector("vec", allocator);
+         RunEndEncodedVector encodedVec =
+             RunEndEncodedVector.empty("encoded", FieldType.nullable(MinorType.BIGINT.getType()), allocator)) {
+      origVec.allocateNew(VECTOR_LENGTH * REPETITION_COUNT);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        for (int j = 0; j < REPETITION_COUNT; j++) {
+          if (i % 10 == 0) {
+            origVec.setNull(i * REPETITION_COUNT + j);
+          } else {
+            origVec.set(i * REPETITION_COUNT + j, i);
+          }
+        }
+      }
+      origVec.setValueCount(VECTOR_LENGTH * REPETITION_COUNT);
+
+      RunEndEncoder.encode(origVec, encodedVec, allocator);
+      assertEquals(VECTOR_LENGTH * REPETITION_COUNT, encodedVec.getValueCount());
+      assertEquals(VECTOR_LENGTH, encodedVec.getRunCount());
+      assertEquals(origVec.getNullCount(), encodedVec.getNullCount());
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        assertEquals((i + 1) * REPETITION_COUNT, encodedVec.getRunEnd(i));
+      }
+
+      RunEndEncoder.decode(encodedVec, decodedVec);
+      assertTrue(VectorEqualsVisitor.vectorEquals(origVec, decodedVec));
+    }
+  }
+
+  @Test
+  public void testEncodeDecodeVariableWidth() {
+    try (VarCharVector origVec = new VarCharVector("vec", allocator);
+         VarCharVector decodedVec = new VarCharVector("vec", allocator);
+         RunEndEncodedVector encodedVec =
+             RunEndEncodedVector.empty("encoded", FieldType.nullable(MinorType.VARCHAR.getType()), allocator)) {
+      origVec.allocateNew(VECTOR_LENGTH * REPETITION_COUNT * 10, VECTOR_LENGTH * REPETITION_COUNT);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        byte[] str = String.valueOf(i * i).getBytes(StandardCharsets.UTF_8);
+        for (int j = 0; j < REPETITION_COUNT; j++) {
+          origVec.set(i * REPETITION_COUNT + j, str);
+        }
+      }
+      origVec.setValueCount(VECTOR_LENGTH * REPETITION_COUNT);
+
+      RunEndEncoder.encode(origVec, encodedVec, allocator);
+      assertEquals(VECTOR_LENGTH, encodedVec.getRunCount());
+
+      RunEndEncoder.decode(encodedVec, decodedVec);
+      assertTrue(VectorEqualsVisitor.vectorEquals(origVec, decodedVec));
+    }
+  }
+
+  @Test
+  public void testEncodeEmpty() {
+    try (BigIntVector origVec = new BigIntVector("vec", allocator);
+         RunEndEncodedVector encodedVec =
+             RunEndEncodedVector.empty("encoded", FieldType.nullable(MinorType.BIGINT.getType()), allocator)) {
+      origVec.allocateNew(0);
+      origVec.setValueCount(0);
+
+      RunEndEncoder.encode(origVec, encodedVec, allocator);
+      assertEquals(0, encodedVec.getValueCount());
+      assertEquals(0, encodedVec.getRunCount());
+    }
+  }
+}
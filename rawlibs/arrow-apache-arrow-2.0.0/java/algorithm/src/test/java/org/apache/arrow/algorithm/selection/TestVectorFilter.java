@@ -0,0 +1,299 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.selection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.complex.impl.UnionListWriter;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link VectorFilter}.
+ */
+public class TestVectorFilter {
+
+  private static final int VECTOR_LENGTH = 200;
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(1024 * 1024);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  /**
+   * Selects the values whose index is a multiple of 3, and also the values in [64, 80),
+   * so that both single values and runs are copied. Index 7 is null.
+   */
+  private BitVector createMask() {
+    BitVector mask = new BitVector("mask", allocator);
+    mask.allocateNew(VECTOR_LENGTH);
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      if (i == 7) {
+        mask.setNull(i);
+      } else {
+        mask.set(i, i % 3 == 0 || (i >= 64 && i < 80) ? 1 : 0);
+      }
+    }
+    mask.setValueCount(VECTOR_LENGTH);
+    return mask;
+  }
+
+  private static boolean isSelected(int index) {
+    return index != 7 && (index % 3 == 0 || (index >= 64 && index < 80));
+  }
+
+  private static int[] getSelectedIndices() {
+    return IntStream.range(0, VECTOR_LENGTH).filter(TestVectorFilter::isSelected).toArray();
+  }
+
+  @Test
+  public void testToSelectionVector() {
+    try (BitVector mask = createMask();
+         IntVector selection = VectorFilter.toSelectionVector(mask, allocator)) {
+      int[] expected = getSelectedIndices();
+      assertEquals(expected.length, selection.getValueCount());
+      assertEquals(0, selection.getNullCount());
+      for (int i = 0; i < expected.length; i++) {
+        assertEquals(expected[i], selection.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void testToSelectionVectorEmpty() {
+    try (BitVector mask = new BitVector("mask", allocator)) {
+      mask.allocateNew(10);
+      mask.setValueCount(10);
+      try (IntVector selection = VectorFilter.toSelectionVector(mask, allocator)) {
+        assertEquals(0, selection.getValueCount());
+      }
+    }
+  }
+
+  @Test
+  public void testFilterFixedWidth() {
+    try (IntVector vector = new IntVector("vector", allocator);
+         BitVector mask = createMask()) {
+      vector.allocateNew(VECTOR_LENGTH);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        if (i % 5 == 0) {
+          vector.setNull(i);
+        } else {
+          vector.set(i, i * 10);
+        }
+      }
+      vector.setValueCount(VECTOR_LENGTH);
+
+      try (IntVector result = VectorFilter.filter(vector, mask, allocator)) {
+        int[] expected = getSelectedIndices();
+        assertEquals(expected.length, result.getValueCount());
+        for (int i = 0; i < expected.length; i++) {
+          if (expected[i] % 5 == 0) {
+            assertTrue(result.isNull(i));
+          } else {
+            assertEquals(expected[i] * 10, result.get(i));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testFilterBitVector() {
+    try (BitVector vector = new BitVector("vector", allocator);
+         BitVector mask = createMask()) {
+      vector.allocateNew(VECTOR_LENGTH);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        vector.set(i, i % 2);
+      }
+      vector.setValueCount(VECTOR_LENGTH);
+
+      try (BitVector result = VectorFilter.filter(vector, mask, allocator)) {
+        int[] expected = getSelectedIndices();
+        assertEquals(expected.length, result.getValueCount());
+        assertEquals(0, result.getNullCount());
+        for (int i = 0; i < expected.length; i++) {
+          assertEquals(expected[i] % 2, result.get(i));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testFilterVariableWidth() {
+    try (VarCharVector vector = new VarCharVector("vector", allocator);
+         BitVector mask = createMask()) {
+      vector.allocateNew(VECTOR_LENGTH);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        if (i % 4 == 0) {
+          vector.setNull(i);
+        } else {
+          vector.set(i, ("value" + i).getBytes(StandardCharsets.UTF_8));
+        }
+      }
+      vector.setValueCount(VECTOR_LENGTH);
+
+      try (VarCharVector result = VectorFilter.filter(vector, mask, allocator)) {
+        int[] expected = getSelectedIndices();
+        assertEquals(expected.length, result.getValueCount());
+        for (int i = 0; i < expected.length; i++) {
+          if (expected[i] % 4 == 0) {
+            assertTrue(result.isNull(i));
+          } else {
+            assertEquals("value" + expected[i], new String(result.get(i), StandardCharsets.UTF_8));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testFilterListVector() {
+    try (ListVector vector = ListVector.empty("vector", allocator);
+         BitVector mask = createMask()) {
+      UnionListWriter writer = vector.getWriter();
+      writer.allocate();
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        writer.setPosition(i);
+        writer.startList();
+        for (int j = 0; j < i % 3; j++) {
+          writer.writeInt(i + j);
+        }
+        writer.endList();
+      }
+      vector.setValueCount(VECTOR_LENGTH);
+
+      try (ListVector result = VectorFilter.filter(vector, mask, allocator)) {
+        int[] expected = getSelectedIndices();
+        assertEquals(expected.length, result.getValueCount());
+        for (int i = 0; i < expected.length; i++) {
+          assertEquals(vector.getObject(expected[i]), result.getObject(i));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testFilterStructVector() {
+    try (StructVector vector = StructVector.empty("vector", allocator);
+         BitVector mask = createMask()) {
+      IntVector intChild = vector.addOrGet("int", FieldType.nullable(new ArrowType.Int(32, true)), IntVector.class);
+      VarCharVector strChild = vector.addOrGet("str", FieldType.nullable(new ArrowType.Utf8()), VarCharVector.class);
+      vector.setInitialCapacity(VECTOR_LENGTH);
+      vector.allocateNew();
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        if (i % 6 == 1) {
+          vector.setNull(i);
+        } else {
+          vector.setIndexDefined(i);
+          intChild.setSafe(i, i);
+          strChild.setSafe(i, ("str" + i).getBytes(StandardCharsets.UTF_8));
+        }
+      }
+      vector.setValueCount(VECTOR_LENGTH);
+
+      try (StructVector result = VectorFilter.filter(vector, mask, allocator)) {
+        int[] expected = getSelectedIndices();
+        assertEquals(expected.length, result.getValueCount());
+        for (int i = 0; i < expected.length; i++) {
+          assertEquals(vector.getObject(expected[i]), result.getObject(i));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testFilterRoot() throws Exception {
+    try (IntVector intVector = new IntVector("int", allocator);
+         VarCharVector strVector = new VarCharVector("str", allocator);
+         BitVector mask = createMask()) {
+      intVector.allocateNew(VECTOR_LENGTH);
+      strVector.allocateNew(VECTOR_LENGTH);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        intVector.set(i, i);
+        strVector.set(i, ("str" + i).getBytes(StandardCharsets.UTF_8));
+      }
+      intVector.setValueCount(VECTOR_LENGTH);
+      strVector.setValueCount(VECTOR_LENGTH);
+      VectorSchemaRoot root = new VectorSchemaRoot(Arrays.asList(intVector, strVector));
+
+      int[] expected = getSelectedIndices();
+      try (VectorSchemaRoot result = VectorFilter.filter(root, mask, allocator)) {
+        assertEquals(root.getSchema(), result.getSchema());
+        assertEquals(expected.length, result.getRowCount());
+        for (int i = 0; i < expected.length; i++) {
+          assertEquals(expected[i], ((IntVector) result.getVector(0)).get(i));
+          assertEquals(strVector.getObject(expected[i]), result.getVector(1).getObject(i));
+        }
+      }
+
+      ExecutorService threadPool = Executors.newFixedThreadPool(2);
+      try (IntVector selection = VectorFilter.toSelectionVector(mask, allocator);
+           VectorSchemaRoot result = VectorFilter.filter(root, selection, allocator, threadPool)) {
+        assertEquals(expected.length, result.getRowCount());
+        for (int i = 0; i < expected.length; i++) {
+          assertEquals(expected[i], ((IntVector) result.getVector(0)).get(i));
+          assertEquals(strVector.getObject(expected[i]), result.getVector(1).getObject(i));
+        }
+      } finally {
+        threadPool.shutdown();
+      }
+    }
+  }
+
+  @Test
+  public void testFilterOutOfBounds() {
+    try (IntVector vector = new IntVector("vector", allocator);
+         IntVector selection = new IntVector("selection", allocator)) {
+      vector.allocateNew(10);
+      vector.setValueCount(10);
+      selection.allocateNew(2);
+      selection.set(0, 9);
+      selection.set(1, 10);
+      selection.setValueCount(2);
+
+      assertThrows(IndexOutOfBoundsException.class, () -> VectorFilter.filter(vector, selection, allocator));
+    }
+  }
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.selection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.complex.impl.UnionListWriter;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link VectorTake}.
+ */
+public class TestVectorTake {
+
+  private static final int VECTOR_LENGTH = 1000;
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(1024 * 1024);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  /**
+   * Creates indices in reverse order, with runs of consecutive indices at the start,
+   * and a null index at every position multiple of 11.
+   */
+  private IntVector createIndices() {
+    IntVector indices = new IntVector("indices", allocator);
+    indices.allocateNew(VECTOR_LENGTH);
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      if (i % 11 == 0) {
+        indices.setNull(i);
+      } else {
+        indices.set(i, getIndex(i));
+      }
+    }
+    indices.setValueCount(VECTOR_LENGTH);
+    return indices;
+  }
+
+  private static int getIndex(int position) {
+    return position < 100 ? position : VECTOR_LENGTH - 1 - position;
+  }
+
+  private IntVector createIntVector() {
+    IntVector vector = new IntVector("vector", allocator);
+    vector.allocateNew(VECTOR_LENGTH);
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      if (i % 7 == 0) {
+        vector.setNull(i);
+      } else {
+        vector.set(i, i * 3);
+      }
+    }
+    vector.setValueCount(VECTOR_LENGTH);
+    return vector;
+  }
+
+  private VarCharVector createVarCharVector() {
+    VarCharVector vector = new VarCharVector("vector", allocator);
+    vector.allocateNew(VECTOR_LENGTH);
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      if (i % 7 == 0) {
+        vector.setNull(i);
+      } else {
+        vector.set(i, ("value" + i).getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    vector.setValueCount(VECTOR_LENGTH);
+    return vector;
+  }
+
+  private void verifyIntVector(IntVector result) {
+    assertEquals(VECTOR_LENGTH, result.getValueCount());
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      if (i % 11 == 0 || getIndex(i) % 7 == 0) {
+        assertTrue(result.isNull(i));
+      } else {
+        assertEquals(getIndex(i) * 3, result.get(i));
+      }
+    }
+  }
+
+  private void verifyVarCharVector(VarCharVector result) {
+    assertEquals(VECTOR_LENGTH, result.getValueCount());
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      if (i % 11 == 0 || getIndex(i) % 7 == 0) {
+        assertTrue(result.isNull(i));
+      } else {
+        assertEquals("value" + getIndex(i), new String(result.get(i), StandardCharsets.UTF_8));
+      }
+    }
+  }
+
+  @Test
+  public void testTakeFixedWidth() {
+    try (IntVector vector = createIntVector();
+         IntVector indices = createIndices();
+         IntVector result = VectorTake.take(vector, indices, allocator)) {
+      verifyIntVector(result);
+    }
+  }
+
+  @Test
+  public void testTakeVariableWidth() {
+    try (VarCharVector vector = createVarCharVector();
+         IntVector indices = createIndices();
+         VarCharVector result = VectorTake.take(vector, indices, allocator)) {
+      verifyVarCharVector(result);
+    }
+  }
+
+  @Test
+  public void testTakeListVector() {
+    try (ListVector vector = ListVector.empty("vector", allocator);
+         IntVector indices = createIndices()) {
+      UnionListWriter writer = vector.getWriter();
+      writer.allocate();
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        writer.setPosition(i);
+        writer.startList();
+        for (int j = 0; j < i % 4; j++) {
+          writer.writeInt(i * 10 + j);
+        }
+        writer.endList();
+      }
+      vector.setValueCount(VECTOR_LENGTH);
+
+      try (ListVector result = VectorTake.take(vector, indices, allocator)) {
+        assertEquals(VECTOR_LENGTH, result.getValueCount());
+        for (int i = 0; i < VECTOR_LENGTH; i++) {
+          if (i % 11 == 0) {
+            assertTrue(result.isNull(i));
+          } else {
+            assertEquals(vector.getObject(getIndex(i)), result.getObject(i));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testTakeStructVector() {
+    try (StructVector vector = StructVector.empty("vector", allocator);
+         IntVector indices = createIndices()) {
+      IntVector intChild = vector.addOrGet("int", FieldType.nullable(new ArrowType.Int(32, true)), IntVector.class);
+      VarCharVector strChild = vector.addOrGet("str", FieldType.nullable(new ArrowType.Utf8()), VarCharVector.class);
+      vector.setInitialCapacity(VECTOR_LENGTH);
+      vector.allocateNew();
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        vector.setIndexDefined(i);
+        intChild.setSafe(i, i);
+        strChild.setSafe(i, ("str" + i).getBytes(StandardCharsets.UTF_8));
+      }
+      vector.setValueCount(VECTOR_LENGTH);
+
+      try (StructVector result = VectorTake.take(vector, indices, allocator)) {
+        assertEquals(VECTOR_LENGTH, result.getValueCount());
+        for (int i = 0; i < VECTOR_LENGTH; i++) {
+          if (i % 11 == 0) {
+            assertTrue(result.isNull(i));
+          } else {
+            assertEquals(vector.getObject(getIndex(i)), result.getObject(i));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testParallelTake() throws Exception {
+    ExecutorService threadPool = Executors.newFixedThreadPool(4);
+    try (IntVector intVector = createIntVector();
+         VarCharVector varCharVector = createVarCharVector();
+         IntVector indices = createIndices()) {
+      try (IntVector result = VectorTake.take(intVector, indices, allocator, threadPool, 4)) {
+        verifyIntVector(result);
+      }
+      try (VarCharVector result = VectorTake.take(varCharVector, indices, allocator, threadPool, 4)) {
+        verifyVarCharVector(result);
+      }
+    } finally {
+      threadPool.shutdown();
+    }
+  }
+}
@@ -31,7 +31,9 @@ import org.apache.arrow.vector.UInt1Vector;
 import org.apache.arrow.vector.UInt2Vector;
 import org.apache.arrow.vector.UInt4Vector;
 import org.apache.arrow.vector.UInt8Vector;
+import org.apache.arrow.vector.ViewVarCharVector;
 import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
 import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.FieldType;
@@ -116,6 +118,58 @@ public class TestDefaultVectorComparator {
     }
   }
 
+  @Test
+  public void testCompareRunEndEncoded() {
+    try (RunEndEncodedVector vec = RunEndEncodedVector.empty(
+             "ree", FieldType.nullable(Types.MinorType.INT.getType()), allocator);
+         IntVector values = new IntVector("values", allocator)) {
+      ValueVectorDataPopulator.setVector(values, 5, null, 3);
+      vec.appendRun(values, 0, 3);
+      vec.appendRun(values, 1, 2);
+      vec.appendRun(values, 2, 4);
+
+      VectorValueComparator<RunEndEncodedVector> comparator =
+              DefaultVectorComparators.createDefaultComparator(vec);
+      comparator.attachVectors(vec, vec);
+
+      // elements of the same run
+      assertEquals(0, comparator.compare(0, 2));
+      assertEquals(0, comparator.compare(3, 4));
+
+      // null comes first
+      assertTrue(comparator.compare(3, 0) < 0);
+      assertTrue(comparator.compare(0, 8) > 0);
+      assertTrue(comparator.compare(5, 1) < 0);
+
+      VectorValueComparator<RunEndEncodedVector> copyComparator = comparator.createNew();
+      copyComparator.attachVectors(vec, vec);
+      assertEquals(comparator.compare(8, 1), copyComparator.compare(8, 1));
+    }
+  }
+
+  @Test
+  public void testCompareViewVarChar() {
+    try (ViewVarCharVector vec = new ViewVarCharVector("", allocator)) {
+      vec.allocateNew(5);
+      vec.set(0, "IBM".getBytes());
+      vec.setNull(1);
+      vec.set(2, "a long string with a common prefix".getBytes());
+      vec.set(3, "a long string with a different suffix".getBytes());
+      vec.set(4, "IBM".getBytes());
+      vec.setValueCount(5);
+
+      VectorValueComparator<ViewVarCharVector> comparator =
+              DefaultVectorComparators.createDefaultComparator(vec);
+      comparator.attachVectors(vec, vec);
+
+      assertTrue(comparator.compare(0, 4) == 0);
+      assertTrue(comparator.compare(1, 0) < 0);
+      assertTrue(comparator.compare(0, 2) < 0);
+      assertTrue(comparator.compare(2, 3) < 0);
+      assertTrue(comparator.compare(3, 2) > 0);
+    }
+  }
+
   @Test
   public void testCopiedComparatorForLists() {
     for (int i = 1; i < 10; i++) {
@@ -29,6 +29,7 @@ import org.apache.arrow.gandiva.ipc.GandivaTypes;
 import org.apache.arrow.gandiva.ipc.GandivaTypes.SelectionVectorType;
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BitVectorHelper;
 import org.apache.arrow.vector.FixedWidthVector;
 import org.apache.arrow.vector.ValueVector;
 import org.apache.arrow.vector.VariableWidthVector;
@@ -288,8 +289,9 @@ public class Projector {
             "Unsupported value vector type " + valueVector.getField().getFieldType());
       }
 
-      outAddrs[idx] = valueVector.getValidityBuffer().memoryAddress();
-      outSizes[idx++] = valueVector.getValidityBuffer().capacity();
+      final ArrowBuf validityBuffer = BitVectorHelper.getValidityBitmap(valueVector);
+      outAddrs[idx] = validityBuffer.memoryAddress();
+      outSizes[idx++] = validityBuffer.capacity();
       if (isVarWidth) {
         outAddrs[idx] = valueVector.getOffsetBuffer().memoryAddress();
         outSizes[idx++] = valueVector.getOffsetBuffer().capacity();
@@ -18,6 +18,7 @@
 package org.apache.arrow.memory;
 
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -55,11 +56,49 @@ class Accountant implements AutoCloseable {
   private final AtomicLong allocationLimit = new AtomicLong();
 
   /**
-   * Currently allocated amount of memory.
+   * Currently allocated amount of memory. When striped accounting is enabled this also includes
+   * the unused credit held by the stripes.
    */
   private final AtomicLong locallyHeldMemory = new AtomicLong();
 
+  /**
+   * Size of the chunks claimed by each accounting stripe, 0 if striped accounting is disabled.
+   */
+  private final long stripeChunkSize;
+
+  /**
+   * Unused credit held by each accounting stripe. Slots are spread {@link #STRIPE_PADDING} longs
+   * apart so that stripes used by different threads do not share a cache line. Null if striped
+   * accounting is disabled.
+   */
+  private final AtomicLongArray stripeCredits;
+
+  private final int stripeMask;
+
+  private static final int STRIPE_PADDING = 16;
+
+  private static final int MAX_STRIPES = 64;
+
   public Accountant(Accountant parent, String name, long reservation, long maxAllocation) {
+    this(parent, name, reservation, maxAllocation, 0);
+  }
+
+  /**
+   * Create an Accountant, optionally with striped accounting.
+   *
+   * <p>With striped accounting, each thread is mapped to a stripe that claims memory from this
+   * Accountant in chunks of <code>stripeChunkSize</code> bytes and serves smaller requests from
+   * that credit without touching the shared counters. Limits are enforced at chunk granularity;
+   * if a chunk can't be claimed, the credit of all stripes is returned and the request is retried
+   * for its exact size, so an allocation only fails when it doesn't fit regardless of striping.
+   *
+   * @param parent          The parent Accountant, null for the root.
+   * @param name            The name of the Accountant.
+   * @param reservation     The initial reservation (in bytes) claimed from the parent.
+   * @param maxAllocation   The maximum allocation limit (in bytes).
+   * @param stripeChunkSize The chunk size (in bytes) claimed by each stripe, 0 to disable striping.
+   */
+  public Accountant(Accountant parent, String name, long reservation, long maxAllocation, long stripeChunkSize) {
     Preconditions.checkNotNull(name, "name must not be null");
     Preconditions.checkArgument(reservation >= 0, "The initial reservation size must be non-negative.");
     Preconditions.checkArgument(maxAllocation >= 0, "The maximum allocation limit must be non-negative.");
@@ -72,6 +111,18 @@ class Accountant implements AutoCloseable {
     this.reservation = reservation;
     this.allocationLimit.set(maxAllocation);
 
+    Preconditions.checkArgument(stripeChunkSize >= 0, "The stripe chunk size must be non-negative.");
+    this.stripeChunkSize = stripeChunkSize;
+    if (stripeChunkSize > 0) {
+      final int stripes = Math.min(MAX_STRIPES, Integer.highestOneBit(
+          Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)));
+      this.stripeCredits = new AtomicLongArray(stripes * STRIPE_PADDING);
+      this.stripeMask = stripes - 1;
+    } else {
+      this.stripeCredits = null;
+      this.stripeMask = 0;
+    }
+
     if (reservation != 0) {
       // we will allocate a reservation from our parent.
       final AllocationOutcome outcome = parent.allocateBytes(reservation);
@@ -91,7 +142,15 @@ class Accountant implements AutoCloseable {
    * @return the status and details of allocation at each allocator in the chain.
    */
   AllocationOutcome allocateBytes(long size) {
+    if (stripeCredits != null && allocateFromStripe(size)) {
+      return AllocationOutcome.SUCCESS_INSTANCE;
+    }
     AllocationOutcome.Status status = allocateBytesInternal(size);
+    if (!status.isOk() && stripeCredits != null) {
+      // the request may only have failed because of credit parked in other stripes.
+      releaseStripeCredits();
+      status = allocateBytesInternal(size);
+    }
     if (status.isOk()) {
       return AllocationOutcome.SUCCESS_INSTANCE;
     } else {
@@ -107,7 +166,7 @@ class Accountant implements AutoCloseable {
     final AllocationOutcome.Status status = allocate(size,
         true /*incomingUpdatePeek*/, false /*forceAllocation*/, details);
     if (!status.isOk()) {
-      releaseBytes(size);
+      releaseHeldBytes(size);
     }
     return status;
   }
@@ -208,6 +267,18 @@ class Accountant implements AutoCloseable {
   }
 
   public void releaseBytes(long size) {
+    if (stripeCredits != null && releaseToStripe(size)) {
+      return;
+    }
+    releaseHeldBytes(size);
+  }
+
+  /**
+   * Release memory from the shared counters, bypassing the accounting stripes.
+   *
+   * @param size The amount of memory to release in bytes.
+   */
+  void releaseHeldBytes(long size) {
     // reduce local memory. all memory released above reservation should be released up the tree.
     final long newSize = locallyHeldMemory.addAndGet(-size);
 
@@ -218,9 +289,89 @@ class Accountant implements AutoCloseable {
       // we deallocated memory that we should release to our parent.
       final long possibleAmountToReleaseToParent = originalSize - reservation;
       final long actualToReleaseToParent = Math.min(size, possibleAmountToReleaseToParent);
-      parent.releaseBytes(actualToReleaseToParent);
+      parent.releaseHeldBytes(actualToReleaseToParent);
+    }
+
+  }
+
+  private int stripeIndex() {
+    return ((int) Thread.currentThread().getId() & stripeMask) * STRIPE_PADDING;
+  }
+
+  /**
+   * Try to serve an allocation from the credit of the current thread's stripe, claiming a new
+   * chunk from the shared counters if the credit is insufficient.
+   *
+   * @return true if the allocation was served, false if it has to go through the shared counters.
+   */
+  private boolean allocateFromStripe(long size) {
+    if (size >= stripeChunkSize) {
+      return false;
+    }
+    final int index = stripeIndex();
+    long credit = stripeCredits.get(index);
+    while (credit >= size) {
+      if (stripeCredits.compareAndSet(index, credit, credit - size)) {
+        return true;
+      }
+      credit = stripeCredits.get(index);
+    }
+
+    // claim a new chunk; whatever the request doesn't use becomes credit of this stripe.
+    if (allocateBytesInternal(stripeChunkSize).isOk()) {
+      stripeCredits.addAndGet(index, stripeChunkSize - size);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Return released memory to the current thread's stripe, handing anything above one chunk of
+   * credit back to the shared counters.
+   *
+   * @return true if the release was handled, false if it has to go through the shared counters.
+   */
+  private boolean releaseToStripe(long size) {
+    if (size >= stripeChunkSize) {
+      return false;
+    }
+    final int index = stripeIndex();
+    while (true) {
+      final long credit = stripeCredits.get(index);
+      final long surplus = Math.max(0, credit + size - stripeChunkSize);
+      if (stripeCredits.compareAndSet(index, credit, credit + size - surplus)) {
+        if (surplus > 0) {
+          releaseHeldBytes(surplus);
+        }
+        return true;
+      }
     }
+  }
 
+  /**
+   * Return the unused credit of all accounting stripes to the shared counters.
+   */
+  void releaseStripeCredits() {
+    if (stripeCredits == null) {
+      return;
+    }
+    for (int i = 0; i <= stripeMask; i++) {
+      final long credit = stripeCredits.getAndSet(i * STRIPE_PADDING, 0);
+      if (credit > 0) {
+        releaseHeldBytes(credit);
+      }
+    }
+  }
+
+  private long getStripeCredit() {
+    if (stripeCredits == null) {
+      return 0;
+    }
+    long total = 0;
+    for (int i = 0; i <= stripeMask; i++) {
+      total += stripeCredits.get(i * STRIPE_PADDING);
+    }
+    return total;
   }
 
   public boolean isOverLimit() {
@@ -232,9 +383,10 @@ class Accountant implements AutoCloseable {
    */
   @Override
   public void close() {
+    releaseStripeCredits();
     // return memory reservation to parent allocator.
     if (parent != null) {
-      parent.releaseBytes(reservation);
+      parent.releaseHeldBytes(reservation);
     }
   }
 
@@ -283,11 +435,26 @@ class Accountant implements AutoCloseable {
    * @return Currently allocate memory in bytes.
    */
   public long getAllocatedMemory() {
-    return locallyHeldMemory.get();
+    if (stripeCredits == null) {
+      return locallyHeldMemory.get();
+    }
+    // credit moves independently of the shared counter, so the difference is only a snapshot.
+    final long held = locallyHeldMemory.get();
+    return Math.max(0, held - getStripeCredit());
+  }
+
+  /**
+   * Return the chunk size claimed by each accounting stripe.
+   *
+   * @return chunk size in bytes, 0 if striped accounting is disabled.
+   */
+  public long getStripeChunkSize() {
+    return stripeChunkSize;
   }
 
   /**
-   * The peak memory allocated by this Accountant.
+   * The peak memory allocated by this Accountant. With striped accounting the peak is tracked
+   * when chunks are claimed, so it may exceed the actual peak by the credit held in the stripes.
    *
    * @return The peak allocated memory in bytes.
    */
@@ -296,13 +463,15 @@ class Accountant implements AutoCloseable {
   }
 
   public long getHeadroom() {
-    long localHeadroom = allocationLimit.get() - locallyHeldMemory.get();
+    final long held = locallyHeldMemory.get();
+    final long credit = Math.min(held, getStripeCredit());
+    long localHeadroom = allocationLimit.get() - (held - credit);
     if (parent == null) {
       return localHeadroom;
     }
 
-    // Amount of reserved memory left on top of what parent has
-    long reservedHeadroom = Math.max(0, reservation - locallyHeldMemory.get());
+    // Amount of reserved (or striped) memory left on top of what parent has
+    long reservedHeadroom = Math.max(0, reservation - held) + credit;
     return Math.min(localHeadroom, parent.getHeadroom() + reservedHeadroom);
   }
 
@@ -19,6 +19,7 @@ package org.apache.arrow.memory;
 
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.arrow.memory.metrics.ArrowMetrics;
 import org.apache.arrow.util.Preconditions;
 
 /**
@@ -41,7 +42,9 @@ import org.apache.arrow.util.Preconditions;
  * AllocationManager per
  * UnsafeDirectLittleEndian buffer allocation. As such, there will be thousands of these in a
  * typical query. The
- * contention of acquiring a lock on AllocationManager should be very low.
+ * contention of acquiring a lock on AllocationManager should be very low. Associating a buffer
+ * with an allocator it is already associated with, e.g. retaining it in the same allocator, does
+ * not take the lock.
  */
 public abstract class AllocationManager {
 
@@ -49,9 +52,8 @@ public abstract class AllocationManager {
 
   private final RootAllocator root;
   private final long allocatorManagerId = MANAGER_ID_GENERATOR.incrementAndGet();
-  // ARROW-1627 Trying to minimize memory overhead caused by previously used IdentityHashMap
-  // see JIRA for details
-  private final LowCostIdentityHashMap<BaseAllocator, BufferLedger> map = new LowCostIdentityHashMap<>();
+  // lookups are lock-free, updates are done while holding the lock on this instance
+  private final LedgerRegistry ledgers = new LedgerRegistry();
   private final long amCreationTime = System.nanoTime();
 
   // The ReferenceManager created at the time of creation of this AllocationManager
@@ -59,6 +61,8 @@ public abstract class AllocationManager {
   // managed by this allocation manager
   private volatile BufferLedger owningLedger;
   private volatile long amDestructionTime = 0;
+  // whether the allocation of this chunk was recorded by the AllocationSampler
+  volatile boolean sampled = false;
 
   protected AllocationManager(BaseAllocator accountingAllocator) {
     Preconditions.checkNotNull(accountingAllocator);
@@ -96,8 +100,17 @@ public abstract class AllocationManager {
     Preconditions.checkState(root == allocator.root,
           "A buffer can only be associated between two allocators that share the same root");
 
+    if (retain) {
+      // fast path: the ledger exists and is alive, a concurrent release can't remove it once
+      // its ref count has been bumped
+      final BufferLedger ledger = ledgers.get(allocator);
+      if (ledger != null && ledger.tryIncrement()) {
+        return ledger;
+      }
+    }
+
     synchronized (this) {
-      BufferLedger ledger = map.get(allocator);
+      BufferLedger ledger = ledgers.get(allocator);
       if (ledger != null) {
         if (retain) {
           // bump the ref count for the ledger
@@ -114,7 +127,7 @@ public abstract class AllocationManager {
       }
 
       // store the mapping for <allocator, reference manager>
-      BufferLedger oldLedger = map.put(ledger);
+      BufferLedger oldLedger = ledgers.put(ledger);
       Preconditions.checkState(oldLedger == null,
           "Detected inconsistent state: A reference manager already exists for this allocator");
 
@@ -138,9 +151,9 @@ public abstract class AllocationManager {
 
     // remove the <BaseAllocator, BufferLedger> mapping for the allocator
     // of calling BufferLedger
-    Preconditions.checkState(map.containsKey(allocator),
+    Preconditions.checkState(ledgers.containsKey(allocator),
         "Expecting a mapping for allocator and reference manager");
-    final BufferLedger oldLedger = map.remove(allocator);
+    final BufferLedger oldLedger = ledgers.remove(allocator);
 
     // needed for debug only: tell the allocator that AllocationManager is removing a
     // reference manager associated with this particular allocator
@@ -148,14 +161,20 @@ public abstract class AllocationManager {
 
     if (oldLedger == owningLedger) {
       // the release call was made by the owning reference manager
-      if (map.isEmpty()) {
+      if (ledgers.isEmpty()) {
         // the only <allocator, reference manager> mapping was for the owner
         // which now has been removed, it implies we can safely destroy the
         // underlying memory chunk as it is no longer being referenced
         ((BaseAllocator) oldLedger.getAllocator()).releaseBytes(getSize());
         // free the memory chunk associated with the allocation manager
         release0();
+        if (sampled) {
+          AllocationSampler.onRelease(this);
+        }
         ((BaseAllocator) oldLedger.getAllocator()).getListener().onRelease(getSize());
+        if (ArrowMetrics.isEnabled()) {
+          ArrowMetrics.recordRelease(oldLedger.getAllocator(), getSize());
+        }
         amDestructionTime = System.nanoTime();
         owningLedger = null;
       } else {
@@ -163,7 +182,7 @@ public abstract class AllocationManager {
         // manager will no longer keep a mapping for it, we need to change the owning
         // reference manager to whatever the next available <allocator, reference manager>
         // mapping exists.
-        BufferLedger newOwningLedger = map.getNextValue();
+        BufferLedger newOwningLedger = ledgers.getNextValue();
         // we'll forcefully transfer the ownership and not worry about whether we
         // exceeded the limit since this consumer can't do anything with this.
         oldLedger.transferBalance(newOwningLedger);
@@ -171,7 +190,7 @@ public abstract class AllocationManager {
     } else {
       // the release call was made by a non-owning reference manager, so after remove there have
       // to be 1 or more <allocator, reference manager> mappings
-      Preconditions.checkState(map.size() > 0,
+      Preconditions.checkState(ledgers.size() > 0,
           "The final removal of reference manager should be connected to owning reference manager");
     }
   }
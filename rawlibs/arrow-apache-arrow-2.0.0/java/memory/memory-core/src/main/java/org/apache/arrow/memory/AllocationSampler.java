@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.arrow.memory.util.CommonUtil;
+import org.apache.arrow.util.Preconditions;
+
+/**
+ * Sampled tracking of buffer allocation sites, cheap enough to stay enabled in production.
+ *
+ * <p>Unlike {@link BaseAllocator#DEBUG}, which records the history of every buffer, the sampler
+ * captures the allocation stack of roughly one in N buffers, and keeps per call site the number
+ * and size of the sampled allocations as well as the sampled bytes still outstanding. Sampled
+ * buffers that are still alive can be dumped on demand with {@link #dumpOutstanding(BufferAllocator)};
+ * the dump is also attached to the error raised when an allocator is closed with leaked memory.
+ *
+ * <p>Sampling is disabled by default. It is enabled through the {@link #SAMPLING_INTERVAL_PROPERTY}
+ * system property or {@link #setSamplingInterval(int)}.
+ */
+public final class AllocationSampler {
+
+  /**
+   * The system property for the sampling interval N: one in N buffers is sampled, 0 disables sampling.
+   */
+  public static final String SAMPLING_INTERVAL_PROPERTY = "arrow.memory.debug.sampling.interval";
+
+  /**
+   * The number of stack frames, starting at the first frame outside the allocator, that identify
+   * a call site.
+   */
+  public static final int CALL_SITE_DEPTH = 4;
+
+  // allocator frames, including the bridges generated for the public subclasses of BaseAllocator.
+  private static final String[] INTERNAL_CLASS_PREFIXES = {
+      Thread.class.getName(),
+      AllocationSampler.class.getName(),
+      BaseAllocator.class.getName(),
+      RootAllocator.class.getName(),
+      ChildAllocator.class.getName()
+  };
+
+  private static volatile int samplingInterval = Integer.getInteger(SAMPLING_INTERVAL_PROPERTY, 0);
+
+  private static final Map<AllocationManager, Sample> outstanding = new ConcurrentHashMap<>();
+  private static final Map<List<StackTraceElement>, CallSiteStats> callSites = new ConcurrentHashMap<>();
+
+  private AllocationSampler() {
+  }
+
+  /**
+   * Set the sampling interval.
+   *
+   * @param interval one in <code>interval</code> buffers is sampled, 0 disables sampling.
+   */
+  public static void setSamplingInterval(int interval) {
+    Preconditions.checkArgument(interval >= 0, "The sampling interval must be non-negative");
+    samplingInterval = interval;
+  }
+
+  public static int getSamplingInterval() {
+    return samplingInterval;
+  }
+
+  public static boolean isEnabled() {
+    return samplingInterval > 0;
+  }
+
+  /**
+   * Called for each new memory chunk; samples it with probability 1 / interval.
+   */
+  static void onAllocation(AllocationManager manager, long size) {
+    final int interval = samplingInterval;
+    if (interval <= 0 || (interval > 1 && ThreadLocalRandom.current().nextInt(interval) != 0)) {
+      return;
+    }
+
+    final StackTraceElement[] stack = Thread.currentThread().getStackTrace();
+    int first = 0;
+    while (first < stack.length - 1 && isInternalFrame(stack[first])) {
+      first++;
+    }
+    final StackTraceElement[] frames = Arrays.copyOfRange(stack, first, stack.length);
+    final List<StackTraceElement> callSite =
+        Arrays.asList(Arrays.copyOf(frames, Math.min(frames.length, CALL_SITE_DEPTH)));
+
+    final CallSiteStats stats = callSites.computeIfAbsent(callSite, CallSiteStats::new);
+    stats.sampledCount.incrementAndGet();
+    stats.sampledBytes.addAndGet(size);
+    stats.outstandingBytes.addAndGet(size);
+
+    manager.sampled = true;
+    outstanding.put(manager, new Sample(manager, size, frames, stats));
+  }
+
+  /**
+   * Called when the memory chunk of a sampled manager is released.
+   */
+  static void onRelease(AllocationManager manager) {
+    final Sample sample = outstanding.remove(manager);
+    if (sample != null) {
+      sample.stats.outstandingBytes.addAndGet(-sample.size);
+    }
+  }
+
+  private static boolean isInternalFrame(StackTraceElement frame) {
+    final String className = frame.getClassName();
+    for (String prefix : INTERNAL_CLASS_PREFIXES) {
+      if (className.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns a snapshot of the statistics of all sampled call sites.
+   *
+   * @return the statistics per call site.
+   */
+  public static Collection<CallSiteStats> getCallSiteStats() {
+    return new ArrayList<>(callSites.values());
+  }
+
+  /**
+   * Forget all samples and call site statistics.
+   */
+  public static void reset() {
+    for (AllocationManager manager : outstanding.keySet()) {
+      manager.sampled = false;
+    }
+    outstanding.clear();
+    callSites.clear();
+  }
+
+  /**
+   * Describe the sampled buffers still owned by the given allocator or one of its descendants,
+   * with their allocation stacks.
+   *
+   * @param allocator the allocator to inspect.
+   * @return a human readable description of the outstanding sampled buffers.
+   */
+  public static String dumpOutstanding(BufferAllocator allocator) {
+    final StringBuilder sb = new StringBuilder();
+    int count = 0;
+    for (Sample sample : outstanding.values()) {
+      final BufferLedger owner = sample.manager.getOwningLedger();
+      if (owner != null && isDescendant(owner.getAllocator(), allocator)) {
+        count++;
+        sample.print(sb, owner.getAllocator());
+      }
+    }
+    return String.format("Outstanding sampled buffers (1 in %d sampled): %d\n", samplingInterval, count) + sb;
+  }
+
+  private static boolean isDescendant(BufferAllocator allocator, BufferAllocator ancestor) {
+    for (BufferAllocator current = allocator; current != null; current = current.getParentAllocator()) {
+      if (current == ancestor) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Statistics of the sampled allocations of one call site.
+   */
+  public static final class CallSiteStats {
+
+    private final List<StackTraceElement> callSite;
+    private final AtomicLong sampledCount = new AtomicLong();
+    private final AtomicLong sampledBytes = new AtomicLong();
+    private final AtomicLong outstandingBytes = new AtomicLong();
+
+    private CallSiteStats(List<StackTraceElement> callSite) {
+      this.callSite = callSite;
+    }
+
+    /**
+     * The innermost frames outside the allocator that identify this call site.
+     */
+    public List<StackTraceElement> getCallSite() {
+      return callSite;
+    }
+
+    public long getSampledCount() {
+      return sampledCount.get();
+    }
+
+    public long getSampledBytes() {
+      return sampledBytes.get();
+    }
+
+    /**
+     * The sampled bytes allocated at this call site that have not been released yet.
+     */
+    public long getOutstandingBytes() {
+      return outstandingBytes.get();
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s sampled: %d buffers, %d bytes, %d bytes outstanding",
+          callSite.isEmpty() ? "<unknown>" : callSite.get(0), getSampledCount(), getSampledBytes(),
+          getOutstandingBytes());
+    }
+  }
+
+  /**
+   * A sampled memory chunk that hasn't been released yet.
+   */
+  private static final class Sample {
+
+    private final AllocationManager manager;
+    private final long size;
+    private final StackTraceElement[] frames;
+    private final CallSiteStats stats;
+    private final long allocationNanos = System.nanoTime();
+
+    Sample(AllocationManager manager, long size, StackTraceElement[] frames, CallSiteStats stats) {
+      this.manager = manager;
+      this.size = size;
+      this.frames = frames;
+      this.stats = stats;
+    }
+
+    void print(StringBuilder sb, BufferAllocator owner) {
+      CommonUtil.indent(sb, 1)
+          .append("buffer of size ")
+          .append(size)
+          .append(" owned by allocator[")
+          .append(owner.getName())
+          .append("], allocated ")
+          .append(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - allocationNanos))
+          .append(" ms ago at\n");
+      for (StackTraceElement frame : frames) {
+        CommonUtil.indent(sb, 2).append("at ").append(frame).append('\n');
+      }
+    }
+  }
+}
@@ -24,6 +24,7 @@ import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.arrow.memory.metrics.ArrowMetrics;
 import org.apache.arrow.memory.rounding.DefaultRoundingPolicy;
 import org.apache.arrow.memory.rounding.RoundingPolicy;
 import org.apache.arrow.memory.util.AssertionUtil;
@@ -60,6 +61,9 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
 
   public static final Config DEFAULT_CONFIG = ImmutableConfig.builder().build();
 
+  // the alignment that all allocation managers provide, as malloc, Netty and mmap do.
+  private static final long MIN_ALIGNMENT = 8;
+
   // Package exposed for sharing between AllocatorManger and BaseAllocator objects
   final String name;
   final RootAllocator root;
@@ -74,6 +78,9 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
   private final HistoricalLog historicalLog;
   private final RoundingPolicy roundingPolicy;
   private final AllocationManager.Factory allocationManagerFactory;
+  private final long alignment;
+  // the extra bytes allocated for each buffer so that its address can be aligned.
+  private final long alignmentPadding;
 
   private volatile boolean isClosed = false; // the allocator has been closed
 
@@ -90,7 +97,8 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
       final BaseAllocator parentAllocator,
       final String name,
       final Config config) throws OutOfMemoryException {
-    super(parentAllocator, name, config.getInitReservation(), config.getMaxAllocation());
+    super(parentAllocator, name, config.getInitReservation(), config.getMaxAllocation(),
+        config.getStripeChunkSize());
 
     this.listener = config.getListener();
     this.allocationManagerFactory = config.getAllocationManagerFactory();
@@ -122,12 +130,22 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
       childLedgers = null;
     }
     this.roundingPolicy = config.getRoundingPolicy();
+
+    this.alignment = config.getAlignment();
+    Preconditions.checkArgument(alignment >= 0 && (alignment & (alignment - 1)) == 0,
+        "The alignment must be 0 or a power of 2, was %s", alignment);
+    this.alignmentPadding = alignment > MIN_ALIGNMENT ? alignment - MIN_ALIGNMENT : 0;
   }
 
   AllocationListener getListener() {
     return listener;
   }
 
+  @Override
+  public long getAlignment() {
+    return alignment;
+  }
+
   @Override
   public BaseAllocator getParentAllocator() {
     return parentAllocator;
@@ -254,18 +272,23 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
     }
 
     // round the request size according to the rounding policy
-    final long actualRequestSize = roundingPolicy.getRoundedSize(initialRequestSize);
+    final long actualRequestSize = roundingPolicy.getRoundedSize(initialRequestSize, alignment);
+    // the padding needed to align the buffer is accounted as well
+    final long allocationSize = actualRequestSize + alignmentPadding;
 
-    listener.onPreAllocation(actualRequestSize);
+    listener.onPreAllocation(allocationSize);
 
-    AllocationOutcome outcome = this.allocateBytes(actualRequestSize);
+    AllocationOutcome outcome = this.allocateBytes(allocationSize);
     if (!outcome.isOk()) {
-      if (listener.onFailedAllocation(actualRequestSize, outcome)) {
+      if (listener.onFailedAllocation(allocationSize, outcome)) {
         // Second try, in case the listener can do something about it
-        outcome = this.allocateBytes(actualRequestSize);
+        outcome = this.allocateBytes(allocationSize);
+      }
+      if (ArrowMetrics.isEnabled()) {
+        ArrowMetrics.recordAllocationFailure(this, allocationSize, outcome.isOk());
       }
       if (!outcome.isOk()) {
-        throw new OutOfMemoryException(createErrorMsg(this, actualRequestSize,
+        throw new OutOfMemoryException(createErrorMsg(this, allocationSize,
             initialRequestSize), outcome.getDetails());
       }
     }
@@ -274,29 +297,41 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
     try {
       ArrowBuf buffer = bufferWithoutReservation(actualRequestSize, manager);
       success = true;
-      listener.onAllocation(actualRequestSize);
+      listener.onAllocation(buffer.getReferenceManager().getSize());
       return buffer;
     } catch (OutOfMemoryError e) {
       throw e;
     } finally {
       if (!success) {
-        releaseBytes(actualRequestSize);
+        releaseBytes(allocationSize);
       }
     }
   }
 
   /**
    * Used by usual allocation as well as for allocating a pre-reserved buffer.
-   * Skips the typical accounting associated with creating a new buffer.
+   * Skips the typical accounting associated with creating a new buffer, but the caller must
+   * have reserved the alignment padding on top of the size.
    */
   private ArrowBuf bufferWithoutReservation(
       final long size,
       BufferManager bufferManager) throws OutOfMemoryException {
     assertOpen();
 
-    final AllocationManager manager = newAllocationManager(size);
+    final long requestedSize = size + alignmentPadding;
+    final AllocationManager manager = newAllocationManager(requestedSize);
+    // a manager may reserve more memory than requested, e.g. a pooled size class, and releases its
+    // whole size: account the surplus as well.
+    final long allocationSize = manager.getSize();
+    if (allocationSize > requestedSize) {
+      forceAllocate(allocationSize - requestedSize);
+    }
+    AllocationSampler.onAllocation(manager, allocationSize);
+    if (ArrowMetrics.isEnabled()) {
+      ArrowMetrics.recordAllocation(this, allocationSize);
+    }
     final BufferLedger ledger = manager.associate(this); // +1 ref cnt (required)
-    final ArrowBuf buffer = ledger.newArrowBuf(size, bufferManager);
+    final ArrowBuf buffer = ledger.newArrowBuf(alignmentOffset(manager.memoryAddress()), size, bufferManager);
 
     // make sure that our allocation is equal to what we expected.
     Preconditions.checkArgument(buffer.capacity() == size,
@@ -305,6 +340,52 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
     return buffer;
   }
 
+  @Override
+  public ArrowBuf wrapForeignAllocation(ForeignAllocation allocation) {
+    assertOpen();
+
+    final long size = allocation.getSize();
+    Preconditions.checkArgument(size >= 0, "the allocation size must be non-negative");
+    listener.onPreAllocation(size);
+    final AllocationOutcome outcome = this.allocateBytes(size);
+    if (!outcome.isOk()) {
+      if (ArrowMetrics.isEnabled()) {
+        ArrowMetrics.recordAllocationFailure(this, size, false);
+      }
+      throw new OutOfMemoryException(createErrorMsg(this, size, size), outcome.getDetails());
+    }
+
+    boolean success = false;
+    try {
+      final AllocationManager manager = new ForeignAllocationManager(this, allocation);
+      if (ArrowMetrics.isEnabled()) {
+        ArrowMetrics.recordAllocation(this, size);
+      }
+      final BufferLedger ledger = manager.associate(this); // +1 ref cnt (required)
+      final ArrowBuf buffer = ledger.newArrowBuf(0, size, null);
+      success = true;
+      listener.onAllocation(size);
+      return buffer;
+    } finally {
+      if (!success) {
+        releaseBytes(size);
+      }
+    }
+  }
+
+  /**
+   * Returns the offset of the first aligned address of a memory chunk.
+   */
+  private long alignmentOffset(long address) {
+    if (alignment <= MIN_ALIGNMENT) {
+      return 0;
+    }
+    final long offset = -address & (alignment - 1);
+    Preconditions.checkState(offset <= alignmentPadding,
+        "Memory address %s is not %s-byte aligned", address, MIN_ALIGNMENT);
+    return offset;
+  }
+
   private AllocationManager newAllocationManager(long size) {
     return newAllocationManager(this, size);
   }
@@ -328,6 +409,16 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
       final AllocationListener listener,
       final long initReservation,
       final long maxAllocation) {
+    return newChildAllocator(name, listener, initReservation, maxAllocation, this.allocationManagerFactory);
+  }
+
+  @Override
+  public BufferAllocator newChildAllocator(
+      final String name,
+      final AllocationListener listener,
+      final long initReservation,
+      final long maxAllocation,
+      final AllocationManager.Factory allocationManagerFactory) {
     assertOpen();
 
     final ChildAllocator childAllocator =
@@ -337,6 +428,8 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
             .maxAllocation(maxAllocation)
             .roundingPolicy(roundingPolicy)
             .allocationManagerFactory(allocationManagerFactory)
+            .stripeChunkSize(getStripeChunkSize())
+            .alignment(alignment)
             .build());
 
     if (DEBUG) {
@@ -419,14 +512,18 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
       }
     }
 
+    // Hand back memory claimed by the accounting stripes before checking for leaks.
+    releaseStripeCredits();
+
     // Is there unaccounted-for outstanding allocation?
     final long allocated = getAllocatedMemory();
     if (allocated > 0) {
       if (parent != null && reservation > allocated) {
-        parent.releaseBytes(reservation - allocated);
+        parent.releaseHeldBytes(reservation - allocated);
       }
-      String msg = String.format("Memory was leaked by query. Memory leaked: (%d)\n%s%s", allocated,
-          outstandingChildAllocators.toString(), toString());
+      String msg = String.format("Memory was leaked by query. Memory leaked: (%d)\n%s%s%s", allocated,
+          outstandingChildAllocators.toString(), toString(),
+          AllocationSampler.isEnabled() ? AllocationSampler.dumpOutstanding(this) : "");
       logger.error(msg);
       throw new IllegalStateException(msg);
     }
@@ -710,10 +807,11 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
   }
 
   /**
-   * Config class of {@link BaseAllocator}.
+   * Config class of {@link BaseAllocator}, built with {@link #configBuilder()} and passed to
+   * {@link RootAllocator#RootAllocator(Config)}.
    */
   @Value.Immutable
-  abstract static class Config {
+  public abstract static class Config {
     /**
      * Factory for creating {@link AllocationManager} instances.
      */
@@ -754,6 +852,29 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
     RoundingPolicy getRoundingPolicy() {
       return DefaultRoundingPolicy.DEFAULT_ROUNDING_POLICY;
     }
+
+    /**
+     * Chunk size (in bytes) claimed by each accounting stripe of this allocator, 0 to disable
+     * striped accounting. Child allocators inherit this setting.
+     *
+     * @see Accountant
+     */
+    @Value.Default
+    long getStripeChunkSize() {
+      return 0;
+    }
+
+    /**
+     * Alignment (in bytes) of the memory address of the buffers allocated by this allocator, e.g.
+     * {@link org.apache.arrow.memory.util.MemoryUtil#CACHE_LINE_SIZE}. It must be 0 or a power of 2;
+     * 0 keeps the alignment provided by the allocation manager. Buffer sizes are rounded up to a
+     * multiple of the alignment, and the padding needed to align the address is accounted to the
+     * allocator. Child allocators inherit this setting.
+     */
+    @Value.Default
+    long getAlignment() {
+      return 0;
+    }
   }
 
   /**
@@ -904,10 +1025,20 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
         * to the allocated bytes
        * as well, so we need to return the same number back to avoid double-counting them.
        */
+      long paddingReserved = 0;
       try {
+        // the reservation only covers the requested bytes, not the alignment padding.
+        if (alignmentPadding > 0) {
+          final AllocationOutcome outcome = BaseAllocator.this.allocateBytes(alignmentPadding);
+          if (!outcome.isOk()) {
+            throw new OutOfMemoryException(createErrorMsg(BaseAllocator.this, nBytes + alignmentPadding,
+                nBytes), outcome.getDetails());
+          }
+          paddingReserved = alignmentPadding;
+        }
         final ArrowBuf arrowBuf = BaseAllocator.this.bufferWithoutReservation(nBytes, null);
 
-        listener.onAllocation(nBytes);
+        listener.onAllocation(nBytes + paddingReserved);
         if (DEBUG) {
           historicalLog.recordEvent("allocate() => %s", String.format("ArrowBuf[%d]", arrowBuf
               .getId()));
@@ -916,7 +1047,7 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
         return arrowBuf;
       } finally {
         if (!success) {
-          releaseBytes(nBytes);
+          releaseBytes(nBytes + paddingReserved);
         }
       }
     }
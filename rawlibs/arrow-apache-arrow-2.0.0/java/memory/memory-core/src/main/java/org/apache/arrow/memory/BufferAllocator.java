@@ -49,6 +49,23 @@ public interface BufferAllocator extends AutoCloseable {
    */
   ArrowBuf buffer(long size, BufferManager manager);
 
+  /**
+   * Wrap memory allocated outside of Arrow in a buffer accounted to this allocator. The size of the
+   * allocation counts against the limit of the allocator until the last buffer referencing it is
+   * released, which then releases the allocation.
+   *
+   * @param allocation the memory to wrap.
+   * @return a new ArrowBuf over the whole allocation
+   * @throws OutOfMemoryException if the allocation exceeds the limit of the allocator, in which case
+   *                              the caller keeps the ownership of the allocation
+   * @throws UnsupportedOperationException if the allocator doesn't support foreign allocations,
+   *                                       which is the default
+   */
+  default ArrowBuf wrapForeignAllocation(ForeignAllocation allocation) {
+    throw new UnsupportedOperationException("wrapping foreign allocations is not supported by " +
+        getClass().getSimpleName());
+  }
+
   /**
    * Create a new child allocator.
    *
@@ -74,6 +91,28 @@ public interface BufferAllocator extends AutoCloseable {
       long initReservation,
       long maxAllocation);
 
+  /**
+   * Create a new child allocator whose buffers are backed by memory from the given
+   * {@link AllocationManager.Factory}, instead of the one used by this allocator.
+   *
+   * @param name                     the name of the allocator.
+   * @param listener                 allocation listener for the newly created child
+   * @param initReservation          the initial space reservation (obtained from this allocator)
+   * @param maxAllocation            maximum amount of space the new allocator can allocate
+   * @param allocationManagerFactory factory for the memory of buffers allocated by the child
+   * @return the new allocator, or null if it can't be created
+   * @throws UnsupportedOperationException if this allocator does not support custom allocation managers
+   */
+  default BufferAllocator newChildAllocator(
+      String name,
+      AllocationListener listener,
+      long initReservation,
+      long maxAllocation,
+      AllocationManager.Factory allocationManagerFactory) {
+    throw new UnsupportedOperationException("Child allocators with a custom allocation manager are not supported by " +
+        getClass().getName());
+  }
+
   /**
    * Close and release all buffers generated from this buffer pool.
    *
@@ -168,6 +207,26 @@ public interface BufferAllocator extends AutoCloseable {
    */
   String getName();
 
+  /**
+   * Return the chunk size (in bytes) claimed by each accounting stripe of this allocator.
+   *
+   * @return the chunk size, or 0 if striped accounting is disabled, which is the default
+   */
+  default long getStripeChunkSize() {
+    return 0;
+  }
+
+  /**
+   * Return the alignment (in bytes) of the memory address and size of the buffers allocated by
+   * this allocator.
+   *
+   * @return the alignment, or 0 if the allocator keeps the alignment provided by its allocation manager,
+   *     which is the default
+   */
+  default long getAlignment() {
+    return 0;
+  }
+
   /**
    * Return whether or not this allocator (or one if its parents) is over its limits. In the case
    * that an allocator is
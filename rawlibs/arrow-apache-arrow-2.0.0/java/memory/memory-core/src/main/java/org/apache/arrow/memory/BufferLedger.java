@@ -88,6 +88,24 @@ public class BufferLedger implements ValueWithKeyIncluded<BaseAllocator>, Refere
     bufRefCnt.incrementAndGet();
   }
 
+  /**
+   * Increment the ledger's reference count by 1, unless it has already dropped to 0, in which
+   * case the ledger is being released and must not be used anymore.
+   *
+   * @return true if the reference count has been incremented
+   */
+  boolean tryIncrement() {
+    while (true) {
+      final int refCnt = bufRefCnt.get();
+      if (refCnt <= 0) {
+        return false;
+      }
+      if (bufRefCnt.compareAndSet(refCnt, refCnt + 1)) {
+        return true;
+      }
+    }
+  }
+
   /**
    * Decrement the ledger's reference count by 1 for the associated underlying
    * memory chunk. If the reference count drops to 0, it implies that
@@ -262,10 +280,25 @@ public class BufferLedger implements ValueWithKeyIncluded<BaseAllocator>, Refere
    *         with this BufferLedger
    */
   ArrowBuf newArrowBuf(final long length, final BufferManager manager) {
+    return newArrowBuf(0, length, manager);
+  }
+
+  /**
+   * Create a new ArrowBuf starting at the given offset of the memory chunk, e.g. to skip the
+   * padding of an aligned allocation.
+   *
+   * @param offset  The offset in bytes of the ArrowBuf within the memory chunk.
+   * @param length  The length in bytes that this ArrowBuf will provide access to.
+   * @param manager An optional BufferManager argument that can be used to manage expansion of
+   *                this ArrowBuf
+   * @return A new ArrowBuf that shares references with all ArrowBufs associated
+   *         with this BufferLedger
+   */
+  ArrowBuf newArrowBuf(final long offset, final long length, final BufferManager manager) {
     allocator.assertOpen();
 
-    // the start virtual address of the ArrowBuf will be same as address of memory chunk
-    final long startAddress = allocationManager.memoryAddress();
+    // the start virtual address of the ArrowBuf is the address of memory chunk, plus the offset
+    final long startAddress = allocationManager.memoryAddress() + offset;
 
     // create ArrowBuf
     final ArrowBuf buf = new ArrowBuf(this, manager, length, startAddress);
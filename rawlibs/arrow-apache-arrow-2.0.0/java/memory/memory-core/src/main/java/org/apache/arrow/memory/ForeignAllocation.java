@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+/**
+ * Memory allocated outside of Arrow, e.g. a region of a memory-mapped file, that an allocator can
+ * account and hand out as an {@link ArrowBuf} through
+ * {@link BufferAllocator#wrapForeignAllocation(ForeignAllocation)}.
+ *
+ * <p>The allocation is released once, when the last buffer referencing it is released.
+ */
+public abstract class ForeignAllocation {
+
+  private final long size;
+  private final long memoryAddress;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param size          the size of the memory in bytes.
+   * @param memoryAddress the address of the memory.
+   */
+  protected ForeignAllocation(long size, long memoryAddress) {
+    this.size = size;
+    this.memoryAddress = memoryAddress;
+  }
+
+  /**
+   * Gets the size of the memory in bytes.
+   */
+  public long getSize() {
+    return size;
+  }
+
+  /**
+   * Gets the address of the memory.
+   */
+  protected long memoryAddress() {
+    return memoryAddress;
+  }
+
+  /**
+   * Releases the memory, once no buffer references it anymore.
+   */
+  protected abstract void release0();
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+/**
+ * The registry of the ledgers of an {@link AllocationManager}, keyed by allocator identity.
+ *
+ * <p>It is an open-addressing table with linear probing, replaced as a whole on each update, so
+ * lookups are lock-free and see a consistent snapshot. Updates are rare (one per allocator a
+ * buffer moves through) and must be done while holding the lock of the allocation manager.
+ *
+ * <p>Most memory chunks are only ever associated with one allocator: tables of at most one
+ * ledger have a single slot and are looked up without hashing.
+ */
+final class LedgerRegistry {
+
+  private static final BufferLedger[] EMPTY = new BufferLedger[1];
+
+  private volatile BufferLedger[] table = EMPTY;
+
+  // guarded by the allocation manager
+  private int size;
+
+  /**
+   * Get the ledger of the given allocator. Does not need the lock of the allocation manager.
+   */
+  BufferLedger get(BaseAllocator allocator) {
+    final BufferLedger[] current = table;
+    if (current.length == 1) {
+      final BufferLedger ledger = current[0];
+      return ledger != null && ledger.getKey() == allocator ? ledger : null;
+    }
+    final int mask = current.length - 1;
+    for (int i = indexFor(allocator, mask); ; i = (i + 1) & mask) {
+      final BufferLedger ledger = current[i];
+      if (ledger == null || ledger.getKey() == allocator) {
+        return ledger;
+      }
+    }
+  }
+
+  boolean containsKey(BaseAllocator allocator) {
+    return get(allocator) != null;
+  }
+
+  /**
+   * Add the ledger, replacing the ledger of the same allocator if any.
+   *
+   * @return the replaced ledger, or null
+   */
+  BufferLedger put(BufferLedger ledger) {
+    final BufferLedger old = get(ledger.getKey());
+    final BufferLedger[] current = table;
+    final BufferLedger[] updated = newTable(old == null ? size + 1 : size);
+    for (BufferLedger existing : current) {
+      if (existing != null && existing != old) {
+        insert(updated, existing);
+      }
+    }
+    insert(updated, ledger);
+    if (old == null) {
+      size++;
+    }
+    table = updated;
+    return old;
+  }
+
+  /**
+   * Remove the ledger of the given allocator.
+   *
+   * @return the removed ledger, or null
+   */
+  BufferLedger remove(BaseAllocator allocator) {
+    final BufferLedger old = get(allocator);
+    if (old == null) {
+      return null;
+    }
+    final BufferLedger[] current = table;
+    final BufferLedger[] updated = newTable(size - 1);
+    if (updated != EMPTY) {
+      for (BufferLedger existing : current) {
+        if (existing != null && existing != old) {
+          insert(updated, existing);
+        }
+      }
+    }
+    size--;
+    table = updated;
+    return old;
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Get any of the registered ledgers.
+   *
+   * @return a ledger, or null if the registry is empty
+   */
+  BufferLedger getNextValue() {
+    for (BufferLedger ledger : table) {
+      if (ledger != null) {
+        return ledger;
+      }
+    }
+    return null;
+  }
+
+  private static BufferLedger[] newTable(int size) {
+    if (size == 0) {
+      return EMPTY;
+    }
+    if (size == 1) {
+      return new BufferLedger[1];
+    }
+    // keep the load factor at most 1/2, so that probe sequences stay short
+    return new BufferLedger[Integer.highestOneBit(size - 1) << 2];
+  }
+
+  private static void insert(BufferLedger[] table, BufferLedger ledger) {
+    final int mask = table.length - 1;
+    int i = table.length == 1 ? 0 : indexFor(ledger.getKey(), mask);
+    while (table[i] != null) {
+      i = (i + 1) & mask;
+    }
+    table[i] = ledger;
+  }
+
+  private static int indexFor(BaseAllocator allocator, int mask) {
+    final int hash = System.identityHashCode(allocator);
+    // spread the high bits, identity hash codes of allocators created in a row are close
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.apache.arrow.memory.util.MemoryUtil;
+import org.apache.arrow.util.Preconditions;
+
+/**
+ * A {@link ForeignAllocation} over a memory-mapped region of a file, unmapped eagerly once the last
+ * buffer referencing it is released.
+ */
+public final class MappedFileAllocation extends ForeignAllocation {
+
+  private MappedByteBuffer mappedBuffer;
+
+  private MappedFileAllocation(MappedByteBuffer mappedBuffer) {
+    super(mappedBuffer.capacity(), MemoryUtil.getByteBufferAddress(mappedBuffer));
+    this.mappedBuffer = mappedBuffer;
+  }
+
+  /**
+   * Maps a region of a file.
+   *
+   * @param channel  the channel of the file.
+   * @param mode     the mapping mode. A {@link FileChannel.MapMode#PRIVATE} mapping is copy-on-write:
+   *                 the pages written through the buffers are copied, and the file is left unchanged.
+   *                 Like {@link FileChannel.MapMode#READ_WRITE}, it requires a channel opened for both
+   *                 reading and writing. The buffers over a {@link FileChannel.MapMode#READ_ONLY} region
+   *                 must never be written: ArrowBuf doesn't check the protection of the pages, and such
+   *                 a write crashes the JVM with a segmentation fault (SIGSEGV).
+   * @param position the position of the region in the file.
+   * @param size     the size of the region, at most {@link MappedFileAllocationManagerFactory#MAX_MAPPED_SIZE}.
+   * @return the mapped region.
+   * @throws IOException if the region cannot be mapped.
+   * @throws java.nio.channels.NonWritableChannelException if the mode is not read-only and the channel
+   *     was not opened for writing.
+   */
+  public static MappedFileAllocation map(FileChannel channel, FileChannel.MapMode mode, long position, long size)
+      throws IOException {
+    Preconditions.checkArgument(size > 0 && size <= MappedFileAllocationManagerFactory.MAX_MAPPED_SIZE,
+        "Invalid mapped size: %s", size);
+    return new MappedFileAllocation(channel.map(mode, position, size));
+  }
+
+  /**
+   * Unmaps the region, which must not be wrapped in a buffer, e.g. after
+   * {@link BufferAllocator#wrapForeignAllocation(ForeignAllocation)} failed.
+   */
+  public void unmap() {
+    release0();
+  }
+
+  @Override
+  protected void release0() {
+    MappedFileAllocationManagerFactory.unmap(mappedBuffer);
+    mappedBuffer = null;
+  }
+}
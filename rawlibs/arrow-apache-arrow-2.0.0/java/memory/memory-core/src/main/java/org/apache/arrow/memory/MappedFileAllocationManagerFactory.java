@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.arrow.memory.util.MemoryUtil;
+import org.apache.arrow.util.Preconditions;
+
+/**
+ * An {@link AllocationManager.Factory} whose memory is backed by memory-mapped temporary files,
+ * so that buffers larger than physical memory are paged to disk by the operating system.
+ *
+ * <p>Each buffer of at least <code>minMappedSize</code> bytes gets its own sparse temporary file
+ * in the configured directory. The file is unlinked right after it is mapped where the platform
+ * allows it, so it disappears as soon as the buffer is released or the process exits. Smaller
+ * buffers are delegated to another factory, as mapping is not worth the cost for them.
+ *
+ * <p>Use it for a dedicated allocator, e.g. through
+ * {@link BufferAllocator#newChildAllocator(String, AllocationListener, long, long, AllocationManager.Factory)}.
+ * Mapped bytes are accounted like any other memory, so the allocator limit still applies.
+ */
+public class MappedFileAllocationManagerFactory implements AllocationManager.Factory {
+
+  /**
+   * The default minimum size (in bytes) of buffers that are backed by a mapped file.
+   */
+  public static final long DEFAULT_MIN_MAPPED_SIZE = 1024L * 1024;
+
+  /**
+   * The maximum size of a single mapped buffer, as imposed by {@link FileChannel#map}.
+   */
+  public static final long MAX_MAPPED_SIZE = Integer.MAX_VALUE;
+
+  private static final String FILE_PREFIX = "arrow-mapped-";
+
+  private static final ArrowBuf EMPTY = new ArrowBuf(ReferenceManager.NO_OP,
+      null,
+      0,
+      MemoryUtil.UNSAFE.allocateMemory(0)
+  );
+
+  private static final Method INVOKE_CLEANER = findInvokeCleaner();
+
+  private final Path directory;
+  private final long minMappedSize;
+  private final AllocationManager.Factory smallBufferFactory;
+
+  /**
+   * Creates a factory that maps files in the given directory, delegating small buffers to the
+   * default allocation manager factory.
+   *
+   * @param directory the directory for the temporary files.
+   */
+  public MappedFileAllocationManagerFactory(Path directory) {
+    this(directory, DEFAULT_MIN_MAPPED_SIZE, DefaultAllocationManagerOption.getDefaultAllocationManagerFactory());
+  }
+
+  /**
+   * Creates a factory.
+   *
+   * @param directory          the directory for the temporary files.
+   * @param minMappedSize      the minimum size (in bytes) of buffers that are backed by a mapped file.
+   * @param smallBufferFactory the factory for buffers smaller than <code>minMappedSize</code>.
+   */
+  public MappedFileAllocationManagerFactory(Path directory, long minMappedSize,
+      AllocationManager.Factory smallBufferFactory) {
+    Preconditions.checkNotNull(directory, "directory must not be null");
+    Preconditions.checkNotNull(smallBufferFactory, "smallBufferFactory must not be null");
+    Preconditions.checkArgument(minMappedSize >= 0, "The min mapped size must be non-negative");
+    this.directory = directory;
+    this.minMappedSize = minMappedSize;
+    this.smallBufferFactory = smallBufferFactory;
+  }
+
+  @Override
+  public AllocationManager create(BaseAllocator accountingAllocator, long size) {
+    if (size < minMappedSize) {
+      return smallBufferFactory.create(accountingAllocator, size);
+    }
+    if (size > MAX_MAPPED_SIZE) {
+      throw new OutOfMemoryException(String.format(
+          "Unable to map buffer of size %d, the maximum mapped buffer size is %d", size, MAX_MAPPED_SIZE));
+    }
+    // map before creating the manager, so a failure doesn't leave a ledger behind.
+    return new MappedFileAllocationManager(accountingAllocator, size, map(size));
+  }
+
+  @Override
+  public ArrowBuf empty() {
+    return EMPTY;
+  }
+
+  private MappedByteBuffer map(long size) {
+    try {
+      final Path file = Files.createTempFile(directory, FILE_PREFIX, ".tmp");
+      try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+        raf.setLength(size);
+        return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+      } finally {
+        try {
+          // the mapping stays valid after the file is unlinked.
+          Files.delete(file);
+        } catch (IOException e) {
+          file.toFile().deleteOnExit();
+        }
+      }
+    } catch (IOException e) {
+      throw new OutOfMemoryException(String.format(
+          "Unable to map a file of size %d in %s", size, directory), e);
+    }
+  }
+
+  private static Method findInvokeCleaner() {
+    try {
+      // JDK 9+
+      return MemoryUtil.UNSAFE.getClass().getMethod("invokeCleaner", ByteBuffer.class);
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Unmaps the buffer eagerly instead of waiting for it to be garbage collected.
+   */
+  static void unmap(MappedByteBuffer buffer) {
+    try {
+      if (INVOKE_CLEANER != null) {
+        INVOKE_CLEANER.invoke(MemoryUtil.UNSAFE, buffer);
+      } else {
+        // JDK 8
+        final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+        cleanerMethod.setAccessible(true);
+        final Object cleaner = cleanerMethod.invoke(buffer);
+        cleaner.getClass().getMethod("clean").invoke(cleaner);
+      }
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // the mapping is released once the buffer is garbage collected.
+    }
+  }
+
+  /**
+   * Allocation manager whose memory chunk is a mapped temporary file.
+   */
+  private static final class MappedFileAllocationManager extends AllocationManager {
+
+    private final long allocatedSize;
+    private final long allocatedAddress;
+    private MappedByteBuffer mappedBuffer;
+
+    MappedFileAllocationManager(BaseAllocator accountingAllocator, long requestedSize, MappedByteBuffer buffer) {
+      super(accountingAllocator);
+      this.mappedBuffer = buffer;
+      this.allocatedAddress = MemoryUtil.getByteBufferAddress(buffer);
+      this.allocatedSize = requestedSize;
+    }
+
+    @Override
+    public long getSize() {
+      return allocatedSize;
+    }
+
+    @Override
+    protected long memoryAddress() {
+      return allocatedAddress;
+    }
+
+    @Override
+    protected void release0() {
+      unmap(mappedBuffer);
+      mappedBuffer = null;
+    }
+  }
+}
@@ -0,0 +1,382 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.arrow.memory.util.MemoryUtil;
+import org.apache.arrow.util.Preconditions;
+
+/**
+ * An {@link AllocationManager.Factory} that recycles freed off-heap memory instead of returning it
+ * to the operating system.
+ *
+ * <p>Requests are served from power-of-two size classes. Freed chunks first go to a small cache
+ * owned by the releasing thread, then to a lock-free free list shared by all threads. The total
+ * memory retained by the thread caches and the shared free lists is bounded; chunks beyond that
+ * bound, and requests larger than the biggest size class, are freed immediately. The cache of a
+ * thread that has exited is moved to the shared free lists once the thread is garbage collected.
+ * Retained memory is not accounted to any allocator and can be returned with {@link #trim()}.
+ */
+public class PooledAllocationManagerFactory implements AllocationManager.Factory {
+
+  /**
+   * The default size (in bytes) of the largest pooled size class.
+   */
+  public static final long DEFAULT_MAX_POOLED_SIZE = 16L * 1024 * 1024;
+
+  /**
+   * The default number of chunks per size class cached by each thread.
+   */
+  public static final int DEFAULT_THREAD_CACHE_ENTRIES = 8;
+
+  /**
+   * The default maximum amount of memory (in bytes) retained by the thread caches and the shared
+   * free lists.
+   */
+  public static final long DEFAULT_MAX_RETAINED_SIZE = 256L * 1024 * 1024;
+
+  private static final int MIN_SIZE_CLASS_SHIFT = 6;
+
+  private static final ArrowBuf EMPTY = new ArrowBuf(ReferenceManager.NO_OP,
+      null,
+      0,
+      MemoryUtil.UNSAFE.allocateMemory(0)
+  );
+
+  private final long maxPooledSize;
+  private final int threadCacheEntries;
+  private final long maxRetainedSize;
+
+  private final FreeList[] freeLists;
+  private final AtomicLong retainedSize = new AtomicLong();
+
+  private final ConcurrentLinkedQueue<ThreadCache> threadCaches = new ConcurrentLinkedQueue<>();
+  private final ReferenceQueue<Thread> exitedOwners = new ReferenceQueue<>();
+  private final ThreadLocal<ThreadCache> threadCache = ThreadLocal.withInitial(this::newThreadCache);
+
+  /**
+   * Creates a pool with the default size classes and retention.
+   */
+  public PooledAllocationManagerFactory() {
+    this(DEFAULT_MAX_POOLED_SIZE, DEFAULT_THREAD_CACHE_ENTRIES, DEFAULT_MAX_RETAINED_SIZE);
+  }
+
+  /**
+   * Creates a pool.
+   *
+   * @param maxPooledSize      the size (in bytes) of the largest pooled size class, must be a power of two.
+   * @param threadCacheEntries the number of chunks per size class cached by each thread, 0 to disable
+   *                           thread caches.
+   * @param maxRetainedSize    the maximum amount of memory (in bytes) retained by the thread caches and
+   *                           the shared free lists.
+   */
+  public PooledAllocationManagerFactory(long maxPooledSize, int threadCacheEntries, long maxRetainedSize) {
+    Preconditions.checkArgument(maxPooledSize >= (1L << MIN_SIZE_CLASS_SHIFT) && Long.bitCount(maxPooledSize) == 1,
+        "The max pooled size must be a power of two no smaller than %s", 1L << MIN_SIZE_CLASS_SHIFT);
+    Preconditions.checkArgument(threadCacheEntries >= 0, "The thread cache entries must be non-negative");
+    Preconditions.checkArgument(maxRetainedSize >= 0, "The max retained size must be non-negative");
+
+    this.maxPooledSize = maxPooledSize;
+    this.threadCacheEntries = threadCacheEntries;
+    this.maxRetainedSize = maxRetainedSize;
+
+    this.freeLists = new FreeList[sizeClass(maxPooledSize) + 1];
+    for (int i = 0; i < freeLists.length; i++) {
+      freeLists[i] = new FreeList();
+    }
+  }
+
+  @Override
+  public AllocationManager create(BaseAllocator accountingAllocator, long size) {
+    return new PooledAllocationManager(accountingAllocator, size);
+  }
+
+  @Override
+  public ArrowBuf empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Returns the memory currently retained by the pool for reuse, including the thread caches.
+   *
+   * @return retained memory in bytes.
+   */
+  public long getRetainedMemory() {
+    return retainedSize.get();
+  }
+
+  /**
+   * Frees all memory retained by the shared free lists and the thread caches. Chunks that are
+   * still in use are not affected and will be recycled as usual once released.
+   */
+  public void trim() {
+    for (Iterator<ThreadCache> it = threadCaches.iterator(); it.hasNext(); ) {
+      final ThreadCache cache = it.next();
+      cache.trim();
+      if (cache.owner.get() == null) {
+        // the owning thread is gone, nobody will ever use this cache again.
+        it.remove();
+      }
+    }
+    for (int i = 0; i < freeLists.length; i++) {
+      long address;
+      while ((address = freeLists[i].pop()) != 0) {
+        retainedSize.addAndGet(-sizeOfClass(i));
+        MemoryUtil.UNSAFE.freeMemory(address);
+      }
+    }
+  }
+
+  private ThreadCache newThreadCache() {
+    reclaimExitedCaches();
+    final ThreadCache cache = new ThreadCache();
+    threadCaches.add(cache);
+    return cache;
+  }
+
+  /**
+   * Moves the chunks cached by threads that have exited to the shared free lists.
+   */
+  private void reclaimExitedCaches() {
+    Owner owner;
+    while ((owner = (Owner) exitedOwners.poll()) != null) {
+      if (threadCaches.remove(owner.cache)) {
+        owner.cache.drainToFreeLists();
+      }
+    }
+  }
+
+  private static int sizeClass(long size) {
+    final int shift = 64 - Long.numberOfLeadingZeros(size - 1);
+    return Math.max(shift, MIN_SIZE_CLASS_SHIFT) - MIN_SIZE_CLASS_SHIFT;
+  }
+
+  private static long sizeOfClass(int sizeClass) {
+    return 1L << (sizeClass + MIN_SIZE_CLASS_SHIFT);
+  }
+
+  private long allocateChunk(int sizeClass) {
+    if (threadCacheEntries > 0) {
+      final long address = threadCache.get().pop(sizeClass);
+      if (address != 0) {
+        return address;
+      }
+    }
+    long address = freeLists[sizeClass].pop();
+    if (address == 0) {
+      reclaimExitedCaches();
+      address = freeLists[sizeClass].pop();
+    }
+    if (address != 0) {
+      retainedSize.addAndGet(-sizeOfClass(sizeClass));
+      return address;
+    }
+    return MemoryUtil.UNSAFE.allocateMemory(sizeOfClass(sizeClass));
+  }
+
+  private void releaseChunk(int sizeClass, long address) {
+    if (threadCacheEntries > 0) {
+      threadCache.get().push(sizeClass, address);
+    } else {
+      releaseToFreeList(sizeClass, address);
+    }
+  }
+
+  private void releaseToFreeList(int sizeClass, long address) {
+    if (reserveRetained(sizeClass)) {
+      freeLists[sizeClass].push(address);
+    } else {
+      MemoryUtil.UNSAFE.freeMemory(address);
+    }
+  }
+
+  /**
+   * Counts a chunk in the retained memory, if that does not exceed the maximum retained size.
+   *
+   * @return whether the chunk can be retained.
+   */
+  private boolean reserveRetained(int sizeClass) {
+    final long size = sizeOfClass(sizeClass);
+    if (retainedSize.addAndGet(size) > maxRetainedSize) {
+      retainedSize.addAndGet(-size);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Allocation manager whose memory chunk is borrowed from the enclosing pool.
+   */
+  private final class PooledAllocationManager extends AllocationManager {
+
+    private final long allocatedSize;
+    private final long allocatedAddress;
+    private final int sizeClass;
+
+    PooledAllocationManager(BaseAllocator accountingAllocator, long requestedSize) {
+      super(accountingAllocator);
+      if (requestedSize > maxPooledSize) {
+        this.sizeClass = -1;
+        this.allocatedAddress = MemoryUtil.UNSAFE.allocateMemory(requestedSize);
+        this.allocatedSize = requestedSize;
+      } else {
+        this.sizeClass = sizeClass(requestedSize);
+        this.allocatedAddress = allocateChunk(sizeClass);
+        // the whole chunk is held, whatever the requested size.
+        this.allocatedSize = sizeOfClass(sizeClass);
+      }
+    }
+
+    @Override
+    public long getSize() {
+      return allocatedSize;
+    }
+
+    @Override
+    protected long memoryAddress() {
+      return allocatedAddress;
+    }
+
+    @Override
+    protected void release0() {
+      if (sizeClass < 0) {
+        MemoryUtil.UNSAFE.freeMemory(allocatedAddress);
+      } else {
+        releaseChunk(sizeClass, allocatedAddress);
+      }
+    }
+  }
+
+  /**
+   * A lock-free (Treiber) stack of free chunks of one size class.
+   */
+  private static final class FreeList {
+
+    private final AtomicReference<Node> head = new AtomicReference<>();
+
+    void push(long address) {
+      final Node node = new Node(address);
+      Node current;
+      do {
+        current = head.get();
+        node.next = current;
+      } while (!head.compareAndSet(current, node));
+    }
+
+    /**
+     * Pops a free chunk.
+     *
+     * @return the address of the chunk, or 0 if the list is empty.
+     */
+    long pop() {
+      Node current;
+      do {
+        current = head.get();
+        if (current == null) {
+          return 0;
+        }
+      } while (!head.compareAndSet(current, current.next));
+      return current.address;
+    }
+  }
+
+  private static final class Node {
+    final long address;
+    Node next;
+
+    Node(long address) {
+      this.address = address;
+    }
+  }
+
+  /**
+   * Weak reference to the thread owning a cache, enqueued once the thread is garbage collected.
+   */
+  private static final class Owner extends WeakReference<Thread> {
+    final ThreadCache cache;
+
+    Owner(Thread thread, ReferenceQueue<Thread> queue, ThreadCache cache) {
+      super(thread, queue);
+      this.cache = cache;
+    }
+  }
+
+  /**
+   * Chunks cached by a single thread, counted in the retained memory. Access is synchronized only so
+   * that {@link #trim()} and the reclamation of exited threads can drain caches of other threads;
+   * the lock is uncontended otherwise.
+   */
+  private final class ThreadCache {
+
+    private final Owner owner = new Owner(Thread.currentThread(), exitedOwners, this);
+    private final long[][] chunks = new long[freeLists.length][threadCacheEntries];
+    private final int[] counts = new int[freeLists.length];
+
+    synchronized long pop(int sizeClass) {
+      if (counts[sizeClass] == 0) {
+        return 0;
+      }
+      retainedSize.addAndGet(-sizeOfClass(sizeClass));
+      return chunks[sizeClass][--counts[sizeClass]];
+    }
+
+    /**
+     * Caches a chunk, moving half of the cached chunks of the size class to the shared free list
+     * when the cache is full. The chunk is freed if retaining it would exceed the maximum retained
+     * size.
+     */
+    synchronized void push(int sizeClass, long address) {
+      if (!reserveRetained(sizeClass)) {
+        MemoryUtil.UNSAFE.freeMemory(address);
+        return;
+      }
+      final long[] stack = chunks[sizeClass];
+      if (counts[sizeClass] == stack.length) {
+        final int keep = stack.length / 2;
+        while (counts[sizeClass] > keep) {
+          // already counted in the retained memory
+          freeLists[sizeClass].push(stack[--counts[sizeClass]]);
+        }
+      }
+      stack[counts[sizeClass]++] = address;
+    }
+
+    synchronized void drainToFreeLists() {
+      for (int i = 0; i < counts.length; i++) {
+        while (counts[i] > 0) {
+          freeLists[i].push(chunks[i][--counts[i]]);
+        }
+      }
+    }
+
+    synchronized void trim() {
+      for (int i = 0; i < counts.length; i++) {
+        while (counts[i] > 0) {
+          retainedSize.addAndGet(-sizeOfClass(i));
+          MemoryUtil.UNSAFE.freeMemory(chunks[i][--counts[i]]);
+        }
+      }
+    }
+  }
+}
@@ -57,10 +57,23 @@ public class RootAllocator extends BaseAllocator {
     );
   }
 
+  /**
+   * Constructor.
+   *
+   * @param config the options of the allocator, built with {@link #configBuilder()}
+   */
   public RootAllocator(Config config) {
     super(null, "ROOT", config);
   }
 
+  /**
+   * Returns a builder for the options of a root allocator, such as striped accounting, to pass to
+   * {@link #RootAllocator(Config)}. Child allocators inherit these options.
+   */
+  public static ImmutableConfig.Builder configBuilder() {
+    return BaseAllocator.configBuilder();
+  }
+
   /**
    * Verify the accounting state of the allocation system.
    */
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory.metrics;
+
+import java.util.Arrays;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The global registry of {@link MetricsListener}s, and the entry point of the instrumented code.
+ *
+ * <p>Instrumentation stays compiled in: with no listener registered, each hook costs a volatile
+ * read, and call sites check {@link #isEnabled()} before doing any extra work such as reading the
+ * clock. JDK Flight Recorder events are emitted by calling {@link #enableJfr()}, or by setting the
+ * {@link #JFR_PROPERTY} system property to true, with the arrow-memory-jfr module on the classpath.
+ */
+public final class ArrowMetrics {
+
+  /**
+   * The system property enabling the JDK Flight Recorder events at startup.
+   */
+  public static final String JFR_PROPERTY = "arrow.metrics.jfr";
+
+  private static final Logger logger = LoggerFactory.getLogger(ArrowMetrics.class);
+
+  private static final String JFR_LISTENER_CLASS = "org.apache.arrow.memory.metrics.JfrMetricsListener";
+
+  private static final MetricsListener[] NO_LISTENERS = new MetricsListener[0];
+
+  // copy-on-write, registration is rare.
+  private static volatile MetricsListener[] listeners = NO_LISTENERS;
+
+  private static MetricsListener jfrListener;
+
+  static {
+    if (Boolean.getBoolean(JFR_PROPERTY)) {
+      enableJfr();
+    }
+  }
+
+  private ArrowMetrics() {
+  }
+
+  /**
+   * Register a listener.
+   *
+   * @param listener the listener to notify.
+   */
+  public static synchronized void addListener(MetricsListener listener) {
+    Preconditions.checkNotNull(listener, "listener must not be null");
+    final MetricsListener[] current = listeners;
+    final MetricsListener[] updated = Arrays.copyOf(current, current.length + 1);
+    updated[current.length] = listener;
+    listeners = updated;
+  }
+
+  /**
+   * Unregister a listener.
+   *
+   * @param listener the listener to remove.
+   * @return true if the listener was registered.
+   */
+  public static synchronized boolean removeListener(MetricsListener listener) {
+    final MetricsListener[] current = listeners;
+    for (int i = 0; i < current.length; i++) {
+      if (current[i] == listener) {
+        final MetricsListener[] updated = new MetricsListener[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, i);
+        System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+        listeners = updated.length == 0 ? NO_LISTENERS : updated;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Register the listener emitting JDK Flight Recorder events, if not done yet. The events are
+   * only recorded while a recording with them enabled is running.
+   *
+   * @return true if Flight Recorder events are emitted, false if the arrow-memory-jfr module is not on
+   *     the classpath or the JVM doesn't support them.
+   */
+  public static synchronized boolean enableJfr() {
+    if (jfrListener == null) {
+      try {
+        jfrListener = (MetricsListener) Class.forName(JFR_LISTENER_CLASS).getDeclaredConstructor().newInstance();
+      } catch (ReflectiveOperationException | LinkageError e) {
+        // arrow-memory-jfr is missing, or jdk.jfr is not available before JDK 11 (or 8u262).
+        logger.debug("JDK Flight Recorder is not available", e);
+        return false;
+      }
+      addListener(jfrListener);
+    }
+    return true;
+  }
+
+  /**
+   * Unregister the listener emitting JDK Flight Recorder events.
+   */
+  public static synchronized void disableJfr() {
+    if (jfrListener != null) {
+      removeListener(jfrListener);
+      jfrListener = null;
+    }
+  }
+
+  /**
+   * Whether any listener is registered. Call sites check it before computing the arguments of a hook.
+   */
+  public static boolean isEnabled() {
+    return listeners.length != 0;
+  }
+
+  public static void recordAllocation(BufferAllocator allocator, long size) {
+    for (MetricsListener listener : listeners) {
+      listener.onAllocation(allocator, size);
+    }
+  }
+
+  public static void recordRelease(BufferAllocator allocator, long size) {
+    for (MetricsListener listener : listeners) {
+      listener.onRelease(allocator, size);
+    }
+  }
+
+  public static void recordAllocationFailure(BufferAllocator allocator, long size, boolean recovered) {
+    for (MetricsListener listener : listeners) {
+      listener.onAllocationFailure(allocator, size, recovered);
+    }
+  }
+
+  public static void recordMessageRead(String messageType, long metadataLength, long bodyLength) {
+    for (MetricsListener listener : listeners) {
+      listener.onMessageRead(messageType, metadataLength, bodyLength);
+    }
+  }
+
+  public static void recordMessageWritten(String messageType, long metadataLength, long bodyLength) {
+    for (MetricsListener listener : listeners) {
+      listener.onMessageWritten(messageType, metadataLength, bodyLength);
+    }
+  }
+
+  public static void recordBatchRead(int rowCount, long bytes, long nanos) {
+    for (MetricsListener listener : listeners) {
+      listener.onBatchRead(rowCount, bytes, nanos);
+    }
+  }
+
+  public static void recordBatchWritten(int rowCount, long bytes, long nanos) {
+    for (MetricsListener listener : listeners) {
+      listener.onBatchWritten(rowCount, bytes, nanos);
+    }
+  }
+
+  public static void recordCompress(String codec, long uncompressedBytes, long compressedBytes, long nanos) {
+    for (MetricsListener listener : listeners) {
+      listener.onCompress(codec, uncompressedBytes, compressedBytes, nanos);
+    }
+  }
+
+  public static void recordDecompress(String codec, long compressedBytes, long uncompressedBytes, long nanos) {
+    for (MetricsListener listener : listeners) {
+      listener.onDecompress(codec, compressedBytes, uncompressedBytes, nanos);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory.metrics;
+
+import org.apache.arrow.memory.BufferAllocator;
+
+/**
+ * A listener notified of the work done on the allocator, IPC and compression hot paths.
+ *
+ * <p>Listeners are registered globally with {@link ArrowMetrics#addListener(MetricsListener)}. They
+ * are called synchronously from the thread doing the work, possibly from many threads at once,
+ * so implementations must be thread-safe and cheap. An exception cannot be thrown by any method.
+ */
+public interface MetricsListener {
+
+  /**
+   * Called each time a new memory chunk has been allocated.
+   *
+   * @param allocator the allocator the memory is accounted to
+   * @param size      the size of the chunk in bytes
+   */
+  default void onAllocation(BufferAllocator allocator, long size) {}
+
+  /**
+   * Called each time a memory chunk has been freed.
+   *
+   * @param allocator the allocator the memory was accounted to
+   * @param size      the size of the chunk in bytes
+   */
+  default void onRelease(BufferAllocator allocator, long size) {}
+
+  /**
+   * Called each time an allocation exceeded the allocator limit, after the allocation listener of
+   * the allocator had a chance to make room for it.
+   *
+   * @param allocator the allocator that refused the allocation
+   * @param size      the requested size in bytes
+   * @param recovered true if the allocation listener made room and the retried allocation succeeded
+   */
+  default void onAllocationFailure(BufferAllocator allocator, long size, boolean recovered) {}
+
+  /**
+   * Called each time an IPC message has been read.
+   *
+   * @param messageType    the type of the message, e.g. "RecordBatch"
+   * @param metadataLength the length of the message metadata in bytes
+   * @param bodyLength     the length of the message body in bytes
+   */
+  default void onMessageRead(String messageType, long metadataLength, long bodyLength) {}
+
+  /**
+   * Called each time an IPC message has been written.
+   *
+   * @param messageType    the type of the message, e.g. "RecordBatch"
+   * @param metadataLength the length of the message metadata in bytes
+   * @param bodyLength     the length of the message body in bytes
+   */
+  default void onMessageWritten(String messageType, long metadataLength, long bodyLength) {}
+
+  /**
+   * Called each time a reader loaded a record batch.
+   *
+   * @param rowCount  the number of rows of the batch
+   * @param bytes     the size of the batch body in bytes
+   * @param nanos     the time spent loading the batch into the vectors, including decompression
+   */
+  default void onBatchRead(int rowCount, long bytes, long nanos) {}
+
+  /**
+   * Called each time a writer wrote a record batch.
+   *
+   * @param rowCount  the number of rows of the batch
+   * @param bytes     the number of bytes written to the output
+   * @param nanos     the time spent unloading, compressing and writing the batch
+   */
+  default void onBatchWritten(int rowCount, long bytes, long nanos) {}
+
+  /**
+   * Called each time a buffer has been compressed.
+   *
+   * @param codec             the name of the codec
+   * @param uncompressedBytes the size of the input
+   * @param compressedBytes   the size of the output
+   * @param nanos             the time spent compressing
+   */
+  default void onCompress(String codec, long uncompressedBytes, long compressedBytes, long nanos) {}
+
+  /**
+   * Called each time a buffer has been decompressed.
+   *
+   * @param codec             the name of the codec
+   * @param compressedBytes   the size of the input
+   * @param uncompressedBytes the size of the output
+   * @param nanos             the time spent decompressing
+   */
+  default void onDecompress(String codec, long compressedBytes, long uncompressedBytes, long nanos) {}
+}
@@ -23,4 +23,20 @@ package org.apache.arrow.memory.rounding;
  */
 public interface RoundingPolicy {
   long getRoundedSize(long requestSize);
+
+  /**
+   * Get the rounded size of a buffer whose memory address is aligned, so that the end of the
+   * buffer is aligned as well.
+   *
+   * @param requestSize the requested buffer size.
+   * @param alignment the alignment, a power of 2, or 0 for no alignment.
+   * @return the rounded size, a multiple of the alignment.
+   */
+  default long getRoundedSize(long requestSize, long alignment) {
+    final long roundedSize = getRoundedSize(requestSize);
+    if (alignment <= 1) {
+      return roundedSize;
+    }
+    return (roundedSize + alignment - 1) & -alignment;
+  }
 }
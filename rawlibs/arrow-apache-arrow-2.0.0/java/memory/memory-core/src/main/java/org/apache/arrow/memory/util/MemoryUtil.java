@@ -131,6 +131,16 @@ public class MemoryUtil {
     }
   }
 
+  /**
+   * The size of a CPU cache line, the usual alignment for vectorized access.
+   */
+  public static final int CACHE_LINE_SIZE = 64;
+
+  /**
+   * The size of a memory page of the platform.
+   */
+  public static final int PAGE_SIZE = UNSAFE.pageSize();
+
   /**
    * Given a {@link ByteBuf}, gets the address the underlying memory space.
    *
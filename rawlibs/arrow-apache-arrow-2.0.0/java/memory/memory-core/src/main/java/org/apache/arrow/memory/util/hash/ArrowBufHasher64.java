@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory.util.hash;
+
+import org.apache.arrow.memory.ArrowBuf;
+
+/**
+ * An {@link ArrowBufHasher} producing 64-bit hash codes.
+ * <p>
+ *   32-bit hash codes collide frequently once a hash table holds hundreds of millions of keys,
+ *   64-bit hash codes should be preferred then. The 32-bit hash code is derived from the
+ *   64-bit one by folding its halves.
+ * </p>
+ */
+public interface ArrowBufHasher64 extends ArrowBufHasher {
+
+  /**
+   * Calculates the 64-bit hash code for a memory region.
+   * @param address start address of the memory region.
+   * @param length length of the memory region.
+   * @return the hash code.
+   */
+  long hashCode64(long address, long length);
+
+  /**
+   * Calculates the 64-bit hash code for a memory region.
+   * @param buf the buffer for the memory region.
+   * @param offset offset within the buffer for the memory region.
+   * @param length length of the memory region.
+   * @return the hash code.
+   */
+  default long hashCode64(ArrowBuf buf, long offset, long length) {
+    buf.checkBytes(offset, offset + length);
+    return hashCode64(buf.memoryAddress() + offset, length);
+  }
+
+  @Override
+  default int hashCode(long address, long length) {
+    return Long.hashCode(hashCode64(address, length));
+  }
+
+  @Override
+  default int hashCode(ArrowBuf buf, long offset, long length) {
+    return Long.hashCode(hashCode64(buf, offset, length));
+  }
+}
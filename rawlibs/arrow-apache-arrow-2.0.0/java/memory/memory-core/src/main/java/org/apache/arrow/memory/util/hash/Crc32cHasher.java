@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory.util.hash;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.util.zip.Checksum;
+
+import org.apache.arrow.memory.util.MemoryUtil;
+
+/**
+ * A 64-bit hasher built on the CRC32C (Castagnoli) checksum.
+ * <p>
+ *   Long regions are checksummed with <code>java.util.zip.CRC32C</code> where available (JDK 9+),
+ *   which the JIT compiles to the hardware CRC32C instructions. Short regions, and all regions on
+ *   older JDKs, use a table-driven implementation producing the same checksum.
+ * </p>
+ * <p>
+ *   A checksum only has 32 bits, so the 64-bit hash code also mixes in the first and last 8 bytes
+ *   of the region: regions of up to 16 bytes get the full 64-bit quality, longer regions that only
+ *   differ in their middle bytes collide as often as 32-bit hash codes. CRC32C is linear, so the
+ *   hash codes are easy to attack and this hasher must not be used on untrusted input.
+ *   Prefer {@link XxHasher64} when in doubt.
+ * </p>
+ * <p>
+ *   An object of this class is stateless, so it can be shared between threads.
+ * </p>
+ */
+public class Crc32cHasher implements ArrowBufHasher64 {
+
+  public static final Crc32cHasher INSTANCE = new Crc32cHasher();
+
+  /**
+   * Regions shorter than this are checksummed in Java, as wrapping them for the JDK costs more.
+   */
+  private static final int JDK_CHECKSUM_THRESHOLD = 64;
+
+  // reflected Castagnoli polynomial
+  private static final int POLYNOMIAL = 0x82F63B78;
+
+  private static final long MIX_1 = 0x9E3779B97F4A7C15L;
+  private static final long MIX_2 = 0xC2B2AE3D27D4EB4FL;
+
+  private static final int[] TABLE = new int[256];
+
+  private static final MethodHandle CRC32C_CONSTRUCTOR;
+  private static final MethodHandle CRC32C_UPDATE;
+
+  static {
+    for (int i = 0; i < TABLE.length; i++) {
+      int crc = i;
+      for (int bit = 0; bit < 8; bit++) {
+        crc = (crc & 1) != 0 ? (crc >>> 1) ^ POLYNOMIAL : crc >>> 1;
+      }
+      TABLE[i] = crc;
+    }
+
+    MethodHandle constructor = null;
+    MethodHandle update = null;
+    try {
+      final Class<?> crc32c = Class.forName("java.util.zip.CRC32C");
+      final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      constructor = lookup.findConstructor(crc32c, MethodType.methodType(void.class))
+          .asType(MethodType.methodType(Checksum.class));
+      update = lookup.findVirtual(crc32c, "update", MethodType.methodType(void.class, ByteBuffer.class))
+          .asType(MethodType.methodType(void.class, Checksum.class, ByteBuffer.class));
+      // make sure memory can be wrapped into direct byte buffers.
+      MemoryUtil.directBuffer(0, 0);
+    } catch (Throwable e) {
+      // JDK 8, fall back to the table-driven checksum.
+      constructor = null;
+      update = null;
+    }
+    CRC32C_CONSTRUCTOR = constructor;
+    CRC32C_UPDATE = update;
+  }
+
+  private final long seed;
+
+  /**
+   * Creates a CRC32C hasher, with seed 0.
+   */
+  public Crc32cHasher() {
+    this(0);
+  }
+
+  /**
+   * Creates a CRC32C hasher.
+   * @param seed the seed for the hasher.
+   */
+  public Crc32cHasher(long seed) {
+    this.seed = seed;
+  }
+
+  @Override
+  public long hashCode64(long address, long length) {
+    return hashCode64(address, length, seed);
+  }
+
+  /**
+   * Calculates the 64-bit hash code for a memory region.
+   * @param address start address of the memory region.
+   * @param length length of the memory region.
+   * @param seed the seed.
+   * @return the hash code.
+   */
+  public static long hashCode64(long address, long length, long seed) {
+    final long head;
+    final long tail;
+    if (length >= 8) {
+      head = MemoryUtil.UNSAFE.getLong(address);
+      tail = MemoryUtil.UNSAFE.getLong(address + length - 8);
+    } else if (length >= 4) {
+      head = MemoryUtil.UNSAFE.getInt(address) & 0xffffffffL;
+      tail = MemoryUtil.UNSAFE.getInt(address + length - 4) & 0xffffffffL;
+    } else if (length > 0) {
+      head = (MemoryUtil.UNSAFE.getByte(address) & 0xffL) |
+          (MemoryUtil.UNSAFE.getByte(address + length / 2) & 0xffL) << 8 |
+          (MemoryUtil.UNSAFE.getByte(address + length - 1) & 0xffL) << 16;
+      tail = 0;
+    } else {
+      head = 0;
+      tail = 0;
+    }
+
+    long hash = ((long) crc32c(address, length) << 32) ^ length ^ seed;
+    hash ^= mix(head * MIX_1);
+    hash ^= Long.rotateLeft(tail * MIX_2, 31);
+    return mix(hash);
+  }
+
+  /**
+   * Calculates the CRC32C checksum of a memory region.
+   * @param address start address of the memory region.
+   * @param length length of the memory region.
+   * @return the checksum.
+   */
+  public static int crc32c(long address, long length) {
+    if (CRC32C_UPDATE != null && length >= JDK_CHECKSUM_THRESHOLD && length <= Integer.MAX_VALUE) {
+      try {
+        final Checksum checksum = (Checksum) CRC32C_CONSTRUCTOR.invokeExact();
+        CRC32C_UPDATE.invokeExact(checksum, MemoryUtil.directBuffer(address, (int) length));
+        return (int) checksum.getValue();
+      } catch (Throwable e) {
+        throw new IllegalStateException("Unable to compute the CRC32C checksum", e);
+      }
+    }
+    return tableCrc32c(address, length);
+  }
+
+  /**
+   * The table-driven checksum, visible for testing.
+   */
+  static int tableCrc32c(long address, long length) {
+    int crc = 0xFFFFFFFF;
+    for (long i = 0; i < length; i++) {
+      crc = (crc >>> 8) ^ TABLE[(crc ^ MemoryUtil.UNSAFE.getByte(address + i)) & 0xff];
+    }
+    return ~crc;
+  }
+
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xFF51AFD7ED558CCDL;
+    value ^= value >>> 33;
+    value *= 0xC4CEB9FE1A85EC53L;
+    value ^= value >>> 33;
+    return value;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    Crc32cHasher that = (Crc32cHasher) o;
+    return seed == that.seed;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(seed);
+  }
+}
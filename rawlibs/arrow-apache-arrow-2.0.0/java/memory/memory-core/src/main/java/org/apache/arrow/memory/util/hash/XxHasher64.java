@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory.util.hash;
+
+import org.apache.arrow.memory.util.MemoryUtil;
+
+/**
+ * Implementation of the 64-bit xxHash algorithm (XXH64).
+ * Details of the algorithm can be found in
+ * https://github.com/Cyan4973/xxHash/blob/dev/doc/xxhash_spec.md
+ * <p>
+ *   xxHash64 consumes 32 bytes per iteration in four independent lanes, so it is much faster than
+ *   {@link MurmurHasher} on long values, while producing 64-bit hash codes of high quality.
+ *   On little-endian platforms the hash codes are identical to those of the reference implementation.
+ * </p>
+ * <p>
+ *   An object of this class is stateless, so it can be shared between threads.
+ * </p>
+ */
+public class XxHasher64 implements ArrowBufHasher64 {
+
+  public static final XxHasher64 INSTANCE = new XxHasher64();
+
+  private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+  private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+  private static final long PRIME64_3 = 0x165667B19E3779F9L;
+  private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+  private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+  private final long seed;
+
+  /**
+   * Creates a xxHash64 hasher, with seed 0.
+   */
+  public XxHasher64() {
+    this(0);
+  }
+
+  /**
+   * Creates a xxHash64 hasher.
+   * @param seed the seed for the hasher.
+   */
+  public XxHasher64(long seed) {
+    this.seed = seed;
+  }
+
+  @Override
+  public long hashCode64(long address, long length) {
+    return hashCode64(address, length, seed);
+  }
+
+  /**
+   * Calculates the 64-bit hash code for a memory region.
+   * @param address start address of the memory region.
+   * @param length length of the memory region.
+   * @param seed the seed.
+   * @return the hash code.
+   */
+  public static long hashCode64(long address, long length, long seed) {
+    long index = 0;
+    long hash;
+    if (length >= 32) {
+      long v1 = seed + PRIME64_1 + PRIME64_2;
+      long v2 = seed + PRIME64_2;
+      long v3 = seed;
+      long v4 = seed - PRIME64_1;
+      do {
+        v1 = round(v1, MemoryUtil.UNSAFE.getLong(address + index));
+        v2 = round(v2, MemoryUtil.UNSAFE.getLong(address + index + 8));
+        v3 = round(v3, MemoryUtil.UNSAFE.getLong(address + index + 16));
+        v4 = round(v4, MemoryUtil.UNSAFE.getLong(address + index + 24));
+        index += 32;
+      } while (index + 32 <= length);
+
+      hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+      hash = mergeRound(hash, v1);
+      hash = mergeRound(hash, v2);
+      hash = mergeRound(hash, v3);
+      hash = mergeRound(hash, v4);
+    } else {
+      hash = seed + PRIME64_5;
+    }
+
+    hash += length;
+
+    while (index + 8 <= length) {
+      hash ^= round(0, MemoryUtil.UNSAFE.getLong(address + index));
+      hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+      index += 8;
+    }
+
+    if (index + 4 <= length) {
+      hash ^= (MemoryUtil.UNSAFE.getInt(address + index) & 0xffffffffL) * PRIME64_1;
+      hash = Long.rotateLeft(hash, 23) * PRIME64_2 + PRIME64_3;
+      index += 4;
+    }
+
+    while (index < length) {
+      hash ^= (MemoryUtil.UNSAFE.getByte(address + index) & 0xffL) * PRIME64_5;
+      hash = Long.rotateLeft(hash, 11) * PRIME64_1;
+      index += 1;
+    }
+
+    return finalizeHashCode(hash);
+  }
+
+  private static long round(long acc, long input) {
+    acc += input * PRIME64_2;
+    acc = Long.rotateLeft(acc, 31);
+    return acc * PRIME64_1;
+  }
+
+  private static long mergeRound(long acc, long value) {
+    acc ^= round(0, value);
+    return acc * PRIME64_1 + PRIME64_4;
+  }
+
+  /**
+   * Finalizing the hash code (the xxHash64 avalanche).
+   * @param hashCode the current hash code.
+   * @return the finalized hash code.
+   */
+  public static long finalizeHashCode(long hashCode) {
+    hashCode ^= hashCode >>> 33;
+    hashCode *= PRIME64_2;
+    hashCode ^= hashCode >>> 29;
+    hashCode *= PRIME64_3;
+    hashCode ^= hashCode >>> 32;
+    return hashCode;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    XxHasher64 that = (XxHasher64) o;
+    return seed == that.seed;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(seed);
+  }
+}
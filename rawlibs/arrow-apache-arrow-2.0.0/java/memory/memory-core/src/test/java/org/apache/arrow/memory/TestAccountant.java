@@ -73,6 +73,81 @@ public class TestAccountant {
     assertEquals(parent.getLimit() - parent.getAllocatedMemory(), parent.getHeadroom());
   }
 
+  @Test
+  public void stripedAccounting() {
+    final Accountant parent = new Accountant(null, "parent", 0, 100);
+    final Accountant child = new Accountant(parent, "child", 0, 50, 16);
+    assertEquals(16, child.getStripeChunkSize());
+
+    // the first small allocation claims a whole chunk from the parent
+    assertEquals(AllocationOutcome.Status.SUCCESS, child.allocateBytes(4).getStatus());
+    assertEquals(4, child.getAllocatedMemory());
+    assertEquals(16, parent.getAllocatedMemory());
+    assertEquals(46, child.getHeadroom());
+
+    // served from the stripe credit
+    assertEquals(AllocationOutcome.Status.SUCCESS, child.allocateBytes(8).getStatus());
+    assertEquals(12, child.getAllocatedMemory());
+    assertEquals(16, parent.getAllocatedMemory());
+
+    // large allocations bypass the stripes
+    assertEquals(AllocationOutcome.Status.SUCCESS, child.allocateBytes(30).getStatus());
+    assertEquals(42, child.getAllocatedMemory());
+    assertEquals(46, parent.getAllocatedMemory());
+
+    // the limit is exact even though a new chunk no longer fits
+    assertEquals(AllocationOutcome.Status.SUCCESS, child.allocateBytes(8).getStatus());
+    assertEquals(50, child.getAllocatedMemory());
+    assertEquals(AllocationOutcome.Status.FAILED_LOCAL, child.allocateBytes(1).getStatus());
+    assertEquals(50, child.getAllocatedMemory());
+    assertEquals(50, child.getPeakMemoryAllocation());
+
+    child.releaseBytes(30);
+    child.releaseBytes(8);
+    child.releaseBytes(8);
+    child.releaseBytes(4);
+    assertEquals(0, child.getAllocatedMemory());
+
+    child.close();
+    assertEquals(0, parent.getAllocatedMemory());
+    parent.close();
+  }
+
+  @Test
+  public void stripedMultiThread() throws InterruptedException {
+    final Accountant parent = new Accountant(null, "parent", 0, Long.MAX_VALUE);
+    final Accountant child = new Accountant(parent, "child", 0, Long.MAX_VALUE, 1024);
+
+    final int numberOfThreads = 32;
+    final int loops = 1000;
+    Thread[] threads = new Thread[numberOfThreads];
+
+    for (int i = 0; i < numberOfThreads; i++) {
+      Thread t = new Thread() {
+
+        @Override
+        public void run() {
+          for (int i = 0; i < loops; i++) {
+            assertEquals(AllocationOutcome.Status.SUCCESS, child.allocateBytes(i % 100 + 1).getStatus());
+            child.releaseBytes(i % 100 + 1);
+          }
+        }
+
+      };
+      threads[i] = t;
+      t.start();
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(0, child.getAllocatedMemory());
+    child.close();
+    assertEquals(0, parent.getAllocatedMemory());
+    parent.close();
+  }
+
   private void ensureAccurateReservations(Accountant outsideParent) {
     final Accountant parent = new Accountant(outsideParent, "test", 0, 10);
     assertEquals(0, parent.getAllocatedMemory());
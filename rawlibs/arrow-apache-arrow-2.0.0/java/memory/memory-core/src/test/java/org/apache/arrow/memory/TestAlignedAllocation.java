@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.arrow.memory.rounding.SegmentRoundingPolicy;
+import org.apache.arrow.memory.util.MemoryUtil;
+import org.junit.Test;
+
+/**
+ * Test cases for allocators with an explicit buffer alignment.
+ */
+public class TestAlignedAllocation {
+
+  private static final long PADDING = MemoryUtil.CACHE_LINE_SIZE - 8;
+
+  private static BufferAllocator createAllocator(long alignment, long limit) {
+    return new RootAllocator(BaseAllocator.configBuilder()
+        .alignment(alignment)
+        .maxAllocation(limit)
+        .build());
+  }
+
+  private static void assertAligned(ArrowBuf buf, long alignment) {
+    assertEquals(0, buf.memoryAddress() & (alignment - 1));
+  }
+
+  @Test
+  public void testCacheLineAlignment() {
+    try (BufferAllocator allocator = createAllocator(MemoryUtil.CACHE_LINE_SIZE, Long.MAX_VALUE)) {
+      assertEquals(MemoryUtil.CACHE_LINE_SIZE, allocator.getAlignment());
+      try (ArrowBuf buf1 = allocator.buffer(3);
+           ArrowBuf buf2 = allocator.buffer(100)) {
+        assertAligned(buf1, MemoryUtil.CACHE_LINE_SIZE);
+        assertAligned(buf2, MemoryUtil.CACHE_LINE_SIZE);
+
+        // the size is rounded up to a multiple of the alignment
+        assertEquals(64, buf1.capacity());
+        assertEquals(128, buf2.capacity());
+        buf1.setLong(56, 1L);
+        buf2.setLong(120, 1L);
+
+        // the padding is accounted
+        assertEquals(64 + 128 + 2 * PADDING, allocator.getAllocatedMemory());
+      }
+      assertEquals(0, allocator.getAllocatedMemory());
+    }
+  }
+
+  @Test
+  public void testPageAlignment() {
+    final BufferAllocator allocator = new RootAllocator(BaseAllocator.configBuilder()
+        .alignment(MemoryUtil.PAGE_SIZE)
+        .roundingPolicy(new SegmentRoundingPolicy(1024))
+        .build());
+    try (ArrowBuf buf = allocator.buffer(1000)) {
+      assertAligned(buf, MemoryUtil.PAGE_SIZE);
+      assertEquals(MemoryUtil.PAGE_SIZE, buf.capacity());
+      assertEquals(2 * MemoryUtil.PAGE_SIZE - 8, allocator.getAllocatedMemory());
+    }
+    allocator.close();
+  }
+
+  @Test
+  public void testChildAllocatorInheritsAlignment() {
+    try (BufferAllocator root = createAllocator(MemoryUtil.CACHE_LINE_SIZE, Long.MAX_VALUE);
+         BufferAllocator child1 = root.newChildAllocator("child1", 0, Long.MAX_VALUE);
+         BufferAllocator child2 = root.newChildAllocator("child2", 0, Long.MAX_VALUE)) {
+      assertEquals(MemoryUtil.CACHE_LINE_SIZE, child1.getAlignment());
+      try (ArrowBuf buf = child1.buffer(256)) {
+        assertAligned(buf, MemoryUtil.CACHE_LINE_SIZE);
+        assertEquals(256 + PADDING, child1.getAllocatedMemory());
+
+        // the padding moves with the buffer
+        try (ArrowBuf transferred = buf.getReferenceManager().transferOwnership(buf, child2).getTransferredBuffer()) {
+          assertEquals(buf.memoryAddress(), transferred.memoryAddress());
+          assertEquals(256 + PADDING, child2.getAllocatedMemory());
+          assertEquals(0, child1.getAllocatedMemory());
+        }
+      }
+      assertEquals(0, root.getAllocatedMemory());
+    }
+  }
+
+  @Test
+  public void testReservation() {
+    try (BufferAllocator allocator = createAllocator(MemoryUtil.CACHE_LINE_SIZE, Long.MAX_VALUE);
+         AllocationReservation reservation = allocator.newReservation()) {
+      assertTrue(reservation.add(100));
+      assertEquals(128, allocator.getAllocatedMemory());
+      try (ArrowBuf buf = reservation.allocateBuffer()) {
+        assertAligned(buf, MemoryUtil.CACHE_LINE_SIZE);
+        assertEquals(128, buf.capacity());
+        assertEquals(128 + PADDING, allocator.getAllocatedMemory());
+      }
+      assertEquals(0, allocator.getAllocatedMemory());
+    }
+  }
+
+  @Test(expected = OutOfMemoryException.class)
+  public void testPaddingCountsTowardsLimit() {
+    try (BufferAllocator allocator = createAllocator(MemoryUtil.CACHE_LINE_SIZE, 128)) {
+      allocator.buffer(128).close();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidAlignment() {
+    createAllocator(48, Long.MAX_VALUE);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link AllocationSampler}.
+ */
+public class TestAllocationSampler {
+
+  private int previousInterval;
+
+  @Before
+  public void init() {
+    previousInterval = AllocationSampler.getSamplingInterval();
+    AllocationSampler.reset();
+  }
+
+  @After
+  public void terminate() {
+    AllocationSampler.setSamplingInterval(previousInterval);
+    AllocationSampler.reset();
+  }
+
+  private BufferAllocator createAllocator() {
+    return new RootAllocator(BaseAllocator.configBuilder()
+        .allocationManagerFactory(DefaultAllocationManagerFactory.FACTORY).build());
+  }
+
+  @Test
+  public void testCallSiteStats() {
+    AllocationSampler.setSamplingInterval(1);
+    try (BufferAllocator allocator = createAllocator()) {
+      ArrowBuf[] bufs = new ArrowBuf[2];
+      for (int i = 0; i < bufs.length; i++) {
+        bufs[i] = allocator.buffer(1024);
+      }
+
+      Collection<AllocationSampler.CallSiteStats> stats = AllocationSampler.getCallSiteStats();
+      assertEquals(1, stats.size());
+      AllocationSampler.CallSiteStats siteStats = stats.iterator().next();
+      assertEquals(TestAllocationSampler.class.getName(), siteStats.getCallSite().get(0).getClassName());
+      assertEquals(2, siteStats.getSampledCount());
+      assertEquals(2048, siteStats.getSampledBytes());
+      assertEquals(2048, siteStats.getOutstandingBytes());
+
+      bufs[0].close();
+      assertEquals(1024, siteStats.getOutstandingBytes());
+      bufs[1].close();
+      assertEquals(0, siteStats.getOutstandingBytes());
+      assertEquals(2048, siteStats.getSampledBytes());
+    }
+  }
+
+  @Test
+  public void testDumpOutstanding() {
+    AllocationSampler.setSamplingInterval(1);
+    try (BufferAllocator allocator = createAllocator();
+         BufferAllocator child = allocator.newChildAllocator("child", 0, Long.MAX_VALUE);
+         BufferAllocator other = allocator.newChildAllocator("other", 0, Long.MAX_VALUE)) {
+      try (ArrowBuf buf = child.buffer(512)) {
+        String dump = AllocationSampler.dumpOutstanding(allocator);
+        assertTrue(dump.contains("Outstanding sampled buffers (1 in 1 sampled): 1"));
+        assertTrue(dump.contains("owned by allocator[child]"));
+        assertTrue(dump.matches("(?s).*owned by allocator\\[child\\], allocated \\d+ ms ago at\n.*"));
+        assertTrue(dump.contains("testDumpOutstanding"));
+
+        assertTrue(AllocationSampler.dumpOutstanding(other).contains("sampled): 0"));
+      }
+      assertTrue(AllocationSampler.dumpOutstanding(allocator).contains("sampled): 0"));
+    }
+  }
+
+  @Test
+  public void testDisabled() {
+    AllocationSampler.setSamplingInterval(0);
+    try (BufferAllocator allocator = createAllocator();
+         ArrowBuf buf = allocator.buffer(1024)) {
+      assertEquals(0, AllocationSampler.getCallSiteStats().size());
+    }
+  }
+}
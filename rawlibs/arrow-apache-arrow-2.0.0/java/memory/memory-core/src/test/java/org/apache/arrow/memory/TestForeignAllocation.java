@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.arrow.memory.util.MemoryUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link BufferAllocator#wrapForeignAllocation(ForeignAllocation)}.
+ */
+public class TestForeignAllocation {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void init() {
+    allocator = new RootAllocator(1024 * 1024);
+  }
+
+  @After
+  public void terminate() {
+    allocator.close();
+  }
+
+  @Test
+  public void testWrapForeignAllocation() {
+    final UnsafeAllocation allocation = new UnsafeAllocation(4096);
+    try (BufferAllocator child = allocator.newChildAllocator("child", 0, Long.MAX_VALUE)) {
+      ArrowBuf buffer = child.wrapForeignAllocation(allocation);
+      assertEquals(4096, buffer.capacity());
+      assertEquals(allocation.memoryAddress(), buffer.memoryAddress());
+      assertEquals(4096, child.getAllocatedMemory());
+      assertEquals(4096, allocator.getAllocatedMemory());
+
+      buffer.setLong(0, 42L);
+      ArrowBuf slice = buffer.slice(0, 8);
+      slice.getReferenceManager().retain();
+      buffer.close();
+      assertFalse(allocation.released);
+      assertEquals(42L, slice.getLong(0));
+
+      slice.close();
+      assertTrue(allocation.released);
+      assertEquals(0, child.getAllocatedMemory());
+    }
+  }
+
+  @Test
+  public void testWrapForeignAllocationOverLimit() {
+    final UnsafeAllocation allocation = new UnsafeAllocation(2 * 1024 * 1024);
+    try {
+      assertThrows(OutOfMemoryException.class, () -> allocator.wrapForeignAllocation(allocation));
+      assertEquals(0, allocator.getAllocatedMemory());
+      assertFalse(allocation.released);
+    } finally {
+      allocation.release0();
+    }
+  }
+
+  @Test
+  public void testMappedFileAllocation() throws IOException {
+    final Path file = Files.createTempFile("arrow-test", ".bin");
+    try {
+      final ByteBuffer content = ByteBuffer.allocate(8192);
+      for (int i = 0; i < 8192; i++) {
+        content.put((byte) i);
+      }
+      content.flip();
+      Files.write(file, content.array());
+
+      // a private mapping requires a channel opened for writing, even though the file is not written
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        MappedFileAllocation allocation = MappedFileAllocation.map(channel, FileChannel.MapMode.PRIVATE, 100, 1000);
+        try (ArrowBuf buffer = allocator.wrapForeignAllocation(allocation)) {
+          assertEquals(1000, allocator.getAllocatedMemory());
+          for (int i = 0; i < 1000; i++) {
+            assertEquals((byte) (i + 100), buffer.getByte(i));
+          }
+          // a private mapping can be written without changing the file
+          buffer.setByte(0, 0);
+          assertEquals(0, buffer.getByte(0));
+        }
+        assertEquals(0, allocator.getAllocatedMemory());
+      }
+      assertEquals((byte) 100, Files.readAllBytes(file)[100]);
+
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        assertThrows(NonWritableChannelException.class,
+            () -> MappedFileAllocation.map(channel, FileChannel.MapMode.PRIVATE, 100, 1000));
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static class UnsafeAllocation extends ForeignAllocation {
+
+    private boolean released;
+
+    UnsafeAllocation(long size) {
+      super(size, MemoryUtil.UNSAFE.allocateMemory(size));
+    }
+
+    @Override
+    protected void release0() {
+      MemoryUtil.UNSAFE.freeMemory(memoryAddress());
+      released = true;
+    }
+  }
+}
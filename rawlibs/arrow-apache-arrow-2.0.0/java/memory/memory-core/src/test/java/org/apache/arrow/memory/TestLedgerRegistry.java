@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Test cases for {@link LedgerRegistry}.
+ */
+public class TestLedgerRegistry {
+
+  @Test
+  public void testPutGetRemove() {
+    try (RootAllocator root = new RootAllocator();
+         ArrowBuf buf = root.buffer(16)) {
+      final AllocationManager manager = ((BufferLedger) buf.getReferenceManager()).getAllocationManager();
+      final List<BaseAllocator> allocators = new ArrayList<>();
+      final List<BufferLedger> ledgers = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        final BaseAllocator child = (BaseAllocator) root.newChildAllocator("child" + i, 0, Long.MAX_VALUE);
+        allocators.add(child);
+        ledgers.add(new BufferLedger(child, manager));
+      }
+
+      final LedgerRegistry registry = new LedgerRegistry();
+      assertTrue(registry.isEmpty());
+      assertNull(registry.getNextValue());
+      assertNull(registry.get(allocators.get(0)));
+
+      for (int i = 0; i < ledgers.size(); i++) {
+        assertNull(registry.put(ledgers.get(i)));
+        assertEquals(i + 1, registry.size());
+        for (int j = 0; j <= i; j++) {
+          assertSame(ledgers.get(j), registry.get(allocators.get(j)));
+        }
+      }
+
+      // replacing the ledger of an allocator
+      final BufferLedger replacement = new BufferLedger(allocators.get(3), manager);
+      assertSame(ledgers.get(3), registry.put(replacement));
+      assertEquals(ledgers.size(), registry.size());
+      assertSame(replacement, registry.get(allocators.get(3)));
+      ledgers.set(3, replacement);
+
+      assertNull(registry.remove(root));
+      for (int i = 0; i < ledgers.size(); i++) {
+        assertNotNull(registry.remove(allocators.get(i)));
+        assertNull(registry.get(allocators.get(i)));
+        assertEquals(ledgers.size() - i - 1, registry.size());
+        if (i + 1 < ledgers.size()) {
+          assertSame(ledgers.get(i + 1), registry.get(allocators.get(i + 1)));
+          assertNotNull(registry.getNextValue());
+        }
+      }
+      assertTrue(registry.isEmpty());
+
+      for (BaseAllocator child : allocators) {
+        child.close();
+      }
+    }
+  }
+
+  @Test
+  public void testConcurrentRetainAndTransfer() throws Exception {
+    final int threads = 4;
+    final int iterations = 2000;
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try (RootAllocator root = new RootAllocator()) {
+      final BufferAllocator[] children = new BufferAllocator[threads];
+      for (int i = 0; i < threads; i++) {
+        children[i] = root.newChildAllocator("child" + i, 0, Long.MAX_VALUE);
+      }
+      final ArrowBuf buf = root.buffer(64);
+      final CountDownLatch start = new CountDownLatch(1);
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        final BufferAllocator child = children[t];
+        futures.add(executor.submit(() -> {
+          start.await();
+          for (int i = 0; i < iterations; i++) {
+            // alternate between a new association and the lock-free path of an existing one
+            final ArrowBuf retained = buf.getReferenceManager().retain(buf, child);
+            retained.getReferenceManager().retain();
+            retained.getReferenceManager().release();
+            retained.close();
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      assertEquals(1, buf.getReferenceManager().getRefCount());
+      buf.close();
+      for (BufferAllocator child : children) {
+        assertEquals(0, child.getAllocatedMemory());
+        child.close();
+      }
+      assertEquals(0, root.getAllocatedMemory());
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+}
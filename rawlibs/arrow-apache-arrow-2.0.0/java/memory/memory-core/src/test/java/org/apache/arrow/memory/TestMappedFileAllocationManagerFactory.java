@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link MappedFileAllocationManagerFactory}.
+ */
+public class TestMappedFileAllocationManagerFactory {
+
+  private Path directory;
+  private BufferAllocator root;
+  private BufferAllocator mapped;
+
+  @Before
+  public void init() throws IOException {
+    directory = Files.createTempDirectory("arrow-test");
+    root = new RootAllocator(BaseAllocator.configBuilder()
+        .allocationManagerFactory(DefaultAllocationManagerFactory.FACTORY).build());
+    mapped = root.newChildAllocator("mapped", AllocationListener.NOOP, 0, Long.MAX_VALUE,
+        new MappedFileAllocationManagerFactory(directory, 4096, DefaultAllocationManagerFactory.FACTORY));
+  }
+
+  @After
+  public void terminate() throws IOException {
+    mapped.close();
+    root.close();
+    Files.delete(directory);
+  }
+
+  @Test
+  public void testMappedBuffer() {
+    final long bufSize = 1024 * 1024;
+    try (ArrowBuf buffer = mapped.buffer(bufSize)) {
+      assertEquals(bufSize, buffer.capacity());
+      assertEquals(bufSize, mapped.getAllocatedMemory());
+      assertEquals(bufSize, root.getAllocatedMemory());
+
+      for (long i = 0; i < bufSize / 8; i++) {
+        buffer.setLong(i * 8, i);
+      }
+      for (long i = 0; i < bufSize / 8; i++) {
+        assertEquals(i, buffer.getLong(i * 8));
+      }
+    }
+    assertEquals(0, mapped.getAllocatedMemory());
+
+    // the backing file is unlinked once mapped
+    assertEquals(0, directory.toFile().list().length);
+  }
+
+  @Test
+  public void testSmallBufferDelegated() {
+    try (ArrowBuf buffer = mapped.buffer(64)) {
+      AllocationManager manager = ((BufferLedger) buffer.getReferenceManager()).getAllocationManager();
+      assertFalse(manager.getClass().getName().contains("MappedFile"));
+    }
+  }
+
+  @Test
+  public void testTransferOwnership() {
+    final long bufSize = 8192;
+    try (BufferAllocator other = root.newChildAllocator("other", 0, Long.MAX_VALUE)) {
+      ArrowBuf buffer = mapped.buffer(bufSize);
+      buffer.setLong(0, 42L);
+
+      OwnershipTransferResult result = buffer.getReferenceManager().transferOwnership(buffer, other);
+      assertTrue(result.getAllocationFit());
+      buffer.close();
+
+      ArrowBuf transferred = result.getTransferredBuffer();
+      assertEquals(0, mapped.getAllocatedMemory());
+      assertEquals(bufSize, other.getAllocatedMemory());
+      assertEquals(42L, transferred.getLong(0));
+      transferred.close();
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+ * Test cases for {@link PooledAllocationManagerFactory}.
+ */
+public class TestPooledAllocationManagerFactory {
+
+  private BufferAllocator createAllocator(PooledAllocationManagerFactory factory) {
+    return new RootAllocator(BaseAllocator.configBuilder().allocationManagerFactory(factory).build());
+  }
+
+  @Test
+  public void testChunkReuse() {
+    PooledAllocationManagerFactory factory = new PooledAllocationManagerFactory(1024, 2, 4096);
+    try (BufferAllocator allocator = createAllocator(factory)) {
+      long address;
+      try (ArrowBuf buf = allocator.buffer(128)) {
+        assertEquals(128, buf.capacity());
+        assertEquals(128, allocator.getAllocatedMemory());
+        address = buf.memoryAddress();
+      }
+      assertEquals(0, allocator.getAllocatedMemory());
+      assertEquals(128, factory.getRetainedMemory());
+
+      // the same size class is served from the thread cache
+      try (ArrowBuf buf = allocator.buffer(100)) {
+        assertEquals(address, buf.memoryAddress());
+        assertEquals(0, factory.getRetainedMemory());
+      }
+
+      // requests above the largest size class are not pooled
+      try (ArrowBuf buf = allocator.buffer(2048)) {
+        buf.setLong(2040, 1L);
+      }
+      assertEquals(128, factory.getRetainedMemory());
+    }
+
+    factory.trim();
+    assertEquals(0, factory.getRetainedMemory());
+  }
+
+  @Test
+  public void testSizeClassAccounted() {
+    PooledAllocationManagerFactory factory = new PooledAllocationManagerFactory(1024, 2, 4096);
+    try (BufferAllocator allocator = new RootAllocator(BaseAllocator.configBuilder()
+        .allocationManagerFactory(factory)
+        .roundingPolicy(requestSize -> requestSize)
+        .build())) {
+      try (ArrowBuf buf = allocator.buffer(100)) {
+        assertEquals(100, buf.capacity());
+        // the whole chunk of the size class is accounted
+        assertEquals(128, allocator.getAllocatedMemory());
+      }
+      assertEquals(0, allocator.getAllocatedMemory());
+
+      // requests above the largest size class are accounted as requested
+      try (ArrowBuf buf = allocator.buffer(2000)) {
+        assertEquals(2000, allocator.getAllocatedMemory());
+      }
+      assertEquals(0, allocator.getAllocatedMemory());
+    }
+  }
+
+  @Test
+  public void testRetentionLimit() {
+    PooledAllocationManagerFactory factory = new PooledAllocationManagerFactory(1024, 2, 2048);
+    try (BufferAllocator allocator = createAllocator(factory)) {
+      ArrowBuf[] buffers = new ArrowBuf[8];
+      for (int i = 0; i < buffers.length; i++) {
+        buffers[i] = allocator.buffer(1024);
+      }
+      for (ArrowBuf buf : buffers) {
+        buf.close();
+      }
+
+      // the thread cache counts toward the retention limit
+      assertEquals(2 * 1024, factory.getRetainedMemory());
+    }
+
+    factory.trim();
+    assertEquals(0, factory.getRetainedMemory());
+  }
+
+  @Test
+  public void testMultiThread() throws InterruptedException {
+    PooledAllocationManagerFactory factory = new PooledAllocationManagerFactory();
+    try (BufferAllocator allocator = createAllocator(factory)) {
+      Thread[] threads = new Thread[8];
+      for (int i = 0; i < threads.length; i++) {
+        threads[i] = new Thread(() -> {
+          for (int j = 0; j < 1000; j++) {
+            try (ArrowBuf buf = allocator.buffer(64 + j % 4096)) {
+              buf.setByte(buf.capacity() - 1, j);
+            }
+          }
+        });
+        threads[i].start();
+      }
+      for (Thread thread : threads) {
+        thread.join();
+      }
+      assertEquals(0, allocator.getAllocatedMemory());
+    }
+
+    factory.trim();
+    assertEquals(0, factory.getRetainedMemory());
+  }
+
+  @Test
+  public void testExitedThreadCacheReclaimed() throws InterruptedException {
+    PooledAllocationManagerFactory factory = new PooledAllocationManagerFactory(1024, 2, 4096);
+    try (BufferAllocator allocator = createAllocator(factory)) {
+      AtomicLong address = new AtomicLong();
+      Thread thread = new Thread(() -> {
+        try (ArrowBuf buf = allocator.buffer(128)) {
+          address.set(buf.memoryAddress());
+        }
+      });
+      thread.start();
+      thread.join();
+      thread = null;
+      assertEquals(128, factory.getRetainedMemory());
+
+      // once the thread is collected, its cached chunk is served to other threads
+      List<ArrowBuf> buffers = new ArrayList<>();
+      boolean reused = false;
+      for (int i = 0; i < 50 && !reused; i++) {
+        System.gc();
+        ArrowBuf buf = allocator.buffer(128);
+        buffers.add(buf);
+        reused = buf.memoryAddress() == address.get();
+      }
+      buffers.forEach(ArrowBuf::close);
+      assertTrue(reused);
+    }
+
+    factory.trim();
+    assertEquals(0, factory.getRetainedMemory());
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.arrow.memory.AllocationListener;
+import org.apache.arrow.memory.AllocationOutcome;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.OutOfMemoryException;
+import org.apache.arrow.memory.RootAllocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestArrowMetrics {
+
+  private final CountingListener listener = new CountingListener();
+
+  @Before
+  public void setUp() {
+    ArrowMetrics.addListener(listener);
+  }
+
+  @After
+  public void tearDown() {
+    ArrowMetrics.removeListener(listener);
+  }
+
+  @Test
+  public void testAllocationAndRelease() {
+    try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE)) {
+      assertTrue(ArrowMetrics.isEnabled());
+      try (ArrowBuf buf = allocator.buffer(1024)) {
+        assertEquals(1, listener.allocations.get());
+        assertEquals(1024, listener.allocatedBytes.get());
+        assertEquals(0, listener.releasedBytes.get());
+      }
+      assertEquals(1024, listener.releasedBytes.get());
+    }
+  }
+
+  @Test
+  public void testAllocationFailure() {
+    final AllocationListener makeRoom = new AllocationListener() {
+      @Override
+      public boolean onFailedAllocation(long size, AllocationOutcome outcome) {
+        return true;
+      }
+    };
+    try (BufferAllocator root = new RootAllocator(makeRoom, 1024);
+         BufferAllocator child = root.newChildAllocator("child", makeRoom, 0, 512)) {
+      try {
+        child.buffer(1024);
+        fail("allocation beyond the limit should fail");
+      } catch (OutOfMemoryException e) {
+        // expected
+      }
+      assertEquals(1, listener.failures.get());
+      assertEquals(0, listener.recovered.get());
+      assertEquals(0, listener.allocations.get());
+    }
+  }
+
+  @Test
+  public void testRemoveListener() {
+    assertTrue(ArrowMetrics.removeListener(listener));
+    assertFalse(ArrowMetrics.removeListener(listener));
+    try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+         ArrowBuf buf = allocator.buffer(1024)) {
+      assertEquals(0, listener.allocations.get());
+    }
+  }
+
+  private static final class CountingListener implements MetricsListener {
+    private final AtomicLong allocations = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final AtomicLong releasedBytes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+
+    @Override
+    public void onAllocation(BufferAllocator allocator, long size) {
+      allocations.incrementAndGet();
+      allocatedBytes.addAndGet(size);
+    }
+
+    @Override
+    public void onRelease(BufferAllocator allocator, long size) {
+      releasedBytes.addAndGet(size);
+    }
+
+    @Override
+    public void onAllocationFailure(BufferAllocator allocator, long size, boolean recovered) {
+      failures.incrementAndGet();
+      if (recovered) {
+        this.recovered.incrementAndGet();
+      }
+    }
+  }
+}
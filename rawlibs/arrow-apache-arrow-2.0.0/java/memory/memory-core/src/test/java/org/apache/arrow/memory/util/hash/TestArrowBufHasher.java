@@ -117,6 +117,12 @@ public class TestArrowBufHasher {
         SimpleHasher.INSTANCE},
       new Object[] {MurmurHasher.class.getSimpleName(),
         new MurmurHasher()
+      },
+      new Object[] {XxHasher64.class.getSimpleName(),
+        XxHasher64.INSTANCE
+      },
+      new Object[] {Crc32cHasher.class.getSimpleName(),
+        Crc32cHasher.INSTANCE
       }
     );
   }
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory.util.hash;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ArrowBufHasher64} implementations.
+ */
+public class TestArrowBufHasher64 {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(1024 * 1024);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  private ArrowBuf bufferOf(byte[] bytes) {
+    ArrowBuf buf = allocator.buffer(Math.max(bytes.length, 1));
+    buf.setBytes(0, bytes);
+    return buf;
+  }
+
+  @Test
+  public void testXxHash64ReferenceValues() {
+    byte[] sequence = new byte[100];
+    for (int i = 0; i < sequence.length; i++) {
+      sequence[i] = (byte) i;
+    }
+    try (ArrowBuf empty = bufferOf(new byte[0]);
+         ArrowBuf abc = bufferOf("abc".getBytes(StandardCharsets.US_ASCII));
+         ArrowBuf longer = bufferOf(sequence)) {
+      assertEquals(0xEF46DB3751D8E999L, XxHasher64.INSTANCE.hashCode64(empty, 0, 0));
+      assertEquals(0x44BC2CF5AD770999L, XxHasher64.INSTANCE.hashCode64(abc, 0, 3));
+      assertEquals(0x6AC1E58032166597L, XxHasher64.INSTANCE.hashCode64(longer, 0, sequence.length));
+      assertNotEquals(XxHasher64.INSTANCE.hashCode64(abc, 0, 3), new XxHasher64(1).hashCode64(abc, 0, 3));
+    }
+  }
+
+  @Test
+  public void testCrc32cReferenceValue() {
+    try (ArrowBuf buf = bufferOf("123456789".getBytes(StandardCharsets.US_ASCII))) {
+      assertEquals(0xE3069283, Crc32cHasher.crc32c(buf.memoryAddress(), 9));
+    }
+  }
+
+  @Test
+  public void testCrc32cImplementationsAgree() {
+    try (ArrowBuf buf = allocator.buffer(4096)) {
+      for (int i = 0; i < 4096; i++) {
+        buf.setByte(i, i * 31 + 7);
+      }
+      for (int length : new int[] {64, 100, 1000, 4096}) {
+        assertEquals(Crc32cHasher.tableCrc32c(buf.memoryAddress(), length),
+            Crc32cHasher.crc32c(buf.memoryAddress(), length));
+      }
+    }
+  }
+
+  @Test
+  public void testDistinctShortValues() {
+    // regions that only differ in one byte must get distinct hash codes.
+    try (ArrowBuf buf = allocator.buffer(16)) {
+      buf.setZero(0, 16);
+      for (ArrowBufHasher64 hasher : new ArrowBufHasher64[] {XxHasher64.INSTANCE, Crc32cHasher.INSTANCE}) {
+        for (int length = 1; length <= 16; length++) {
+          long base = hasher.hashCode64(buf, 0, length);
+          for (int i = 0; i < length; i++) {
+            buf.setByte(i, 1);
+            assertNotEquals(base, hasher.hashCode64(buf, 0, length));
+            buf.setByte(i, 0);
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory.metrics;
+
+import org.apache.arrow.memory.BufferAllocator;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Emits the metrics as JDK Flight Recorder events.
+ *
+ * <p>Lives in its own module, so that arrow-memory-core still builds and runs on JVMs without
+ * jdk.jfr. {@link ArrowMetrics#enableJfr()} loads it reflectively when this module is on the
+ * classpath. Events are only built when a recording has them enabled. Allocation and release events
+ * are disabled by default, as they are very frequent.
+ */
+public final class JfrMetricsListener implements MetricsListener {
+
+  public JfrMetricsListener() {
+  }
+
+  @Override
+  public void onAllocation(BufferAllocator allocator, long size) {
+    final AllocationEvent event = new AllocationEvent();
+    if (event.shouldCommit()) {
+      event.allocator = allocator.getName();
+      event.size = size;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void onRelease(BufferAllocator allocator, long size) {
+    final ReleaseEvent event = new ReleaseEvent();
+    if (event.shouldCommit()) {
+      event.allocator = allocator.getName();
+      event.size = size;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void onAllocationFailure(BufferAllocator allocator, long size, boolean recovered) {
+    final AllocationFailureEvent event = new AllocationFailureEvent();
+    if (event.shouldCommit()) {
+      event.allocator = allocator.getName();
+      event.size = size;
+      event.limit = allocator.getLimit();
+      event.recovered = recovered;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void onMessageRead(String messageType, long metadataLength, long bodyLength) {
+    final MessageReadEvent event = new MessageReadEvent();
+    if (event.shouldCommit()) {
+      event.messageType = messageType;
+      event.metadataLength = metadataLength;
+      event.bodyLength = bodyLength;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void onMessageWritten(String messageType, long metadataLength, long bodyLength) {
+    final MessageWriteEvent event = new MessageWriteEvent();
+    if (event.shouldCommit()) {
+      event.messageType = messageType;
+      event.metadataLength = metadataLength;
+      event.bodyLength = bodyLength;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void onBatchRead(int rowCount, long bytes, long nanos) {
+    final BatchReadEvent event = new BatchReadEvent();
+    if (event.shouldCommit()) {
+      event.rowCount = rowCount;
+      event.bytes = bytes;
+      event.elapsed = nanos;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void onBatchWritten(int rowCount, long bytes, long nanos) {
+    final BatchWriteEvent event = new BatchWriteEvent();
+    if (event.shouldCommit()) {
+      event.rowCount = rowCount;
+      event.bytes = bytes;
+      event.elapsed = nanos;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void onCompress(String codec, long uncompressedBytes, long compressedBytes, long nanos) {
+    final CompressEvent event = new CompressEvent();
+    if (event.shouldCommit()) {
+      event.codec = codec;
+      event.uncompressedBytes = uncompressedBytes;
+      event.compressedBytes = compressedBytes;
+      event.elapsed = nanos;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void onDecompress(String codec, long compressedBytes, long uncompressedBytes, long nanos) {
+    final DecompressEvent event = new DecompressEvent();
+    if (event.shouldCommit()) {
+      event.codec = codec;
+      event.uncompressedBytes = uncompressedBytes;
+      event.compressedBytes = compressedBytes;
+      event.elapsed = nanos;
+      event.commit();
+    }
+  }
+
+  @Name("org.apache.arrow.Allocation")
+  @Enabled(false)
+  @Label("Arrow Allocation")
+  @Category("Apache Arrow")
+  static final class AllocationEvent extends Event {
+    @Label("Allocator")
+    String allocator;
+
+    @Label("Size")
+    @DataAmount
+    long size;
+  }
+
+  @Name("org.apache.arrow.Release")
+  @Enabled(false)
+  @Label("Arrow Release")
+  @Category("Apache Arrow")
+  static final class ReleaseEvent extends Event {
+    @Label("Allocator")
+    String allocator;
+
+    @Label("Size")
+    @DataAmount
+    long size;
+  }
+
+  @Name("org.apache.arrow.AllocationFailure")
+  @Label("Arrow Allocation Failure")
+  @Category("Apache Arrow")
+  static final class AllocationFailureEvent extends Event {
+    @Label("Allocator")
+    String allocator;
+
+    @Label("Size")
+    @DataAmount
+    long size;
+
+    @Label("Limit")
+    @DataAmount
+    long limit;
+
+    @Label("Recovered")
+    boolean recovered;
+  }
+
+  @Name("org.apache.arrow.MessageRead")
+  @Label("Arrow IPC Message Read")
+  @Category("Apache Arrow")
+  static final class MessageReadEvent extends Event {
+    @Label("Message Type")
+    String messageType;
+
+    @Label("Metadata Length")
+    @DataAmount
+    long metadataLength;
+
+    @Label("Body Length")
+    @DataAmount
+    long bodyLength;
+  }
+
+  @Name("org.apache.arrow.MessageWrite")
+  @Label("Arrow IPC Message Write")
+  @Category("Apache Arrow")
+  static final class MessageWriteEvent extends Event {
+    @Label("Message Type")
+    String messageType;
+
+    @Label("Metadata Length")
+    @DataAmount
+    long metadataLength;
+
+    @Label("Body Length")
+    @DataAmount
+    long bodyLength;
+  }
+
+  @Name("org.apache.arrow.BatchRead")
+  @Label("Arrow Record Batch Read")
+  @Category("Apache Arrow")
+  static final class BatchReadEvent extends Event {
+    @Label("Rows")
+    int rowCount;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+  }
+
+  @Name("org.apache.arrow.BatchWrite")
+  @Label("Arrow Record Batch Write")
+  @Category("Apache Arrow")
+  static final class BatchWriteEvent extends Event {
+    @Label("Rows")
+    int rowCount;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+  }
+
+  @Name("org.apache.arrow.Compress")
+  @Label("Arrow Buffer Compression")
+  @Category("Apache Arrow")
+  static final class CompressEvent extends Event {
+    @Label("Codec")
+    String codec;
+
+    @Label("Uncompressed Bytes")
+    @DataAmount
+    long uncompressedBytes;
+
+    @Label("Compressed Bytes")
+    @DataAmount
+    long compressedBytes;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+  }
+
+  @Name("org.apache.arrow.Decompress")
+  @Label("Arrow Buffer Decompression")
+  @Category("Apache Arrow")
+  static final class DecompressEvent extends Event {
+    @Label("Codec")
+    String codec;
+
+    @Label("Compressed Bytes")
+    @DataAmount
+    long compressedBytes;
+
+    @Label("Uncompressed Bytes")
+    @DataAmount
+    long uncompressedBytes;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+  }
+}
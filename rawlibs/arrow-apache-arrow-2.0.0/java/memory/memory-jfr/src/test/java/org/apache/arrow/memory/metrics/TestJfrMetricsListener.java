@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class TestJfrMetricsListener {
+
+  @Before
+  public void setUp() {
+    assertTrue(ArrowMetrics.enableJfr());
+  }
+
+  @After
+  public void tearDown() {
+    ArrowMetrics.disableJfr();
+  }
+
+  @Test
+  public void testAllocationEvents() throws IOException {
+    final Path file = Files.createTempFile("arrow-metrics", ".jfr");
+    try (Recording recording = new Recording()) {
+      // allocation and release events are disabled by default
+      recording.enable("org.apache.arrow.Allocation");
+      recording.enable("org.apache.arrow.Release");
+      recording.start();
+      try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+           ArrowBuf buf = allocator.buffer(1024)) {
+        buf.setLong(0, 1L);
+      }
+      recording.stop();
+      recording.dump(file);
+
+      final List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+          .filter(event -> event.getEventType().getName().startsWith("org.apache.arrow."))
+          .collect(Collectors.toList());
+      assertEquals(2, events.size());
+      assertEquals("org.apache.arrow.Allocation", events.get(0).getEventType().getName());
+      assertEquals(1024, events.get(0).getLong("size"));
+      assertEquals("ROOT", events.get(0).getString("allocator"));
+      assertEquals("org.apache.arrow.Release", events.get(1).getEventType().getName());
+      assertEquals(1024, events.get(1).getLong("size"));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testAllocationEventsDisabledByDefault() throws IOException {
+    final Path file = Files.createTempFile("arrow-metrics", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.start();
+      try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+           ArrowBuf buf = allocator.buffer(1024)) {
+        buf.setLong(0, 1L);
+      }
+      recording.stop();
+      recording.dump(file);
+
+      assertTrue(RecordingFile.readAllEvents(file).stream()
+          .noneMatch(event -> event.getEventType().getName().startsWith("org.apache.arrow.")));
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
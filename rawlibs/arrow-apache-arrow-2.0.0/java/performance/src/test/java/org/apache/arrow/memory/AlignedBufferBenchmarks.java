@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.util.ByteFunctionHelpers;
+import org.apache.arrow.vector.IntVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks comparing buffers allocated with and without explicit alignment, for the byte
+ * comparison and copy paths.
+ */
+@State(Scope.Benchmark)
+public class AlignedBufferBenchmarks {
+
+  private static final int BUFFER_CAPACITY = 64 * 1024;
+
+  private static final int VECTOR_LENGTH = BUFFER_CAPACITY / IntVector.TYPE_WIDTH;
+
+  /**
+   * The allocator alignment, 0 for the alignment of the allocation manager.
+   */
+  @Param({"0", "64"})
+  private int alignment;
+
+  /**
+   * The offset of the compared bytes within the buffers, to measure misaligned access.
+   */
+  @Param({"0", "3"})
+  private int offset;
+
+  private BufferAllocator allocator;
+
+  private ArrowBuf buffer1;
+
+  private ArrowBuf buffer2;
+
+  private IntVector fromVector;
+
+  private IntVector toVector;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    allocator = new RootAllocator(BaseAllocator.configBuilder().alignment(alignment).build());
+    buffer1 = allocator.buffer(BUFFER_CAPACITY + offset);
+    buffer2 = allocator.buffer(BUFFER_CAPACITY + offset);
+    for (int i = 0; i < BUFFER_CAPACITY + offset; i++) {
+      buffer1.setByte(i, i);
+      buffer2.setByte(i, i);
+    }
+
+    fromVector = new IntVector("from", allocator);
+    toVector = new IntVector("to", allocator);
+    fromVector.allocateNew(VECTOR_LENGTH);
+    toVector.allocateNew(VECTOR_LENGTH);
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      fromVector.set(i, i);
+    }
+    fromVector.setValueCount(VECTOR_LENGTH);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    buffer1.close();
+    buffer2.close();
+    fromVector.close();
+    toVector.close();
+    allocator.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public int equal() {
+    return ByteFunctionHelpers.equal(
+        buffer1, offset, offset + BUFFER_CAPACITY, buffer2, offset, offset + BUFFER_CAPACITY);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public int compare() {
+    return ByteFunctionHelpers.compare(
+        buffer1, offset, offset + BUFFER_CAPACITY, buffer2, offset, offset + BUFFER_CAPACITY);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public void copyBytes() {
+    buffer2.setBytes(offset, buffer1, offset, BUFFER_CAPACITY);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void copyVector() {
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      toVector.copyFrom(i, i, fromVector);
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+            .include(AlignedBufferBenchmarks.class.getSimpleName())
+            .forks(1)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -24,8 +24,13 @@ import org.apache.arrow.memory.rounding.RoundingPolicy;
 import org.apache.arrow.memory.rounding.SegmentRoundingPolicy;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
@@ -84,6 +89,70 @@ public class AllocatorBenchmarks {
     }
   }
 
+  /**
+   * Repeatedly allocates and releases buffers of a few sizes, as a batch loop does.
+   */
+  private static void allocateAndRelease(BufferAllocator allocator) {
+    final int numBuffers = 64;
+    final int rounds = 16;
+    final int[] bufferSizes = {256, 4096, 65536};
+
+    ArrowBuf[] buffers = new ArrowBuf[numBuffers];
+    for (int round = 0; round < rounds; round++) {
+      for (int i = 0; i < numBuffers; i++) {
+        buffers[i] = allocator.buffer(bufferSizes[i % bufferSizes.length]);
+      }
+
+      for (int i = 0; i < numBuffers; i++) {
+        buffers[i].close();
+      }
+    }
+  }
+
+  /**
+   * Benchmark for the default allocation manager with recurring buffer sizes.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void defaultAllocationManagerReuseBenchmark() {
+    try (RootAllocator allocator = new RootAllocator()) {
+      allocateAndRelease(allocator);
+    }
+  }
+
+  /**
+   * Benchmark for the pooled allocation manager with recurring buffer sizes.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void pooledAllocationManagerReuseBenchmark(PoolState state) {
+    try (RootAllocator allocator = new RootAllocator(
+        BaseAllocator.configBuilder().allocationManagerFactory(state.factory).build())) {
+      allocateAndRelease(allocator);
+    }
+  }
+
+  /**
+   * State object holding the pool shared by all invocations of a trial.
+   */
+  @State(Scope.Benchmark)
+  public static class PoolState {
+
+    PooledAllocationManagerFactory factory;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      factory = new PooledAllocationManagerFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownState() {
+      factory.trim();
+    }
+  }
+
   public static void main(String[] args) throws RunnerException {
     Options opt = new OptionsBuilder()
             .include(AllocatorBenchmarks.class.getSimpleName())
@@ -218,6 +218,104 @@ public class BitVectorHelperBenchmarks {
     }
   }
 
+  /**
+   * State object for the bitwise kernels.
+   */
+  @State(Scope.Benchmark)
+  public static class BitwiseState {
+
+    private static final int BIT_COUNT = 64 * 1024;
+
+    private static final int ALLOCATOR_CAPACITY = 1024 * 1024;
+
+    private BufferAllocator allocator;
+
+    private ArrowBuf left;
+
+    private ArrowBuf right;
+
+    private ArrowBuf output;
+
+    /**
+     * Setup benchmarks.
+     */
+    @Setup(Level.Trial)
+    public void prepare() {
+      allocator = new RootAllocator(ALLOCATOR_CAPACITY);
+      left = allocator.buffer(BIT_COUNT / 8 + 8);
+      right = allocator.buffer(BIT_COUNT / 8 + 8);
+      output = allocator.buffer(BIT_COUNT / 8 + 8);
+
+      for (int i = 0; i < BIT_COUNT + 64; i++) {
+        BitVectorHelper.setValidityBit(left, i, i % 7 == 0 ? 0 : 1);
+        BitVectorHelper.setValidityBit(right, i, i % 5 == 0 ? 0 : 1);
+      }
+    }
+
+    /**
+     * Tear down benchmarks.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      left.close();
+      right.close();
+      output.close();
+      allocator.close();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void andBitByBitBenchmark(BitwiseState state) {
+    for (int i = 0; i < BitwiseState.BIT_COUNT; i++) {
+      BitVectorHelper.setValidityBit(state.output, i,
+          BitVectorHelper.get(state.left, i) & BitVectorHelper.get(state.right, i));
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void andBenchmark(BitwiseState state) {
+    BitVectorHelper.and(state.left, 0, state.right, 0, state.output, 0, BitwiseState.BIT_COUNT);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void andUnalignedBenchmark(BitwiseState state) {
+    BitVectorHelper.and(state.left, 3, state.right, 13, state.output, 5, BitwiseState.BIT_COUNT);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void notBenchmark(BitwiseState state) {
+    BitVectorHelper.not(state.left, 0, state.output, 0, BitwiseState.BIT_COUNT);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public long countSetBitsBenchmark(BitwiseState state) {
+    return BitVectorHelper.countSetBits(state.left, 3, BitwiseState.BIT_COUNT);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public long nextSetBitBenchmark(BitwiseState state) {
+    // visits the positions of the nulls of the left buffer.
+    long sum = 0;
+    BitVectorHelper.not(state.left, 0, state.output, 0, BitwiseState.BIT_COUNT);
+    for (long i = BitVectorHelper.nextSetBit(state.output, 0, BitwiseState.BIT_COUNT); i >= 0;
+         i = BitVectorHelper.nextSetBit(state.output, i + 1, BitwiseState.BIT_COUNT)) {
+      sum += i;
+    }
+    return sum;
+  }
+
   public static void main(String [] args) throws RunnerException {
     Options opt = new OptionsBuilder()
             .include(BitVectorHelperBenchmarks.class.getSimpleName())
@@ -51,6 +51,8 @@ public class Float8Benchmarks {
 
   private Float8Vector fromVector;
 
+  private double[] array;
+
   /**
    * Setup benchmarks.
    */
@@ -71,6 +73,11 @@ public class Float8Benchmarks {
       }
     }
     fromVector.setValueCount(VECTOR_LENGTH);
+
+    array = new double[VECTOR_LENGTH];
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      array[i] = i % 3 == 0 ? Double.NaN : i * i;
+    }
   }
 
   /**
@@ -111,6 +118,56 @@ public class Float8Benchmarks {
     }
   }
 
+  /**
+   * Imports an array one element at a time, mapping NaN to null.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void setFromArrayPerElement() {
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      if (Double.isNaN(array[i])) {
+        vector.setNull(i);
+      } else {
+        vector.set(i, array[i]);
+      }
+    }
+  }
+
+  /**
+   * Imports an array with a single memory copy, mapping NaN to null.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void setFromArrayBulk() {
+    vector.setValues(0, array, 0, VECTOR_LENGTH, Double.NaN);
+  }
+
+  /**
+   * Exports to an array one element at a time, mapping null to NaN.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public double[] getToArrayPerElement() {
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      array[i] = fromVector.isNull(i) ? Double.NaN : fromVector.get(i);
+    }
+    return array;
+  }
+
+  /**
+   * Exports to an array with a single memory copy, mapping null to NaN.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public double[] getToArrayBulk() {
+    fromVector.getValues(0, array, 0, VECTOR_LENGTH, Double.NaN);
+    return array;
+  }
+
   public static void main(String [] args) throws RunnerException {
     Options opt = new OptionsBuilder()
             .include(Float8Benchmarks.class.getSimpleName())
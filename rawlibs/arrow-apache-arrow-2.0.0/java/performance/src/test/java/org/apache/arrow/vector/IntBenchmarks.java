@@ -50,12 +50,19 @@ public class IntBenchmarks {
 
   private IntVector vector;
 
+  private int[] array;
+
   @Setup
   public void prepare() {
     allocator = new RootAllocator(ALLOCATOR_CAPACITY);
     vector = new IntVector("vector", allocator);
     vector.allocateNew(VECTOR_LENGTH);
     vector.setValueCount(VECTOR_LENGTH);
+
+    array = new int[VECTOR_LENGTH];
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      array[i] = i % 3 == 0 ? Integer.MIN_VALUE : i;
+    }
   }
 
   @TearDown
@@ -99,6 +106,40 @@ public class IntBenchmarks {
     }
   }
 
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void setFromArrayPerElement() {
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      vector.setSafe(i, array[i] == Integer.MIN_VALUE ? 0 : 1, array[i]);
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void setFromArrayBulk() {
+    vector.setValuesSafe(0, array, 0, VECTOR_LENGTH, Integer.MIN_VALUE);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int[] getToArrayPerElement() {
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      array[i] = vector.isNull(i) ? Integer.MIN_VALUE : vector.get(i);
+    }
+    return array;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int[] getToArrayBulk() {
+    vector.getValues(0, array, 0, VECTOR_LENGTH, Integer.MIN_VALUE);
+    return array;
+  }
+
   public static void main(String [] args) throws RunnerException {
     Options opt = new OptionsBuilder()
             .include(IntBenchmarks.class.getSimpleName())
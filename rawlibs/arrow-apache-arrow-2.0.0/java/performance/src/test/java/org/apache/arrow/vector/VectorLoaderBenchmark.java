@@ -17,16 +17,20 @@
 
 package org.apache.arrow.vector;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.compression.ZstdCompressionCodec;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -106,6 +110,76 @@ public class VectorLoaderBenchmark {
     state.loader.load(state.recordBatch);
   }
 
+  /**
+   * State for the benchmark decompressing a wide batch.
+   */
+  @State(Scope.Benchmark)
+  public static class DecompressState {
+
+    private static final int COLUMN_COUNT = 200;
+
+    private static final int ROW_COUNT = 16 * 1024;
+
+    /**
+     * The number of threads decompressing the buffers, 0 to decompress them on the calling thread.
+     */
+    @Param({"0", "4"})
+    public int threadCount;
+
+    private BufferAllocator allocator;
+
+    private ArrowRecordBatch recordBatch;
+
+    private VectorSchemaRoot root;
+
+    private ExecutorService executor;
+
+    private VectorLoader loader;
+
+    /**
+     * Setup benchmarks.
+     */
+    @Setup(Level.Trial)
+    public void prepare() {
+      allocator = new RootAllocator(Long.MAX_VALUE);
+      BigIntVector[] columns = new BigIntVector[COLUMN_COUNT];
+      for (int i = 0; i < COLUMN_COUNT; i++) {
+        columns[i] = new BigIntVector("column" + i, allocator);
+        columns[i].allocateNew(ROW_COUNT);
+        for (int j = 0; j < ROW_COUNT; j++) {
+          columns[i].set(j, (long) j * i % 1000);
+        }
+      }
+      try (VectorSchemaRoot source = VectorSchemaRoot.of(columns)) {
+        source.setRowCount(ROW_COUNT);
+        recordBatch = new VectorUnloader(source, true, new ZstdCompressionCodec(), true).getRecordBatch();
+        root = VectorSchemaRoot.create(source.getSchema(), allocator);
+      }
+      executor = threadCount == 0 ? null : Executors.newFixedThreadPool(threadCount);
+      loader = new VectorLoader(root, executor);
+    }
+
+    /**
+     * Tear down benchmarks.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      if (executor != null) {
+        executor.shutdown();
+      }
+      recordBatch.close();
+      root.close();
+      allocator.close();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void decompressBenchmark(DecompressState state) {
+    state.loader.load(state.recordBatch);
+  }
+
   public static void main(String[] args) throws RunnerException {
     Options opt = new OptionsBuilder()
             .include(VectorLoaderBenchmark.class.getSimpleName())
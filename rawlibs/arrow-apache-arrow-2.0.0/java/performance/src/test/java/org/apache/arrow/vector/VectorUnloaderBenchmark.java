@@ -17,16 +17,20 @@
 
 package org.apache.arrow.vector;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.compression.ZstdCompressionCodec;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -98,6 +102,72 @@ public class VectorUnloaderBenchmark {
     recordBatch = unloader.getRecordBatch();
   }
 
+  /**
+   * State for the benchmark compressing a wide batch.
+   */
+  @State(Scope.Benchmark)
+  public static class CompressState {
+
+    private static final int COLUMN_COUNT = 200;
+
+    private static final int ROW_COUNT = 16 * 1024;
+
+    /**
+     * The number of threads compressing the buffers, 0 to compress them on the calling thread.
+     */
+    @Param({"0", "4"})
+    public int threadCount;
+
+    private BufferAllocator allocator;
+
+    private VectorSchemaRoot root;
+
+    private ExecutorService executor;
+
+    private VectorUnloader unloader;
+
+    /**
+     * Setup benchmarks.
+     */
+    @Setup(Level.Trial)
+    public void prepare() {
+      allocator = new RootAllocator(Long.MAX_VALUE);
+      BigIntVector[] columns = new BigIntVector[COLUMN_COUNT];
+      for (int i = 0; i < COLUMN_COUNT; i++) {
+        columns[i] = new BigIntVector("column" + i, allocator);
+        columns[i].allocateNew(ROW_COUNT);
+        for (int j = 0; j < ROW_COUNT; j++) {
+          columns[i].set(j, (long) j * i % 1000);
+        }
+      }
+      root = VectorSchemaRoot.of(columns);
+      root.setRowCount(ROW_COUNT);
+      executor = threadCount == 0 ? null : Executors.newFixedThreadPool(threadCount);
+      unloader = new VectorUnloader(root, true, new ZstdCompressionCodec(), true, executor);
+    }
+
+    /**
+     * Tear down benchmarks.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      if (executor != null) {
+        executor.shutdown();
+      }
+      root.close();
+      allocator.close();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long compressBenchmark(CompressState state) {
+    try (ArrowRecordBatch batch = state.unloader.getRecordBatch()) {
+      return batch.computeBodyLength();
+    }
+  }
+
   public static void main(String[] args) throws RunnerException {
     Options opt = new OptionsBuilder()
             .include(VectorUnloaderBenchmark.class.getSimpleName())
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.SeekableReadChannel;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for writing and reading IPC files with the compression codecs.
+ */
+@State(Scope.Benchmark)
+public class CompressionBenchmarks {
+
+  private static final int VECTOR_LENGTH = 64 * 1024;
+
+  private static final int BATCH_COUNT = 16;
+
+  @Param({"default", "LZ4_FRAME", "ZSTD"})
+  public String codecName;
+
+  private BufferAllocator allocator;
+
+  private BigIntVector timestamps;
+
+  private VarCharVector symbols;
+
+  private VectorSchemaRoot root;
+
+  private IpcOption option;
+
+  private byte[] file;
+
+  /**
+   * Setup benchmarks.
+   */
+  @Setup(Level.Trial)
+  public void prepare() throws IOException {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+    timestamps = new BigIntVector("timestamps", allocator);
+    symbols = new VarCharVector("symbols", allocator);
+    timestamps.allocateNew(VECTOR_LENGTH);
+    symbols.allocateNew(VECTOR_LENGTH);
+    long timestamp = 1_600_000_000_000L;
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      timestamp += i % 7;
+      timestamps.set(i, timestamp);
+      symbols.setSafe(i, ("SYM" + (i * 31 % 50)).getBytes(StandardCharsets.UTF_8));
+    }
+    root = VectorSchemaRoot.of(timestamps, symbols);
+    root.setRowCount(VECTOR_LENGTH);
+
+    option = new IpcOption();
+    option.codec = codec(codecName);
+    file = write();
+  }
+
+  /**
+   * Tear down benchmarks.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    root.close();
+    allocator.close();
+  }
+
+  private static CompressionCodec codec(String name) {
+    switch (name) {
+      case "LZ4_FRAME":
+        return new Lz4CompressionCodec();
+      case "ZSTD":
+        return new ZstdCompressionCodec();
+      default:
+        return NoCompressionCodec.INSTANCE;
+    }
+  }
+
+  private byte[] write() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ArrowFileWriter writer = new ArrowFileWriter(root, null, Channels.newChannel(out), option)) {
+      writer.start();
+      for (int i = 0; i < BATCH_COUNT; i++) {
+        writer.writeBatch();
+      }
+      writer.end();
+    }
+    return out.toByteArray();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int writeBenchmark() throws IOException {
+    return write().length;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int readBenchmark() throws IOException {
+    int rowCount = 0;
+    try (ArrowFileReader reader = new ArrowFileReader(
+        new SeekableReadChannel(new ByteArrayReadableSeekableByteChannel(file)), allocator)) {
+      while (reader.loadNextBatch()) {
+        rowCount += reader.getVectorSchemaRoot().getRowCount();
+      }
+    }
+    return rowCount;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(CompressionBenchmarks.class.getSimpleName())
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for transfer-heavy workloads, where each batch moves through a chain of child
+ * allocators, as in a server handing batches from one stage to the next.
+ */
+@State(Scope.Benchmark)
+public class AllocatorTransferBenchmarks {
+
+  private static final int VECTOR_LENGTH = 1024;
+
+  private static final int BATCH_SIZE = 16;
+
+  /**
+   * The number of allocators each batch moves through.
+   */
+  @Param({"2", "4"})
+  private int stages;
+
+  private BufferAllocator root;
+
+  private BufferAllocator[] allocators;
+
+  /**
+   * Setup benchmarks.
+   */
+  @Setup
+  public void prepare() {
+    root = new RootAllocator();
+    allocators = new BufferAllocator[stages];
+    for (int i = 0; i < stages; i++) {
+      allocators[i] = root.newChildAllocator("stage" + i, 0, Long.MAX_VALUE);
+    }
+  }
+
+  /**
+   * Tear down benchmarks.
+   */
+  @TearDown
+  public void tearDown() {
+    for (BufferAllocator allocator : allocators) {
+      allocator.close();
+    }
+    root.close();
+  }
+
+  /**
+   * Allocates batches in the first allocator and transfers them through all the others.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Threads(4)
+  public int transferThroughStages() {
+    final IntVector[] batch = new IntVector[BATCH_SIZE];
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      batch[i] = new IntVector("vector", allocators[0]);
+      batch[i].allocateNew(VECTOR_LENGTH);
+      batch[i].setValueCount(VECTOR_LENGTH);
+    }
+    for (int stage = 1; stage < stages; stage++) {
+      for (int i = 0; i < BATCH_SIZE; i++) {
+        TransferPair transferPair = batch[i].getTransferPair(allocators[stage]);
+        transferPair.transfer();
+        batch[i] = (IntVector) transferPair.getTo();
+      }
+    }
+    int valueCount = 0;
+    for (IntVector vector : batch) {
+      valueCount += vector.getValueCount();
+      vector.close();
+    }
+    return valueCount;
+  }
+
+  /**
+   * Slices a vector within its own allocator, each slice retaining the buffers of the source
+   * vector in the same allocator.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Threads(4)
+  public int splitAndTransferSameAllocator(VectorState state) {
+    final IntVector toVector = new IntVector("toVector", state.vector.getAllocator());
+    final TransferPair transferPair = state.vector.makeTransferPair(toVector);
+    int valueCount = 0;
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      transferPair.splitAndTransfer(0, VECTOR_LENGTH);
+      valueCount += toVector.getValueCount();
+    }
+    toVector.close();
+    return valueCount;
+  }
+
+  /**
+   * State object holding a vector per thread.
+   */
+  @State(Scope.Thread)
+  public static class VectorState {
+
+    private BufferAllocator allocator;
+
+    private IntVector vector;
+
+    @Setup
+    public void prepare() {
+      allocator = new RootAllocator();
+      vector = new IntVector("vector", allocator);
+      vector.allocateNew(VECTOR_LENGTH);
+      vector.setValueCount(VECTOR_LENGTH);
+    }
+
+    @TearDown
+    public void tearDown() {
+      vector.close();
+      allocator.close();
+    }
+  }
+
+  public static void main(String [] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(AllocatorTransferBenchmarks.class.getSimpleName())
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -19,6 +19,7 @@ package org.apache.arrow.vector;
 
 import static org.apache.arrow.memory.util.LargeMemoryUtil.capAtMaxInt;
 
+import java.lang.reflect.Array;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -28,7 +29,9 @@ import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.util.ArrowBufPointer;
 import org.apache.arrow.memory.util.ByteFunctionHelpers;
+import org.apache.arrow.memory.util.MemoryUtil;
 import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.util.DataSizeRoundingUtil;
 import org.apache.arrow.util.Preconditions;
 import org.apache.arrow.vector.compare.VectorVisitor;
 import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
@@ -56,6 +59,13 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
   protected ArrowBuf validityBuffer;
   protected ArrowBuf valueBuffer;
   protected int valueCount;
+  private boolean lazyValidity;
+  // true when the validity buffer is not allocated, and all the values are non-null
+  private boolean validityOmitted;
+  // true when the buffers are shared with the vector this one was sliced from by sliceTo
+  private boolean sharedSlice;
+  // position of the bit of the first element in the validity buffer, non-zero for a shared slice
+  private int validityBitOffset;
 
   /**
    * Constructs a new instance.
@@ -107,6 +117,7 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
   /**
    * Get the memory address of buffer that manages the validity
    * (NULL or NON-NULL nature) of elements in the vector.
+   * See {@link #getValidityBuffer()} for an omitted validity buffer or a shared slice.
    * @return starting address of the buffer
    */
   @Override
@@ -139,6 +150,9 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
    * Get buffer that manages the validity (NULL or NON-NULL nature) of
    * elements in the vector. Consider it as a buffer for internal bit vector
    * data structure.
+   * The buffer is empty when it is omitted, see {@link #isValidityOmitted()}, and the bits of a
+   * slice created by {@link #sliceTo(int, int, BaseFixedWidthVector)} start at a bit offset. Call
+   * {@link #materializeValidity()} first to get the bits of all the values starting at bit 0.
    * @return buffer
    */
   @Override
@@ -199,7 +213,139 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
   }
 
   protected int getValidityBufferValueCapacity() {
-    return capAtMaxInt(validityBuffer.capacity() * 8);
+    if (validityOmitted) {
+      return Integer.MAX_VALUE;
+    }
+    return capAtMaxInt(validityBuffer.capacity() * 8 - validityBitOffset);
+  }
+
+  /**
+   * Enable or disable the lazy allocation of the validity buffer, from the next allocation of the
+   * vector on.
+   *
+   * <p>With lazy validity, {@link #allocateNew(int)} and {@link #reAlloc()} only allocate the data
+   * buffer, and all the values of the vector are non-null (including the values that were never
+   * set, which read as zero). The validity buffer is only allocated when the first null is set, or
+   * by {@link #materializeValidity()}.
+   * {@link #loadFieldBuffers(ArrowFieldNode, List)} also leaves the validity buffer omitted when the
+   * null count is zero.
+   *
+   * @param lazyValidity whether to allocate the validity buffer lazily
+   */
+  public void setLazyValidity(boolean lazyValidity) {
+    Preconditions.checkState(typeWidth > 0 || !lazyValidity,
+        "lazy validity is not supported by %s", getClass().getSimpleName());
+    this.lazyValidity = lazyValidity;
+  }
+
+  public boolean isLazyValidity() {
+    return lazyValidity;
+  }
+
+  /**
+   * Whether the validity buffer is currently not allocated, in which case all the values are
+   * non-null. This is only the case of a vector with lazy validity, with no null or loaded from a
+   * record batch with a null count of zero.
+   *
+   * @return true if the validity buffer is omitted
+   */
+  public boolean isValidityOmitted() {
+    return validityOmitted;
+  }
+
+  /**
+   * Make the validity buffer an owned buffer starting at bit 0, allocating it if it is omitted and
+   * copying it if the vector is a shared slice. This is a no-op for other vectors.
+   *
+   * <p>Call it before reading or writing the bits of {@link #getValidityBuffer()} directly. It is not
+   * thread safe: call it before sharing the vector between several threads.
+   */
+  public void materializeValidity() {
+    allocateOmittedValidityBuffer();
+    alignValidityBuffer();
+  }
+
+  /* allocate the validity buffer of an omitted validity, with all the values non-null */
+  private void allocateOmittedValidityBuffer() {
+    if (!validityOmitted) {
+      return;
+    }
+    final int validityBufferSize = getValidityBufferSizeFromCount(getValueBufferValueCapacity());
+    final ArrowBuf newValidityBuffer = allocator.buffer(validityBufferSize);
+    newValidityBuffer.setOne(0, validityBufferSize);
+    validityBuffer.getReferenceManager().release();
+    validityBuffer = newValidityBuffer;
+    validityOmitted = false;
+    refreshValueCapacity();
+  }
+
+  /* copy the validity bits of a slice created by sliceTo to a new buffer, if they don't start at bit 0 */
+  private void alignValidityBuffer() {
+    if (validityBitOffset != 0) {
+      copyValidityBuffer();
+    }
+  }
+
+  /* copy the validity bits to a new buffer starting at bit 0 */
+  private void copyValidityBuffer() {
+    final int byteCount = getValidityBufferSizeFromCount(getValidityBufferValueCapacity());
+    final ArrowBuf alignedBuffer = allocator.buffer(byteCount);
+    for (int i = 0; i < byteCount; i++) {
+      final byte b1 = BitVectorHelper.getBitsFromCurrentByte(validityBuffer, i, validityBitOffset);
+      final byte b2 = i + 1 < validityBuffer.capacity() ?
+          BitVectorHelper.getBitsFromNextByte(validityBuffer, i + 1, validityBitOffset) : 0;
+      alignedBuffer.setByte(i, b1 + b2);
+    }
+    validityBuffer.getReferenceManager().release();
+    validityBuffer = alignedBuffer;
+    validityBitOffset = 0;
+    refreshValueCapacity();
+  }
+
+  /* copy the buffers of a slice created by sliceTo to new buffers owned by this vector */
+  private void unshareSlice() {
+    sharedSlice = false;
+    if (!validityOmitted) {
+      copyValidityBuffer();
+    }
+    final ArrowBuf newValueBuffer = allocator.buffer(valueBuffer.capacity());
+    newValueBuffer.setBytes(0, valueBuffer, 0, valueBuffer.capacity());
+    valueBuffer.getReferenceManager().release();
+    valueBuffer = newValueBuffer;
+    refreshValueCapacity();
+  }
+
+  /* number of bytes of the data buffer for the given valueCount, when it is allocated alone */
+  private long getDataBufferSizeFromCount(int valueCount) {
+    return DataSizeRoundingUtil.roundUpTo8Multiple((long) valueCount * typeWidth);
+  }
+
+  /**
+   * Mark the element at the given index as non-null, without checking the capacity.
+   *
+   * @param index position of the element
+   */
+  protected final void markValid(int index) {
+    if (sharedSlice) {
+      unshareSlice();
+    }
+    if (!validityOmitted) {
+      BitVectorHelper.setBit(validityBuffer, index);
+    }
+  }
+
+  /**
+   * Mark the element at the given index as null, without checking the capacity. Allocates the
+   * validity buffer if it is omitted.
+   *
+   * @param index position of the element
+   */
+  protected final void markNull(int index) {
+    if (sharedSlice) {
+      unshareSlice();
+    }
+    materializeValidity();
+    BitVectorHelper.unsetBit(validityBuffer, index);
   }
 
   /**
@@ -207,6 +353,9 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
    */
   @Override
   public void zeroVector() {
+    if (sharedSlice) {
+      unshareSlice();
+    }
     initValidityBuffer();
     initValueBuffer();
   }
@@ -245,6 +394,9 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
   @Override
   public void clear() {
     valueCount = 0;
+    validityOmitted = false;
+    sharedSlice = false;
+    validityBitOffset = 0;
     validityBuffer = releaseBuffer(validityBuffer);
     valueBuffer = releaseBuffer(valueBuffer);
     refreshValueCapacity();
@@ -336,9 +488,14 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
    * conditions.
    */
   private void allocateBytes(int valueCount) {
-    DataAndValidityBuffers buffers = allocFixedDataAndValidityBufs(valueCount, typeWidth);
-    valueBuffer = buffers.getDataBuf();
-    validityBuffer = buffers.getValidityBuf();
+    if (lazyValidity) {
+      valueBuffer = allocator.buffer(getDataBufferSizeFromCount(valueCount));
+      validityOmitted = true;
+    } else {
+      DataAndValidityBuffers buffers = allocFixedDataAndValidityBufs(valueCount, typeWidth);
+      valueBuffer = buffers.getDataBuf();
+      validityBuffer = buffers.getValidityBuf();
+    }
     zeroVector();
 
     refreshValueCapacity();
@@ -381,6 +538,9 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
     if (valueCount == 0) {
       return 0;
     }
+    if (validityOmitted) {
+      return valueCount * typeWidth;
+    }
     return (valueCount * typeWidth) + getValidityBufferSizeFromCount(valueCount);
   }
 
@@ -407,6 +567,10 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
   @Override
   public ArrowBuf[] getBuffers(boolean clear) {
     final ArrowBuf[] buffers;
+    if (valueCount > 0) {
+      allocateOmittedValidityBuffer();
+    }
+    alignValidityBuffer();
     setReaderAndWriterIndex();
     if (getBufferSize() == 0) {
       buffers = new ArrowBuf[0];
@@ -439,20 +603,36 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
       }
     }
     computeAndCheckBufferSize(targetValueCount);
-
-    DataAndValidityBuffers buffers = allocFixedDataAndValidityBufs(targetValueCount, typeWidth);
-    final ArrowBuf newValueBuffer = buffers.getDataBuf();
+    alignValidityBuffer();
+
+    // an empty vector with lazy validity starts without validity buffer.
+    final boolean omitValidity = validityOmitted ||
+        (lazyValidity && valueBuffer.capacity() == 0 && validityBuffer.capacity() == 0);
+    final ArrowBuf newValueBuffer;
+    final ArrowBuf newValidityBuffer;
+    if (omitValidity) {
+      newValueBuffer = allocator.buffer(getDataBufferSizeFromCount(targetValueCount));
+      newValidityBuffer = null;
+    } else {
+      DataAndValidityBuffers buffers = allocFixedDataAndValidityBufs(targetValueCount, typeWidth);
+      newValueBuffer = buffers.getDataBuf();
+      newValidityBuffer = buffers.getValidityBuf();
+    }
     newValueBuffer.setBytes(0, valueBuffer, 0, valueBuffer.capacity());
     newValueBuffer.setZero(valueBuffer.capacity(), newValueBuffer.capacity() - valueBuffer.capacity());
     valueBuffer.getReferenceManager().release();
     valueBuffer = newValueBuffer;
 
-    final ArrowBuf newValidityBuffer = buffers.getValidityBuf();
-    newValidityBuffer.setBytes(0, validityBuffer, 0, validityBuffer.capacity());
-    newValidityBuffer.setZero(validityBuffer.capacity(), newValidityBuffer.capacity() - validityBuffer.capacity());
-    validityBuffer.getReferenceManager().release();
-    validityBuffer = newValidityBuffer;
+    if (omitValidity) {
+      validityOmitted = true;
+    } else {
+      newValidityBuffer.setBytes(0, validityBuffer, 0, validityBuffer.capacity());
+      newValidityBuffer.setZero(validityBuffer.capacity(), newValidityBuffer.capacity() - validityBuffer.capacity());
+      validityBuffer.getReferenceManager().release();
+      validityBuffer = newValidityBuffer;
+    }
 
+    sharedSlice = false;
     refreshValueCapacity();
     lastValueCapacity = getValueCapacity();
   }
@@ -502,7 +682,17 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
     ArrowBuf dataBuffer = ownBuffers.get(1);
 
     validityBuffer.getReferenceManager().release();
-    validityBuffer = BitVectorHelper.loadValidityBuffer(fieldNode, bitBuffer, allocator);
+    sharedSlice = false;
+    validityBitOffset = 0;
+    // a null count of -1 is unknown (see VectorUnloader), the validity buffer is needed then.
+    if (lazyValidity && fieldNode.getNullCount() == 0) {
+      // no null: the validity buffer, possibly written with a length of zero, is not needed.
+      validityBuffer = allocator.getEmpty();
+      validityOmitted = true;
+    } else {
+      validityBuffer = BitVectorHelper.loadValidityBuffer(fieldNode, bitBuffer, allocator);
+      validityOmitted = false;
+    }
     valueBuffer.getReferenceManager().release();
     valueBuffer = dataBuffer.getReferenceManager().retain(dataBuffer, allocator);
     refreshValueCapacity();
@@ -511,12 +701,15 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
   }
 
   /**
-   * Get the buffers belonging to this vector.
+   * Get the buffers belonging to this vector. The validity buffer is empty when it is omitted.
+   * The validity bits of a slice created by {@link #sliceTo(int, int, BaseFixedWidthVector)}
+   * are copied to start at bit 0 first.
    *
    * @return the inner buffers.
    */
   public List<ArrowBuf> getFieldBuffers() {
     List<ArrowBuf> result = new ArrayList<>(2);
+    alignValidityBuffer();
     setReaderAndWriterIndex();
     result.add(validityBuffer);
     result.add(valueBuffer);
@@ -530,11 +723,14 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
   private void setReaderAndWriterIndex() {
     validityBuffer.readerIndex(0);
     valueBuffer.readerIndex(0);
-    if (valueCount == 0) {
+    if (valueCount == 0 || validityOmitted) {
       validityBuffer.writerIndex(0);
-      valueBuffer.writerIndex(0);
     } else {
       validityBuffer.writerIndex(getValidityBufferSizeFromCount(valueCount));
+    }
+    if (valueCount == 0) {
+      valueBuffer.writerIndex(0);
+    } else {
       if (typeWidth == 0) {
         /* specialized handling for BitVector */
         valueBuffer.writerIndex(getValidityBufferSizeFromCount(valueCount));
@@ -584,6 +780,9 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
     compareTypes(target, "transferTo");
     target.clear();
     target.validityBuffer = transferBuffer(validityBuffer, target.allocator);
+    target.validityOmitted = validityOmitted;
+    target.sharedSlice = sharedSlice;
+    target.validityBitOffset = validityBitOffset;
     target.valueBuffer = transferBuffer(valueBuffer, target.allocator);
     target.valueCount = valueCount;
     target.refreshValueCapacity();
@@ -603,8 +802,51 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
         "Invalid parameters startIndex: %s, length: %s for valueCount: %s", startIndex, length, valueCount);
     compareTypes(target, "splitAndTransferTo");
     target.clear();
-    splitAndTransferValidityBuffer(startIndex, length, target);
+    alignValidityBuffer();
+    if (validityOmitted) {
+      target.validityOmitted = true;
+    } else {
+      splitAndTransferValidityBuffer(startIndex, length, target);
+    }
+    splitAndTransferValueBuffer(startIndex, length, target);
+    target.setValueCount(length);
+  }
+
+  /**
+   * Slice this vector at desired index and length into the target vector without copying any
+   * data, whatever the alignment of the start index: the target shares the buffers of this
+   * vector, and reads its validity bits from a bit offset in the shared validity buffer.
+   *
+   * <p>The buffers are only copied to buffers owned by the target when the target is modified.
+   * The validity bits are also copied to start at bit 0 when the validity buffer is requested,
+   * e.g. to write the target to IPC. The bit-packed data of a {@link BitVector} can't be sliced,
+   * so it is split instead.
+   *
+   * @param startIndex start position of the slice in this vector.
+   * @param length length of the slice.
+   * @param target destination vector
+   */
+  public void sliceTo(int startIndex, int length, BaseFixedWidthVector target) {
+    if (typeWidth == 0) {
+      splitAndTransferTo(startIndex, length, target);
+      return;
+    }
+    Preconditions.checkArgument(startIndex >= 0 && length >= 0 && startIndex + length <= valueCount,
+        "Invalid parameters startIndex: %s, length: %s for valueCount: %s", startIndex, length, valueCount);
+    compareTypes(target, "sliceTo");
+    target.clear();
+    if (validityOmitted) {
+      target.validityOmitted = true;
+    } else if (length > 0) {
+      final int firstBit = validityBitOffset + startIndex;
+      final int bitOffset = firstBit & 7;
+      final ArrowBuf slicedBuffer = validityBuffer.slice(BitVectorHelper.byteIndex(firstBit),
+          getValidityBufferSizeFromCount(bitOffset + length));
+      target.validityBuffer = transferBuffer(slicedBuffer, target.allocator);
+      target.validityBitOffset = bitOffset;
+    }
     splitAndTransferValueBuffer(startIndex, length, target);
+    target.sharedSlice = true;
     target.setValueCount(length);
   }
 
@@ -698,6 +940,13 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
    */
   @Override
   public int getNullCount() {
+    if (validityOmitted) {
+      return 0;
+    }
+    if (validityBitOffset != 0) {
+      return BitVectorHelper.getNullCount(validityBuffer, validityBitOffset + valueCount) -
+          BitVectorHelper.getNullCount(validityBuffer, validityBitOffset);
+    }
     return BitVectorHelper.getNullCount(validityBuffer, valueCount);
   }
 
@@ -789,10 +1038,12 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
    * @return 1 if element at given index is not null, 0 otherwise
    */
   public int isSet(int index) {
-    final int byteIndex = index >> 3;
-    final byte b = validityBuffer.getByte(byteIndex);
-    final int bitIndex = index & 7;
-    return (b >> bitIndex) & 0x01;
+    if (validityOmitted) {
+      return 1;
+    }
+    final int bit = index + validityBitOffset;
+    final byte b = validityBuffer.getByte(bit >> 3);
+    return (b >> (bit & 7)) & 0x01;
   }
 
   /**
@@ -803,7 +1054,7 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
   @Override
   public void setIndexDefined(int index) {
     handleSafe(index);
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
   }
 
   public void set(int index, byte[] value, int start, int length) {
@@ -849,9 +1100,9 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
   public void copyFrom(int fromIndex, int thisIndex, ValueVector from) {
     Preconditions.checkArgument(this.getMinorType() == from.getMinorType());
     if (from.isNull(fromIndex)) {
-      BitVectorHelper.unsetBit(this.getValidityBuffer(), thisIndex);
+      markNull(thisIndex);
     } else {
-      BitVectorHelper.setBit(this.getValidityBuffer(), thisIndex);
+      markValid(thisIndex);
       PlatformDependent.copyMemory(from.getDataBuffer().memoryAddress() + (long) fromIndex * typeWidth,
               this.getDataBuffer().memoryAddress() + (long) thisIndex * typeWidth, typeWidth);
     }
@@ -882,7 +1133,152 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
     handleSafe(index);
     // not really needed to set the bit to 0 as long as
     // the buffer always starts from 0.
-    BitVectorHelper.unsetBit(validityBuffer, index);
+    markNull(index);
+  }
+
+  /**
+   * Copy a range of a primitive array to the data buffer with a single memory copy, and mark the
+   * elements as non-null. The size of the array elements must be the type width of the vector.
+   * The value count of the vector is not changed.
+   *
+   * @param index  position of the first element to set
+   * @param array  the source primitive array
+   * @param offset position of the first value in the source array
+   * @param length number of elements to set
+   */
+  protected void setFromArray(int index, Object array, int offset, int length) {
+    final long arrayBaseOffset = checkArrayRange(array, offset, length);
+    Preconditions.checkPositionIndexes(index, index + length, getValueCapacity());
+    if (length == 0) {
+      return;
+    }
+    if (sharedSlice) {
+      unshareSlice();
+    }
+    final long start = (long) index * typeWidth;
+    final long bytes = (long) length * typeWidth;
+    MemoryUtil.UNSAFE.copyMemory(array, arrayBaseOffset + (long) offset * typeWidth,
+        null, valueBuffer.memoryAddress() + start, bytes);
+    if (!validityOmitted) {
+      BitVectorHelper.setRangeToOne(validityBuffer, index, length);
+    }
+  }
+
+  /**
+   * Copy a range of the data buffer to a primitive array with a single memory copy. The size of
+   * the array elements must be the type width of the vector. The values of null elements are
+   * copied as they are in the data buffer.
+   *
+   * @param index  position of the first element to get
+   * @param array  the target primitive array
+   * @param offset position of the first value in the target array
+   * @param length number of elements to get
+   */
+  protected void getToArray(int index, Object array, int offset, int length) {
+    final long arrayBaseOffset = checkArrayRange(array, offset, length);
+    Preconditions.checkPositionIndexes(index, index + length, valueCount);
+    if (length == 0) {
+      return;
+    }
+    final long start = (long) index * typeWidth;
+    final long bytes = (long) length * typeWidth;
+    MemoryUtil.UNSAFE.copyMemory(null, valueBuffer.memoryAddress() + start,
+        array, arrayBaseOffset + (long) offset * typeWidth, bytes);
+  }
+
+  /**
+   * Same as {@link #setFromArray(int, Object, int, int)} except that the elements whose bits (as
+   * returned by {@link #getValueBits(int)}) equal <code>nullBits</code> are marked as null.
+   *
+   * @param index    position of the first element to set
+   * @param array    the source primitive array
+   * @param offset   position of the first value in the source array
+   * @param length   number of elements to set
+   * @param nullBits the bits of the value representing null
+   */
+  protected void setFromArray(int index, Object array, int offset, int length, long nullBits) {
+    setFromArray(index, array, offset, length);
+    for (int i = 0; i < length; i++) {
+      if (getValueBits(index + i) == nullBits) {
+        markNull(index + i);
+      }
+    }
+  }
+
+  /**
+   * Same as {@link #getToArray(int, Object, int, int)} except that null elements are set to the
+   * value with the given bits, truncated to the type width.
+   *
+   * @param index    position of the first element to get
+   * @param array    the target primitive array
+   * @param offset   position of the first value in the target array
+   * @param length   number of elements to get
+   * @param nullBits the bits of the value representing null
+   */
+  protected void getToArray(int index, Object array, int offset, int length, long nullBits) {
+    getToArray(index, array, offset, length);
+    final long arrayBaseOffset = MemoryUtil.UNSAFE.arrayBaseOffset(array.getClass());
+    for (int i = 0; i < length; i++) {
+      if (isSet(index + i) == 0) {
+        final long address = arrayBaseOffset + (long) (offset + i) * typeWidth;
+        switch (typeWidth) {
+          case 1:
+            MemoryUtil.UNSAFE.putByte(array, address, (byte) nullBits);
+            break;
+          case 2:
+            MemoryUtil.UNSAFE.putShort(array, address, (short) nullBits);
+            break;
+          case 4:
+            MemoryUtil.UNSAFE.putInt(array, address, (int) nullBits);
+            break;
+          default:
+            MemoryUtil.UNSAFE.putLong(array, address, nullBits);
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the bits of the element at the given index, sign extended from the type width. Used to
+   * find the elements matching a null sentinel.
+   *
+   * @param index position of the element
+   * @return the bits of the element
+   */
+  protected long getValueBits(int index) {
+    final long offset = (long) index * typeWidth;
+    switch (typeWidth) {
+      case 1:
+        return valueBuffer.getByte(offset);
+      case 2:
+        return valueBuffer.getShort(offset);
+      case 4:
+        return valueBuffer.getInt(offset);
+      default:
+        return valueBuffer.getLong(offset);
+    }
+  }
+
+  private long checkArrayRange(Object array, int offset, int length) {
+    Preconditions.checkArgument(length >= 0, "length must be non-negative, was %s", length);
+    final Class<?> arrayClass = array.getClass();
+    Preconditions.checkArgument(arrayClass.isArray() && arrayClass.getComponentType().isPrimitive() &&
+        MemoryUtil.UNSAFE.arrayIndexScale(arrayClass) == typeWidth,
+        "Expecting a primitive array of %s-byte elements", typeWidth);
+    Preconditions.checkPositionIndexes(offset, offset + length, Array.getLength(array));
+    return MemoryUtil.UNSAFE.arrayBaseOffset(arrayClass);
+  }
+
+  /**
+   * Make sure the vector can hold the given range of elements, reallocating if needed.
+   *
+   * @param index  position of the first element
+   * @param length number of elements
+   */
+  protected void handleSafe(int index, int length) {
+    if (length > 0) {
+      handleSafe(index + length - 1);
+    }
   }
 
   @Override
@@ -58,6 +58,10 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
   protected int valueCount;
   protected int lastSet;
   protected final Field field;
+  // true when the buffers are shared with the vector this one was sliced from by sliceTo
+  private boolean sharedSlice;
+  // position of the bit of the first element in the validity buffer, non-zero for a shared slice
+  private int validityBitOffset;
 
   /**
    * Constructs a new instance.
@@ -109,6 +113,7 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
    */
   @Override
   public ArrowBuf getValidityBuffer() {
+    alignValidityBuffer();
     return validityBuffer;
   }
 
@@ -148,6 +153,7 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
    */
   @Override
   public long getValidityBufferAddress() {
+    alignValidityBuffer();
     return validityBuffer.memoryAddress();
   }
 
@@ -215,7 +221,7 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
   }
 
   private int getValidityBufferValueCapacity() {
-    return capAtMaxInt(validityBuffer.capacity() * 8);
+    return capAtMaxInt(validityBuffer.capacity() * 8 - validityBitOffset);
   }
 
   private int getOffsetBufferValueCapacity() {
@@ -226,6 +232,7 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
    * zero out the vector and the data in associated buffers.
    */
   public void zeroVector() {
+    unshareSlice();
     initValidityBuffer();
     initOffsetBuffer();
     valueBuffer.setZero(0, valueBuffer.capacity());
@@ -267,6 +274,8 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
     validityBuffer = releaseBuffer(validityBuffer);
     valueBuffer = releaseBuffer(valueBuffer);
     offsetBuffer = releaseBuffer(offsetBuffer);
+    sharedSlice = false;
+    validityBitOffset = 0;
     lastSet = -1;
     valueCount = 0;
   }
@@ -319,13 +328,17 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
     offsetBuffer = offBuffer.getReferenceManager().retain(offBuffer, allocator);
     valueBuffer.getReferenceManager().release();
     valueBuffer = dataBuffer.getReferenceManager().retain(dataBuffer, allocator);
+    sharedSlice = false;
+    validityBitOffset = 0;
 
     lastSet = fieldNode.getLength() - 1;
     valueCount = fieldNode.getLength();
   }
 
   /**
-   * Get the buffers belonging to this vector.
+   * Get the buffers belonging to this vector. The buffers of a slice created by
+   * {@link #sliceTo(int, int, BaseVariableWidthVector)} are copied to buffers owned by this
+   * vector first, so that the offsets start at zero.
    * @return the inner buffers.
    */
   public List<ArrowBuf> getFieldBuffers() {
@@ -497,6 +510,7 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
    * @throws OutOfMemoryException if the internal memory allocation fails
    */
   public void reallocDataBuffer() {
+    unshareSlice();
     final long currentBufferCapacity = valueBuffer.capacity();
     long newAllocationSize = currentBufferCapacity * 2;
     if (newAllocationSize == 0) {
@@ -542,6 +556,7 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
    * @throws OutOfMemoryException if the internal memory allocation fails
    */
   public void reallocValidityAndOffsetBuffers() {
+    unshareSlice();
     int targetOffsetCount = capAtMaxInt((offsetBuffer.capacity() / OFFSET_WIDTH) * 2);
     if (targetOffsetCount == 0) {
       if (lastValueCapacity > 0) {
@@ -582,7 +597,7 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
     if (valueCount == 0) {
       return 0;
     }
-    return offsetBuffer.getInt((long) valueCount * OFFSET_WIDTH);
+    return offsetBuffer.getInt((long) valueCount * OFFSET_WIDTH) - offsetBuffer.getInt(0);
   }
 
   /**
@@ -610,7 +625,7 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
     final int validityBufferSize = getValidityBufferSizeFromCount(valueCount);
     final int offsetBufferSize = (valueCount + 1) * OFFSET_WIDTH;
     /* get the end offset for this valueCount */
-    final int dataBufferSize = offsetBuffer.getInt((long) valueCount * OFFSET_WIDTH);
+    final int dataBufferSize = offsetBuffer.getInt((long) valueCount * OFFSET_WIDTH) - offsetBuffer.getInt(0);
     return validityBufferSize + offsetBufferSize + dataBufferSize;
   }
 
@@ -637,6 +652,7 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
   @Override
   public ArrowBuf[] getBuffers(boolean clear) {
     final ArrowBuf[] buffers;
+    unshareSlice();
     setReaderAndWriterIndex();
     if (getBufferSize() == 0) {
       buffers = new ArrowBuf[0];
@@ -697,6 +713,8 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
     target.validityBuffer = transferBuffer(validityBuffer, target.allocator);
     target.valueBuffer = transferBuffer(valueBuffer, target.allocator);
     target.offsetBuffer = transferBuffer(offsetBuffer, target.allocator);
+    target.sharedSlice = sharedSlice;
+    target.validityBitOffset = validityBitOffset;
     target.setLastSet(this.lastSet);
     if (this.valueCount > 0) {
       target.setValueCount(this.valueCount);
@@ -717,6 +735,7 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
         "Invalid parameters startIndex: %s, length: %s for valueCount: %s", startIndex, length, valueCount);
     compareTypes(target, "splitAndTransferTo");
     target.clear();
+    alignValidityBuffer();
     splitAndTransferValidityBuffer(startIndex, length, target);
     splitAndTransferOffsetBuffer(startIndex, length, target);
     target.setLastSet(length - 1);
@@ -725,6 +744,93 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
     }
   }
 
+  /**
+   * Slice this vector at desired index and length into the target vector without copying any
+   * data, whatever the alignment of the start index. The target shares the buffers of this
+   * vector: it reads its validity bits from a bit offset in the shared validity buffer, and its
+   * offsets are not relative to the start of the slice, but index the shared data buffer.
+   *
+   * <p>The buffers are only copied to buffers owned by the target, with offsets starting at
+   * zero, when the target is modified, or when its buffers are requested through
+   * {@link #getFieldBuffers()}, e.g. to write it to IPC.
+   *
+   * @param startIndex start position of the slice in this vector.
+   * @param length length of the slice.
+   * @param target destination vector
+   */
+  public void sliceTo(int startIndex, int length, BaseVariableWidthVector target) {
+    Preconditions.checkArgument(startIndex >= 0 && length >= 0 && startIndex + length <= valueCount,
+        "Invalid parameters startIndex: %s, length: %s for valueCount: %s", startIndex, length, valueCount);
+    compareTypes(target, "sliceTo");
+    target.clear();
+    if (length == 0) {
+      return;
+    }
+    final int firstBit = validityBitOffset + startIndex;
+    final int bitOffset = firstBit & 7;
+    final ArrowBuf slicedValidityBuffer = validityBuffer.slice(BitVectorHelper.byteIndex(firstBit),
+        getValidityBufferSizeFromCount(bitOffset + length));
+    target.validityBuffer = transferBuffer(slicedValidityBuffer, target.allocator);
+    final ArrowBuf slicedOffsetBuffer = offsetBuffer.slice((long) startIndex * OFFSET_WIDTH,
+        (long) (length + 1) * OFFSET_WIDTH);
+    target.offsetBuffer = transferBuffer(slicedOffsetBuffer, target.allocator);
+    // the data before the slice is kept, so that the offsets are valid, and the data after it
+    // is left out, so that appending to the target reallocates the data buffer.
+    final ArrowBuf slicedBuffer = valueBuffer.slice(0, getStartOffset(startIndex + length));
+    target.valueBuffer = transferBuffer(slicedBuffer, target.allocator);
+    target.sharedSlice = true;
+    target.validityBitOffset = bitOffset;
+    target.setLastSet(length - 1);
+    target.setValueCount(length);
+  }
+
+  /* copy the validity bits of a slice created by sliceTo to a new buffer, if they don't start at bit 0 */
+  private void alignValidityBuffer() {
+    if (validityBitOffset != 0) {
+      copyValidityBuffer();
+    }
+  }
+
+  /* copy the validity bits to a new buffer starting at bit 0 */
+  private void copyValidityBuffer() {
+    final int byteCount = getValidityBufferSizeFromCount(getValidityBufferValueCapacity());
+    final ArrowBuf alignedBuffer = allocator.buffer(byteCount);
+    for (int i = 0; i < byteCount; i++) {
+      final byte b1 = BitVectorHelper.getBitsFromCurrentByte(validityBuffer, i, validityBitOffset);
+      final byte b2 = i + 1 < validityBuffer.capacity() ?
+          BitVectorHelper.getBitsFromNextByte(validityBuffer, i + 1, validityBitOffset) : 0;
+      alignedBuffer.setByte(i, b1 + b2);
+    }
+    validityBuffer.getReferenceManager().release();
+    validityBuffer = alignedBuffer;
+    validityBitOffset = 0;
+  }
+
+  /* copy the buffers of a slice created by sliceTo to new buffers owned by this vector */
+  private void unshareSlice() {
+    if (!sharedSlice) {
+      return;
+    }
+    sharedSlice = false;
+    copyValidityBuffer();
+
+    final int start = offsetBuffer.getInt(0);
+    final int end = offsetBuffer.getInt((long) valueCount * OFFSET_WIDTH);
+    final ArrowBuf newOffsetBuffer = allocator.buffer(offsetBuffer.capacity());
+    for (int i = 0; i <= valueCount; i++) {
+      newOffsetBuffer.setInt((long) i * OFFSET_WIDTH, offsetBuffer.getInt((long) i * OFFSET_WIDTH) - start);
+    }
+    final long offsetBytes = (long) (valueCount + 1) * OFFSET_WIDTH;
+    newOffsetBuffer.setZero(offsetBytes, newOffsetBuffer.capacity() - offsetBytes);
+    offsetBuffer.getReferenceManager().release();
+    offsetBuffer = newOffsetBuffer;
+
+    final ArrowBuf newValueBuffer = allocator.buffer(end - start);
+    newValueBuffer.setBytes(0, valueBuffer, start, end - start);
+    valueBuffer.getReferenceManager().release();
+    valueBuffer = newValueBuffer;
+  }
+
   /**
    * Transfer the offsets along with data. Unlike the data buffer, we cannot simply
    * slice the offset buffer for split and transfer. The reason is that offsets
@@ -827,6 +933,10 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
    * @return the number of null elements.
    */
   public int getNullCount() {
+    if (validityBitOffset != 0) {
+      return BitVectorHelper.getNullCount(validityBuffer, validityBitOffset + valueCount) -
+          BitVectorHelper.getNullCount(validityBuffer, validityBitOffset);
+    }
     return BitVectorHelper.getNullCount(validityBuffer, valueCount);
   }
 
@@ -858,10 +968,9 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
    * @return 1 if element at given index is not null, 0 otherwise
    */
   public int isSet(int index) {
-    final int byteIndex = index >> 3;
-    final byte b = validityBuffer.getByte(byteIndex);
-    final int bitIndex = index & 7;
-    return (b >> bitIndex) & 0x01;
+    final int bit = index + validityBitOffset;
+    final byte b = validityBuffer.getByte(bit >> 3);
+    return (b >> (bit & 7)) & 0x01;
   }
 
   /**
@@ -885,7 +994,9 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
     while (valueCount > getValueCapacity()) {
       reallocValidityAndOffsetBuffers();
     }
-    fillHoles(valueCount);
+    if (valueCount > lastSet + 1) {
+      fillHoles(valueCount);
+    }
     lastSet = valueCount - 1;
     setReaderAndWriterIndex();
   }
@@ -941,6 +1052,7 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
    */
   @Override
   public void setIndexDefined(int index) {
+    unshareSlice();
     while (index >= getValidityBufferValueCapacity()) {
       reallocValidityAndOffsetBuffers();
     }
@@ -1094,6 +1206,7 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
    * @param index   position of element
    */
   public void setNull(int index) {
+    unshareSlice();
     while (index >= getValidityBufferValueCapacity()) {
       reallocValidityAndOffsetBuffers();
     }
@@ -1195,6 +1308,7 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
 
 
   protected final void fillHoles(int index) {
+    unshareSlice();
     for (int i = lastSet + 1; i < index; i++) {
       setBytes(i, emptyByteArray, 0, emptyByteArray.length);
     }
@@ -1228,6 +1342,7 @@ public abstract class BaseVariableWidthVector extends BaseValueVector
   }
 
   protected final void handleSafe(int index, int dataLength) {
+    unshareSlice();
     /*
      * IMPORTANT:
      * value buffer for variable length vectors moves independent
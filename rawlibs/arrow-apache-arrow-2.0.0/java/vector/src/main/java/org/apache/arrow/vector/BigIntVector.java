@@ -162,7 +162,7 @@ public final class BigIntVector extends BaseFixedWidthVector implements BaseIntV
    * @param value   value of element
    */
   public void set(int index, long value) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     setValue(index, value);
   }
 
@@ -178,10 +178,10 @@ public final class BigIntVector extends BaseFixedWidthVector implements BaseIntV
     if (holder.isSet < 0) {
       throw new IllegalArgumentException();
     } else if (holder.isSet > 0) {
-      BitVectorHelper.setBit(validityBuffer, index);
+      markValid(index);
       setValue(index, holder.value);
     } else {
-      BitVectorHelper.unsetBit(validityBuffer, index);
+      markNull(index);
     }
   }
 
@@ -192,7 +192,7 @@ public final class BigIntVector extends BaseFixedWidthVector implements BaseIntV
    * @param holder  data holder for value of element
    */
   public void set(int index, BigIntHolder holder) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     setValue(index, holder.value);
   }
 
@@ -246,7 +246,7 @@ public final class BigIntVector extends BaseFixedWidthVector implements BaseIntV
     if (isSet > 0) {
       set(index, value);
     } else {
-      BitVectorHelper.unsetBit(validityBuffer, index);
+      markNull(index);
     }
   }
 
@@ -278,6 +278,90 @@ public final class BigIntVector extends BaseFixedWidthVector implements BaseIntV
   }
 
 
+  /**
+   * Set a range of elements from an array with a single memory copy. The elements are marked
+   * as non-null.
+   *
+   * @param index  position of the first element to set
+   * @param values the source array
+   * @param offset position of the first value in the source array
+   * @param length number of elements to set
+   */
+  public void setValues(int index, long[] values, int offset, int length) {
+    setFromArray(index, values, offset, length);
+  }
+
+  /**
+   * Same as {@link #setValues(int, long[], int, int)} except that the elements equal to
+   * <code>nullValue</code> are set to null, for sources representing nulls with a sentinel.
+   *
+   * @param index     position of the first element to set
+   * @param values    the source array
+   * @param offset    position of the first value in the source array
+   * @param length    number of elements to set
+   * @param nullValue the value representing null
+   */
+  public void setValues(int index, long[] values, int offset, int length, long nullValue) {
+    setFromArray(index, values, offset, length, nullValue);
+  }
+
+  /**
+   * Same as {@link #setValues(int, long[], int, int)} except that it handles the
+   * case when the range exceeds the current value capacity of the vector.
+   *
+   * @param index  position of the first element to set
+   * @param values the source array
+   * @param offset position of the first value in the source array
+   * @param length number of elements to set
+   */
+  public void setValuesSafe(int index, long[] values, int offset, int length) {
+    handleSafe(index, length);
+    setValues(index, values, offset, length);
+  }
+
+  /**
+   * Same as {@link #setValues(int, long[], int, int, long)} except that it handles the
+   * case when the range exceeds the current value capacity of the vector.
+   *
+   * @param index     position of the first element to set
+   * @param values    the source array
+   * @param offset    position of the first value in the source array
+   * @param length    number of elements to set
+   * @param nullValue the value representing null
+   */
+  public void setValuesSafe(int index, long[] values, int offset, int length, long nullValue) {
+    handleSafe(index, length);
+    setValues(index, values, offset, length, nullValue);
+  }
+
+  /**
+   * Copy a range of elements to an array with a single memory copy. The values copied for
+   * null elements are undefined.
+   *
+   * @param index  position of the first element to get
+   * @param values the target array
+   * @param offset position of the first value in the target array
+   * @param length number of elements to get
+   */
+  public void getValues(int index, long[] values, int offset, int length) {
+    getToArray(index, values, offset, length);
+  }
+
+  /**
+   * Same as {@link #getValues(int, long[], int, int)} except that null elements are
+   * set to <code>nullValue</code>.
+   *
+   * @param index     position of the first element to get
+   * @param values    the target array
+   * @param offset    position of the first value in the target array
+   * @param length    number of elements to get
+   * @param nullValue the value representing null
+   */
+  public void getValues(int index, long[] values, int offset, int length, long nullValue) {
+    getToArray(index, values, offset, length, nullValue);
+  }
+
+
   /*----------------------------------------------------------------*
    |                                                                |
    |                      vector transfer                           |
@@ -26,6 +26,7 @@ import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BoundsChecking;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.util.DataSizeRoundingUtil;
+import org.apache.arrow.util.Preconditions;
 import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
 
 import io.netty.util.internal.PlatformDependent;
@@ -36,6 +37,14 @@ import io.netty.util.internal.PlatformDependent;
  */
 public class BitVectorHelper {
 
+  // the operations of the bitwise kernels.
+  private static final int OP_COPY = 0;
+  private static final int OP_NOT = 1;
+  private static final int OP_AND = 2;
+  private static final int OP_OR = 3;
+  private static final int OP_AND_NOT = 4;
+  private static final int OP_XOR = 5;
+
   private BitVectorHelper() {}
 
   /**
@@ -144,6 +153,33 @@ public class BitVectorHelper {
     validityBuffer.setByte(byteIndex, currentByte);
   }
 
+  /**
+   * Set the bits in the given range to 1.
+   *
+   * @param validityBuffer validity buffer of the vector
+   * @param startIndex index of the first bit to set
+   * @param length number of bits to set
+   */
+  public static void setRangeToOne(ArrowBuf validityBuffer, int startIndex, int length) {
+    final int endIndex = startIndex + length;
+    int index = startIndex;
+    // leading bits, up to the first byte boundary
+    while (index < endIndex && bitIndex(index) != 0) {
+      setBit(validityBuffer, index);
+      index++;
+    }
+    final int wholeBytes = (endIndex - index) >> 3;
+    if (wholeBytes > 0) {
+      validityBuffer.setOne(byteIndex(index), wholeBytes);
+      index += wholeBytes << 3;
+    }
+    // trailing bits
+    while (index < endIndex) {
+      setBit(validityBuffer, index);
+      index++;
+    }
+  }
+
   /**
    * Set the bit at a given index to provided value (1 or 0). Internally
    * takes care of allocating the buffer if the caller didn't do so.
@@ -456,4 +492,290 @@ public class BitVectorHelper {
       output.setByte(numBytes1 + numFullBytes, leftByte);
     }
   }
+
+  /**
+   * Computes the bitwise AND of two bit ranges. The ranges may start at any bit, and the output
+   * may be one of the inputs, as long as the ranges are the same or don't overlap.
+   *
+   * @param left the first input buffer.
+   * @param leftOffset the index of the first bit of the first input.
+   * @param right the second input buffer.
+   * @param rightOffset the index of the first bit of the second input.
+   * @param output the output buffer, the caller must make sure it has enough capacity.
+   * @param outputOffset the index of the first bit of the output.
+   * @param length the number of bits to process.
+   */
+  public static void and(ArrowBuf left, long leftOffset, ArrowBuf right, long rightOffset,
+      ArrowBuf output, long outputOffset, long length) {
+    applyBitwise(OP_AND, left, leftOffset, right, rightOffset, output, outputOffset, length);
+  }
+
+  /**
+   * Computes the bitwise OR of two bit ranges, see {@link #and}.
+   */
+  public static void or(ArrowBuf left, long leftOffset, ArrowBuf right, long rightOffset,
+      ArrowBuf output, long outputOffset, long length) {
+    applyBitwise(OP_OR, left, leftOffset, right, rightOffset, output, outputOffset, length);
+  }
+
+  /**
+   * Computes the bits set in the first range and not in the second one, see {@link #and}.
+   */
+  public static void andNot(ArrowBuf left, long leftOffset, ArrowBuf right, long rightOffset,
+      ArrowBuf output, long outputOffset, long length) {
+    applyBitwise(OP_AND_NOT, left, leftOffset, right, rightOffset, output, outputOffset, length);
+  }
+
+  /**
+   * Computes the bitwise XOR of two bit ranges, see {@link #and}.
+   */
+  public static void xor(ArrowBuf left, long leftOffset, ArrowBuf right, long rightOffset,
+      ArrowBuf output, long outputOffset, long length) {
+    applyBitwise(OP_XOR, left, leftOffset, right, rightOffset, output, outputOffset, length);
+  }
+
+  /**
+   * Computes the bitwise NOT of a bit range, see {@link #and}.
+   */
+  public static void not(ArrowBuf input, long inputOffset, ArrowBuf output, long outputOffset, long length) {
+    applyBitwise(OP_NOT, input, inputOffset, input, inputOffset, output, outputOffset, length);
+  }
+
+  /**
+   * Copies a bit range, see {@link #and}.
+   */
+  public static void copyBits(ArrowBuf input, long inputOffset, ArrowBuf output, long outputOffset, long length) {
+    applyBitwise(OP_COPY, input, inputOffset, input, inputOffset, output, outputOffset, length);
+  }
+
+  private static void applyBitwise(int op, ArrowBuf left, long leftOffset, ArrowBuf right, long rightOffset,
+      ArrowBuf output, long outputOffset, long length) {
+    if (length <= 0) {
+      return;
+    }
+    checkBitRange(left, leftOffset, length);
+    checkBitRange(right, rightOffset, length);
+    checkBitRange(output, outputOffset, length);
+
+    final long leftAddress = left.memoryAddress();
+    final long rightAddress = right.memoryAddress();
+    final long outputAddress = output.memoryAddress();
+    for (long i = 0; i < length; i += 64) {
+      final int numBits = (int) Math.min(64, length - i);
+      final long leftBits = readBits(leftAddress, leftOffset + i, numBits);
+      final long rightBits = op < OP_AND ? 0 : readBits(rightAddress, rightOffset + i, numBits);
+      final long result;
+      switch (op) {
+        case OP_COPY:
+          result = leftBits;
+          break;
+        case OP_NOT:
+          result = ~leftBits;
+          break;
+        case OP_AND:
+          result = leftBits & rightBits;
+          break;
+        case OP_OR:
+          result = leftBits | rightBits;
+          break;
+        case OP_AND_NOT:
+          result = leftBits & ~rightBits;
+          break;
+        default:
+          result = leftBits ^ rightBits;
+          break;
+      }
+      writeBits(outputAddress, outputOffset + i, numBits, result);
+    }
+  }
+
+  /**
+   * Counts the bits set in a bit range.
+   *
+   * @param buffer the buffer.
+   * @param offset the index of the first bit.
+   * @param length the number of bits to count.
+   * @return the number of bits set.
+   */
+  public static long countSetBits(ArrowBuf buffer, long offset, long length) {
+    if (length <= 0) {
+      return 0;
+    }
+    checkBitRange(buffer, offset, length);
+
+    final long address = buffer.memoryAddress();
+    long count = 0;
+    for (long i = 0; i < length; i += 64) {
+      final int numBits = (int) Math.min(64, length - i);
+      count += Long.bitCount(readBits(address, offset + i, numBits));
+    }
+    return count;
+  }
+
+  /**
+   * Finds the first bit set in a bit range.
+   *
+   * @param buffer the buffer.
+   * @param fromIndex the index of the first bit to look at.
+   * @param toIndex the index after the last bit to look at.
+   * @return the index of the first bit set in the range, or -1 if there is none.
+   */
+  public static long nextSetBit(ArrowBuf buffer, long fromIndex, long toIndex) {
+    if (fromIndex >= toIndex) {
+      return -1;
+    }
+    checkBitRange(buffer, fromIndex, toIndex - fromIndex);
+
+    final long address = buffer.memoryAddress();
+    for (long i = fromIndex; i < toIndex; i += 64) {
+      final int numBits = (int) Math.min(64, toIndex - i);
+      final long bits = readBits(address, i, numBits);
+      if (bits != 0) {
+        return i + Long.numberOfTrailingZeros(bits);
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Reads up to 64 bits starting at any bit, for example to scan a validity buffer a word at a time.
+   *
+   * @param buffer the buffer.
+   * @param offset the index of the first bit.
+   * @param length the number of bits to read, at most 64.
+   * @return the bits, the first one being the least significant; the bits past the length are cleared.
+   */
+  public static long getBits(ArrowBuf buffer, long offset, int length) {
+    Preconditions.checkArgument(length >= 0 && length <= 64, "Cannot read %s bits at once", length);
+    if (length == 0) {
+      return 0;
+    }
+    checkBitRange(buffer, offset, length);
+    return readBits(buffer.memoryAddress(), offset, length);
+  }
+
+  /**
+   * Same as {@link #getBits(ArrowBuf, long, int)}, reading from the memory address of a bitmap.
+   * The caller is responsible for the range to be within the bitmap, it is not checked.
+   *
+   * @param address the memory address of the bitmap
+   * @param offset  the index of the first bit
+   * @param length  the number of bits to read, up to 64
+   * @return the bits, the first one being the lowest bit
+   */
+  public static long getBits(long address, long offset, int length) {
+    Preconditions.checkArgument(length >= 0 && length <= 64, "Cannot read %s bits at once", length);
+    if (length == 0) {
+      return 0;
+    }
+    return readBits(address, offset, length);
+  }
+
+  /**
+   * Get the validity buffer of a vector as the bits of all its values starting at bit 0. The
+   * validity buffer of a {@link BaseFixedWidthVector} is materialized first, see
+   * {@link BaseFixedWidthVector#materializeValidity()}, so this is not thread safe.
+   *
+   * @param vector the vector.
+   * @return the validity buffer of the vector.
+   */
+  public static ArrowBuf getValidityBitmap(ValueVector vector) {
+    final ValueVector underlyingVector = vector instanceof ExtensionTypeVector ?
+        ((ExtensionTypeVector<?>) vector).getUnderlyingVector() : vector;
+    if (underlyingVector instanceof BaseFixedWidthVector) {
+      ((BaseFixedWidthVector) underlyingVector).materializeValidity();
+    }
+    return underlyingVector.getValidityBuffer();
+  }
+
+  /**
+   * Computes the validity of the result of a binary operation on two vectors, where a value is
+   * null if it is null in either vector. The validity buffers of the vectors are only read if
+   * they have nulls.
+   *
+   * @param left the first vector.
+   * @param right the second vector.
+   * @param output the output validity buffer, the caller must make sure it has enough capacity.
+   * @param valueCount the number of values to process.
+   * @return the number of nulls in the output.
+   */
+  public static int andValidity(ValueVector left, ValueVector right, ArrowBuf output, int valueCount) {
+    final boolean leftHasNulls = left.getNullCount() != 0;
+    final boolean rightHasNulls = right.getNullCount() != 0;
+    if (leftHasNulls && rightHasNulls) {
+      and(getValidityBitmap(left), 0, getValidityBitmap(right), 0, output, 0, valueCount);
+    } else if (leftHasNulls) {
+      copyBits(getValidityBitmap(left), 0, output, 0, valueCount);
+    } else if (rightHasNulls) {
+      copyBits(getValidityBitmap(right), 0, output, 0, valueCount);
+    } else {
+      setRangeToOne(output, 0, valueCount);
+      return 0;
+    }
+    return valueCount - (int) countSetBits(output, 0, valueCount);
+  }
+
+  private static void checkBitRange(ArrowBuf buffer, long offset, long length) {
+    if (BoundsChecking.BOUNDS_CHECKING_ENABLED) {
+      buffer.checkBytes(byteIndex(offset), byteIndex(offset + length - 1) + 1);
+    }
+  }
+
+  /**
+   * Reads up to 64 bits starting at any bit, without reading past the byte of the last bit.
+   */
+  private static long readBits(long address, long bitOffset, int numBits) {
+    final long byteAddress = address + byteIndex(bitOffset);
+    final int shift = bitIndex(bitOffset);
+    if (numBits == 64) {
+      long bits = getLong(byteAddress) >>> shift;
+      if (shift != 0) {
+        bits |= (long) (getByte(byteAddress + 8) & 0xFF) << (64 - shift);
+      }
+      return bits;
+    }
+
+    long bits = 0;
+    final int numBytes = (shift + numBits + 7) >>> 3;
+    for (int i = 0; i < Math.min(numBytes, 8); i++) {
+      bits |= (long) (getByte(byteAddress + i) & 0xFF) << (8 * i);
+    }
+    bits >>>= shift;
+    if (numBytes > 8) {
+      // a range starting in the middle of a byte may span 9 bytes.
+      bits |= (long) (getByte(byteAddress + 8) & 0xFF) << (64 - shift);
+    }
+    return bits & ((1L << numBits) - 1);
+  }
+
+  /**
+   * Writes up to 64 bits starting at any bit, leaving the other bits of the bytes unchanged.
+   */
+  private static void writeBits(long address, long bitOffset, int numBits, long bits) {
+    long byteAddress = address + byteIndex(bitOffset);
+    int shift = bitIndex(bitOffset);
+    if (numBits == 64) {
+      if (shift == 0) {
+        PlatformDependent.putLong(byteAddress, bits);
+      } else {
+        final long lowMask = (1L << shift) - 1;
+        PlatformDependent.putLong(byteAddress, (getLong(byteAddress) & lowMask) | (bits << shift));
+        final int highByte = getByte(byteAddress + 8) & ~(int) lowMask;
+        PlatformDependent.putByte(byteAddress + 8, (byte) (highByte | (int) (bits >>> (64 - shift))));
+      }
+      return;
+    }
+
+    int remaining = numBits;
+    while (remaining > 0) {
+      final int numBitsInByte = Math.min(8 - shift, remaining);
+      final int mask = ((1 << numBitsInByte) - 1) << shift;
+      final int currentByte = getByte(byteAddress);
+      PlatformDependent.putByte(byteAddress, (byte) ((currentByte & ~mask) | (((int) bits << shift) & mask)));
+      bits >>>= numBitsInByte;
+      remaining -= numBitsInByte;
+      byteAddress++;
+      shift = 0;
+    }
+  }
 }
@@ -164,7 +164,7 @@ public final class DateDayVector extends BaseFixedWidthVector {
    * @param value   value of element
    */
   public void set(int index, int value) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     setValue(index, value);
   }
 
@@ -180,10 +180,10 @@ public final class DateDayVector extends BaseFixedWidthVector {
     if (holder.isSet < 0) {
       throw new IllegalArgumentException();
     } else if (holder.isSet > 0) {
-      BitVectorHelper.setBit(validityBuffer, index);
+      markValid(index);
       setValue(index, holder.value);
     } else {
-      BitVectorHelper.unsetBit(validityBuffer, index);
+      markNull(index);
     }
   }
 
@@ -194,7 +194,7 @@ public final class DateDayVector extends BaseFixedWidthVector {
    * @param holder  data holder for value of element
    */
   public void set(int index, DateDayHolder holder) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     setValue(index, holder.value);
   }
 
@@ -249,7 +249,7 @@ public final class DateDayVector extends BaseFixedWidthVector {
     if (isSet > 0) {
       set(index, value);
     } else {
-      BitVectorHelper.unsetBit(validityBuffer, index);
+      markNull(index);
     }
   }
 
@@ -191,7 +191,7 @@ public final class DecimalVector extends BaseFixedWidthVector {
    * @param buffer   ArrowBuf containing decimal value.
    */
   public void set(int index, ArrowBuf buffer) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     valueBuffer.setBytes((long) index * TYPE_WIDTH, buffer, 0, TYPE_WIDTH);
   }
 
@@ -211,7 +211,7 @@ public final class DecimalVector extends BaseFixedWidthVector {
    * @param value array of bytes containing decimal in big endian byte order.
    */
   public void setBigEndian(int index, byte[] value) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     final int length = value.length;
 
     // do the bound check.
@@ -247,7 +247,7 @@ public final class DecimalVector extends BaseFixedWidthVector {
    * @param buffer   ArrowBuf containing decimal value.
    */
   public void set(int index, int start, ArrowBuf buffer) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     valueBuffer.setBytes((long) index * TYPE_WIDTH, buffer, start, TYPE_WIDTH);
   }
 
@@ -260,7 +260,7 @@ public final class DecimalVector extends BaseFixedWidthVector {
    */
   public void setSafe(int index, int start, ArrowBuf buffer, int length) {
     handleSafe(index);
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
 
     // do the bound checks.
     buffer.checkBytes(start, start + length);
@@ -287,7 +287,7 @@ public final class DecimalVector extends BaseFixedWidthVector {
    */
   public void setBigEndianSafe(int index, int start, ArrowBuf buffer, int length) {
     handleSafe(index);
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
 
     // do the bound checks.
     buffer.checkBytes(start, start + length);
@@ -316,7 +316,7 @@ public final class DecimalVector extends BaseFixedWidthVector {
    * @param value   BigDecimal containing decimal value.
    */
   public void set(int index, BigDecimal value) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     DecimalUtility.checkPrecisionAndScale(value, precision, scale);
     DecimalUtility.writeBigDecimalToArrowBuf(value, valueBuffer, index);
   }
@@ -328,7 +328,7 @@ public final class DecimalVector extends BaseFixedWidthVector {
    * @param value   long value.
    */
   public void set(int index, long value) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     DecimalUtility.writeLongToArrowBuf(value, valueBuffer, index);
   }
 
@@ -344,10 +344,10 @@ public final class DecimalVector extends BaseFixedWidthVector {
     if (holder.isSet < 0) {
       throw new IllegalArgumentException();
     } else if (holder.isSet > 0) {
-      BitVectorHelper.setBit(validityBuffer, index);
+      markValid(index);
       valueBuffer.setBytes((long) index * TYPE_WIDTH, holder.buffer, holder.start, TYPE_WIDTH);
     } else {
-      BitVectorHelper.unsetBit(validityBuffer, index);
+      markNull(index);
     }
   }
 
@@ -358,7 +358,7 @@ public final class DecimalVector extends BaseFixedWidthVector {
    * @param holder  data holder for value of element
    */
   public void set(int index, DecimalHolder holder) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     valueBuffer.setBytes((long) index * TYPE_WIDTH, holder.buffer, holder.start, TYPE_WIDTH);
   }
 
@@ -464,7 +464,7 @@ public final class DecimalVector extends BaseFixedWidthVector {
     if (isSet > 0) {
       set(index, start, buffer);
     } else {
-      BitVectorHelper.unsetBit(validityBuffer, index);
+      markNull(index);
     }
   }
 
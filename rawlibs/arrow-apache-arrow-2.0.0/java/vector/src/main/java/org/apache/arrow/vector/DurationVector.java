@@ -214,7 +214,7 @@ public final class DurationVector extends BaseFixedWidthVector {
    * @param value   value of element
    */
   public void set(int index, ArrowBuf value) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     valueBuffer.setBytes((long) index * TYPE_WIDTH, value, 0, TYPE_WIDTH);
   }
 
@@ -226,7 +226,7 @@ public final class DurationVector extends BaseFixedWidthVector {
    */
   public void set(int index, long value) {
     final long offsetIndex = (long) index * TYPE_WIDTH;
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     valueBuffer.setLong(offsetIndex, value);
   }
 
@@ -244,7 +244,7 @@ public final class DurationVector extends BaseFixedWidthVector {
     } else if (holder.isSet > 0) {
       set(index, holder.value);
     } else {
-      BitVectorHelper.unsetBit(validityBuffer, index);
+      markNull(index);
     }
   }
 
@@ -322,7 +322,7 @@ public final class DurationVector extends BaseFixedWidthVector {
     if (isSet > 0) {
       set(index, value);
     } else {
-      BitVectorHelper.unsetBit(validityBuffer, index);
+      markNull(index);
     }
   }
 
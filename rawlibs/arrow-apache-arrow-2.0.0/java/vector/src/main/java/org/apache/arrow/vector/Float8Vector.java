@@ -165,7 +165,7 @@ public final class Float8Vector extends BaseFixedWidthVector implements Floating
    * @param value   value of element
    */
   public void set(int index, double value) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     setValue(index, value);
   }
 
@@ -181,10 +181,10 @@ public final class Float8Vector extends BaseFixedWidthVector implements Floating
     if (holder.isSet < 0) {
       throw new IllegalArgumentException();
     } else if (holder.isSet > 0) {
-      BitVectorHelper.setBit(validityBuffer, index);
+      markValid(index);
       setValue(index, holder.value);
     } else {
-      BitVectorHelper.unsetBit(validityBuffer, index);
+      markNull(index);
     }
   }
 
@@ -195,7 +195,7 @@ public final class Float8Vector extends BaseFixedWidthVector implements Floating
    * @param holder  data holder for value of element
    */
   public void set(int index, Float8Holder holder) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     setValue(index, holder.value);
   }
 
@@ -250,7 +250,7 @@ public final class Float8Vector extends BaseFixedWidthVector implements Floating
     if (isSet > 0) {
       set(index, value);
     } else {
-      BitVectorHelper.unsetBit(validityBuffer, index);
+      markNull(index);
     }
   }
 
@@ -297,6 +297,97 @@ public final class Float8Vector extends BaseFixedWidthVector implements Floating
     return get(index);
   }
 
+  /**
+   * Set a range of elements from an array with a single memory copy. The elements are marked
+   * as non-null.
+   *
+   * @param index  position of the first element to set
+   * @param values the source array
+   * @param offset position of the first value in the source array
+   * @param length number of elements to set
+   */
+  public void setValues(int index, double[] values, int offset, int length) {
+    setFromArray(index, values, offset, length);
+  }
+
+  /**
+   * Same as {@link #setValues(int, double[], int, int)} except that the elements equal to
+   * <code>nullValue</code> are set to null, for sources representing nulls with a sentinel. Any NaN
+   * matches a NaN <code>nullValue</code>.
+   *
+   * @param index     position of the first element to set
+   * @param values    the source array
+   * @param offset    position of the first value in the source array
+   * @param length    number of elements to set
+   * @param nullValue the value representing null
+   */
+  public void setValues(int index, double[] values, int offset, int length, double nullValue) {
+    setFromArray(index, values, offset, length, Double.doubleToLongBits(nullValue));
+  }
+
+  /**
+   * Same as {@link #setValues(int, double[], int, int)} except that it handles the
+   * case when the range exceeds the current value capacity of the vector.
+   *
+   * @param index  position of the first element to set
+   * @param values the source array
+   * @param offset position of the first value in the source array
+   * @param length number of elements to set
+   */
+  public void setValuesSafe(int index, double[] values, int offset, int length) {
+    handleSafe(index, length);
+    setValues(index, values, offset, length);
+  }
+
+  /**
+   * Same as {@link #setValues(int, double[], int, int, double)} except that it handles the
+   * case when the range exceeds the current value capacity of the vector.
+   *
+   * @param index     position of the first element to set
+   * @param values    the source array
+   * @param offset    position of the first value in the source array
+   * @param length    number of elements to set
+   * @param nullValue the value representing null
+   */
+  public void setValuesSafe(int index, double[] values, int offset, int length, double nullValue) {
+    handleSafe(index, length);
+    setValues(index, values, offset, length, nullValue);
+  }
+
+  @Override
+  protected long getValueBits(int index) {
+    // canonical NaN, so that any NaN matches a NaN null value
+    return Double.doubleToLongBits(get(valueBuffer, index));
+  }
+
+  /**
+   * Copy a range of elements to an array with a single memory copy. The values copied for
+   * null elements are undefined.
+   *
+   * @param index  position of the first element to get
+   * @param values the target array
+   * @param offset position of the first value in the target array
+   * @param length number of elements to get
+   */
+  public void getValues(int index, double[] values, int offset, int length) {
+    getToArray(index, values, offset, length);
+  }
+
+  /**
+   * Same as {@link #getValues(int, double[], int, int)} except that null elements are
+   * set to <code>nullValue</code>.
+   *
+   * @param index     position of the first element to get
+   * @param values    the target array
+   * @param offset    position of the first value in the target array
+   * @param length    number of elements to get
+   * @param nullValue the value representing null
+   */
+  public void getValues(int index, double[] values, int offset, int length, double nullValue) {
+    getToArray(index, values, offset, length, Double.doubleToRawLongBits(nullValue));
+  }
+
+
   /*----------------------------------------------------------------*
    |                                                                |
    |                      vector transfer                           |
@@ -164,7 +164,7 @@ public final class IntVector extends BaseFixedWidthVector implements BaseIntVect
    * @param value value of element
    */
   public void set(int index, int value) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     setValue(index, value);
   }
 
@@ -180,10 +180,10 @@ public final class IntVector extends BaseFixedWidthVector implements BaseIntVect
     if (holder.isSet < 0) {
       throw new IllegalArgumentException();
     } else if (holder.isSet > 0) {
-      BitVectorHelper.setBit(validityBuffer, index);
+      markValid(index);
       setValue(index, holder.value);
     } else {
-      BitVectorHelper.unsetBit(validityBuffer, index);
+      markNull(index);
     }
   }
 
@@ -194,7 +194,7 @@ public final class IntVector extends BaseFixedWidthVector implements BaseIntVect
    * @param holder data holder for value of element
    */
   public void set(int index, IntHolder holder) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     setValue(index, holder.value);
   }
 
@@ -249,7 +249,7 @@ public final class IntVector extends BaseFixedWidthVector implements BaseIntVect
     if (isSet > 0) {
       set(index, value);
     } else {
-      BitVectorHelper.unsetBit(validityBuffer, index);
+      markNull(index);
     }
   }
 
@@ -282,6 +282,90 @@ public final class IntVector extends BaseFixedWidthVector implements BaseIntVect
   }
 
 
+  /**
+   * Set a range of elements from an array with a single memory copy. The elements are marked
+   * as non-null.
+   *
+   * @param index  position of the first element to set
+   * @param values the source array
+   * @param offset position of the first value in the source array
+   * @param length number of elements to set
+   */
+  public void setValues(int index, int[] values, int offset, int length) {
+    setFromArray(index, values, offset, length);
+  }
+
+  /**
+   * Same as {@link #setValues(int, int[], int, int)} except that the elements equal to
+   * <code>nullValue</code> are set to null, for sources representing nulls with a sentinel.
+   *
+   * @param index     position of the first element to set
+   * @param values    the source array
+   * @param offset    position of the first value in the source array
+   * @param length    number of elements to set
+   * @param nullValue the value representing null
+   */
+  public void setValues(int index, int[] values, int offset, int length, int nullValue) {
+    setFromArray(index, values, offset, length, nullValue);
+  }
+
+  /**
+   * Same as {@link #setValues(int, int[], int, int)} except that it handles the
+   * case when the range exceeds the current value capacity of the vector.
+   *
+   * @param index  position of the first element to set
+   * @param values the source array
+   * @param offset position of the first value in the source array
+   * @param length number of elements to set
+   */
+  public void setValuesSafe(int index, int[] values, int offset, int length) {
+    handleSafe(index, length);
+    setValues(index, values, offset, length);
+  }
+
+  /**
+   * Same as {@link #setValues(int, int[], int, int, int)} except that it handles the
+   * case when the range exceeds the current value capacity of the vector.
+   *
+   * @param index     position of the first element to set
+   * @param values    the source array
+   * @param offset    position of the first value in the source array
+   * @param length    number of elements to set
+   * @param nullValue the value representing null
+   */
+  public void setValuesSafe(int index, int[] values, int offset, int length, int nullValue) {
+    handleSafe(index, length);
+    setValues(index, values, offset, length, nullValue);
+  }
+
+  /**
+   * Copy a range of elements to an array with a single memory copy. The values copied for
+   * null elements are undefined.
+   *
+   * @param index  position of the first element to get
+   * @param values the target array
+   * @param offset position of the first value in the target array
+   * @param length number of elements to get
+   */
+  public void getValues(int index, int[] values, int offset, int length) {
+    getToArray(index, values, offset, length);
+  }
+
+  /**
+   * Same as {@link #getValues(int, int[], int, int)} except that null elements are
+   * set to <code>nullValue</code>.
+   *
+   * @param index     position of the first element to get
+   * @param values    the target array
+   * @param offset    position of the first value in the target array
+   * @param length    number of elements to get
+   * @param nullValue the value representing null
+   */
+  public void getValues(int index, int[] values, int offset, int length, int nullValue) {
+    getToArray(index, values, offset, length, nullValue);
+  }
+
+
   /*----------------------------------------------------------------*
    |                                                                |
    |                      vector transfer                           |
@@ -236,7 +236,7 @@ public final class IntervalDayVector extends BaseFixedWidthVector {
    * @param value   value of element
    */
   public void set(int index, ArrowBuf value) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     valueBuffer.setBytes((long) index * TYPE_WIDTH, value, 0, TYPE_WIDTH);
   }
 
@@ -249,7 +249,7 @@ public final class IntervalDayVector extends BaseFixedWidthVector {
    */
   public void set(int index, int days, int milliseconds) {
     final long offsetIndex = (long) index * TYPE_WIDTH;
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     valueBuffer.setInt(offsetIndex, days);
     valueBuffer.setInt((offsetIndex + MILLISECOND_OFFSET), milliseconds);
   }
@@ -268,7 +268,7 @@ public final class IntervalDayVector extends BaseFixedWidthVector {
     } else if (holder.isSet > 0) {
       set(index, holder.days, holder.milliseconds);
     } else {
-      BitVectorHelper.unsetBit(validityBuffer, index);
+      markNull(index);
     }
   }
 
@@ -348,7 +348,7 @@ public final class IntervalDayVector extends BaseFixedWidthVector {
     if (isSet > 0) {
       set(index, days, milliseconds);
     } else {
-      BitVectorHelper.unsetBit(validityBuffer, index);
+      markNull(index);
     }
   }
 
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+
+/**
+ * Compresses or decompresses the buffers of a record batch, running the large ones concurrently on an executor
+ * while the calling thread takes care of the small ones.
+ */
+final class ParallelBufferCodec {
+
+  /**
+   * The size in bytes from which buffers are handed to the executor, below which the task overhead would
+   * outweigh the gain.
+   */
+  static final long DEFAULT_PARALLEL_THRESHOLD = 32 * 1024;
+
+  private ParallelBufferCodec() {
+  }
+
+  /**
+   * Applies a codec operation to buffers, which must consume one reference of its input.
+   *
+   * @param operation the operation, taking the allocator for the result and the input buffer.
+   * @param allocators the allocator for the result of each buffer.
+   * @param buffers the buffers, each passing a reference to the operation.
+   * @param executor the executor for the large buffers, or null to do all the work on the calling thread.
+   * @param parallelThreshold the size in bytes from which buffers are handed to the executor.
+   * @return the results in the order of the buffers, each holding a reference for the caller. When an operation
+   *     fails, the results and the buffers not consumed yet are released and the first failure is thrown.
+   */
+  static List<ArrowBuf> apply(BiFunction<BufferAllocator, ArrowBuf, ArrowBuf> operation,
+      List<BufferAllocator> allocators, List<ArrowBuf> buffers, ExecutorService executor, long parallelThreshold) {
+    final int count = buffers.size();
+    final ArrowBuf[] results = new ArrowBuf[count];
+    // the buffers not consumed by an operation yet
+    final boolean[] pending = new boolean[count];
+    Arrays.fill(pending, true);
+    final List<Future<ArrowBuf>> futures = new ArrayList<>();
+    final List<Integer> futureIndexes = new ArrayList<>();
+    Throwable failure = null;
+
+    try {
+      if (executor != null) {
+        for (int i = 0; i < count; i++) {
+          final ArrowBuf buffer = buffers.get(i);
+          if (buffer.writerIndex() >= parallelThreshold) {
+            final BufferAllocator allocator = allocators.get(i);
+            futures.add(executor.submit(() -> operation.apply(allocator, buffer)));
+            futureIndexes.add(i);
+            pending[i] = false;
+          }
+        }
+      }
+      for (int i = 0; i < count; i++) {
+        if (pending[i]) {
+          pending[i] = false;
+          results[i] = operation.apply(allocators.get(i), buffers.get(i));
+        }
+      }
+    } catch (RuntimeException | Error e) {
+      failure = e;
+    }
+
+    // wait for all the submitted work, so that no result is left behind
+    boolean interrupted = false;
+    for (int i = 0; i < futures.size(); i++) {
+      while (true) {
+        try {
+          results[futureIndexes.get(i)] = futures.get(i).get();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause();
+          }
+          break;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+
+    if (failure != null) {
+      for (int i = 0; i < count; i++) {
+        if (results[i] != null) {
+          results[i].close();
+        } else if (pending[i]) {
+          buffers.get(i).close();
+        }
+      }
+      if (failure instanceof RuntimeException) {
+        throw (RuntimeException) failure;
+      }
+      if (failure instanceof Error) {
+        throw (Error) failure;
+      }
+      throw new RuntimeException(failure);
+    }
+    return Arrays.asList(results);
+  }
+}
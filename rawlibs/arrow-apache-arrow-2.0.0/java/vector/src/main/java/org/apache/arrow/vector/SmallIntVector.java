@@ -168,7 +168,7 @@ public final class SmallIntVector extends BaseFixedWidthVector implements BaseIn
    * @param value   value of element
    */
   public void set(int index, int value) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     setValue(index, value);
   }
 
@@ -179,7 +179,7 @@ public final class SmallIntVector extends BaseFixedWidthVector implements BaseIn
    * @param value   value of element
    */
   public void set(int index, short value) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     setValue(index, value);
   }
 
@@ -195,10 +195,10 @@ public final class SmallIntVector extends BaseFixedWidthVector implements BaseIn
     if (holder.isSet < 0) {
       throw new IllegalArgumentException();
     } else if (holder.isSet > 0) {
-      BitVectorHelper.setBit(validityBuffer, index);
+      markValid(index);
       setValue(index, holder.value);
     } else {
-      BitVectorHelper.unsetBit(validityBuffer, index);
+      markNull(index);
     }
   }
 
@@ -209,7 +209,7 @@ public final class SmallIntVector extends BaseFixedWidthVector implements BaseIn
    * @param holder  data holder for value of element
    */
   public void set(int index, SmallIntHolder holder) {
-    BitVectorHelper.setBit(validityBuffer, index);
+    markValid(index);
     setValue(index, holder.value);
   }
 
@@ -277,7 +277,7 @@ public final class SmallIntVector extends BaseFixedWidthVector implements BaseIn
     if (isSet > 0) {
       set(index, value);
     } else {
-      BitVectorHelper.unsetBit(validityBuffer, index);
+      markNull(index);
     }
   }
 
@@ -310,6 +310,90 @@ public final class SmallIntVector extends BaseFixedWidthVector implements BaseIn
   }
 
 
+  /**
+   * Set a range of elements from an array with a single memory copy. The elements are marked
+   * as non-null.
+   *
+   * @param index  position of the first element to set
+   * @param values the source array
+   * @param offset position of the first value in the source array
+   * @param length number of elements to set
+   */
+  public void setValues(int index, short[] values, int offset, int length) {
+    setFromArray(index, values, offset, length);
+  }
+
+  /**
+   * Same as {@link #setValues(int, short[], int, int)} except that the elements equal to
+   * <code>nullValue</code> are set to null, for sources representing nulls with a sentinel.
+   *
+   * @param index     position of the first element to set
+   * @param values    the source array
+   * @param offset    position of the first value in the source array
+   * @param length    number of elements to set
+   * @param nullValue the value representing null
+   */
+  public void setValues(int index, short[] values, int offset, int length, short nullValue) {
+    setFromArray(index, values, offset, length, nullValue);
+  }
+
+  /**
+   * Same as {@link #setValues(int, short[], int, int)} except that it handles the
+   * case when the range exceeds the current value capacity of the vector.
+   *
+   * @param index  position of the first element to set
+   * @param values the source array
+   * @param offset position of the first value in the source array
+   * @param length number of elements to set
+   */
+  public void setValuesSafe(int index, short[] values, int offset, int length) {
+    handleSafe(index, length);
+    setValues(index, values, offset, length);
+  }
+
+  /**
+   * Same as {@link #setValues(int, short[], int, int, short)} except that it handles the
+   * case when the range exceeds the current value capacity of the vector.
+   *
+   * @param index     position of the first element to set
+   * @param values    the source array
+   * @param offset    position of the first value in the source array
+   * @param length    number of elements to set
+   * @param nullValue the value representing null
+   */
+  public void setValuesSafe(int index, short[] values, int offset, int length, short nullValue) {
+    handleSafe(index, length);
+    setValues(index, values, offset, length, nullValue);
+  }
+
+  /**
+   * Copy a range of elements to an array with a single memory copy. The values copied for
+   * null elements are undefined.
+   *
+   * @param index  position of the first element to get
+   * @param values the target array
+   * @param offset position of the first value in the target array
+   * @param length number of elements to get
+   */
+  public void getValues(int index, short[] values, int offset, int length) {
+    getToArray(index, values, offset, length);
+  }
+
+  /**
+   * Same as {@link #getValues(int, short[], int, int)} except that null elements are
+   * set to <code>nullValue</code>.
+   *
+   * @param index     position of the first element to get
+   * @param values    the target array
+   * @param offset    position of the first value in the target array
+   * @param length    number of elements to get
+   * @param nullValue the value representing null
+   */
+  public void getValues(int index, short[] values, int offset, int length, short nullValue) {
+    getToArray(index, values, offset, length, nullValue);
+  }
+
+
   /*----------------------------------------------------------------*
    |                                                                |
    |                      vector transfer                           |
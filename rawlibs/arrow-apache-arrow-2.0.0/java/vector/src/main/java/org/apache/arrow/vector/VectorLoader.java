@@ -22,11 +22,15 @@ import static org.apache.arrow.util.Preconditions.checkArgument;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.metrics.ArrowMetrics;
 import org.apache.arrow.util.Collections2;
 import org.apache.arrow.vector.compression.CompressionCodec;
 import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.compression.NoCompressionCodec;
 import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 import org.apache.arrow.vector.types.pojo.Field;
@@ -37,6 +41,8 @@ import org.apache.arrow.vector.types.pojo.Field;
 public class VectorLoader {
 
   private final VectorSchemaRoot root;
+  private final ExecutorService executor;
+  private final long parallelThreshold;
 
   /**
    * Construct with a root to load and will create children in root based on schema.
@@ -44,7 +50,32 @@ public class VectorLoader {
    * @param root the root to add vectors to based on schema
    */
   public VectorLoader(VectorSchemaRoot root) {
+    this(root, null);
+  }
+
+  /**
+   * Construct with a root to load, decompressing the buffers of at least 32 KB concurrently.
+   *
+   * @param root the root to add vectors to based on schema
+   * @param executor the executor decompressing the large buffers, or null to decompress on the calling thread
+   */
+  public VectorLoader(VectorSchemaRoot root, ExecutorService executor) {
+    this(root, executor, ParallelBufferCodec.DEFAULT_PARALLEL_THRESHOLD);
+  }
+
+  /**
+   * Construct with a root to load and an executor decompressing the buffers.
+   *
+   * @param root the root to add vectors to based on schema
+   * @param executor the executor decompressing the large buffers, or null to decompress on the calling thread
+   * @param parallelThreshold the size in bytes from which buffers are decompressed by the executor, smaller ones
+   *     being decompressed on the calling thread
+   */
+  public VectorLoader(VectorSchemaRoot root, ExecutorService executor, long parallelThreshold) {
+    checkArgument(parallelThreshold >= 0, "the parallel threshold must be non-negative");
     this.root = root;
+    this.executor = executor;
+    this.parallelThreshold = parallelThreshold;
   }
 
   /**
@@ -54,11 +85,39 @@ public class VectorLoader {
    * @param recordBatch the batch to load
    */
   public void load(ArrowRecordBatch recordBatch) {
-    Iterator<ArrowBuf> buffers = recordBatch.getBuffers().iterator();
-    Iterator<ArrowFieldNode> nodes = recordBatch.getNodes().iterator();
     CompressionCodec codec = CompressionUtil.createCodec(recordBatch.getBodyCompression().getCodec());
+    if (codec == NoCompressionCodec.INSTANCE) {
+      loadBuffers(recordBatch, recordBatch.getBuffers());
+      return;
+    }
+
+    List<BufferAllocator> allocators = new ArrayList<>(recordBatch.getBuffers().size());
     for (FieldVector fieldVector : root.getFieldVectors()) {
-      loadBuffers(fieldVector, fieldVector.getField(), buffers, nodes, codec);
+      collectAllocators(fieldVector, fieldVector.getField(), allocators);
+    }
+    List<ArrowBuf> buffers = recordBatch.getBuffers();
+    if (allocators.size() != buffers.size()) {
+      throw new IllegalArgumentException("the record batch has " + buffers.size() +
+          " buffers while the vectors expect " + allocators.size());
+    }
+    // the codec releases its input, which still belongs to the record batch.
+    buffers.forEach(buffer -> buffer.getReferenceManager().retain());
+    List<ArrowBuf> decompressedBuffers = ParallelBufferCodec.apply(
+        (allocator, buffer) -> decompress(codec, allocator, buffer), allocators, buffers, executor,
+        parallelThreshold);
+    try {
+      loadBuffers(recordBatch, decompressedBuffers);
+    } finally {
+      // the vectors retain the decompressed buffers they loaded.
+      decompressedBuffers.forEach(ArrowBuf::close);
+    }
+  }
+
+  private void loadBuffers(ArrowRecordBatch recordBatch, List<ArrowBuf> batchBuffers) {
+    Iterator<ArrowBuf> buffers = batchBuffers.iterator();
+    Iterator<ArrowFieldNode> nodes = recordBatch.getNodes().iterator();
+    for (FieldVector fieldVector : root.getFieldVectors()) {
+      loadBuffers(fieldVector, fieldVector.getField(), buffers, nodes);
     }
     root.setRowCount(recordBatch.getLength());
     if (nodes.hasNext() || buffers.hasNext()) {
@@ -71,15 +130,13 @@ public class VectorLoader {
       FieldVector vector,
       Field field,
       Iterator<ArrowBuf> buffers,
-      Iterator<ArrowFieldNode> nodes,
-      CompressionCodec codec) {
+      Iterator<ArrowFieldNode> nodes) {
     checkArgument(nodes.hasNext(), "no more field nodes for for field %s and vector %s", field, vector);
     ArrowFieldNode fieldNode = nodes.next();
     int bufferLayoutCount = TypeLayout.getTypeBufferCount(field.getType());
     List<ArrowBuf> ownBuffers = new ArrayList<>(bufferLayoutCount);
     for (int j = 0; j < bufferLayoutCount; j++) {
-      ArrowBuf nextBuf = buffers.next();
-      ownBuffers.add(codec.decompress(vector.getAllocator(), nextBuf));
+      ownBuffers.add(buffers.next());
     }
     try {
       vector.loadFieldBuffers(fieldNode, ownBuffers);
@@ -96,9 +153,41 @@ public class VectorLoader {
       for (int i = 0; i < childrenFromFields.size(); i++) {
         Field child = children.get(i);
         FieldVector fieldVector = childrenFromFields.get(i);
-        loadBuffers(fieldVector, child, buffers, nodes, codec);
+        loadBuffers(fieldVector, child, buffers, nodes);
+      }
+    }
+  }
+
+  /**
+   * Collects the allocator of each buffer to load, in the order of the buffers.
+   */
+  private static void collectAllocators(FieldVector vector, Field field, List<BufferAllocator> allocators) {
+    int bufferLayoutCount = TypeLayout.getTypeBufferCount(field.getType());
+    for (int j = 0; j < bufferLayoutCount; j++) {
+      allocators.add(vector.getAllocator());
+    }
+    List<Field> children = field.getChildren();
+    if (children.size() > 0) {
+      List<FieldVector> childrenFromFields = vector.getChildrenFromFields();
+      checkArgument(children.size() == childrenFromFields.size(),
+          "should have as many children as in the schema: found %s expected %s",
+          childrenFromFields.size(), children.size());
+      for (int i = 0; i < childrenFromFields.size(); i++) {
+        collectAllocators(childrenFromFields.get(i), children.get(i), allocators);
       }
     }
   }
 
+  private static ArrowBuf decompress(CompressionCodec codec, BufferAllocator allocator, ArrowBuf buffer) {
+    if (!ArrowMetrics.isEnabled()) {
+      return codec.decompress(allocator, buffer);
+    }
+    // the codec releases the input buffer.
+    final long compressedBytes = buffer.writerIndex();
+    final long start = System.nanoTime();
+    final ArrowBuf decompressed = codec.decompress(allocator, buffer);
+    ArrowMetrics.recordDecompress(codec.getCodecName(), compressedBytes, decompressed.writerIndex(),
+        System.nanoTime() - start);
+    return decompressed;
+  }
 }
@@ -36,6 +36,7 @@ import org.apache.arrow.vector.compare.util.ValueEpsilonEqualizers;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
 import org.apache.arrow.vector.util.TransferPair;
+import org.apache.arrow.vector.util.ValueVectorUtility;
 
 /**
  * Holder for a set of vectors to be loaded/unloaded.
@@ -340,6 +341,34 @@ public class VectorSchemaRoot implements AutoCloseable {
     return new VectorSchemaRoot(sliceVectors);
   }
 
+  /**
+   * Slice this root at desired index and length without copying any data, whatever the alignment
+   * of the index. Unlike {@link #slice(int, int)}, the fixed width and variable width vectors of
+   * the slice share the buffers of this root, and keep the position of the slice in the shared
+   * buffers. Their buffers are only copied when they are modified, or written to IPC. The other
+   * vectors are split as in {@link #slice(int, int)}.
+   *
+   * @param index start position of the slice
+   * @param length length of the slice
+   * @return the sliced root
+   */
+  public VectorSchemaRoot sliceShared(int index, int length) {
+    Preconditions.checkArgument(index >= 0, "expecting non-negative index");
+    Preconditions.checkArgument(length >= 0, "expecting non-negative length");
+    Preconditions.checkArgument(index + length <= rowCount,
+        "index + length should <= rowCount");
+
+    if (index == 0 && length == rowCount) {
+      return this;
+    }
+
+    List<FieldVector> sliceVectors = fieldVectors.stream()
+        .map(v -> ValueVectorUtility.sliceShared(v, index, length))
+        .collect(Collectors.toList());
+
+    return new VectorSchemaRoot(sliceVectors);
+  }
+
   /**
    * Determine if two VectorSchemaRoots are exactly equal.
    */
@@ -19,8 +19,13 @@ package org.apache.arrow.vector;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.metrics.ArrowMetrics;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BufferLayout.BufferType;
 import org.apache.arrow.vector.compression.CompressionCodec;
 import org.apache.arrow.vector.compression.CompressionUtil;
 import org.apache.arrow.vector.compression.NoCompressionCodec;
@@ -37,6 +42,8 @@ public class VectorUnloader {
   private final boolean includeNullCount;
   private final CompressionCodec codec;
   private final boolean alignBuffers;
+  private final ExecutorService executor;
+  private final long parallelThreshold;
 
   /**
    * Constructs a new instance of the given set of vectors.
@@ -67,10 +74,43 @@ public class VectorUnloader {
    */
   public VectorUnloader(
       VectorSchemaRoot root, boolean includeNullCount, CompressionCodec codec, boolean alignBuffers) {
+    this(root, includeNullCount, codec, alignBuffers, null);
+  }
+
+  /**
+   * Constructs a new instance compressing the buffers of at least 32 KB concurrently.
+   *
+   * @param root  The set of vectors to serialize to an {@link ArrowRecordBatch}.
+   * @param includeNullCount Controls whether null count is copied to the {@link ArrowRecordBatch}
+   * @param codec the codec for compressing data.
+   * @param alignBuffers Controls if buffers get aligned to 8-byte boundaries.
+   * @param executor the executor compressing the large buffers, or null to compress on the calling thread.
+   */
+  public VectorUnloader(VectorSchemaRoot root, boolean includeNullCount, CompressionCodec codec,
+      boolean alignBuffers, ExecutorService executor) {
+    this(root, includeNullCount, codec, alignBuffers, executor, ParallelBufferCodec.DEFAULT_PARALLEL_THRESHOLD);
+  }
+
+  /**
+   * Constructs a new instance.
+   *
+   * @param root  The set of vectors to serialize to an {@link ArrowRecordBatch}.
+   * @param includeNullCount Controls whether null count is copied to the {@link ArrowRecordBatch}
+   * @param codec the codec for compressing data.
+   * @param alignBuffers Controls if buffers get aligned to 8-byte boundaries.
+   * @param executor the executor compressing the large buffers, or null to compress on the calling thread.
+   * @param parallelThreshold the size in bytes from which buffers are compressed by the executor, smaller ones
+   *     being compressed on the calling thread.
+   */
+  public VectorUnloader(VectorSchemaRoot root, boolean includeNullCount, CompressionCodec codec,
+      boolean alignBuffers, ExecutorService executor, long parallelThreshold) {
+    Preconditions.checkArgument(parallelThreshold >= 0, "the parallel threshold must be non-negative");
     this.root = root;
     this.includeNullCount = includeNullCount;
-    this.codec = codec;
+    this.codec = codec == null ? NoCompressionCodec.INSTANCE : codec;
     this.alignBuffers = alignBuffers;
+    this.executor = executor;
+    this.parallelThreshold = parallelThreshold;
   }
 
   /**
@@ -80,28 +120,66 @@ public class VectorUnloader {
   public ArrowRecordBatch getRecordBatch() {
     List<ArrowFieldNode> nodes = new ArrayList<>();
     List<ArrowBuf> buffers = new ArrayList<>();
+    List<BufferAllocator> allocators = new ArrayList<>();
     for (FieldVector vector : root.getFieldVectors()) {
-      appendNodes(vector, nodes, buffers);
+      appendNodes(vector, nodes, buffers, allocators);
+    }
+    if (codec == NoCompressionCodec.INSTANCE) {
+      return new ArrowRecordBatch(
+          root.getRowCount(), nodes, buffers, CompressionUtil.createBodyCompression(codec), alignBuffers);
+    }
+
+    // the codec releases its input, which still belongs to the vector.
+    buffers.forEach(buffer -> buffer.getReferenceManager().retain());
+    List<ArrowBuf> compressedBuffers =
+        ParallelBufferCodec.apply(this::compress, allocators, buffers, executor, parallelThreshold);
+    try {
+      return new ArrowRecordBatch(
+          root.getRowCount(), nodes, compressedBuffers, CompressionUtil.createBodyCompression(codec), alignBuffers);
+    } finally {
+      // the record batch retains the compressed buffers it holds.
+      compressedBuffers.forEach(ArrowBuf::close);
     }
-    return new ArrowRecordBatch(
-        root.getRowCount(), nodes, buffers, CompressionUtil.createBodyCompression(codec), alignBuffers);
   }
 
-  private void appendNodes(FieldVector vector, List<ArrowFieldNode> nodes, List<ArrowBuf> buffers) {
-    nodes.add(new ArrowFieldNode(vector.getValueCount(), includeNullCount ? vector.getNullCount() : -1));
+  private void appendNodes(FieldVector vector, List<ArrowFieldNode> nodes, List<ArrowBuf> buffers,
+      List<BufferAllocator> allocators) {
+    // the null count of an omitted validity buffer is known to be zero: keep it omitted.
+    final boolean validityOmitted = vector instanceof BaseFixedWidthVector &&
+        ((BaseFixedWidthVector) vector).isValidityOmitted();
+    final int nullCount = includeNullCount || validityOmitted ? vector.getNullCount() : -1;
+    nodes.add(new ArrowFieldNode(vector.getValueCount(), nullCount));
     List<ArrowBuf> fieldBuffers = vector.getFieldBuffers();
-    int expectedBufferCount = TypeLayout.getTypeBufferCount(vector.getField().getType());
-    if (fieldBuffers.size() != expectedBufferCount) {
+    List<BufferType> bufferTypes = TypeLayout.getTypeLayout(vector.getField().getType()).getBufferTypes();
+    if (fieldBuffers.size() != bufferTypes.size()) {
       throw new IllegalArgumentException(String.format(
           "wrong number of buffers for field %s in vector %s. found: %s",
           vector.getField(), vector.getClass().getSimpleName(), fieldBuffers));
     }
-    for (ArrowBuf buf : fieldBuffers) {
-      buffers.add(codec.compress(vector.getAllocator(), buf));
+    for (int i = 0; i < fieldBuffers.size(); i++) {
+      if (nullCount == 0 && bufferTypes.get(i) == BufferType.VALIDITY) {
+        // without nulls, the validity buffer may be omitted, i.e. written with a length of zero.
+        buffers.add(vector.getAllocator().getEmpty());
+      } else {
+        buffers.add(fieldBuffers.get(i));
+      }
+      allocators.add(vector.getAllocator());
     }
     for (FieldVector child : vector.getChildrenFromFields()) {
-      appendNodes(child, nodes, buffers);
+      appendNodes(child, nodes, buffers, allocators);
     }
   }
 
+  private ArrowBuf compress(BufferAllocator allocator, ArrowBuf buffer) {
+    if (!ArrowMetrics.isEnabled()) {
+      return codec.compress(allocator, buffer);
+    }
+    // the codec releases the input buffer.
+    final long uncompressedBytes = buffer.writerIndex();
+    final long start = System.nanoTime();
+    final ArrowBuf compressed = codec.compress(allocator, buffer);
+    ArrowMetrics.recordCompress(codec.getCodecName(), uncompressedBytes, compressed.writerIndex(),
+        System.nanoTime() - start);
+    return compressed;
+  }
 }
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.ArrowType.ExtensionType;
+import org.apache.arrow.vector.types.pojo.FieldType;
+
+/**
+ * The type of {@link ViewVarCharVector}. It is stored as UTF8 strings, i.e. with the layout of a
+ * {@link VarCharVector}.
+ */
+public class ViewVarCharType extends ExtensionType {
+
+  // the arrow.* extension names are reserved for the canonical extension types of the specification.
+  public static final String EXTENSION_NAME = "org.apache.arrow.java.utf8_view";
+
+  public static final ViewVarCharType INSTANCE = new ViewVarCharType();
+
+  private ViewVarCharType() {
+  }
+
+  @Override
+  public ArrowType storageType() {
+    return ArrowType.Utf8.INSTANCE;
+  }
+
+  @Override
+  public String extensionName() {
+    return EXTENSION_NAME;
+  }
+
+  @Override
+  public boolean extensionEquals(ExtensionType other) {
+    return other instanceof ViewVarCharType;
+  }
+
+  @Override
+  public String serialize() {
+    return "";
+  }
+
+  @Override
+  public ArrowType deserialize(ArrowType storageType, String serializedData) {
+    Preconditions.checkArgument(storageType instanceof ArrowType.Utf8,
+        "String view type must be stored as UTF8, got %s", storageType);
+    return INSTANCE;
+  }
+
+  @Override
+  public FieldVector getNewVector(String name, FieldType fieldType, BufferAllocator allocator) {
+    return new ViewVarCharVector(name, fieldType, allocator);
+  }
+}
@@ -0,0 +1,937 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector;
+
+import static org.apache.arrow.vector.NullCheckingForGet.NULL_CHECKING_ENABLED;
+
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.OutOfMemoryException;
+import org.apache.arrow.memory.util.ArrowBufPointer;
+import org.apache.arrow.memory.util.ByteFunctionHelpers;
+import org.apache.arrow.memory.util.CommonUtil;
+import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.compare.VectorVisitor;
+import org.apache.arrow.vector.complex.reader.FieldReader;
+import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.util.CallBack;
+import org.apache.arrow.vector.util.OversizedAllocationException;
+import org.apache.arrow.vector.util.Text;
+import org.apache.arrow.vector.util.TransferPair;
+
+/**
+ * ViewVarCharVector implements a vector of variable width UTF8 strings with a view layout. Each
+ * element has a 16 byte view: the length of the string (4 bytes), followed either by the string
+ * itself, zero padded, when it is at most 12 bytes long, or by its first 4 bytes, the index of the
+ * data buffer holding the string and its offset in that buffer.
+ *
+ * <p>Short strings are compared and hashed from their view alone, and longer strings can usually
+ * be ordered by their prefix. Strings are appended to a list of data buffers, a new buffer being
+ * added when the last one is full, so that growing the vector never copies the existing strings.
+ * Overwriting an element doesn't reclaim the space of its previous value.
+ *
+ * <p>The vector has the {@link ViewVarCharType} extension type. In IPC it is stored with the
+ * layout of a {@link VarCharVector}: {@link #getFieldBuffers()} builds the offsets and the
+ * contiguous data, and loaded vectors reference the loaded data buffer without copying it.
+ */
+public final class ViewVarCharVector extends BaseValueVector implements FieldVector {
+
+  /**
+   * The width of the view of an element.
+   */
+  public static final int VIEW_WIDTH = 16;
+
+  /**
+   * The maximum length of the strings stored in their view.
+   */
+  public static final int INLINE_SIZE = 12;
+
+  /**
+   * The number of leading bytes of long strings stored in their view.
+   */
+  public static final int PREFIX_WIDTH = 4;
+
+  /**
+   * The default size of the data buffers.
+   */
+  public static final int DATA_BUFFER_SIZE = 32 * 1024;
+
+  /**
+   * The offset in the view of a long string of the index of its data buffer.
+   */
+  public static final int BUFFER_INDEX_OFFSET = 8;
+
+  /**
+   * The offset in the view of a long string of its offset in its data buffer.
+   */
+  public static final int BUFFER_OFFSET_OFFSET = 12;
+
+  private static final int LENGTH_WIDTH = 4;
+  private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+  private final Field field;
+  private ArrowBuf validityBuffer;
+  private ArrowBuf viewBuffer;
+  private final List<ArrowBuf> dataBuffers = new ArrayList<>();
+  // the write position in the last data buffer. Data buffers shared with other vectors are never
+  // written to: this position is set to their capacity.
+  private long dataBufferPosition;
+  private int valueCount;
+  private int initialValueCapacity = INITIAL_VALUE_ALLOCATION;
+  // the buffers built by the last call to getFieldBuffers.
+  private List<ArrowBuf> exportedBuffers = Collections.emptyList();
+
+  /**
+   * Instantiate a ViewVarCharVector.
+   *
+   * @param name name of the vector
+   * @param allocator allocator for memory management.
+   */
+  public ViewVarCharVector(String name, BufferAllocator allocator) {
+    this(name, FieldType.nullable(ViewVarCharType.INSTANCE), allocator);
+  }
+
+  /**
+   * Instantiate a ViewVarCharVector.
+   *
+   * @param name name of the vector
+   * @param fieldType type of Field materialized by this vector, of type {@link ViewVarCharType}
+   * @param allocator allocator for memory management.
+   */
+  public ViewVarCharVector(String name, FieldType fieldType, BufferAllocator allocator) {
+    this(new Field(name, fieldType, null), allocator);
+  }
+
+  /**
+   * Instantiate a ViewVarCharVector.
+   *
+   * @param field field materialized by this vector, of type {@link ViewVarCharType}
+   * @param allocator allocator for memory management.
+   */
+  public ViewVarCharVector(Field field, BufferAllocator allocator) {
+    super(allocator);
+    Preconditions.checkArgument(field.getType() instanceof ViewVarCharType,
+        "Expecting a string view type, got %s", field.getType());
+    this.field = field;
+    validityBuffer = allocator.getEmpty();
+    viewBuffer = allocator.getEmpty();
+  }
+
+  @Override
+  public String getName() {
+    return field.getName();
+  }
+
+  @Override
+  public Field getField() {
+    return field;
+  }
+
+  @Override
+  public MinorType getMinorType() {
+    return MinorType.EXTENSIONTYPE;
+  }
+
+  @Override
+  public ArrowBuf getValidityBuffer() {
+    return validityBuffer;
+  }
+
+  /**
+   * Get the buffer holding the views of the elements.
+   *
+   * @return the view buffer
+   */
+  public ArrowBuf getViewBuffer() {
+    return viewBuffer;
+  }
+
+  /**
+   * Get the buffers holding the strings longer than {@link #INLINE_SIZE}.
+   *
+   * @return the data buffers, referenced by index from the views
+   */
+  public List<ArrowBuf> getDataBuffers() {
+    return Collections.unmodifiableList(dataBuffers);
+  }
+
+  /**
+   * Get the buffer holding the views of the elements, as views are the data of this vector.
+   *
+   * @return the view buffer
+   */
+  @Override
+  public ArrowBuf getDataBuffer() {
+    return viewBuffer;
+  }
+
+  @Override
+  public ArrowBuf getOffsetBuffer() {
+    throw new UnsupportedOperationException("String view vectors have no offset buffer");
+  }
+
+  @Override
+  public long getValidityBufferAddress() {
+    return validityBuffer.memoryAddress();
+  }
+
+  @Override
+  public long getDataBufferAddress() {
+    return viewBuffer.memoryAddress();
+  }
+
+  @Override
+  public long getOffsetBufferAddress() {
+    throw new UnsupportedOperationException("String view vectors have no offset buffer");
+  }
+
+  /*----------------------------------------------------------------*
+   |                                                                |
+   |          memory management                                     |
+   |                                                                |
+   *----------------------------------------------------------------*/
+
+  @Override
+  public void setInitialCapacity(int valueCount) {
+    Preconditions.checkArgument(valueCount >= 0, "Invalid value count %s", valueCount);
+    checkViewBufferSize((long) valueCount * VIEW_WIDTH);
+    initialValueCapacity = valueCount;
+  }
+
+  @Override
+  public int getValueCapacity() {
+    final long viewCapacity = viewBuffer.capacity() / VIEW_WIDTH;
+    final long validityCapacity = validityBuffer.capacity() * 8;
+    return (int) Math.min(Math.min(viewCapacity, validityCapacity), Integer.MAX_VALUE);
+  }
+
+  @Override
+  public void allocateNew() {
+    allocateNew(initialValueCapacity);
+  }
+
+  @Override
+  public boolean allocateNewSafe() {
+    try {
+      allocateNew(initialValueCapacity);
+    } catch (Exception e) {
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Allocate the validity and view buffers for the given number of elements. Data buffers are
+   * allocated as strings are appended.
+   *
+   * @param valueCount the desired number of elements in the vector
+   * @throws OutOfMemoryException on error
+   */
+  public void allocateNew(int valueCount) {
+    checkViewBufferSize((long) valueCount * VIEW_WIDTH);
+    clear();
+    try {
+      validityBuffer = allocator.buffer(getValidityBufferSizeFromCount(valueCount));
+      validityBuffer.setZero(0, validityBuffer.capacity());
+      viewBuffer = allocator.buffer((long) valueCount * VIEW_WIDTH);
+      viewBuffer.setZero(0, viewBuffer.capacity());
+    } catch (Exception e) {
+      clear();
+      throw e;
+    }
+  }
+
+  /**
+   * Double the capacity of the validity and view buffers. The data buffers are not reallocated.
+   *
+   * @throws OversizedAllocationException if the new view buffer would be too large
+   */
+  @Override
+  public void reAlloc() {
+    long newValueCapacity = getValueCapacity() * 2L;
+    if (newValueCapacity == 0) {
+      newValueCapacity = initialValueCapacity == 0 ? INITIAL_VALUE_ALLOCATION : initialValueCapacity;
+    }
+    final long newViewSize = CommonUtil.nextPowerOfTwo(newValueCapacity * VIEW_WIDTH);
+    checkViewBufferSize(newViewSize);
+    viewBuffer = reallocBuffer(viewBuffer, newViewSize);
+    validityBuffer = reallocBuffer(validityBuffer, getValidityBufferSizeFromCount((int) (newViewSize / VIEW_WIDTH)));
+  }
+
+  private ArrowBuf reallocBuffer(ArrowBuf buffer, long newSize) {
+    final ArrowBuf newBuffer = allocator.buffer(newSize);
+    newBuffer.setBytes(0, buffer, 0, buffer.capacity());
+    newBuffer.setZero(buffer.capacity(), newBuffer.capacity() - buffer.capacity());
+    buffer.getReferenceManager().release();
+    return newBuffer;
+  }
+
+  private void checkViewBufferSize(long size) {
+    if (size > MAX_ALLOCATION_SIZE || size / VIEW_WIDTH > Integer.MAX_VALUE) {
+      throw new OversizedAllocationException("Requested amount of memory is more than max allowed allocation size <" +
+          MAX_ALLOCATION_SIZE + ">");
+    }
+  }
+
+  private void handleSafe(int index) {
+    while (index >= getValueCapacity()) {
+      reAlloc();
+    }
+  }
+
+  /**
+   * Get the data buffer to append a string of the given length to, adding a new buffer if the
+   * last one doesn't have enough room.
+   */
+  private ArrowBuf reserveData(int length) {
+    if (dataBuffers.isEmpty() || dataBuffers.get(dataBuffers.size() - 1).capacity() - dataBufferPosition < length) {
+      dataBuffers.add(allocator.buffer(Math.max(DATA_BUFFER_SIZE, length)));
+      dataBufferPosition = 0;
+    }
+    return dataBuffers.get(dataBuffers.size() - 1);
+  }
+
+  @Override
+  public void clear() {
+    validityBuffer = releaseBuffer(validityBuffer);
+    viewBuffer = releaseBuffer(viewBuffer);
+    for (ArrowBuf dataBuffer : dataBuffers) {
+      dataBuffer.getReferenceManager().release();
+    }
+    dataBuffers.clear();
+    dataBufferPosition = 0;
+    releaseExportedBuffers();
+    valueCount = 0;
+  }
+
+  @Override
+  public void close() {
+    clear();
+  }
+
+  /**
+   * Reset the vector to an empty state, keeping the validity and view buffers and releasing the
+   * data buffers.
+   */
+  @Override
+  public void reset() {
+    validityBuffer.setZero(0, validityBuffer.capacity());
+    viewBuffer.setZero(0, viewBuffer.capacity());
+    for (ArrowBuf dataBuffer : dataBuffers) {
+      dataBuffer.getReferenceManager().release();
+    }
+    dataBuffers.clear();
+    dataBufferPosition = 0;
+    releaseExportedBuffers();
+    valueCount = 0;
+  }
+
+  private void releaseExportedBuffers() {
+    for (ArrowBuf buffer : exportedBuffers) {
+      buffer.getReferenceManager().release();
+    }
+    exportedBuffers = Collections.emptyList();
+  }
+
+  @Override
+  public int getBufferSize() {
+    if (valueCount == 0) {
+      return 0;
+    }
+    long size = getValidityBufferSizeFromCount(valueCount) + (long) valueCount * VIEW_WIDTH;
+    for (ArrowBuf dataBuffer : dataBuffers) {
+      size += dataBuffer.capacity();
+    }
+    return (int) Math.min(size, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Get the size of the validity and view buffers for the given number of elements, the size of
+   * the data buffers depending on the strings.
+   *
+   * @param valueCount the number of elements
+   * @return the size in bytes
+   */
+  @Override
+  public int getBufferSizeFor(int valueCount) {
+    if (valueCount == 0) {
+      return 0;
+    }
+    return getValidityBufferSizeFromCount(valueCount) + valueCount * VIEW_WIDTH;
+  }
+
+  @Override
+  public ArrowBuf[] getBuffers(boolean clear) {
+    final ArrowBuf[] buffers;
+    if (getBufferSize() == 0) {
+      buffers = new ArrowBuf[0];
+    } else {
+      final List<ArrowBuf> list = new ArrayList<>(2 + dataBuffers.size());
+      list.add(validityBuffer);
+      list.add(viewBuffer);
+      list.addAll(dataBuffers);
+      buffers = list.toArray(new ArrowBuf[0]);
+    }
+    if (clear) {
+      for (final ArrowBuf buffer : buffers) {
+        buffer.getReferenceManager().retain(1);
+      }
+      clear();
+    }
+    return buffers;
+  }
+
+  /*----------------------------------------------------------------*
+   |                                                                |
+   |          vector value getter methods                           |
+   |                                                                |
+   *----------------------------------------------------------------*/
+
+  @Override
+  public int getValueCount() {
+    return valueCount;
+  }
+
+  @Override
+  public void setValueCount(int valueCount) {
+    Preconditions.checkArgument(valueCount >= 0, "Invalid value count %s", valueCount);
+    while (valueCount > getValueCapacity()) {
+      reAlloc();
+    }
+    this.valueCount = valueCount;
+  }
+
+  @Override
+  public int getNullCount() {
+    return BitVectorHelper.getNullCount(validityBuffer, valueCount);
+  }
+
+  @Override
+  public boolean isNull(int index) {
+    return isSet(index) == 0;
+  }
+
+  /**
+   * Same as {@link #isNull(int)}.
+   *
+   * @param index position of element
+   * @return 1 if element at given index is not null, 0 otherwise
+   */
+  public int isSet(int index) {
+    final int byteIndex = index >> 3;
+    final byte b = validityBuffer.getByte(byteIndex);
+    final int bitIndex = index & 7;
+    return (b >> bitIndex) & 0x01;
+  }
+
+  /**
+   * Get the length of the element at specified index.
+   *
+   * @param index position of element
+   * @return the length in bytes, 0 for nulls
+   */
+  public int getValueLength(int index) {
+    if (isSet(index) == 0) {
+      return 0;
+    }
+    return viewBuffer.getInt((long) index * VIEW_WIDTH);
+  }
+
+  /**
+   * Get the variable length element at specified index as byte array.
+   *
+   * @param index position of element to get
+   * @return array of bytes for non-null element, null otherwise
+   */
+  public byte[] get(int index) {
+    assert index >= 0;
+    if (NULL_CHECKING_ENABLED && isSet(index) == 0) {
+      return null;
+    }
+    final long view = (long) index * VIEW_WIDTH;
+    final int length = viewBuffer.getInt(view);
+    final byte[] result = new byte[length];
+    getValueBuffer(view, length).getBytes(getValueStart(view, length), result, 0, length);
+    return result;
+  }
+
+  /**
+   * Get the variable length element at specified index as Text.
+   *
+   * @param index position of element to get
+   * @return Text object for non-null element, null otherwise
+   */
+  @Override
+  public Text getObject(int index) {
+    byte[] b = get(index);
+    if (b == null) {
+      return null;
+    } else {
+      return new Text(b);
+    }
+  }
+
+  /**
+   * Get the buffer holding the bytes of an element: the view buffer for inline strings, or one of
+   * the data buffers.
+   */
+  private ArrowBuf getValueBuffer(long view, int length) {
+    if (length <= INLINE_SIZE) {
+      return viewBuffer;
+    }
+    return dataBuffers.get(viewBuffer.getInt(view + BUFFER_INDEX_OFFSET));
+  }
+
+  /**
+   * Get the offset of the bytes of an element in the buffer returned by {@link #getValueBuffer(long, int)}.
+   */
+  private long getValueStart(long view, int length) {
+    if (length <= INLINE_SIZE) {
+      return view + LENGTH_WIDTH;
+    }
+    return viewBuffer.getInt(view + BUFFER_OFFSET_OFFSET);
+  }
+
+  /**
+   * Compare two non-null elements in lexicographic order of their unsigned bytes. Elements whose
+   * first 4 bytes differ are ordered by their views alone.
+   *
+   * @param index the index of the element of this vector
+   * @param other the vector of the other element
+   * @param otherIndex the index of the other element
+   * @return a negative value, zero, or a positive value if the element is less than, equal to, or
+   *     greater than the other element
+   */
+  public int compareValues(int index, ViewVarCharVector other, int otherIndex) {
+    final long view = (long) index * VIEW_WIDTH;
+    final long otherView = (long) otherIndex * VIEW_WIDTH;
+    // prefixes are zero padded, so that they compare as unsigned big endian integers.
+    int prefix = viewBuffer.getInt(view + LENGTH_WIDTH);
+    int otherPrefix = other.viewBuffer.getInt(otherView + LENGTH_WIDTH);
+    if (prefix != otherPrefix) {
+      if (LITTLE_ENDIAN) {
+        prefix = Integer.reverseBytes(prefix);
+        otherPrefix = Integer.reverseBytes(otherPrefix);
+      }
+      return ByteFunctionHelpers.unsignedIntCompare(prefix, otherPrefix);
+    }
+
+    final int length = viewBuffer.getInt(view);
+    final int otherLength = other.viewBuffer.getInt(otherView);
+    if (length <= PREFIX_WIDTH || otherLength <= PREFIX_WIDTH) {
+      return Integer.compare(length, otherLength);
+    }
+    return ByteFunctionHelpers.compare(
+        getValueBuffer(view, length), getValueStart(view, length) + PREFIX_WIDTH,
+        getValueStart(view, length) + length,
+        other.getValueBuffer(otherView, otherLength), other.getValueStart(otherView, otherLength) + PREFIX_WIDTH,
+        other.getValueStart(otherView, otherLength) + otherLength);
+  }
+
+  /**
+   * Check whether two non-null elements are equal. Inline strings are compared from their views alone.
+   *
+   * @param index the index of the element of this vector
+   * @param other the vector of the other element
+   * @param otherIndex the index of the other element
+   * @return true if the elements have the same bytes
+   */
+  public boolean valuesEqual(int index, ViewVarCharVector other, int otherIndex) {
+    final long view = (long) index * VIEW_WIDTH;
+    final long otherView = (long) otherIndex * VIEW_WIDTH;
+    // the length and the prefix
+    if (viewBuffer.getLong(view) != other.viewBuffer.getLong(otherView)) {
+      return false;
+    }
+    final int length = viewBuffer.getInt(view);
+    if (length <= INLINE_SIZE) {
+      return viewBuffer.getLong(view + 8) == other.viewBuffer.getLong(otherView + 8);
+    }
+    final long start = getValueStart(view, length);
+    final long otherStart = other.getValueStart(otherView, length);
+    return ByteFunctionHelpers.equal(getValueBuffer(view, length), start, start + length,
+        other.getValueBuffer(otherView, length), otherStart, otherStart + length) != 0;
+  }
+
+  @Override
+  public int hashCode(int index) {
+    return hashCode(index, null);
+  }
+
+  /**
+   * Hash an element. The hash code is the one of the same string in a {@link VarCharVector}.
+   */
+  @Override
+  public int hashCode(int index, ArrowBufHasher hasher) {
+    if (isNull(index)) {
+      return ArrowBufPointer.NULL_HASH_CODE;
+    }
+    final long view = (long) index * VIEW_WIDTH;
+    final int length = viewBuffer.getInt(view);
+    final long start = getValueStart(view, length);
+    return ByteFunctionHelpers.hash(hasher, getValueBuffer(view, length), start, start + length);
+  }
+
+  /*----------------------------------------------------------------*
+   |                                                                |
+   |          vector value setter methods                           |
+   |                                                                |
+   *----------------------------------------------------------------*/
+
+  /**
+   * Set the variable length element at the specified index to the supplied byte array. The
+   * validity and view buffers must have room for the index.
+   *
+   * @param index position of the element to set
+   * @param value array of bytes to write
+   * @param start start index in array of bytes
+   * @param length length of data in array of bytes
+   */
+  public void set(int index, byte[] value, int start, int length) {
+    BitVectorHelper.setBit(validityBuffer, index);
+    final long view = (long) index * VIEW_WIDTH;
+    viewBuffer.setInt(view, length);
+    if (length <= INLINE_SIZE) {
+      viewBuffer.setZero(view + LENGTH_WIDTH, INLINE_SIZE);
+      viewBuffer.setBytes(view + LENGTH_WIDTH, value, start, length);
+    } else {
+      final ArrowBuf dataBuffer = reserveData(length);
+      dataBuffer.setBytes(dataBufferPosition, value, start, length);
+      viewBuffer.setBytes(view + LENGTH_WIDTH, value, start, PREFIX_WIDTH);
+      viewBuffer.setInt(view + BUFFER_INDEX_OFFSET, dataBuffers.size() - 1);
+      viewBuffer.setInt(view + BUFFER_OFFSET_OFFSET, (int) dataBufferPosition);
+      dataBufferPosition += length;
+    }
+  }
+
+  /**
+   * Set the variable length element at the specified index to the supplied byte array.
+   *
+   * @param index position of the element to set
+   * @param value array of bytes to write
+   */
+  public void set(int index, byte[] value) {
+    set(index, value, 0, value.length);
+  }
+
+  /**
+   * Set the variable length element at the specified index to the content in supplied Text.
+   *
+   * @param index position of the element to set
+   * @param text Text object with data
+   */
+  public void set(int index, Text text) {
+    set(index, text.getBytes(), 0, text.getLength());
+  }
+
+  /**
+   * Same as {@link #set(int, byte[], int, int)} except that it handles the case where index is
+   * greater than or equal to the existing value capacity {@link #getValueCapacity()}.
+   *
+   * @param index position of the element to set
+   * @param value array of bytes to write
+   * @param start start index in array of bytes
+   * @param length length of data in array of bytes
+   */
+  public void setSafe(int index, byte[] value, int start, int length) {
+    handleSafe(index);
+    set(index, value, start, length);
+  }
+
+  /**
+   * Same as {@link #set(int, byte[])} except that it handles the case where index is greater than
+   * or equal to the existing value capacity {@link #getValueCapacity()}.
+   *
+   * @param index position of the element to set
+   * @param value array of bytes to write
+   */
+  public void setSafe(int index, byte[] value) {
+    setSafe(index, value, 0, value.length);
+  }
+
+  /**
+   * Same as {@link #set(int, Text)} except that it handles the case where index is greater than or
+   * equal to the existing value capacity {@link #getValueCapacity()}.
+   *
+   * @param index position of the element to set
+   * @param text Text object with data
+   */
+  public void setSafe(int index, Text text) {
+    setSafe(index, text.getBytes(), 0, text.getLength());
+  }
+
+  /**
+   * Set the element at the given index to null.
+   *
+   * @param index position of element
+   */
+  public void setNull(int index) {
+    handleSafe(index);
+    BitVectorHelper.unsetBit(validityBuffer, index);
+  }
+
+  /**
+   * Copy a cell value from a particular index in source vector to a particular position in this
+   * vector. Inline strings are copied with their view; longer strings are appended to the data
+   * buffers of this vector.
+   *
+   * @param fromIndex position to copy from in source vector
+   * @param thisIndex position to copy to in this vector
+   * @param from source vector, a {@link ViewVarCharVector}
+   */
+  @Override
+  public void copyFrom(int fromIndex, int thisIndex, ValueVector from) {
+    Preconditions.checkArgument(from instanceof ViewVarCharVector,
+        "Cannot copy from a %s to a string view vector", from.getClass().getSimpleName());
+    final ViewVarCharVector fromVector = (ViewVarCharVector) from;
+    if (fromVector.isNull(fromIndex)) {
+      BitVectorHelper.unsetBit(validityBuffer, thisIndex);
+      return;
+    }
+    BitVectorHelper.setBit(validityBuffer, thisIndex);
+    final long fromView = (long) fromIndex * VIEW_WIDTH;
+    final long view = (long) thisIndex * VIEW_WIDTH;
+    final int length = fromVector.viewBuffer.getInt(fromView);
+    if (length <= INLINE_SIZE) {
+      viewBuffer.setBytes(view, fromVector.viewBuffer, fromView, VIEW_WIDTH);
+    } else {
+      final ArrowBuf fromData = fromVector.getValueBuffer(fromView, length);
+      final long fromStart = fromVector.getValueStart(fromView, length);
+      final ArrowBuf dataBuffer = reserveData(length);
+      dataBuffer.setBytes(dataBufferPosition, fromData, fromStart, length);
+      viewBuffer.setBytes(view, fromVector.viewBuffer, fromView, LENGTH_WIDTH + PREFIX_WIDTH);
+      viewBuffer.setInt(view + BUFFER_INDEX_OFFSET, dataBuffers.size() - 1);
+      viewBuffer.setInt(view + BUFFER_OFFSET_OFFSET, (int) dataBufferPosition);
+      dataBufferPosition += length;
+    }
+  }
+
+  @Override
+  public void copyFromSafe(int fromIndex, int thisIndex, ValueVector from) {
+    handleSafe(thisIndex);
+    copyFrom(fromIndex, thisIndex, from);
+  }
+
+  /*----------------------------------------------------------------*
+   |                                                                |
+   |          IPC                                                   |
+   |                                                                |
+   *----------------------------------------------------------------*/
+
+  /**
+   * Load the vector from buffers with the layout of a {@link VarCharVector}. The views reference
+   * the loaded data buffer, which is not copied.
+   *
+   * @param fieldNode  the field node
+   * @param ownBuffers the validity, offset and data buffers
+   */
+  @Override
+  public void loadFieldBuffers(ArrowFieldNode fieldNode, List<ArrowBuf> ownBuffers) {
+    if (ownBuffers.size() != 3) {
+      throw new IllegalArgumentException("Illegal buffer count, expected 3, got: " + ownBuffers.size());
+    }
+    final ArrowBuf offsets = ownBuffers.get(1);
+    final ArrowBuf data = ownBuffers.get(2);
+
+    clear();
+    validityBuffer = BitVectorHelper.loadValidityBuffer(fieldNode, ownBuffers.get(0), allocator);
+    valueCount = fieldNode.getLength();
+    viewBuffer = allocator.buffer((long) valueCount * VIEW_WIDTH);
+    viewBuffer.setZero(0, viewBuffer.capacity());
+    dataBuffers.add(data.getReferenceManager().retain(data, allocator));
+    // the loaded data may be shared, don't append to it.
+    dataBufferPosition = data.capacity();
+
+    for (int i = 0; i < valueCount; i++) {
+      if (isSet(i) == 0) {
+        continue;
+      }
+      final int start = offsets.getInt((long) i * BaseVariableWidthVector.OFFSET_WIDTH);
+      final int length = offsets.getInt((long) (i + 1) * BaseVariableWidthVector.OFFSET_WIDTH) - start;
+      final long view = (long) i * VIEW_WIDTH;
+      viewBuffer.setInt(view, length);
+      if (length <= INLINE_SIZE) {
+        viewBuffer.setBytes(view + LENGTH_WIDTH, data, start, length);
+      } else {
+        viewBuffer.setBytes(view + LENGTH_WIDTH, data, start, PREFIX_WIDTH);
+        viewBuffer.setInt(view + BUFFER_INDEX_OFFSET, 0);
+        viewBuffer.setInt(view + BUFFER_OFFSET_OFFSET, start);
+      }
+    }
+  }
+
+  /**
+   * Get the buffers of the vector with the layout of a {@link VarCharVector}: validity, offsets and
+   * contiguous data. The offsets and data are built by each call, and owned by this vector until
+   * the next call or until it is cleared.
+   *
+   * @return the validity, offset and data buffers
+   */
+  @Override
+  public List<ArrowBuf> getFieldBuffers() {
+    releaseExportedBuffers();
+    long dataLength = 0;
+    for (int i = 0; i < valueCount; i++) {
+      dataLength += getValueLength(i);
+    }
+    Preconditions.checkState(dataLength <= Integer.MAX_VALUE,
+        "The strings of the vector are too large for a VarChar layout: %s bytes", dataLength);
+
+    final ArrowBuf offsets = allocator.buffer((long) (valueCount + 1) * BaseVariableWidthVector.OFFSET_WIDTH);
+    final ArrowBuf data;
+    try {
+      data = allocator.buffer(dataLength);
+    } catch (RuntimeException e) {
+      offsets.getReferenceManager().release();
+      throw e;
+    }
+    int offset = 0;
+    offsets.setInt(0, 0);
+    for (int i = 0; i < valueCount; i++) {
+      final int length = getValueLength(i);
+      if (length > 0) {
+        final long view = (long) i * VIEW_WIDTH;
+        data.setBytes(offset, getValueBuffer(view, length), getValueStart(view, length), length);
+        offset += length;
+      }
+      offsets.setInt((long) (i + 1) * BaseVariableWidthVector.OFFSET_WIDTH, offset);
+    }
+    exportedBuffers = Arrays.asList(offsets, data);
+
+    validityBuffer.readerIndex(0);
+    validityBuffer.writerIndex(valueCount == 0 ? 0 : getValidityBufferSizeFromCount(valueCount));
+    offsets.readerIndex(0);
+    offsets.writerIndex(valueCount == 0 ? 0 : (long) (valueCount + 1) * BaseVariableWidthVector.OFFSET_WIDTH);
+    data.readerIndex(0);
+    data.writerIndex(offset);
+    return Arrays.asList(validityBuffer, offsets, data);
+  }
+
+  @Override
+  @Deprecated
+  public List<BufferBacked> getFieldInnerVectors() {
+    throw new UnsupportedOperationException("There are no inner vectors. Use getFieldBuffers");
+  }
+
+  @Override
+  public void initializeChildrenFromFields(List<Field> children) {
+    if (!children.isEmpty()) {
+      throw new IllegalArgumentException("primitive type vector can not have children");
+    }
+  }
+
+  @Override
+  public List<FieldVector> getChildrenFromFields() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public FieldReader getReader() {
+    throw new UnsupportedOperationException("String view vectors have no reader");
+  }
+
+  @Override
+  public <OUT, IN> OUT accept(VectorVisitor<OUT, IN> visitor, IN value) {
+    return visitor.visit(this, value);
+  }
+
+  /*----------------------------------------------------------------*
+   |                                                                |
+   |          vector transfer                                       |
+   |                                                                |
+   *----------------------------------------------------------------*/
+
+  @Override
+  public TransferPair getTransferPair(String ref, BufferAllocator allocator) {
+    return new TransferImpl(new ViewVarCharVector(ref, field.getFieldType(), allocator));
+  }
+
+  @Override
+  public TransferPair getTransferPair(String ref, BufferAllocator allocator, CallBack callBack) {
+    return getTransferPair(ref, allocator);
+  }
+
+  @Override
+  public TransferPair makeTransferPair(ValueVector target) {
+    return new TransferImpl((ViewVarCharVector) target);
+  }
+
+  /**
+   * {@link TransferPair} of string view vectors. Splitting copies the views, and shares the data
+   * buffers with the target vector.
+   */
+  private class TransferImpl implements TransferPair {
+
+    private final ViewVarCharVector to;
+
+    TransferImpl(ViewVarCharVector to) {
+      this.to = to;
+    }
+
+    @Override
+    public void transfer() {
+      to.clear();
+      to.validityBuffer = transferBuffer(validityBuffer, to.allocator);
+      to.viewBuffer = transferBuffer(viewBuffer, to.allocator);
+      for (ArrowBuf dataBuffer : dataBuffers) {
+        to.dataBuffers.add(transferBuffer(dataBuffer, to.allocator));
+      }
+      to.dataBufferPosition = dataBufferPosition;
+      to.valueCount = valueCount;
+      clear();
+    }
+
+    @Override
+    public void splitAndTransfer(int startIndex, int length) {
+      Preconditions.checkArgument(startIndex >= 0 && length >= 0 && startIndex + length <= valueCount,
+          "Invalid parameters startIndex: %s, length: %s for valueCount: %s", startIndex, length, valueCount);
+      to.allocateNew(length);
+      for (int i = 0; i < length; i++) {
+        BitVectorHelper.setValidityBit(to.validityBuffer, i, isSet(startIndex + i));
+      }
+      to.viewBuffer.setBytes(0, viewBuffer, (long) startIndex * VIEW_WIDTH, (long) length * VIEW_WIDTH);
+      for (ArrowBuf dataBuffer : dataBuffers) {
+        to.dataBuffers.add(dataBuffer.getReferenceManager().retain(dataBuffer, to.allocator));
+      }
+      if (!dataBuffers.isEmpty()) {
+        to.dataBufferPosition = dataBuffers.get(dataBuffers.size() - 1).capacity();
+      }
+      to.valueCount = length;
+    }
+
+    @Override
+    public ValueVector getTo() {
+      return to;
+    }
+
+    @Override
+    public void copyValueSafe(int from, int to) {
+      this.to.copyFromSafe(from, to, ViewVarCharVector.this);
+    }
+  }
+}
@@ -29,12 +29,14 @@ import org.apache.arrow.vector.BaseLargeVariableWidthVector;
 import org.apache.arrow.vector.BaseVariableWidthVector;
 import org.apache.arrow.vector.NullVector;
 import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.ViewVarCharVector;
 import org.apache.arrow.vector.complex.BaseRepeatedValueVector;
 import org.apache.arrow.vector.complex.DenseUnionVector;
 import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.LargeListVector;
 import org.apache.arrow.vector.complex.ListVector;
 import org.apache.arrow.vector.complex.NonNullableStructVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
 import org.apache.arrow.vector.complex.UnionVector;
 
 /**
@@ -214,6 +216,22 @@ public class RangeEqualsVisitor implements VectorVisitor<Boolean, Range> {
     return true;
   }
 
+  @Override
+  public Boolean visit(RunEndEncodedVector left, Range range) {
+    if (!validate(left)) {
+      return false;
+    }
+    return compareRunEndEncodedVectors(range);
+  }
+
+  @Override
+  public Boolean visit(ViewVarCharVector left, Range range) {
+    if (!validate(left)) {
+      return false;
+    }
+    return compareViewVarCharVectors(range);
+  }
+
   protected RangeEqualsVisitor createInnerVisitor(
           ValueVector leftInner, ValueVector rightInner,
           BiFunction<ValueVector, ValueVector, Boolean> typeComparator) {
@@ -302,6 +320,45 @@ public class RangeEqualsVisitor implements VectorVisitor<Boolean, Range> {
     return true;
   }
 
+  /**
+   * Compare the runs overlapping the range, instead of each element.
+   */
+  protected boolean compareRunEndEncodedVectors(Range range) {
+    RunEndEncodedVector leftVector = (RunEndEncodedVector) left;
+    RunEndEncodedVector rightVector = (RunEndEncodedVector) right;
+    if (range.getLength() == 0) {
+      return true;
+    }
+
+    RangeEqualsVisitor visitor =
+        createInnerVisitor(leftVector.getValuesVector(), rightVector.getValuesVector(), /*type comparator*/ null);
+    Range subRange = new Range(0, 0, 1);
+    int leftIndex = range.getLeftStart();
+    int rightIndex = range.getRightStart();
+    final int leftEnd = leftIndex + range.getLength();
+    int leftRun = leftVector.getPhysicalIndex(leftIndex);
+    int rightRun = rightVector.getPhysicalIndex(rightIndex);
+    while (leftIndex < leftEnd) {
+      subRange.setLeftStart(leftRun).setRightStart(rightRun);
+      if (!visitor.rangeEquals(subRange)) {
+        return false;
+      }
+      // skip to the end of the shortest of the two runs
+      int leftRunEnd = leftVector.getRunEnd(leftRun);
+      int rightRunEnd = rightVector.getRunEnd(rightRun);
+      int step = Math.min(leftRunEnd - leftIndex, rightRunEnd - rightIndex);
+      leftIndex += step;
+      rightIndex += step;
+      if (leftIndex == leftRunEnd) {
+        leftRun++;
+      }
+      if (rightIndex == rightRunEnd) {
+        rightRun++;
+      }
+    }
+    return true;
+  }
+
   protected boolean compareStructVectors(Range range) {
     NonNullableStructVector leftVector = (NonNullableStructVector) left;
     NonNullableStructVector rightVector = (NonNullableStructVector) right;
@@ -355,6 +412,29 @@ public class RangeEqualsVisitor implements VectorVisitor<Boolean, Range> {
     return true;
   }
 
+  /**
+   * Compare the views of the elements, and the data buffers only for long strings with equal prefixes.
+   */
+  protected boolean compareViewVarCharVectors(Range range) {
+    ViewVarCharVector leftVector = (ViewVarCharVector) left;
+    ViewVarCharVector rightVector = (ViewVarCharVector) right;
+
+    for (int i = 0; i < range.getLength(); i++) {
+      int leftIndex = range.getLeftStart() + i;
+      int rightIndex = range.getRightStart() + i;
+
+      boolean isNull = leftVector.isNull(leftIndex);
+      if (isNull != rightVector.isNull(rightIndex)) {
+        return false;
+      }
+
+      if (!isNull && !leftVector.valuesEqual(leftIndex, rightVector, rightIndex)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   protected boolean compareBaseVariableWidthVectors(Range range) {
     BaseVariableWidthVector leftVector = (BaseVariableWidthVector) left;
     BaseVariableWidthVector rightVector = (BaseVariableWidthVector) right;
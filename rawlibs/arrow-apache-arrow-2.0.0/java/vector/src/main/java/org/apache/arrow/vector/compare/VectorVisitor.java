@@ -21,11 +21,13 @@ import org.apache.arrow.vector.BaseFixedWidthVector;
 import org.apache.arrow.vector.BaseLargeVariableWidthVector;
 import org.apache.arrow.vector.BaseVariableWidthVector;
 import org.apache.arrow.vector.NullVector;
+import org.apache.arrow.vector.ViewVarCharVector;
 import org.apache.arrow.vector.complex.DenseUnionVector;
 import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.LargeListVector;
 import org.apache.arrow.vector.complex.ListVector;
 import org.apache.arrow.vector.complex.NonNullableStructVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
 import org.apache.arrow.vector.complex.UnionVector;
 
 /**
@@ -54,5 +56,13 @@ public interface VectorVisitor<OUT, IN> {
   OUT visit(DenseUnionVector left, IN value);
 
   OUT visit(NullVector left, IN value);
+
+  default OUT visit(RunEndEncodedVector left, IN value) {
+    throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support run-end encoded vectors");
+  }
+
+  default OUT visit(ViewVarCharVector left, IN value) {
+    throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support string view vectors");
+  }
 }
 
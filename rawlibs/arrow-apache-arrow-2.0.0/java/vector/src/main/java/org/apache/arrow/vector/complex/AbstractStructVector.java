@@ -197,7 +197,8 @@ public abstract class AbstractStructVector extends AbstractContainerVector {
   }
 
   private boolean nullFilled(ValueVector vector) {
-    return BitVectorHelper.checkAllBitsEqualTo(vector.getValidityBuffer(), vector.getValueCount(), false);
+    return BitVectorHelper.checkAllBitsEqualTo(
+        BitVectorHelper.getValidityBitmap(vector), vector.getValueCount(), false);
   }
 
   /**
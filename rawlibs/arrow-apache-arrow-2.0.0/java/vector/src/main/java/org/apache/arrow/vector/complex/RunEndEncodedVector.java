@@ -0,0 +1,549 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.complex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.OutOfMemoryException;
+import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BaseValueVector;
+import org.apache.arrow.vector.BufferBacked;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.compare.VectorVisitor;
+import org.apache.arrow.vector.complex.reader.FieldReader;
+import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.util.CallBack;
+import org.apache.arrow.vector.util.TransferPair;
+
+/**
+ * A run-end encoded vector: consecutive equal values are stored once in the values child vector,
+ * and the run ends child vector holds, for each run, the logical index following the last element
+ * of the run. Element i of the vector is the value of the first run whose end is greater than i,
+ * so the memory and the scan cost are proportional to the number of runs, not of elements.
+ *
+ * <p>Nulls are stored as null values. The vector has the {@link RunEndEncodedType} extension type,
+ * which is stored as a struct of the logical length of the vector, without validity buffer.
+ */
+public class RunEndEncodedVector extends BaseValueVector implements FieldVector {
+
+  public static final String RUN_ENDS_VECTOR_NAME = "run_ends";
+  public static final String VALUES_VECTOR_NAME = "values";
+
+  private final String name;
+  private final FieldType fieldType;
+  private final IntVector runEndsVector;
+  private FieldVector valuesVector;
+  private int valueCount;
+
+  /**
+   * Create a run-end encoded vector of the given values type.
+   *
+   * @param name            the name of the vector
+   * @param valuesFieldType the type of the values
+   * @param allocator       the allocator of the vector
+   * @return a new empty vector
+   */
+  public static RunEndEncodedVector empty(String name, FieldType valuesFieldType, BufferAllocator allocator) {
+    final RunEndEncodedVector vector =
+        new RunEndEncodedVector(name, FieldType.nullable(RunEndEncodedType.INSTANCE), allocator);
+    vector.initializeChildrenFromFields(Arrays.asList(
+        new Field(RUN_ENDS_VECTOR_NAME, new FieldType(false, MinorType.INT.getType(), null), null),
+        new Field(VALUES_VECTOR_NAME, valuesFieldType, null)));
+    return vector;
+  }
+
+  /**
+   * Constructs a new instance. The values vector is created by
+   * {@link #initializeChildrenFromFields(List)}.
+   *
+   * @param name      the name of the vector
+   * @param fieldType the field type, of type {@link RunEndEncodedType}
+   * @param allocator the allocator of the vector
+   */
+  public RunEndEncodedVector(String name, FieldType fieldType, BufferAllocator allocator) {
+    super(allocator);
+    Preconditions.checkArgument(fieldType.getType() instanceof RunEndEncodedType,
+        "Expecting a run-end encoded type, got %s", fieldType.getType());
+    this.name = name;
+    this.fieldType = fieldType;
+    this.runEndsVector = new IntVector(RUN_ENDS_VECTOR_NAME, new FieldType(false, MinorType.INT.getType(), null),
+        allocator);
+  }
+
+  /**
+   * Constructs a new instance, with the children of the field.
+   *
+   * @param field     the field, of type {@link RunEndEncodedType}
+   * @param allocator the allocator of the vector
+   * @param callBack  not used
+   */
+  public RunEndEncodedVector(Field field, BufferAllocator allocator, CallBack callBack) {
+    this(field.getName(), field.getFieldType(), allocator);
+    if (!field.getChildren().isEmpty()) {
+      initializeChildrenFromFields(field.getChildren());
+    }
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  public IntVector getRunEndsVector() {
+    return runEndsVector;
+  }
+
+  public FieldVector getValuesVector() {
+    return valuesVector;
+  }
+
+  /**
+   * Get the number of runs, i.e. the number of elements of the run ends and values vectors.
+   *
+   * @return the number of runs
+   */
+  public int getRunCount() {
+    return runEndsVector.getValueCount();
+  }
+
+  /**
+   * Get the logical index following the last element of the given run.
+   *
+   * @param run the index of the run
+   * @return the end of the run
+   */
+  public int getRunEnd(int run) {
+    return IntVector.get(runEndsVector.getDataBuffer(), run);
+  }
+
+  /**
+   * Get the index of the run containing an element, i.e. its index in the values vector, with a
+   * binary search of the run ends.
+   *
+   * @param index the logical index of the element
+   * @return the index of the run
+   */
+  public int getPhysicalIndex(int index) {
+    Preconditions.checkElementIndex(index, valueCount);
+    final ArrowBuf runEnds = runEndsVector.getDataBuffer();
+    int low = 0;
+    int high = getRunCount() - 1;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (IntVector.get(runEnds, mid) <= index) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Append a run of elements equal to an element of another vector. Runs are not merged with the
+   * previous run, even if their values are equal.
+   *
+   * @param from      the vector holding the value, of the type of the values vector
+   * @param fromIndex the index of the value in <code>from</code>
+   * @param runLength the number of elements of the run
+   */
+  public void appendRun(ValueVector from, int fromIndex, int runLength) {
+    Preconditions.checkArgument(runLength > 0, "The run length must be positive, was %s", runLength);
+    Preconditions.checkArgument((long) valueCount + runLength <= Integer.MAX_VALUE,
+        "The length of the vector would overflow");
+    final int run = getRunCount();
+    valuesVector.copyFromSafe(fromIndex, run, from);
+    valuesVector.setValueCount(run + 1);
+    runEndsVector.setSafe(run, valueCount + runLength);
+    runEndsVector.setValueCount(run + 1);
+    valueCount += runLength;
+  }
+
+  @Override
+  public void allocateNew() throws OutOfMemoryException {
+    if (!allocateNewSafe()) {
+      throw new OutOfMemoryException("Failure while allocating memory");
+    }
+  }
+
+  @Override
+  public boolean allocateNewSafe() {
+    clear();
+    if (!runEndsVector.allocateNewSafe() || !valuesVector.allocateNewSafe()) {
+      clear();
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public void reAlloc() {
+    runEndsVector.reAlloc();
+    valuesVector.reAlloc();
+  }
+
+  /**
+   * Set the initial number of runs of the vector.
+   *
+   * @param numRecords the number of runs
+   */
+  @Override
+  public void setInitialCapacity(int numRecords) {
+    runEndsVector.setInitialCapacity(numRecords);
+    valuesVector.setInitialCapacity(numRecords);
+  }
+
+  /**
+   * Get the number of runs the vector can hold without reallocation.
+   *
+   * @return the run capacity
+   */
+  @Override
+  public int getValueCapacity() {
+    return Math.min(runEndsVector.getValueCapacity(), valuesVector.getValueCapacity());
+  }
+
+  @Override
+  public void close() {
+    clear();
+  }
+
+  @Override
+  public void clear() {
+    runEndsVector.clear();
+    if (valuesVector != null) {
+      valuesVector.clear();
+    }
+    valueCount = 0;
+  }
+
+  @Override
+  public void reset() {
+    runEndsVector.reset();
+    valuesVector.reset();
+    valueCount = 0;
+  }
+
+  @Override
+  public Field getField() {
+    final List<Field> children = new ArrayList<>(2);
+    children.add(runEndsVector.getField());
+    if (valuesVector != null) {
+      children.add(valuesVector.getField());
+    }
+    return new Field(name, fieldType, children);
+  }
+
+  @Override
+  public MinorType getMinorType() {
+    return MinorType.EXTENSIONTYPE;
+  }
+
+  @Override
+  public TransferPair getTransferPair(String ref, BufferAllocator allocator) {
+    return getTransferPair(ref, allocator, null);
+  }
+
+  @Override
+  public TransferPair getTransferPair(String ref, BufferAllocator allocator, CallBack callBack) {
+    final RunEndEncodedVector to = new RunEndEncodedVector(ref, fieldType, allocator);
+    to.initializeChildrenFromFields(getField().getChildren());
+    return new TransferImpl(to);
+  }
+
+  @Override
+  public TransferPair makeTransferPair(ValueVector target) {
+    return new TransferImpl((RunEndEncodedVector) target);
+  }
+
+  @Override
+  public FieldReader getReader() {
+    throw new UnsupportedOperationException("Run-end encoded vectors have no reader");
+  }
+
+  @Override
+  public int getBufferSize() {
+    return runEndsVector.getBufferSize() + valuesVector.getBufferSize();
+  }
+
+  /**
+   * Get the size of the buffers for the given number of runs.
+   *
+   * @param valueCount the number of runs
+   * @return the size in bytes
+   */
+  @Override
+  public int getBufferSizeFor(int valueCount) {
+    return runEndsVector.getBufferSizeFor(valueCount) + valuesVector.getBufferSizeFor(valueCount);
+  }
+
+  @Override
+  public ArrowBuf[] getBuffers(boolean clear) {
+    final List<ArrowBuf> buffers = new ArrayList<>();
+    buffers.addAll(Arrays.asList(runEndsVector.getBuffers(clear)));
+    buffers.addAll(Arrays.asList(valuesVector.getBuffers(clear)));
+    if (clear) {
+      valueCount = 0;
+    }
+    return buffers.toArray(new ArrowBuf[0]);
+  }
+
+  @Override
+  public ArrowBuf getValidityBuffer() {
+    throw new UnsupportedOperationException("Run-end encoded vectors have no validity buffer");
+  }
+
+  @Override
+  public ArrowBuf getDataBuffer() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public ArrowBuf getOffsetBuffer() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public int getValueCount() {
+    return valueCount;
+  }
+
+  /**
+   * Set the logical length of the vector. The runs must cover the new length; when it is shorter,
+   * the runs past the new length are dropped.
+   *
+   * @param valueCount the number of elements
+   */
+  @Override
+  public void setValueCount(int valueCount) {
+    final int runCount = getRunCount();
+    final int lastRunEnd = runCount == 0 ? 0 : getRunEnd(runCount - 1);
+    Preconditions.checkArgument(valueCount >= 0 && valueCount <= lastRunEnd,
+        "The value count %s is not covered by the runs, ending at %s", valueCount, lastRunEnd);
+    int newRunCount = 0;
+    if (valueCount > 0) {
+      this.valueCount = lastRunEnd;
+      final int lastRun = getPhysicalIndex(valueCount - 1);
+      runEndsVector.set(lastRun, valueCount);
+      newRunCount = lastRun + 1;
+    }
+    runEndsVector.setValueCount(newRunCount);
+    valuesVector.setValueCount(newRunCount);
+    this.valueCount = valueCount;
+  }
+
+  @Override
+  public Object getObject(int index) {
+    return valuesVector.getObject(getPhysicalIndex(index));
+  }
+
+  @Override
+  public int getNullCount() {
+    int nullCount = 0;
+    int runStart = 0;
+    for (int run = 0; run < getRunCount(); run++) {
+      final int runEnd = getRunEnd(run);
+      if (valuesVector.isNull(run)) {
+        nullCount += runEnd - runStart;
+      }
+      runStart = runEnd;
+    }
+    return nullCount;
+  }
+
+  @Override
+  public boolean isNull(int index) {
+    return valuesVector.isNull(getPhysicalIndex(index));
+  }
+
+  @Override
+  public int hashCode(int index) {
+    return valuesVector.hashCode(getPhysicalIndex(index));
+  }
+
+  @Override
+  public int hashCode(int index, ArrowBufHasher hasher) {
+    return valuesVector.hashCode(getPhysicalIndex(index), hasher);
+  }
+
+  /**
+   * Append an element of another vector, as a run of length one. Only appending is supported,
+   * i.e. <code>thisIndex</code> must be the value count of this vector.
+   *
+   * @param fromIndex position to copy from in the source vector
+   * @param thisIndex position to copy to in this vector
+   * @param from      source vector, either run-end encoded or of the type of the values
+   */
+  @Override
+  public void copyFrom(int fromIndex, int thisIndex, ValueVector from) {
+    Preconditions.checkArgument(thisIndex == valueCount,
+        "Run-end encoded vectors only support appending, index %s for value count %s", thisIndex, valueCount);
+    if (from instanceof RunEndEncodedVector) {
+      final RunEndEncodedVector fromVector = (RunEndEncodedVector) from;
+      appendRun(fromVector.valuesVector, fromVector.getPhysicalIndex(fromIndex), 1);
+    } else {
+      appendRun(from, fromIndex, 1);
+    }
+  }
+
+  @Override
+  public void copyFromSafe(int fromIndex, int thisIndex, ValueVector from) {
+    copyFrom(fromIndex, thisIndex, from);
+  }
+
+  @Override
+  public <OUT, IN> OUT accept(VectorVisitor<OUT, IN> visitor, IN value) {
+    return visitor.visit(this, value);
+  }
+
+  @Override
+  public void initializeChildrenFromFields(List<Field> children) {
+    Preconditions.checkArgument(children.size() == 2,
+        "Run-end encoded vectors have 2 children, got %s", children.size());
+    final ArrowType runEndsType = children.get(0).getType();
+    Preconditions.checkArgument(runEndsType.equals(MinorType.INT.getType()),
+        "The run ends must be 32-bit signed integers, got %s", runEndsType);
+    if (valuesVector != null) {
+      valuesVector.close();
+    }
+    valuesVector = children.get(1).createVector(allocator);
+  }
+
+  @Override
+  public List<FieldVector> getChildrenFromFields() {
+    if (valuesVector == null) {
+      return Collections.singletonList(runEndsVector);
+    }
+    return Arrays.asList(runEndsVector, valuesVector);
+  }
+
+  /**
+   * Load the vector. The validity buffer of the struct storage is ignored: nulls are held by the
+   * values vector.
+   *
+   * @param fieldNode  the field node, with the logical length of the vector
+   * @param ownBuffers the validity buffer of the struct storage
+   */
+  @Override
+  public void loadFieldBuffers(ArrowFieldNode fieldNode, List<ArrowBuf> ownBuffers) {
+    if (ownBuffers.size() != 1) {
+      throw new IllegalArgumentException("Illegal buffer count, expected 1, got: " + ownBuffers.size());
+    }
+    valueCount = fieldNode.getLength();
+  }
+
+  @Override
+  public List<ArrowBuf> getFieldBuffers() {
+    final ArrowBuf validity = allocator.getEmpty();
+    validity.readerIndex(0);
+    validity.writerIndex(0);
+    return Collections.singletonList(validity);
+  }
+
+  @Override
+  @Deprecated
+  public List<BufferBacked> getFieldInnerVectors() {
+    throw new UnsupportedOperationException("There are no inner vectors. Use getFieldBuffers");
+  }
+
+  @Override
+  public long getValidityBufferAddress() {
+    throw new UnsupportedOperationException("Run-end encoded vectors have no validity buffer");
+  }
+
+  @Override
+  public long getDataBufferAddress() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public long getOffsetBufferAddress() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Iterator<ValueVector> iterator() {
+    return Collections.<ValueVector>unmodifiableList(getChildrenFromFields()).iterator();
+  }
+
+  /**
+   * {@link TransferPair} of run-end encoded vectors. Splitting slices the values, and rebases the
+   * run ends on the start of the split.
+   */
+  private class TransferImpl implements TransferPair {
+
+    private final RunEndEncodedVector to;
+    private final TransferPair valuesPair;
+
+    TransferImpl(RunEndEncodedVector to) {
+      this.to = to;
+      this.valuesPair = valuesVector.makeTransferPair(to.valuesVector);
+    }
+
+    @Override
+    public void transfer() {
+      runEndsVector.makeTransferPair(to.runEndsVector).transfer();
+      valuesPair.transfer();
+      to.valueCount = valueCount;
+      clear();
+    }
+
+    @Override
+    public void splitAndTransfer(int startIndex, int length) {
+      Preconditions.checkArgument(startIndex >= 0 && length >= 0 && startIndex + length <= valueCount,
+          "Invalid parameters startIndex: %s, length: %s for valueCount: %s", startIndex, length, valueCount);
+      to.clear();
+      if (length == 0) {
+        return;
+      }
+      final int firstRun = getPhysicalIndex(startIndex);
+      final int runCount = getPhysicalIndex(startIndex + length - 1) - firstRun + 1;
+      valuesPair.splitAndTransfer(firstRun, runCount);
+
+      to.runEndsVector.allocateNew(runCount);
+      for (int i = 0; i < runCount; i++) {
+        to.runEndsVector.set(i, Math.min(getRunEnd(firstRun + i) - startIndex, length));
+      }
+      to.runEndsVector.setValueCount(runCount);
+      to.valueCount = length;
+    }
+
+    @Override
+    public ValueVector getTo() {
+      return to;
+    }
+
+    @Override
+    public void copyValueSafe(int from, int to) {
+      this.to.copyFromSafe(from, to, RunEndEncodedVector.this);
+    }
+  }
+}
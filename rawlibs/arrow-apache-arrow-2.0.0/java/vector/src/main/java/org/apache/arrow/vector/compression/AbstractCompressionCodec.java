@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.compression;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.Preconditions;
+
+/**
+ * The base class of the codecs that actually compress, framing each buffer as the IPC format requires: an 8-byte
+ * little-endian prefix holds the uncompressed length, or {@link CompressionUtil#NO_COMPRESSION_LENGTH} when the
+ * rest of the buffer is left uncompressed because compressing it would not save any space.
+ *
+ * <p>Subclasses work on memory addresses, so data moves between the buffers without any copy on the heap.
+ */
+public abstract class AbstractCompressionCodec implements CompressionCodec {
+
+  @Override
+  public ArrowBuf compress(BufferAllocator allocator, ArrowBuf uncompressedBuffer) {
+    final long uncompressedLength = uncompressedBuffer.writerIndex();
+    if (uncompressedLength == 0) {
+      // an empty buffer needs no prefix, it stays empty
+      return uncompressedBuffer;
+    }
+
+    final ArrowBuf compressedBuffer;
+    try {
+      compressedBuffer = allocator.buffer(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH +
+          Math.max(maxCompressedLength(uncompressedLength), uncompressedLength));
+    } catch (RuntimeException e) {
+      uncompressedBuffer.close();
+      throw e;
+    }
+    try {
+      final long compressedLength = doCompress(allocator, uncompressedBuffer.memoryAddress(), uncompressedLength,
+          compressedBuffer.memoryAddress() + CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH);
+      if (compressedLength < uncompressedLength) {
+        compressedBuffer.setLong(0, uncompressedLength);
+        compressedBuffer.writerIndex(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH + compressedLength);
+      } else {
+        compressedBuffer.setLong(0, CompressionUtil.NO_COMPRESSION_LENGTH);
+        compressedBuffer.setBytes(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH, uncompressedBuffer, 0,
+            uncompressedLength);
+        compressedBuffer.writerIndex(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH + uncompressedLength);
+      }
+    } catch (RuntimeException e) {
+      compressedBuffer.close();
+      throw e;
+    } finally {
+      uncompressedBuffer.close();
+    }
+    return compressedBuffer;
+  }
+
+  @Override
+  public ArrowBuf decompress(BufferAllocator allocator, ArrowBuf compressedBuffer) {
+    final long compressedLength = compressedBuffer.writerIndex();
+    if (compressedLength == 0) {
+      return compressedBuffer;
+    }
+    if (compressedLength >= CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH &&
+        compressedBuffer.getLong(0) == CompressionUtil.NO_COMPRESSION_LENGTH) {
+      return CompressionUtil.extractUncompressedBuffer(compressedBuffer);
+    }
+    try {
+      Preconditions.checkArgument(compressedLength >= CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH,
+          "Not enough data to decompress.");
+      final long uncompressedLength = compressedBuffer.getLong(0);
+      Preconditions.checkArgument(uncompressedLength >= 0, "Invalid uncompressed length: %s", uncompressedLength);
+      if (uncompressedLength == 0) {
+        return allocator.getEmpty();
+      }
+      final ArrowBuf uncompressedBuffer = allocator.buffer(uncompressedLength);
+      try {
+        doDecompress(allocator, compressedBuffer.memoryAddress() + CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH,
+            compressedLength - CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH, uncompressedBuffer.memoryAddress(),
+            uncompressedLength);
+      } catch (RuntimeException e) {
+        uncompressedBuffer.close();
+        throw e;
+      }
+      uncompressedBuffer.writerIndex(uncompressedLength);
+      return uncompressedBuffer;
+    } finally {
+      compressedBuffer.close();
+    }
+  }
+
+  /**
+   * Gets the maximum length of the compressed data for the given number of bytes.
+   */
+  protected abstract long maxCompressedLength(long uncompressedLength);
+
+  /**
+   * Compresses memory.
+   *
+   * @param allocator the allocator for any temporary memory.
+   * @param input the address of the data to compress.
+   * @param length the length of the data to compress.
+   * @param output the address of the output, at least {@link #maxCompressedLength(long)} bytes long.
+   * @return the length of the compressed data.
+   */
+  protected abstract long doCompress(BufferAllocator allocator, long input, long length, long output);
+
+  /**
+   * Decompresses memory, which must produce exactly the given number of bytes.
+   *
+   * @param allocator the allocator for any temporary memory.
+   * @param input the address of the compressed data.
+   * @param length the length of the compressed data.
+   * @param output the address of the output.
+   * @param outputLength the length of the output.
+   * @throws IllegalArgumentException if the compressed data is malformed.
+   */
+  protected abstract void doDecompress(BufferAllocator allocator, long input, long length, long output,
+      long outputLength);
+}
@@ -19,6 +19,7 @@ package org.apache.arrow.vector.compression;
 
 import org.apache.arrow.flatbuf.BodyCompressionMethod;
 import org.apache.arrow.flatbuf.CompressionType;
+import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.vector.ipc.message.ArrowBodyCompression;
 
 /**
@@ -26,6 +27,16 @@ import org.apache.arrow.vector.ipc.message.ArrowBodyCompression;
  */
 public class CompressionUtil {
 
+  /**
+   * The size of the prefix holding the uncompressed length of a compressed buffer.
+   */
+  public static final long SIZE_OF_UNCOMPRESSED_LENGTH = 8L;
+
+  /**
+   * The uncompressed length marking a buffer that is left uncompressed after its prefix.
+   */
+  public static final long NO_COMPRESSION_LENGTH = -1L;
+
   private CompressionUtil() {
   }
 
@@ -53,8 +64,20 @@ public class CompressionUtil {
     switch (compressionType) {
       case NoCompressionCodec.COMPRESSION_TYPE:
         return NoCompressionCodec.INSTANCE;
+      case CompressionType.LZ4_FRAME:
+        return new Lz4CompressionCodec();
+      case CompressionType.ZSTD:
+        return new ZstdCompressionCodec();
       default:
         throw new IllegalArgumentException("Compression type not supported: " + compressionType);
     }
   }
+
+  /**
+   * Gets the data of a buffer that was left uncompressed, sharing its memory and taking over its reference.
+   */
+  public static ArrowBuf extractUncompressedBuffer(ArrowBuf inputBuffer) {
+    return inputBuffer.slice(SIZE_OF_UNCOMPRESSED_LENGTH,
+        inputBuffer.writerIndex() - SIZE_OF_UNCOMPRESSED_LENGTH);
+  }
 }
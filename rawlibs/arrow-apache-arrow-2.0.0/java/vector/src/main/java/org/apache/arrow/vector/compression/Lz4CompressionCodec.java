@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.compression;
+
+import org.apache.arrow.memory.BufferAllocator;
+
+/**
+ * Compression codec for the LZ4 frame format, implemented in Java.
+ */
+public class Lz4CompressionCodec extends AbstractCompressionCodec {
+
+  @Override
+  protected long maxCompressedLength(long uncompressedLength) {
+    return Lz4Frame.maxCompressedLength(uncompressedLength);
+  }
+
+  @Override
+  protected long doCompress(BufferAllocator allocator, long input, long length, long output) {
+    return Lz4Frame.compress(input, length, output);
+  }
+
+  @Override
+  protected void doDecompress(BufferAllocator allocator, long input, long length, long output, long outputLength) {
+    Lz4Frame.decompress(input, length, output, outputLength);
+  }
+
+  @Override
+  public String getCodecName() {
+    return "LZ4_FRAME";
+  }
+}
@@ -0,0 +1,435 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.compression;
+
+import java.util.Arrays;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Compresses and decompresses memory in the LZ4 frame format, see
+ * https://github.com/lz4/lz4/blob/dev/doc/lz4_Frame_format.md.
+ *
+ * <p>Frames are written with independent blocks of at most 4 MB and the content size in the header. Blocks that
+ * do not shrink are stored uncompressed. The reader accepts any valid frame: linked or independent blocks,
+ * block and content checksums, uncompressed blocks and skippable frames. Dictionaries are not supported.
+ */
+final class Lz4Frame {
+
+  private static final int MAGIC = 0x184D2204;
+  private static final int SKIPPABLE_MAGIC_MASK = 0xFFFFFFF0;
+  private static final int SKIPPABLE_MAGIC = 0x184D2A50;
+
+  private static final int VERSION = 0x40;
+  private static final int FLAG_BLOCK_INDEPENDENCE = 0x20;
+  private static final int FLAG_BLOCK_CHECKSUM = 0x10;
+  private static final int FLAG_CONTENT_SIZE = 0x08;
+  private static final int FLAG_CONTENT_CHECKSUM = 0x04;
+  private static final int FLAG_DICTIONARY_ID = 0x01;
+
+  private static final int BLOCK_MAX_SIZE_ID = 7;
+  private static final int BLOCK_SIZE = 4 << 20;
+  private static final int UNCOMPRESSED_BLOCK = 0x80000000;
+
+  /**
+   * Magic number, descriptor with the content size, and end mark.
+   */
+  private static final int FRAME_OVERHEAD = 4 + 11 + 4;
+
+  private static final int MIN_MATCH = 4;
+  private static final int LAST_LITERALS = 5;
+  private static final int MF_LIMIT = 12;
+  private static final int MAX_DISTANCE = 65535;
+  private static final int RUN_MASK = 15;
+  private static final int SKIP_STRENGTH = 6;
+  private static final int MAX_HASH_LOG = 16;
+
+  private Lz4Frame() {
+  }
+
+  /**
+   * Gets the maximum length of the frame compressing the given number of bytes.
+   */
+  static long maxCompressedLength(long length) {
+    return length + FRAME_OVERHEAD + 4 * ((length + BLOCK_SIZE - 1) / BLOCK_SIZE);
+  }
+
+  /**
+   * Compresses the input into a single frame.
+   *
+   * @param input the address of the data to compress.
+   * @param length the length of the data to compress.
+   * @param output the address of the output, at least {@link #maxCompressedLength(long)} bytes long.
+   * @return the length of the frame.
+   */
+  static long compress(long input, long length, long output) {
+    long op = output;
+    PlatformDependent.putInt(op, MAGIC);
+    PlatformDependent.putByte(op + 4, (byte) (VERSION | FLAG_BLOCK_INDEPENDENCE | FLAG_CONTENT_SIZE));
+    PlatformDependent.putByte(op + 5, (byte) (BLOCK_MAX_SIZE_ID << 4));
+    PlatformDependent.putLong(op + 6, length);
+    PlatformDependent.putByte(op + 14, headerChecksum(op + 4, 10));
+    op += 15;
+
+    final int[] hashTable = new int[1 << hashLog(Math.min(length, BLOCK_SIZE))];
+    for (long position = 0; position < length; position += BLOCK_SIZE) {
+      final int blockLength = (int) Math.min(BLOCK_SIZE, length - position);
+      final int compressedLength =
+          compressBlock(input + position, blockLength, op + 4, blockLength - 1, hashTable);
+      if (compressedLength < 0) {
+        PlatformDependent.putInt(op, blockLength | UNCOMPRESSED_BLOCK);
+        PlatformDependent.copyMemory(input + position, op + 4, blockLength);
+        op += 4 + blockLength;
+      } else {
+        PlatformDependent.putInt(op, compressedLength);
+        op += 4 + compressedLength;
+      }
+    }
+    PlatformDependent.putInt(op, 0);
+    return op + 4 - output;
+  }
+
+  /**
+   * Decompresses a sequence of frames, which must produce exactly the given number of bytes.
+   *
+   * @param input the address of the frames.
+   * @param length the length of the frames.
+   * @param output the address of the output.
+   * @param outputLength the expected length of the decompressed data.
+   * @throws IllegalArgumentException if the input is malformed.
+   */
+  static void decompress(long input, long length, long output, long outputLength) {
+    final long inputEnd = input + length;
+    final long outputEnd = output + outputLength;
+    long ip = input;
+    long op = output;
+    while (ip < inputEnd) {
+      checkInput(ip, 4, inputEnd);
+      final int magic = PlatformDependent.getInt(ip);
+      ip += 4;
+      if ((magic & SKIPPABLE_MAGIC_MASK) == SKIPPABLE_MAGIC) {
+        checkInput(ip, 4, inputEnd);
+        final long skipped = PlatformDependent.getInt(ip) & 0xFFFFFFFFL;
+        checkInput(ip + 4, skipped, inputEnd);
+        ip += 4 + skipped;
+        continue;
+      }
+      if (magic != MAGIC) {
+        throw malformed("unknown magic number " + Integer.toHexString(magic));
+      }
+
+      checkInput(ip, 3, inputEnd);
+      final long descriptor = ip;
+      final int flags = PlatformDependent.getByte(ip) & 0xFF;
+      final int blockDescriptor = PlatformDependent.getByte(ip + 1) & 0xFF;
+      if ((flags & 0xC2) != VERSION || (blockDescriptor & 0x8F) != 0) {
+        throw malformed("unsupported frame descriptor");
+      }
+      final int blockMaxSizeId = blockDescriptor >>> 4;
+      if (blockMaxSizeId < 4) {
+        throw malformed("invalid block maximum size");
+      }
+      final int blockMaxSize = 1 << (8 + 2 * blockMaxSizeId);
+      ip += 2;
+      long contentSize = -1;
+      if ((flags & FLAG_CONTENT_SIZE) != 0) {
+        checkInput(ip, 8, inputEnd);
+        contentSize = PlatformDependent.getLong(ip);
+        ip += 8;
+      }
+      if ((flags & FLAG_DICTIONARY_ID) != 0) {
+        throw malformed("dictionaries are not supported");
+      }
+      checkInput(ip, 1, inputEnd);
+      if (PlatformDependent.getByte(ip) != headerChecksum(descriptor, ip - descriptor)) {
+        throw malformed("header checksum mismatch");
+      }
+      ip++;
+
+      final long frameStart = op;
+      final boolean linked = (flags & FLAG_BLOCK_INDEPENDENCE) == 0;
+      final boolean blockChecksum = (flags & FLAG_BLOCK_CHECKSUM) != 0;
+      while (true) {
+        checkInput(ip, 4, inputEnd);
+        final int blockHeader = PlatformDependent.getInt(ip);
+        ip += 4;
+        if (blockHeader == 0) {
+          break;
+        }
+        final int blockLength = blockHeader & ~UNCOMPRESSED_BLOCK;
+        if (blockLength > blockMaxSize) {
+          throw malformed("block larger than the maximum block size");
+        }
+        checkInput(ip, blockLength + (blockChecksum ? 4 : 0), inputEnd);
+        if (blockChecksum &&
+            XxHash.hash32(ip, blockLength, 0) != PlatformDependent.getInt(ip + blockLength)) {
+          throw malformed("block checksum mismatch");
+        }
+        if ((blockHeader & UNCOMPRESSED_BLOCK) != 0) {
+          checkOutput(op, blockLength, outputEnd);
+          PlatformDependent.copyMemory(ip, op, blockLength);
+          op += blockLength;
+        } else {
+          final long blockEnd = Math.min(outputEnd, op + blockMaxSize);
+          op = decompressBlock(ip, ip + blockLength, linked ? frameStart : op, op, blockEnd);
+        }
+        ip += blockLength + (blockChecksum ? 4 : 0);
+      }
+      if ((flags & FLAG_CONTENT_CHECKSUM) != 0) {
+        checkInput(ip, 4, inputEnd);
+        if (XxHash.hash32(frameStart, op - frameStart, 0) != PlatformDependent.getInt(ip)) {
+          throw malformed("content checksum mismatch");
+        }
+        ip += 4;
+      }
+      if (contentSize >= 0 && contentSize != op - frameStart) {
+        throw malformed("content size mismatch");
+      }
+    }
+    if (op != outputEnd) {
+      throw malformed("expected " + outputLength + " bytes but got " + (op - output));
+    }
+  }
+
+  /**
+   * Compresses a block, returning its compressed length or -1 if it does not fit the capacity.
+   */
+  private static int compressBlock(long src, int length, long dst, int capacity, int[] hashTable) {
+    final long srcEnd = src + length;
+    final long dstEnd = dst + capacity;
+    final int hashShift = 32 - Integer.numberOfTrailingZeros(hashTable.length);
+    long op = dst;
+    long anchor = src;
+
+    if (length >= MF_LIMIT + 1) {
+      Arrays.fill(hashTable, 0);
+      final long matchLimit = srcEnd - LAST_LITERALS;
+      final long mfLimit = srcEnd - MF_LIMIT;
+      long ip = src + 1;
+
+      search:
+      while (true) {
+        // find the next match, skipping faster over data that does not compress
+        long ref;
+        long forward = ip;
+        int searchCount = 1 << SKIP_STRENGTH;
+        do {
+          ip = forward;
+          forward += searchCount++ >>> SKIP_STRENGTH;
+          if (ip > mfLimit) {
+            break search;
+          }
+          final int h = hash(PlatformDependent.getInt(ip), hashShift);
+          ref = src + hashTable[h];
+          hashTable[h] = (int) (ip - src);
+        } while (ref + MAX_DISTANCE < ip || PlatformDependent.getInt(ref) != PlatformDependent.getInt(ip));
+
+        while (ip > anchor && ref > src && PlatformDependent.getByte(ip - 1) == PlatformDependent.getByte(ref - 1)) {
+          ip--;
+          ref--;
+        }
+
+        final int literalLength = (int) (ip - anchor);
+        long token = op++;
+        if (op + literalLength + literalLength / 255 + 2 + 1 + LAST_LITERALS > dstEnd) {
+          return -1;
+        }
+        op = writeLength(op, literalLength);
+        PlatformDependent.putByte(token, (byte) (Math.min(literalLength, RUN_MASK) << 4));
+        if (literalLength <= 8) {
+          // the input has more than 8 bytes left past the match, and the output room for the match and last literals
+          PlatformDependent.putLong(op, PlatformDependent.getLong(anchor));
+        } else {
+          PlatformDependent.copyMemory(anchor, op, literalLength);
+        }
+        op += literalLength;
+
+        while (true) {
+          PlatformDependent.putShort(op, (short) (ip - ref));
+          op += 2;
+          ip += MIN_MATCH;
+          final long matchStart = ip;
+          ip += commonLength(ip, ref + MIN_MATCH, matchLimit);
+          final int matchLength = (int) (ip - matchStart);
+          if (op + matchLength / 255 + 1 + LAST_LITERALS > dstEnd) {
+            return -1;
+          }
+          PlatformDependent.putByte(token, (byte) (PlatformDependent.getByte(token) | Math.min(matchLength, RUN_MASK)));
+          op = writeLength(op, matchLength);
+          anchor = ip;
+          if (ip > mfLimit) {
+            break search;
+          }
+          hashTable[hash(PlatformDependent.getInt(ip - 2), hashShift)] = (int) (ip - 2 - src);
+
+          // a match right at the end of the previous one needs no literals
+          final int h = hash(PlatformDependent.getInt(ip), hashShift);
+          ref = src + hashTable[h];
+          hashTable[h] = (int) (ip - src);
+          if (ref + MAX_DISTANCE < ip || PlatformDependent.getInt(ref) != PlatformDependent.getInt(ip)) {
+            ip++;
+            break;
+          }
+          token = op++;
+          PlatformDependent.putByte(token, (byte) 0);
+        }
+      }
+    }
+
+    final int lastRun = (int) (srcEnd - anchor);
+    if (op + 1 + lastRun + (lastRun + 255 - RUN_MASK) / 255 > dstEnd) {
+      return -1;
+    }
+    PlatformDependent.putByte(op++, (byte) (Math.min(lastRun, RUN_MASK) << 4));
+    op = writeLength(op, lastRun);
+    PlatformDependent.copyMemory(anchor, op, lastRun);
+    op += lastRun;
+    return (int) (op - dst);
+  }
+
+  /**
+   * Decompresses a block into the output, returning the new output position.
+   *
+   * @param lowLimit the lowest address matches may reference.
+   */
+  private static long decompressBlock(long ip, long ipEnd, long lowLimit, long op, long opEnd) {
+    while (true) {
+      checkInput(ip, 1, ipEnd);
+      final int token = PlatformDependent.getByte(ip++) & 0xFF;
+
+      long literalLength = token >>> 4;
+      if (literalLength == RUN_MASK) {
+        int b;
+        do {
+          checkInput(ip, 1, ipEnd);
+          b = PlatformDependent.getByte(ip++) & 0xFF;
+          literalLength += b;
+        } while (b == 255);
+      }
+      checkInput(ip, literalLength, ipEnd);
+      checkOutput(op, literalLength, opEnd);
+      PlatformDependent.copyMemory(ip, op, literalLength);
+      ip += literalLength;
+      op += literalLength;
+      if (ip == ipEnd) {
+        return op;
+      }
+
+      checkInput(ip, 2, ipEnd);
+      final int offset = PlatformDependent.getShort(ip) & 0xFFFF;
+      ip += 2;
+      long matchLength = token & RUN_MASK;
+      if (matchLength == RUN_MASK) {
+        int b;
+        do {
+          checkInput(ip, 1, ipEnd);
+          b = PlatformDependent.getByte(ip++) & 0xFF;
+          matchLength += b;
+        } while (b == 255);
+      }
+      matchLength += MIN_MATCH;
+      if (offset == 0 || offset > op - lowLimit) {
+        throw malformed("invalid match offset");
+      }
+      checkOutput(op, matchLength, opEnd);
+      op = copyMatch(op, offset, matchLength);
+    }
+  }
+
+  /**
+   * Copies a match of the given offset, which may overlap the bytes it produces.
+   */
+  static long copyMatch(long op, long offset, long length) {
+    final long ref = op - offset;
+    final long end = op + length;
+    if (offset >= length) {
+      PlatformDependent.copyMemory(ref, op, length);
+      return end;
+    }
+    // the copied bytes repeat with a period of offset, so the source can double at each step
+    while (op < end) {
+      final long chunk = Math.min(op - ref, end - op);
+      PlatformDependent.copyMemory(ref, op, chunk);
+      op += chunk;
+    }
+    return end;
+  }
+
+  /**
+   * Gets the number of equal bytes at the given addresses, stopping at the limit of the first one.
+   */
+  static long commonLength(long p, long q, long limit) {
+    final long start = p;
+    while (p + 8 <= limit) {
+      final long diff = PlatformDependent.getLong(p) ^ PlatformDependent.getLong(q);
+      if (diff != 0) {
+        return p - start + (Long.numberOfTrailingZeros(diff) >>> 3);
+      }
+      p += 8;
+      q += 8;
+    }
+    while (p < limit && PlatformDependent.getByte(p) == PlatformDependent.getByte(q)) {
+      p++;
+      q++;
+    }
+    return p - start;
+  }
+
+  private static long writeLength(long op, int length) {
+    if (length >= RUN_MASK) {
+      int remaining = length - RUN_MASK;
+      while (remaining >= 255) {
+        PlatformDependent.putByte(op++, (byte) 255);
+        remaining -= 255;
+      }
+      PlatformDependent.putByte(op++, (byte) remaining);
+    }
+    return op;
+  }
+
+  private static int hash(int value, int shift) {
+    return (value * -1640531535) >>> shift;
+  }
+
+  /**
+   * Gets the log of the hash table size to compress blocks of the given length.
+   */
+  static int hashLog(long length) {
+    return Math.max(8, Math.min(MAX_HASH_LOG, 64 - Long.numberOfLeadingZeros(length)));
+  }
+
+  private static byte headerChecksum(long address, long length) {
+    return (byte) (XxHash.hash32(address, length, 0) >>> 8);
+  }
+
+  static void checkInput(long ip, long length, long end) {
+    if (length < 0 || length > end - ip) {
+      throw malformed("truncated input");
+    }
+  }
+
+  static void checkOutput(long op, long length, long end) {
+    if (length < 0 || length > end - op) {
+      throw malformed("output larger than expected");
+    }
+  }
+
+  private static IllegalArgumentException malformed(String message) {
+    return new IllegalArgumentException("Malformed LZ4 frame: " + message);
+  }
+}
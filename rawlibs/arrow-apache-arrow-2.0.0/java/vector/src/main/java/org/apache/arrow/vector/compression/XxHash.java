@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.compression;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * The xxHash32 function, used for the checksums of the LZ4 frame format. The xxHash64 checksums of
+ * the Zstandard format are computed by {@link org.apache.arrow.memory.util.hash.XxHasher64}.
+ */
+final class XxHash {
+
+  private static final int PRIME32_1 = 0x9E3779B1;
+  private static final int PRIME32_2 = 0x85EBCA77;
+  private static final int PRIME32_3 = 0xC2B2AE3D;
+  private static final int PRIME32_4 = 0x27D4EB2F;
+  private static final int PRIME32_5 = 0x165667B1;
+
+  private XxHash() {
+  }
+
+  /**
+   * Computes the xxHash32 of the given memory region.
+   */
+  static int hash32(long address, long length, int seed) {
+    final long end = address + length;
+    long p = address;
+    int h;
+    if (length >= 16) {
+      int v1 = seed + PRIME32_1 + PRIME32_2;
+      int v2 = seed + PRIME32_2;
+      int v3 = seed;
+      int v4 = seed - PRIME32_1;
+      final long limit = end - 16;
+      do {
+        v1 = round32(v1, PlatformDependent.getInt(p));
+        v2 = round32(v2, PlatformDependent.getInt(p + 4));
+        v3 = round32(v3, PlatformDependent.getInt(p + 8));
+        v4 = round32(v4, PlatformDependent.getInt(p + 12));
+        p += 16;
+      } while (p <= limit);
+      h = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7) + Integer.rotateLeft(v3, 12) +
+          Integer.rotateLeft(v4, 18);
+    } else {
+      h = seed + PRIME32_5;
+    }
+    h += (int) length;
+    while (p + 4 <= end) {
+      h += PlatformDependent.getInt(p) * PRIME32_3;
+      h = Integer.rotateLeft(h, 17) * PRIME32_4;
+      p += 4;
+    }
+    while (p < end) {
+      h += (PlatformDependent.getByte(p) & 0xFF) * PRIME32_5;
+      h = Integer.rotateLeft(h, 11) * PRIME32_1;
+      p++;
+    }
+    h ^= h >>> 15;
+    h *= PRIME32_2;
+    h ^= h >>> 13;
+    h *= PRIME32_3;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  private static int round32(int acc, int input) {
+    acc += input * PRIME32_2;
+    acc = Integer.rotateLeft(acc, 13);
+    return acc * PRIME32_1;
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.compression;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+
+/**
+ * Compression codec for the Zstandard format, implemented in Java.
+ *
+ * <p>Each call borrows up to one block (128 KB) of scratch memory from the allocator.
+ */
+public class ZstdCompressionCodec extends AbstractCompressionCodec {
+
+  @Override
+  protected long maxCompressedLength(long uncompressedLength) {
+    return ZstdCompressor.maxCompressedLength(uncompressedLength);
+  }
+
+  @Override
+  protected long doCompress(BufferAllocator allocator, long input, long length, long output) {
+    try (ArrowBuf scratch = allocator.buffer(scratchLength(length))) {
+      return new ZstdCompressor(length, scratch.memoryAddress()).compress(input, length, output);
+    }
+  }
+
+  @Override
+  protected void doDecompress(BufferAllocator allocator, long input, long length, long output, long outputLength) {
+    final long scratchLength = scratchLength(outputLength);
+    try (ArrowBuf scratch = allocator.buffer(scratchLength)) {
+      new ZstdDecompressor(scratch.memoryAddress(), scratchLength).decompress(input, length, output, outputLength);
+    }
+  }
+
+  private static long scratchLength(long length) {
+    return Math.min(ZstdDecompressor.MAX_BLOCK_SIZE, length);
+  }
+
+  @Override
+  public String getCodecName() {
+    return "ZSTD";
+  }
+}
@@ -0,0 +1,986 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.compression;
+
+import static org.apache.arrow.vector.compression.ZstdDecompressor.DEFAULT_LITERAL_LENGTH_DISTRIBUTION;
+import static org.apache.arrow.vector.compression.ZstdDecompressor.DEFAULT_LITERAL_LENGTH_LOG;
+import static org.apache.arrow.vector.compression.ZstdDecompressor.DEFAULT_MATCH_LENGTH_DISTRIBUTION;
+import static org.apache.arrow.vector.compression.ZstdDecompressor.DEFAULT_MATCH_LENGTH_LOG;
+import static org.apache.arrow.vector.compression.ZstdDecompressor.DEFAULT_OFFSET_DISTRIBUTION;
+import static org.apache.arrow.vector.compression.ZstdDecompressor.DEFAULT_OFFSET_LOG;
+import static org.apache.arrow.vector.compression.ZstdDecompressor.LITERAL_LENGTH_BASE;
+import static org.apache.arrow.vector.compression.ZstdDecompressor.LITERAL_LENGTH_BITS;
+import static org.apache.arrow.vector.compression.ZstdDecompressor.MATCH_LENGTH_BASE;
+import static org.apache.arrow.vector.compression.ZstdDecompressor.MATCH_LENGTH_BITS;
+import static org.apache.arrow.vector.compression.ZstdDecompressor.highestBit;
+
+import java.util.Arrays;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Compresses memory in the Zstandard format, see https://tools.ietf.org/html/rfc8878.
+ *
+ * <p>Matches are found greedily with a hash table of 4-byte sequences and the last offset is tried first, which
+ * suits the fixed-width values of columnar data. Literals are Huffman coded when that pays off, and each sequence
+ * field picks the cheapest of an RLE, the predefined or a new FSE table. Blocks that do not shrink are stored raw.
+ * An instance keeps the tables of the frame being encoded and is not thread-safe.
+ */
+final class ZstdCompressor {
+
+  private static final int MAX_FRAME_SIZE = 1 << 30;
+  /**
+   * The window of frames too large to be a single segment.
+   */
+  private static final int WINDOW_LOG = 23;
+  private static final int FRAME_HEADER_SIZE = 4 + 1 + 1 + 8;
+  private static final int BLOCK_HEADER_SIZE = 3;
+  private static final int MAX_BLOCK_SIZE = ZstdDecompressor.MAX_BLOCK_SIZE;
+  private static final int MIN_BLOCK_SIZE = 16;
+
+  private static final int MIN_MATCH = 4;
+  private static final int MAX_HASH_LOG = 17;
+  private static final int SKIP_STRENGTH = 7;
+
+  private static final int MIN_HUFFMAN_LITERALS = 64;
+  private static final int MAX_HUFFMAN_BITS = 11;
+  private static final int SINGLE_STREAM_LIMIT = 1024;
+  private static final int WEIGHT_TABLE_LOG = 6;
+  private static final int MAX_WEIGHT = 12;
+
+  private static final int MAX_LITERAL_LENGTH_LOG = 9;
+  private static final int MAX_MATCH_LENGTH_LOG = 9;
+  private static final int MAX_OFFSET_LOG = 8;
+  private static final int MAX_OFFSET_CODE = 31;
+  private static final int MIN_TABLE_LOG = 5;
+  private static final int MIN_COMPRESSED_TABLE_SEQUENCES = 64;
+  private static final double LOG_2 = Math.log(2);
+
+  private static final FseEncoder LITERAL_LENGTH_ENCODER =
+      new FseEncoder(DEFAULT_LITERAL_LENGTH_DISTRIBUTION, DEFAULT_LITERAL_LENGTH_LOG);
+  private static final FseEncoder MATCH_LENGTH_ENCODER =
+      new FseEncoder(DEFAULT_MATCH_LENGTH_DISTRIBUTION, DEFAULT_MATCH_LENGTH_LOG);
+  private static final FseEncoder OFFSET_ENCODER = new FseEncoder(DEFAULT_OFFSET_DISTRIBUTION, DEFAULT_OFFSET_LOG);
+
+  private static final byte[] LITERAL_LENGTH_CODES = codes(LITERAL_LENGTH_BASE, LITERAL_LENGTH_BITS, 0, 64);
+  private static final byte[] MATCH_LENGTH_CODES = codes(MATCH_LENGTH_BASE, MATCH_LENGTH_BITS, 3, 128);
+
+  private final int[] hashTable;
+  private final int hashShift;
+  private final int[] literalLengths;
+  private final int[] matchLengths;
+  private final int[] offsetValues;
+  private final byte[] literalLengthCodes;
+  private final byte[] matchLengthCodes;
+  private final byte[] offsetCodes;
+  private final BitWriter writer = new BitWriter();
+  /**
+   * Memory the literals of a block are gathered into.
+   */
+  private final long scratch;
+
+  private final int[] histogram = new int[256];
+  private final int[] codeLengths = new int[256];
+  private final int[] codes = new int[256];
+  private final byte[] weights = new byte[256];
+
+  private long repeatOffset1;
+  private long repeatOffset2;
+  private long repeatOffset3;
+
+  /**
+   * Constructs a new instance sized to compress the given number of bytes.
+   *
+   * @param length the number of bytes to compress.
+   * @param scratch the address of memory holding the smallest of the block maximum size and the given length.
+   */
+  ZstdCompressor(long length, long scratch) {
+    this.scratch = scratch;
+    final int hashLog = Math.max(8, Math.min(MAX_HASH_LOG, 64 - Long.numberOfLeadingZeros(length)));
+    hashTable = new int[1 << hashLog];
+    hashShift = 32 - hashLog;
+    final int maxSequences = (int) Math.min(MAX_BLOCK_SIZE, length) / MIN_MATCH + 1;
+    literalLengths = new int[maxSequences];
+    matchLengths = new int[maxSequences];
+    offsetValues = new int[maxSequences];
+    literalLengthCodes = new byte[maxSequences];
+    matchLengthCodes = new byte[maxSequences];
+    offsetCodes = new byte[maxSequences];
+  }
+
+  /**
+   * Gets the maximum length of the frames compressing the given number of bytes.
+   */
+  static long maxCompressedLength(long length) {
+    final long frames = Math.max(1, (length + MAX_FRAME_SIZE - 1) / MAX_FRAME_SIZE);
+    final long blocks = Math.max(1, (length + MAX_BLOCK_SIZE - 1) / MAX_BLOCK_SIZE);
+    return length + frames * FRAME_HEADER_SIZE + blocks * BLOCK_HEADER_SIZE;
+  }
+
+  /**
+   * Compresses the input into one frame per gigabyte.
+   *
+   * @param input the address of the data to compress.
+   * @param length the length of the data to compress.
+   * @param output the address of the output, at least {@link #maxCompressedLength(long)} bytes long.
+   * @return the length of the frames.
+   */
+  long compress(long input, long length, long output) {
+    long op = output;
+    long position = 0;
+    do {
+      final int frameLength = (int) Math.min(MAX_FRAME_SIZE, length - position);
+      op = compressFrame(input + position, frameLength, op);
+      position += frameLength;
+    } while (position < length);
+    return op - output;
+  }
+
+  private long compressFrame(long base, int length, long op) {
+    PlatformDependent.putInt(op, ZstdDecompressor.MAGIC);
+    op += 4;
+    final boolean singleSegment = length <= 1 << WINDOW_LOG;
+    final int contentSizeFlag = !singleSegment ? 2 : length < 256 ? 0 : length < 65536 + 256 ? 1 : 2;
+    PlatformDependent.putByte(op++, (byte) (contentSizeFlag << 6 | (singleSegment ? 0x20 : 0)));
+    if (!singleSegment) {
+      PlatformDependent.putByte(op++, (byte) ((WINDOW_LOG - 10) << 3));
+    }
+    switch (contentSizeFlag) {
+      case 0:
+        PlatformDependent.putByte(op++, (byte) length);
+        break;
+      case 1:
+        PlatformDependent.putShort(op, (short) (length - 256));
+        op += 2;
+        break;
+      default:
+        PlatformDependent.putInt(op, length);
+        op += 4;
+        break;
+    }
+
+    final long maxOffset = singleSegment ? length : 1 << WINDOW_LOG;
+    repeatOffset1 = 1;
+    repeatOffset2 = 4;
+    repeatOffset3 = 8;
+    Arrays.fill(hashTable, 0);
+
+    int blockStart = 0;
+    do {
+      final int blockLength = Math.min(MAX_BLOCK_SIZE, length - blockStart);
+      final int last = blockStart + blockLength == length ? 1 : 0;
+      final long offset1 = repeatOffset1;
+      final long offset2 = repeatOffset2;
+      final long offset3 = repeatOffset3;
+      final int compressedLength = compressBlock(base, blockStart, blockLength,
+          op + BLOCK_HEADER_SIZE, blockLength - 1, maxOffset);
+      if (compressedLength < 0) {
+        // raw blocks leave the repeated offsets of the decoder untouched
+        repeatOffset1 = offset1;
+        repeatOffset2 = offset2;
+        repeatOffset3 = offset3;
+        writeBlockHeader(op, last | ZstdDecompressor.BLOCK_RAW << 1 | blockLength << 3);
+        PlatformDependent.copyMemory(base + blockStart, op + BLOCK_HEADER_SIZE, blockLength);
+        op += BLOCK_HEADER_SIZE + blockLength;
+      } else {
+        writeBlockHeader(op, last | ZstdDecompressor.BLOCK_COMPRESSED << 1 | compressedLength << 3);
+        op += BLOCK_HEADER_SIZE + compressedLength;
+      }
+      blockStart += blockLength;
+    } while (blockStart < length);
+    return op;
+  }
+
+  private static void writeBlockHeader(long op, int header) {
+    PlatformDependent.putShort(op, (short) header);
+    PlatformDependent.putByte(op + 2, (byte) (header >>> 16));
+  }
+
+  /**
+   * Compresses a block, returning its compressed length or -1 if it does not fit the capacity.
+   */
+  private int compressBlock(long base, int blockStart, int blockLength, long dst, int capacity, long maxOffset) {
+    if (blockLength < MIN_BLOCK_SIZE) {
+      return -1;
+    }
+    final long start = base + blockStart;
+    final long end = start + blockLength;
+    final long searchLimit = end - MIN_MATCH;
+    final int[] hashTable = this.hashTable;
+    long offset1 = repeatOffset1;
+    long offset2 = repeatOffset2;
+    long offset3 = repeatOffset3;
+
+    int count = 0;
+    long ip = start;
+    long anchor = start;
+    while (ip <= searchLimit) {
+      final int value = PlatformDependent.getInt(ip);
+      final int h = (value * -1640531535) >>> hashShift;
+      long matchLength;
+      long offset;
+      final long repeat = ip - offset1;
+      if (ip > anchor && repeat >= base && PlatformDependent.getInt(repeat) == value) {
+        hashTable[h] = (int) (ip - base);
+        offset = offset1;
+        matchLength = MIN_MATCH + Lz4Frame.commonLength(ip + MIN_MATCH, repeat + MIN_MATCH, end);
+      } else {
+        long candidate = base + hashTable[h];
+        hashTable[h] = (int) (ip - base);
+        if (candidate >= ip || ip - candidate > maxOffset || PlatformDependent.getInt(candidate) != value) {
+          ip += 1 + ((ip - anchor) >>> SKIP_STRENGTH);
+          continue;
+        }
+        matchLength = MIN_MATCH + Lz4Frame.commonLength(ip + MIN_MATCH, candidate + MIN_MATCH, end);
+        while (ip > anchor && candidate > base &&
+            PlatformDependent.getByte(ip - 1) == PlatformDependent.getByte(candidate - 1)) {
+          ip--;
+          candidate--;
+          matchLength++;
+        }
+        offset = ip - candidate;
+      }
+
+      final int literalLength = (int) (ip - anchor);
+      int offsetValue;
+      if (offset == offset1 && literalLength > 0) {
+        offsetValue = 1;
+      } else {
+        offsetValue = (int) offset + 3;
+        offset3 = offset2;
+        offset2 = offset1;
+        offset1 = offset;
+      }
+      literalLengths[count] = literalLength;
+      matchLengths[count] = (int) matchLength;
+      offsetValues[count] = offsetValue;
+      count++;
+
+      ip += matchLength;
+      anchor = ip;
+      if (ip <= searchLimit) {
+        hashTable[(PlatformDependent.getInt(ip - 2) * -1640531535) >>> hashShift] = (int) (ip - 2 - base);
+      }
+    }
+    repeatOffset1 = offset1;
+    repeatOffset2 = offset2;
+    repeatOffset3 = offset3;
+
+    // literals section, gathered in the scratch memory first
+    final long limit = dst + capacity;
+    long literalsLength = 0;
+    long position = start;
+    for (int i = 0; i < count; i++) {
+      PlatformDependent.copyMemory(position, scratch + literalsLength, literalLengths[i]);
+      literalsLength += literalLengths[i];
+      position += literalLengths[i] + matchLengths[i];
+    }
+    PlatformDependent.copyMemory(anchor, scratch + literalsLength, end - anchor);
+    literalsLength += end - anchor;
+    long op = writeLiterals((int) literalsLength, dst, limit);
+    if (op < 0 || op + 4 > limit) {
+      return -1;
+    }
+
+    // sequences section
+    if (count < 128) {
+      PlatformDependent.putByte(op++, (byte) count);
+    } else if (count < 0x7F00) {
+      PlatformDependent.putByte(op++, (byte) ((count >>> 8) + 128));
+      PlatformDependent.putByte(op++, (byte) count);
+    } else {
+      PlatformDependent.putByte(op++, (byte) 255);
+      PlatformDependent.putShort(op, (short) (count - 0x7F00));
+      op += 2;
+    }
+    if (count == 0) {
+      return (int) (op - dst);
+    }
+    final long sequencesLength = encodeSequences(count, op, limit);
+    return sequencesLength < 0 ? -1 : (int) (op + sequencesLength - dst);
+  }
+
+  /**
+   * Writes the literals section of the literals gathered in the scratch memory.
+   *
+   * @return the address following the section, or -1 if it does not fit before the limit.
+   */
+  private long writeLiterals(int length, long op, long limit) {
+    if (length >= MIN_HUFFMAN_LITERALS) {
+      final int[] histogram = this.histogram;
+      Arrays.fill(histogram, 0);
+      for (long p = scratch, end = scratch + length; p < end; p++) {
+        histogram[PlatformDependent.getByte(p) & 0xFF]++;
+      }
+      int symbols = 0;
+      for (int count : histogram) {
+        symbols += count > 0 ? 1 : 0;
+      }
+      if (symbols == 1) {
+        op = writeLiteralsHeader(ZstdDecompressor.LITERALS_RLE, length, op);
+        PlatformDependent.putByte(op, PlatformDependent.getByte(scratch));
+        return op + 1;
+      }
+      final long compressedEnd = writeCompressedLiterals(length, op, limit);
+      if (compressedEnd >= 0) {
+        return compressedEnd;
+      }
+    }
+    if (op + 3 + length > limit) {
+      return -1;
+    }
+    op = writeLiteralsHeader(ZstdDecompressor.LITERALS_RAW, length, op);
+    PlatformDependent.copyMemory(scratch, op, length);
+    return op + length;
+  }
+
+  private static long writeLiteralsHeader(int type, int length, long op) {
+    if (length < 32) {
+      PlatformDependent.putByte(op, (byte) (type | length << 3));
+      return op + 1;
+    } else if (length < 4096) {
+      PlatformDependent.putShort(op, (short) (type | 1 << 2 | length << 4));
+      return op + 2;
+    }
+    writeBlockHeader(op, type | 3 << 2 | length << 4);
+    return op + 3;
+  }
+
+  /**
+   * Writes the literals compressed with a Huffman code, in one stream or four streams.
+   *
+   * @return the address following the section, or -1 if it is not smaller than the raw literals.
+   */
+  private long writeCompressedLiterals(int length, long op, long limit) {
+    final int maxBits = buildCodeLengths();
+    final int[] codeLengths = this.codeLengths;
+    int lastSymbol = 255;
+    while (codeLengths[lastSymbol] == 0) {
+      lastSymbol--;
+    }
+    for (int s = 0; s < lastSymbol; s++) {
+      weights[s] = (byte) (codeLengths[s] == 0 ? 0 : maxBits + 1 - codeLengths[s]);
+    }
+
+    // codes are given by increasing length, then by symbol, like the decoder builds its table
+    final int[] rankStart = new int[MAX_HUFFMAN_BITS + 2];
+    for (int s = 0; s <= lastSymbol; s++) {
+      if (codeLengths[s] > 0) {
+        rankStart[maxBits + 1 - codeLengths[s]] += 1 << (maxBits - codeLengths[s]);
+      }
+    }
+    int index = 0;
+    for (int weight = 1; weight <= maxBits; weight++) {
+      final int ranks = rankStart[weight];
+      rankStart[weight] = index;
+      index += ranks;
+    }
+    for (int s = 0; s <= lastSymbol; s++) {
+      if (codeLengths[s] > 0) {
+        final int weight = maxBits + 1 - codeLengths[s];
+        codes[s] = rankStart[weight] >>> (weight - 1);
+        rankStart[weight] += 1 << (weight - 1);
+      }
+    }
+
+    final boolean singleStream = length < SINGLE_STREAM_LIMIT;
+    final int sizeFormat = singleStream ? 0 : length < 16384 ? 2 : 3;
+    final int sizeBits = sizeFormat < 2 ? 10 : sizeFormat == 2 ? 14 : 18;
+    final int headerLength = sizeFormat < 2 ? 3 : sizeFormat + 2;
+    // the compressed literals must be smaller than the raw ones
+    limit = Math.min(limit, op + length);
+    final long start = op + headerLength;
+    long p = writeWeights(lastSymbol, start, limit);
+    if (p < 0) {
+      return -1;
+    }
+    if (singleStream) {
+      final long streamLength = encodeStream(scratch, length, p, limit);
+      if (streamLength < 0) {
+        return -1;
+      }
+      p += streamLength;
+    } else {
+      final long jumpTable = p;
+      p += 6;
+      final int segment = (length + 3) / 4;
+      for (int i = 0; i < 4; i++) {
+        final int streamStart = i * segment;
+        final long streamLength = encodeStream(scratch + streamStart,
+            Math.min(segment, length - streamStart), p, limit);
+        if (streamLength < 0 || streamLength > 0xFFFF) {
+          return -1;
+        }
+        if (i < 3) {
+          PlatformDependent.putShort(jumpTable + 2 * i, (short) streamLength);
+        }
+        p += streamLength;
+      }
+    }
+    final long header = ZstdDecompressor.LITERALS_COMPRESSED | sizeFormat << 2 | (long) length << 4 |
+        (p - start) << (4 + sizeBits);
+    for (int i = 0; i < headerLength; i++) {
+      PlatformDependent.putByte(op + i, (byte) (header >>> (i << 3)));
+    }
+    return p;
+  }
+
+  /**
+   * Computes the lengths of the Huffman codes of the histogram, limited to the maximum code length of the
+   * format, returning the longest code length.
+   */
+  private int buildCodeLengths() {
+    final int[] histogram = this.histogram;
+    final int[] codeLengths = this.codeLengths;
+    Arrays.fill(codeLengths, 0);
+    int symbolCount = 0;
+    final long[] sorted = new long[256];
+    for (int s = 0; s < 256; s++) {
+      if (histogram[s] > 0) {
+        sorted[symbolCount++] = (long) histogram[s] << 8 | s;
+      }
+    }
+    Arrays.sort(sorted, 0, symbolCount);
+
+    // merge the two lightest nodes, taken from the sorted leaves and the internal nodes created in order
+    final long[] nodeWeights = new long[2 * symbolCount - 1];
+    final int[] parents = new int[2 * symbolCount - 1];
+    for (int i = 0; i < symbolCount; i++) {
+      nodeWeights[i] = sorted[i] >>> 8;
+    }
+    int leaf = 0;
+    int internal = symbolCount;
+    for (int node = symbolCount; node < nodeWeights.length; node++) {
+      for (int k = 0; k < 2; k++) {
+        final int child = leaf < symbolCount && (internal >= node || nodeWeights[leaf] <= nodeWeights[internal]) ?
+            leaf++ : internal++;
+        nodeWeights[node] += nodeWeights[child];
+        parents[child] = node;
+      }
+    }
+    final int[] depths = new int[nodeWeights.length];
+    for (int node = nodeWeights.length - 2; node >= 0; node--) {
+      depths[node] = depths[parents[node]] + 1;
+    }
+
+    // clamp the lengths, then lengthen the longest codes until the code is valid
+    int kraft = 0;
+    for (int i = 0; i < symbolCount; i++) {
+      final int length = Math.min(MAX_HUFFMAN_BITS, depths[i]);
+      codeLengths[(int) (sorted[i] & 0xFF)] = length;
+      kraft += 1 << (MAX_HUFFMAN_BITS - length);
+    }
+    while (kraft > 1 << MAX_HUFFMAN_BITS) {
+      int longest = -1;
+      for (int i = 0; i < symbolCount; i++) {
+        final int s = (int) (sorted[i] & 0xFF);
+        if (codeLengths[s] < MAX_HUFFMAN_BITS && (longest < 0 || codeLengths[s] > codeLengths[longest])) {
+          longest = s;
+        }
+      }
+      codeLengths[longest]++;
+      kraft -= 1 << (MAX_HUFFMAN_BITS - codeLengths[longest]);
+    }
+    // the weights describe complete codes only, so shorten the codes of the most frequent symbols to fill it
+    for (int i = symbolCount - 1; kraft < 1 << MAX_HUFFMAN_BITS; i = i == 0 ? symbolCount - 1 : i - 1) {
+      final int s = (int) (sorted[i] & 0xFF);
+      final int gain = 1 << (MAX_HUFFMAN_BITS - codeLengths[s]);
+      if (codeLengths[s] > 1 && kraft + gain <= 1 << MAX_HUFFMAN_BITS) {
+        codeLengths[s]--;
+        kraft += gain;
+      }
+    }
+    int maxBits = 0;
+    for (int s = 0; s < 256; s++) {
+      maxBits = Math.max(maxBits, codeLengths[s]);
+    }
+    return maxBits;
+  }
+
+  /**
+   * Writes the weights of the symbols before the last one, the last weight being implied.
+   *
+   * @return the address following the weights, or -1 if they do not fit before the limit.
+   */
+  private long writeWeights(int count, long op, long limit) {
+    final int[] weightCounts = new int[MAX_WEIGHT + 1];
+    int distinct = 0;
+    for (int s = 0; s < count; s++) {
+      distinct += weightCounts[weights[s]]++ == 0 ? 1 : 0;
+    }
+    long compressedLength = -1;
+    if (distinct > 1 && op + 1 < limit) {
+      compressedLength = writeCompressedWeights(weightCounts, count, op + 1, limit);
+    }
+    final int directLength = (count + 1) / 2;
+    if (count <= 128 && (compressedLength < 0 || directLength <= compressedLength)) {
+      if (op + 1 + directLength > limit) {
+        return -1;
+      }
+      PlatformDependent.putByte(op, (byte) (127 + count));
+      for (int s = 0; s < count; s += 2) {
+        final int low = s + 1 < count ? weights[s + 1] : 0;
+        PlatformDependent.putByte(op + 1 + s / 2, (byte) (weights[s] << 4 | low));
+      }
+      return op + 1 + directLength;
+    }
+    if (compressedLength < 0 || compressedLength >= 128) {
+      return -1;
+    }
+    PlatformDependent.putByte(op, (byte) compressedLength);
+    return op + 1 + compressedLength;
+  }
+
+  /**
+   * Writes the weights with a FSE table description and two interleaved FSE states.
+   *
+   * @return the length written, or -1 if it does not fit before the limit.
+   */
+  private long writeCompressedWeights(int[] weightCounts, int count, long op, long limit) {
+    final short[] distribution = normalize(weightCounts, weightCounts.length, count, WEIGHT_TABLE_LOG);
+    final long headerLength = writeDistribution(distribution, WEIGHT_TABLE_LOG, op, limit);
+    if (headerLength < 0) {
+      return -1;
+    }
+    final FseEncoder encoder = new FseEncoder(distribution, WEIGHT_TABLE_LOG);
+    final BitWriter writer = this.writer;
+    writer.initialize(op + headerLength, limit);
+    // the decoder alternates the states from the first weight, decoding backwards
+    int i = count;
+    int state1;
+    int state2;
+    if ((count & 1) != 0) {
+      state1 = encoder.initialState(weights[--i]);
+      state2 = encoder.initialState(weights[--i]);
+      state1 = encoder.encode(writer, state1, weights[--i]);
+    } else {
+      state2 = encoder.initialState(weights[--i]);
+      state1 = encoder.initialState(weights[--i]);
+    }
+    while (i > 0) {
+      state2 = encoder.encode(writer, state2, weights[--i]);
+      state1 = encoder.encode(writer, state1, weights[--i]);
+    }
+    writer.add(state2, WEIGHT_TABLE_LOG);
+    writer.add(state1, WEIGHT_TABLE_LOG);
+    final long streamLength = writer.finish();
+    return streamLength < 0 ? -1 : headerLength + streamLength;
+  }
+
+  /**
+   * Scales the counts of the symbols to a total of 2^log, keeping every present symbol.
+   */
+  private static short[] normalize(int[] counts, int symbolCount, int total, int log) {
+    final short[] distribution = new short[symbolCount];
+    final int size = 1 << log;
+    int sum = 0;
+    int largest = 0;
+    for (int s = 0; s < symbolCount; s++) {
+      if (counts[s] > 0) {
+        distribution[s] = (short) Math.max(1, ((long) counts[s] * size + total / 2) / total);
+        sum += distribution[s];
+        largest = distribution[s] > distribution[largest] ? s : largest;
+      }
+    }
+    distribution[largest] += size - sum;
+    while (distribution[largest] < 1) {
+      int donor = 0;
+      for (int s = 0; s < symbolCount; s++) {
+        donor = distribution[s] > distribution[donor] ? s : donor;
+      }
+      distribution[donor]--;
+      distribution[largest]++;
+    }
+    return distribution;
+  }
+
+  /**
+   * Writes the description of a FSE table, returning its length or -1 if it does not fit before the limit.
+   */
+  private long writeDistribution(short[] distribution, int log, long op, long limit) {
+    final BitWriter writer = this.writer;
+    writer.initialize(op, limit);
+    writer.add(log - 5, 4);
+    int remaining = (1 << log) + 1;
+    int threshold = 1 << log;
+    int bits = log + 1;
+    int symbol = 0;
+    boolean previousZero = false;
+    while (remaining > 1) {
+      if (previousZero) {
+        int runStart = symbol;
+        while (distribution[symbol] == 0) {
+          symbol++;
+        }
+        while (symbol >= runStart + 24) {
+          runStart += 24;
+          writer.add(0xFFFF, 16);
+        }
+        while (symbol >= runStart + 3) {
+          runStart += 3;
+          writer.add(3, 2);
+        }
+        writer.add(symbol - runStart, 2);
+      }
+      int value = distribution[symbol++];
+      final int max = 2 * threshold - 1 - remaining;
+      remaining -= Math.abs(value);
+      value++;
+      if (value >= threshold) {
+        value += max;
+      }
+      writer.add(value, value < max ? bits - 1 : bits);
+      previousZero = value == 1;
+      while (remaining < threshold) {
+        bits--;
+        threshold >>= 1;
+      }
+    }
+    return writer.close();
+  }
+
+  /**
+   * Writes the Huffman codes of the given literals, the last one first since the decoder reads backwards.
+   */
+  private long encodeStream(long literals, int length, long op, long limit) {
+    final BitWriter writer = this.writer;
+    final int[] codes = this.codes;
+    final int[] codeLengths = this.codeLengths;
+    writer.initialize(op, limit);
+    for (long p = literals + length - 1; p >= literals; p--) {
+      final int symbol = PlatformDependent.getByte(p) & 0xFF;
+      writer.add(codes[symbol], codeLengths[symbol]);
+    }
+    return writer.finish();
+  }
+
+  /**
+   * Writes the table modes, the table descriptions and the bitstream of the sequences.
+   *
+   * @return the length written, or -1 if it does not fit before the limit.
+   */
+  private long encodeSequences(int count, long op, long limit) {
+    final byte[] literalLengthCodes = this.literalLengthCodes;
+    final byte[] matchLengthCodes = this.matchLengthCodes;
+    final byte[] offsetCodes = this.offsetCodes;
+    final int[] literalLengthCounts = new int[LITERAL_LENGTH_BASE.length];
+    final int[] matchLengthCounts = new int[MATCH_LENGTH_BASE.length];
+    final int[] offsetCounts = new int[MAX_OFFSET_CODE + 1];
+    for (int i = 0; i < count; i++) {
+      literalLengthCodes[i] = (byte) literalLengthCode(literalLengths[i]);
+      matchLengthCodes[i] = (byte) matchLengthCode(matchLengths[i]);
+      offsetCodes[i] = (byte) highestBit(offsetValues[i]);
+      literalLengthCounts[literalLengthCodes[i]]++;
+      matchLengthCounts[matchLengthCodes[i]]++;
+      offsetCounts[offsetCodes[i]]++;
+    }
+
+    final long start = op;
+    if (op + 1 > limit) {
+      return -1;
+    }
+    final long modes = op++;
+    final SequenceTable literalLengthTable = new SequenceTable();
+    final SequenceTable offsetTable = new SequenceTable();
+    final SequenceTable matchLengthTable = new SequenceTable();
+    op = selectTable(literalLengthTable, literalLengthCounts, count, LITERAL_LENGTH_ENCODER,
+        DEFAULT_LITERAL_LENGTH_DISTRIBUTION, MAX_LITERAL_LENGTH_LOG, op, limit);
+    op = op < 0 ? op : selectTable(offsetTable, offsetCounts, count, OFFSET_ENCODER,
+        DEFAULT_OFFSET_DISTRIBUTION, MAX_OFFSET_LOG, op, limit);
+    op = op < 0 ? op : selectTable(matchLengthTable, matchLengthCounts, count, MATCH_LENGTH_ENCODER,
+        DEFAULT_MATCH_LENGTH_DISTRIBUTION, MAX_MATCH_LENGTH_LOG, op, limit);
+    if (op < 0) {
+      return -1;
+    }
+    PlatformDependent.putByte(modes,
+        (byte) (literalLengthTable.mode << 6 | offsetTable.mode << 4 | matchLengthTable.mode << 2));
+
+    // the decoder reads the bitstream backwards, so the last sequence is written first
+    final BitWriter writer = this.writer;
+    writer.initialize(op, limit);
+    int sequence = count - 1;
+    int literalLengthCode = literalLengthCodes[sequence];
+    int matchLengthCode = matchLengthCodes[sequence];
+    int offsetCode = offsetCodes[sequence];
+    int matchLengthState = matchLengthTable.initialState(matchLengthCode);
+    int offsetState = offsetTable.initialState(offsetCode);
+    int literalLengthState = literalLengthTable.initialState(literalLengthCode);
+    while (true) {
+      writer.add(literalLengths[sequence] - LITERAL_LENGTH_BASE[literalLengthCode],
+          LITERAL_LENGTH_BITS[literalLengthCode]);
+      writer.add(matchLengths[sequence] - MATCH_LENGTH_BASE[matchLengthCode], MATCH_LENGTH_BITS[matchLengthCode]);
+      writer.add(offsetValues[sequence], offsetCode);
+      if (--sequence < 0) {
+        break;
+      }
+      literalLengthCode = literalLengthCodes[sequence];
+      matchLengthCode = matchLengthCodes[sequence];
+      offsetCode = offsetCodes[sequence];
+      offsetState = offsetTable.encode(writer, offsetState, offsetCode);
+      matchLengthState = matchLengthTable.encode(writer, matchLengthState, matchLengthCode);
+      literalLengthState = literalLengthTable.encode(writer, literalLengthState, literalLengthCode);
+    }
+    matchLengthTable.flush(writer, matchLengthState);
+    offsetTable.flush(writer, offsetState);
+    literalLengthTable.flush(writer, literalLengthState);
+    final long length = writer.finish();
+    return length < 0 ? -1 : op + length - start;
+  }
+
+  /**
+   * Chooses the cheapest of the RLE, predefined and compressed modes for the codes of a field, writing the
+   * description of the table if any.
+   *
+   * @return the address following the description, or -1 if it does not fit before the limit.
+   */
+  private long selectTable(SequenceTable table, int[] counts, int count, FseEncoder defaultEncoder,
+      short[] defaultDistribution, int maxLog, long op, long limit) {
+    int symbolCount = 0;
+    int distinct = 0;
+    for (int s = 0; s < counts.length; s++) {
+      if (counts[s] > 0) {
+        symbolCount = s + 1;
+        distinct++;
+      }
+    }
+    if (distinct == 1 && count > 1) {
+      if (op + 1 > limit) {
+        return -1;
+      }
+      table.mode = ZstdDecompressor.MODE_RLE;
+      PlatformDependent.putByte(op, (byte) (symbolCount - 1));
+      return op + 1;
+    }
+
+    table.mode = ZstdDecompressor.MODE_PREDEFINED;
+    table.encoder = defaultEncoder;
+    if (symbolCount > defaultDistribution.length || count >= MIN_COMPRESSED_TABLE_SEQUENCES) {
+      // large enough for every symbol to get a cell, even if rare
+      final int log = Math.min(maxLog, Math.max(Math.max(MIN_TABLE_LOG, highestBit(distinct) + 2), highestBit(count)));
+      final short[] distribution = normalize(counts, symbolCount, count, log);
+      final long descriptionLength = writeDistribution(distribution, log, op, limit);
+      if (descriptionLength < 0) {
+        return -1;
+      }
+      final boolean usable = symbolCount <= defaultDistribution.length;
+      if (!usable || cost(counts, distribution, log) + descriptionLength * 8 <
+          cost(counts, defaultDistribution, defaultEncoder.log)) {
+        table.mode = ZstdDecompressor.MODE_COMPRESSED;
+        table.encoder = new FseEncoder(distribution, log);
+        return op + descriptionLength;
+      }
+    }
+    return op;
+  }
+
+  /**
+   * Estimates the number of bits of the states encoding the given symbol counts with a distribution.
+   */
+  private static double cost(int[] counts, short[] distribution, int log) {
+    double bits = 0;
+    for (int s = 0; s < distribution.length && s < counts.length; s++) {
+      if (counts[s] > 0) {
+        bits += counts[s] * (log - Math.log(Math.abs(distribution[s])) / LOG_2);
+      }
+    }
+    return bits;
+  }
+
+  private static int literalLengthCode(int literalLength) {
+    return literalLength < 64 ? LITERAL_LENGTH_CODES[literalLength] : highestBit(literalLength) + 19;
+  }
+
+  private static int matchLengthCode(int matchLength) {
+    final int value = matchLength - 3;
+    return value < 128 ? MATCH_LENGTH_CODES[value] : highestBit(value) + 36;
+  }
+
+  /**
+   * Maps the small values of a field to their codes.
+   */
+  private static byte[] codes(int[] bases, int[] bits, int minValue, int size) {
+    final byte[] codes = new byte[size];
+    for (int code = 0; code < bases.length; code++) {
+      for (int value = bases[code]; value < bases[code] + (1 << bits[code]) && value - minValue < size; value++) {
+        codes[value - minValue] = (byte) code;
+      }
+    }
+    return codes;
+  }
+
+  /**
+   * The table encoding the codes of a sequence field in a block, without any state in the RLE mode.
+   */
+  private static final class SequenceTable {
+    int mode;
+    FseEncoder encoder;
+
+    int initialState(int symbol) {
+      return mode == ZstdDecompressor.MODE_RLE ? 0 : encoder.initialState(symbol);
+    }
+
+    int encode(BitWriter writer, int state, int symbol) {
+      return mode == ZstdDecompressor.MODE_RLE ? 0 : encoder.encode(writer, state, symbol);
+    }
+
+    void flush(BitWriter writer, int state) {
+      if (mode != ZstdDecompressor.MODE_RLE) {
+        writer.add(state, encoder.log);
+      }
+    }
+  }
+
+  /**
+   * A FSE encoding table.
+   */
+  static final class FseEncoder {
+    final int log;
+    private final short[] states;
+    private final int[] deltaNumberOfBits;
+    private final int[] deltaFindState;
+
+    FseEncoder(short[] distribution, int log) {
+      final int size = 1 << log;
+      final int mask = size - 1;
+      final int symbolCount = distribution.length;
+      this.log = log;
+      this.states = new short[size];
+      this.deltaNumberOfBits = new int[symbolCount];
+      this.deltaFindState = new int[symbolCount];
+
+      // spread the symbols exactly like the decoder
+      final byte[] symbols = new byte[size];
+      final int[] cumulative = new int[symbolCount + 1];
+      int highThreshold = size - 1;
+      for (int s = 0; s < symbolCount; s++) {
+        if (distribution[s] == -1) {
+          cumulative[s + 1] = cumulative[s] + 1;
+          symbols[highThreshold--] = (byte) s;
+        } else {
+          cumulative[s + 1] = cumulative[s] + distribution[s];
+        }
+      }
+      final int step = (size >>> 1) + (size >>> 3) + 3;
+      int position = 0;
+      for (int s = 0; s < symbolCount; s++) {
+        for (int i = 0; i < distribution[s]; i++) {
+          symbols[position] = (byte) s;
+          do {
+            position = (position + step) & mask;
+          } while (position > highThreshold);
+        }
+      }
+      for (int u = 0; u < size; u++) {
+        states[cumulative[symbols[u]]++] = (short) (size + u);
+      }
+
+      int total = 0;
+      for (int s = 0; s < symbolCount; s++) {
+        final int probability = distribution[s];
+        if (probability == 0) {
+          deltaNumberOfBits[s] = ((log + 1) << 16) - size;
+        } else if (probability == -1 || probability == 1) {
+          deltaNumberOfBits[s] = (log << 16) - size;
+          deltaFindState[s] = total - 1;
+          total++;
+        } else {
+          final int maxBitsOut = log - highestBit(probability - 1);
+          deltaNumberOfBits[s] = (maxBitsOut << 16) - (probability << maxBitsOut);
+          deltaFindState[s] = total - probability;
+          total += probability;
+        }
+      }
+    }
+
+    int initialState(int symbol) {
+      final int bits = (deltaNumberOfBits[symbol] + (1 << 15)) >>> 16;
+      final int value = (bits << 16) - deltaNumberOfBits[symbol];
+      return states[(value >>> bits) + deltaFindState[symbol]];
+    }
+
+    int encode(BitWriter writer, int state, int symbol) {
+      final int bits = (state + deltaNumberOfBits[symbol]) >>> 16;
+      writer.add(state, bits);
+      return states[(state >>> bits) + deltaFindState[symbol]];
+    }
+  }
+
+  /**
+   * Writes a bitstream forwards, from the lowest bit of each byte.
+   */
+  static final class BitWriter {
+    private long start;
+    private long position;
+    private long limit;
+    private long container;
+    private int count;
+    private boolean overflow;
+
+    void initialize(long address, long limit) {
+      this.start = address;
+      this.position = address;
+      this.limit = limit;
+      this.container = 0;
+      this.count = 0;
+      this.overflow = false;
+    }
+
+    void add(long value, int bits) {
+      if (count + bits > 56) {
+        flush();
+      }
+      container |= (value & ((1L << bits) - 1)) << count;
+      count += bits;
+    }
+
+    private void flush() {
+      if (position + 8 <= limit) {
+        PlatformDependent.putLong(position, container);
+      } else {
+        for (int i = 0; i < (count + 7) >>> 3; i++) {
+          if (position + i >= limit) {
+            overflow = true;
+            break;
+          }
+          PlatformDependent.putByte(position + i, (byte) (container >>> (i << 3)));
+        }
+      }
+      final int bytes = count >>> 3;
+      position += bytes;
+      container >>>= bytes << 3;
+      count &= 7;
+    }
+
+    /**
+     * Writes the end mark and the pending bits, returning the length of the bitstream or -1 on overflow.
+     */
+    long finish() {
+      add(1, 1);
+      return close();
+    }
+
+    /**
+     * Writes the pending bits, returning the length of the bitstream or -1 on overflow.
+     */
+    long close() {
+      flush();
+      final long length = position - start + (count > 0 ? 1 : 0);
+      return overflow || start + length > limit ? -1 : length;
+    }
+  }
+}
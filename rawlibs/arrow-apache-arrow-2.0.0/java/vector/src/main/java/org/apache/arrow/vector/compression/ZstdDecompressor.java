@@ -0,0 +1,878 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.compression;
+
+import org.apache.arrow.memory.util.hash.XxHasher64;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Decompresses memory in the Zstandard format, see https://tools.ietf.org/html/rfc8878.
+ *
+ * <p>All the block types, literal encodings and sequence table modes are supported, as well as content
+ * checksums and skippable frames. Dictionaries are not supported. The frames are decoded straight into the
+ * output, so matches can reach back to the start of the frame whatever its window size. An instance keeps the
+ * tables of the frame being decoded and is not thread-safe.
+ */
+final class ZstdDecompressor {
+
+  static final int MAGIC = 0xFD2FB528;
+  static final int SKIPPABLE_MAGIC_MASK = 0xFFFFFFF0;
+  static final int SKIPPABLE_MAGIC = 0x184D2A50;
+
+  static final int MAX_BLOCK_SIZE = 128 << 10;
+
+  static final int BLOCK_RAW = 0;
+  static final int BLOCK_RLE = 1;
+  static final int BLOCK_COMPRESSED = 2;
+
+  static final int LITERALS_RAW = 0;
+  static final int LITERALS_RLE = 1;
+  static final int LITERALS_COMPRESSED = 2;
+  static final int LITERALS_TREELESS = 3;
+
+  static final int MODE_PREDEFINED = 0;
+  static final int MODE_RLE = 1;
+  static final int MODE_COMPRESSED = 2;
+  static final int MODE_REPEAT = 3;
+
+  static final int[] LITERAL_LENGTH_BASE = {
+      0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15,
+      16, 18, 20, 22, 24, 28, 32, 40, 48, 64, 128, 256, 512, 1024, 2048, 4096,
+      8192, 16384, 32768, 65536};
+  static final int[] LITERAL_LENGTH_BITS = {
+      0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+      1, 1, 1, 1, 2, 2, 3, 3, 4, 6, 7, 8, 9, 10, 11, 12,
+      13, 14, 15, 16};
+  static final int[] MATCH_LENGTH_BASE = {
+      3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18,
+      19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32, 33, 34,
+      35, 37, 39, 41, 43, 47, 51, 59, 67, 83, 99, 131, 259, 515, 1027, 2051,
+      4099, 8195, 16387, 32771, 65539};
+  static final int[] MATCH_LENGTH_BITS = {
+      0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+      0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+      1, 1, 1, 1, 2, 2, 3, 3, 4, 4, 5, 7, 8, 9, 10, 11,
+      12, 13, 14, 15, 16};
+
+  static final short[] DEFAULT_LITERAL_LENGTH_DISTRIBUTION = {
+      4, 3, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 1, 1, 1,
+      2, 2, 2, 2, 2, 2, 2, 2, 2, 3, 2, 1, 1, 1, 1, 1,
+      -1, -1, -1, -1};
+  static final short[] DEFAULT_MATCH_LENGTH_DISTRIBUTION = {
+      1, 4, 3, 2, 2, 2, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1,
+      1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,
+      1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, -1, -1,
+      -1, -1, -1, -1, -1};
+  static final short[] DEFAULT_OFFSET_DISTRIBUTION = {
+      1, 1, 1, 1, 1, 1, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1,
+      1, 1, 1, 1, 1, 1, 1, 1, -1, -1, -1, -1, -1};
+  static final int DEFAULT_LITERAL_LENGTH_LOG = 6;
+  static final int DEFAULT_MATCH_LENGTH_LOG = 6;
+  static final int DEFAULT_OFFSET_LOG = 5;
+
+  private static final int MAX_LITERAL_LENGTH_LOG = 9;
+  private static final int MAX_MATCH_LENGTH_LOG = 9;
+  private static final int MAX_OFFSET_LOG = 8;
+  private static final int MAX_WEIGHT_LOG = 6;
+  private static final int MAX_OFFSET_CODE = 31;
+  private static final int MAX_HUFFMAN_BITS = 11;
+  private static final int MAX_HUFFMAN_WEIGHT = 12;
+
+  private static final FseTable DEFAULT_LITERAL_LENGTH_TABLE = new FseTable(DEFAULT_LITERAL_LENGTH_LOG);
+  private static final FseTable DEFAULT_MATCH_LENGTH_TABLE = new FseTable(DEFAULT_MATCH_LENGTH_LOG);
+  private static final FseTable DEFAULT_OFFSET_TABLE = new FseTable(DEFAULT_OFFSET_LOG);
+
+  static {
+    DEFAULT_LITERAL_LENGTH_TABLE.initialize(DEFAULT_LITERAL_LENGTH_DISTRIBUTION,
+        DEFAULT_LITERAL_LENGTH_DISTRIBUTION.length, DEFAULT_LITERAL_LENGTH_LOG);
+    DEFAULT_MATCH_LENGTH_TABLE.initialize(DEFAULT_MATCH_LENGTH_DISTRIBUTION,
+        DEFAULT_MATCH_LENGTH_DISTRIBUTION.length, DEFAULT_MATCH_LENGTH_LOG);
+    DEFAULT_OFFSET_TABLE.initialize(DEFAULT_OFFSET_DISTRIBUTION,
+        DEFAULT_OFFSET_DISTRIBUTION.length, DEFAULT_OFFSET_LOG);
+  }
+
+  /**
+   * Memory holding the literals that are not stored raw in the input.
+   */
+  private final long scratch;
+  private final long scratchCapacity;
+
+  private final BitReader reader = new BitReader();
+  private final short[] probabilities = new short[MATCH_LENGTH_BASE.length];
+
+  private final FseTable literalLengthTable = new FseTable(MAX_LITERAL_LENGTH_LOG);
+  private final FseTable offsetTable = new FseTable(MAX_OFFSET_LOG);
+  private final FseTable matchLengthTable = new FseTable(MAX_MATCH_LENGTH_LOG);
+  private final FseTable weightTable = new FseTable(MAX_WEIGHT_LOG);
+  private FseTable currentLiteralLengthTable;
+  private FseTable currentOffsetTable;
+  private FseTable currentMatchLengthTable;
+  /**
+   * The table chosen by the last call to {@link #readSequenceTable}.
+   */
+  private FseTable selectedTable;
+
+  private final byte[] weights = new byte[256];
+  private final byte[] huffmanSymbols = new byte[1 << MAX_HUFFMAN_BITS];
+  private final byte[] huffmanLengths = new byte[1 << MAX_HUFFMAN_BITS];
+  /**
+   * The maximum code length of the Huffman table, 0 when the frame has no table yet.
+   */
+  private int huffmanBits;
+
+  private long literals;
+  private long literalsLength;
+
+  private long repeatOffset1;
+  private long repeatOffset2;
+  private long repeatOffset3;
+
+  /**
+   * Constructs a new instance.
+   *
+   * @param scratch the address of the memory the literals may be decoded into.
+   * @param scratchCapacity the size of the scratch memory, the smallest of the block maximum size and the
+   *     decompressed length being enough.
+   */
+  ZstdDecompressor(long scratch, long scratchCapacity) {
+    this.scratch = scratch;
+    this.scratchCapacity = scratchCapacity;
+  }
+
+  /**
+   * Decompresses a sequence of frames, which must produce exactly the given number of bytes.
+   *
+   * @param input the address of the frames.
+   * @param length the length of the frames.
+   * @param output the address of the output.
+   * @param outputLength the expected length of the decompressed data.
+   * @throws IllegalArgumentException if the input is malformed.
+   */
+  void decompress(long input, long length, long output, long outputLength) {
+    final long inputEnd = input + length;
+    final long outputEnd = output + outputLength;
+    long ip = input;
+    long op = output;
+    while (ip < inputEnd) {
+      checkInput(ip, 4, inputEnd);
+      final int magic = PlatformDependent.getInt(ip);
+      ip += 4;
+      if ((magic & SKIPPABLE_MAGIC_MASK) == SKIPPABLE_MAGIC) {
+        checkInput(ip, 4, inputEnd);
+        final long skipped = PlatformDependent.getInt(ip) & 0xFFFFFFFFL;
+        checkInput(ip + 4, skipped, inputEnd);
+        ip += 4 + skipped;
+        continue;
+      }
+      if (magic != MAGIC) {
+        throw malformed("unknown magic number " + Integer.toHexString(magic));
+      }
+
+      checkInput(ip, 1, inputEnd);
+      final int descriptor = PlatformDependent.getByte(ip++) & 0xFF;
+      final int contentSizeFlag = descriptor >>> 6;
+      final boolean singleSegment = (descriptor & 0x20) != 0;
+      final boolean checksum = (descriptor & 0x04) != 0;
+      final int dictionaryIdFlag = descriptor & 0x03;
+      if ((descriptor & 0x08) != 0) {
+        throw malformed("reserved bit set in frame header");
+      }
+      if (!singleSegment) {
+        // the window descriptor only matters to decoders keeping a bounded history
+        checkInput(ip, 1, inputEnd);
+        ip++;
+      }
+      final int dictionaryIdLength = dictionaryIdFlag == 3 ? 4 : dictionaryIdFlag;
+      checkInput(ip, dictionaryIdLength, inputEnd);
+      if (readLittleEndian(ip, dictionaryIdLength) != 0) {
+        throw malformed("dictionaries are not supported");
+      }
+      ip += dictionaryIdLength;
+      final int contentSizeLength = contentSizeFlag == 0 ? (singleSegment ? 1 : 0) : 1 << contentSizeFlag;
+      checkInput(ip, contentSizeLength, inputEnd);
+      long contentSize = -1;
+      if (contentSizeLength > 0) {
+        contentSize = readLittleEndian(ip, contentSizeLength) + (contentSizeLength == 2 ? 256 : 0);
+        ip += contentSizeLength;
+      }
+
+      final long frameStart = op;
+      resetFrame();
+      boolean lastBlock;
+      do {
+        checkInput(ip, 3, inputEnd);
+        final int header = (int) readLittleEndian(ip, 3);
+        ip += 3;
+        lastBlock = (header & 1) != 0;
+        final int blockSize = header >>> 3;
+        switch ((header >>> 1) & 3) {
+          case BLOCK_RAW:
+            checkInput(ip, blockSize, inputEnd);
+            checkOutput(op, blockSize, outputEnd);
+            PlatformDependent.copyMemory(ip, op, blockSize);
+            ip += blockSize;
+            op += blockSize;
+            break;
+          case BLOCK_RLE:
+            checkInput(ip, 1, inputEnd);
+            checkOutput(op, blockSize, outputEnd);
+            PlatformDependent.setMemory(op, blockSize, PlatformDependent.getByte(ip));
+            ip += 1;
+            op += blockSize;
+            break;
+          case BLOCK_COMPRESSED:
+            if (blockSize > MAX_BLOCK_SIZE) {
+              throw malformed("block larger than the maximum block size");
+            }
+            checkInput(ip, blockSize, inputEnd);
+            final long literalsEnd = decodeLiterals(ip, ip + blockSize);
+            op = decodeSequences(literalsEnd, ip + blockSize, op, outputEnd, frameStart);
+            ip += blockSize;
+            break;
+          default:
+            throw malformed("reserved block type");
+        }
+      } while (!lastBlock);
+
+      if (checksum) {
+        checkInput(ip, 4, inputEnd);
+        if ((int) XxHasher64.hashCode64(frameStart, op - frameStart, 0) != PlatformDependent.getInt(ip)) {
+          throw malformed("content checksum mismatch");
+        }
+        ip += 4;
+      }
+      if (contentSize >= 0 && contentSize != op - frameStart) {
+        throw malformed("content size mismatch");
+      }
+    }
+    if (op != outputEnd) {
+      throw malformed("expected " + outputLength + " bytes but got " + (op - output));
+    }
+  }
+
+  private void resetFrame() {
+    repeatOffset1 = 1;
+    repeatOffset2 = 4;
+    repeatOffset3 = 8;
+    currentLiteralLengthTable = null;
+    currentOffsetTable = null;
+    currentMatchLengthTable = null;
+    huffmanBits = 0;
+  }
+
+  /**
+   * Decodes the literals section of a compressed block, returning the address of the sequences section.
+   */
+  private long decodeLiterals(long ip, long blockEnd) {
+    checkInput(ip, 1, blockEnd);
+    final int header = PlatformDependent.getByte(ip) & 0xFF;
+    final int type = header & 3;
+    final int sizeFormat = (header >>> 2) & 3;
+
+    if (type == LITERALS_RAW || type == LITERALS_RLE) {
+      final int headerLength = sizeFormat == 1 ? 2 : sizeFormat == 3 ? 3 : 1;
+      checkInput(ip, headerLength, blockEnd);
+      final long value = readLittleEndian(ip, headerLength);
+      literalsLength = headerLength == 1 ? value >>> 3 : value >>> 4;
+      ip += headerLength;
+      if (type == LITERALS_RAW) {
+        checkInput(ip, literalsLength, blockEnd);
+        literals = ip;
+        return ip + literalsLength;
+      }
+      checkInput(ip, 1, blockEnd);
+      checkLiteralsLength();
+      PlatformDependent.setMemory(scratch, literalsLength, PlatformDependent.getByte(ip));
+      literals = scratch;
+      return ip + 1;
+    }
+
+    final int headerLength = sizeFormat < 2 ? 3 : sizeFormat + 2;
+    final int sizeBits = sizeFormat < 2 ? 10 : sizeFormat == 2 ? 14 : 18;
+    checkInput(ip, headerLength, blockEnd);
+    final long value = readLittleEndian(ip, headerLength);
+    literalsLength = (value >>> 4) & ((1 << sizeBits) - 1);
+    final long compressedLength = (value >>> (4 + sizeBits)) & ((1 << sizeBits) - 1);
+    ip += headerLength;
+    checkInput(ip, compressedLength, blockEnd);
+    checkLiteralsLength();
+    final long end = ip + compressedLength;
+
+    long streams = ip;
+    if (type == LITERALS_COMPRESSED) {
+      streams += decodeHuffmanTable(ip, end);
+    } else if (huffmanBits == 0) {
+      throw malformed("treeless literals without a previous Huffman table");
+    }
+
+    if (sizeFormat == 0) {
+      decodeHuffmanStream(streams, end - streams, scratch, literalsLength);
+    } else {
+      checkInput(streams, 6, end);
+      final long length1 = PlatformDependent.getShort(streams) & 0xFFFF;
+      final long length2 = PlatformDependent.getShort(streams + 2) & 0xFFFF;
+      final long length3 = PlatformDependent.getShort(streams + 4) & 0xFFFF;
+      final long stream1 = streams + 6;
+      final long stream2 = stream1 + length1;
+      final long stream3 = stream2 + length2;
+      final long stream4 = stream3 + length3;
+      checkInput(stream1, length1 + length2 + length3, end);
+      final long segment = (literalsLength + 3) / 4;
+      if (literalsLength < 3 * segment) {
+        throw malformed("too few literals for four streams");
+      }
+      decodeHuffmanStream(stream1, length1, scratch, segment);
+      decodeHuffmanStream(stream2, length2, scratch + segment, segment);
+      decodeHuffmanStream(stream3, length3, scratch + 2 * segment, segment);
+      decodeHuffmanStream(stream4, end - stream4, scratch + 3 * segment, literalsLength - 3 * segment);
+    }
+    literals = scratch;
+    return end;
+  }
+
+  private void checkLiteralsLength() {
+    if (literalsLength > scratchCapacity) {
+      throw malformed("too many literals");
+    }
+  }
+
+  /**
+   * Reads the description of a Huffman table, returning its length.
+   */
+  private long decodeHuffmanTable(long ip, long end) {
+    checkInput(ip, 1, end);
+    final int header = PlatformDependent.getByte(ip) & 0xFF;
+    int count;
+    long length;
+    if (header < 128) {
+      // the weights are compressed with a FSE table
+      length = 1 + header;
+      checkInput(ip, length, end);
+      final long start = ip + 1;
+      final long tableLength = readFseTable(start, start + header, weightTable, MAX_WEIGHT_LOG, MAX_HUFFMAN_WEIGHT);
+      count = decodeWeights(start + tableLength, header - tableLength);
+    } else {
+      count = header - 127;
+      length = 1 + (count + 1) / 2;
+      checkInput(ip, length, end);
+      for (int i = 0; i < count; i++) {
+        final int b = PlatformDependent.getByte(ip + 1 + i / 2) & 0xFF;
+        weights[i] = (byte) ((i & 1) == 0 ? b >>> 4 : b & 0xF);
+      }
+    }
+
+    int total = 0;
+    for (int i = 0; i < count; i++) {
+      if (weights[i] > MAX_HUFFMAN_WEIGHT) {
+        throw malformed("invalid Huffman weight");
+      }
+      if (weights[i] > 0) {
+        total += 1 << (weights[i] - 1);
+      }
+    }
+    if (total == 0) {
+      throw malformed("empty Huffman table");
+    }
+    // the weight of the last symbol completes the total to the next power of 2
+    final int bits = highestBit(total) + 1;
+    final int rest = (1 << bits) - total;
+    if (bits > MAX_HUFFMAN_BITS || Integer.bitCount(rest) != 1) {
+      throw malformed("invalid Huffman weights");
+    }
+    weights[count++] = (byte) (highestBit(rest) + 1);
+
+    // symbols get codes by increasing length, then by value
+    final int[] rankStart = new int[MAX_HUFFMAN_BITS + 2];
+    for (int i = 0; i < count; i++) {
+      if (weights[i] > 0) {
+        rankStart[weights[i]] += 1 << (weights[i] - 1);
+      }
+    }
+    int position = 0;
+    for (int weight = 1; weight <= bits; weight++) {
+      final int ranks = rankStart[weight];
+      rankStart[weight] = position;
+      position += ranks;
+    }
+    for (int symbol = 0; symbol < count; symbol++) {
+      final int weight = weights[symbol];
+      if (weight > 0) {
+        final int span = 1 << (weight - 1);
+        final int start = rankStart[weight];
+        for (int i = start; i < start + span; i++) {
+          huffmanSymbols[i] = (byte) symbol;
+          huffmanLengths[i] = (byte) (bits + 1 - weight);
+        }
+        rankStart[weight] += span;
+      }
+    }
+    huffmanBits = bits;
+    return length;
+  }
+
+  /**
+   * Decodes the Huffman weights compressed with two interleaved FSE states, returning their number.
+   */
+  private int decodeWeights(long ip, long length) {
+    final FseTable table = weightTable;
+    reader.initialize(ip, length);
+    int state1 = (int) reader.read(table.log);
+    int state2 = (int) reader.read(table.log);
+    int count = 0;
+    while (true) {
+      if (count > weights.length - 2) {
+        throw malformed("too many Huffman weights");
+      }
+      weights[count++] = table.symbols[state1];
+      state1 = table.baselines[state1] + (int) reader.read(table.numberOfBits[state1]);
+      if (reader.isOverflowed()) {
+        weights[count++] = table.symbols[state2];
+        break;
+      }
+      weights[count++] = table.symbols[state2];
+      state2 = table.baselines[state2] + (int) reader.read(table.numberOfBits[state2]);
+      if (reader.isOverflowed()) {
+        weights[count++] = table.symbols[state1];
+        break;
+      }
+    }
+    if (count > weights.length - 1) {
+      throw malformed("too many Huffman weights");
+    }
+    return count;
+  }
+
+  private void decodeHuffmanStream(long ip, long length, long op, long count) {
+    final BitReader reader = this.reader;
+    final byte[] symbols = huffmanSymbols;
+    final byte[] lengths = huffmanLengths;
+    final int bits = huffmanBits;
+    reader.initialize(ip, length);
+    final long end = op + count;
+    while (op < end) {
+      final int index = (int) reader.peek(bits);
+      reader.skip(lengths[index]);
+      PlatformDependent.putByte(op++, symbols[index]);
+    }
+    if (!reader.isFinished()) {
+      throw malformed("Huffman stream not fully consumed");
+    }
+  }
+
+  /**
+   * Decodes the sequences section of a compressed block and executes the sequences.
+   *
+   * @return the new output position.
+   */
+  private long decodeSequences(long ip, long end, long op, long outputEnd, long frameStart) {
+    checkInput(ip, 1, end);
+    final int header = PlatformDependent.getByte(ip) & 0xFF;
+    int count;
+    if (header < 128) {
+      count = header;
+      ip += 1;
+    } else if (header < 255) {
+      checkInput(ip, 2, end);
+      count = ((header - 128) << 8) + (PlatformDependent.getByte(ip + 1) & 0xFF);
+      ip += 2;
+    } else {
+      checkInput(ip, 3, end);
+      count = (int) readLittleEndian(ip + 1, 2) + 0x7F00;
+      ip += 3;
+    }
+
+    long literalsPosition = literals;
+    final long literalsEnd = literals + literalsLength;
+    // literals may be read past their end up to here, in the input or the scratch memory
+    final long literalsLimit = literals == scratch ? scratch + scratchCapacity : end;
+    if (count > 0) {
+      checkInput(ip, 1, end);
+      final int modes = PlatformDependent.getByte(ip++) & 0xFF;
+      if ((modes & 3) != 0) {
+        throw malformed("reserved bits set in the sequences header");
+      }
+      ip = readSequenceTable(modes >>> 6, ip, end, literalLengthTable, DEFAULT_LITERAL_LENGTH_TABLE,
+          currentLiteralLengthTable, MAX_LITERAL_LENGTH_LOG, LITERAL_LENGTH_BASE.length - 1);
+      currentLiteralLengthTable = selectedTable;
+      ip = readSequenceTable((modes >>> 4) & 3, ip, end, offsetTable, DEFAULT_OFFSET_TABLE,
+          currentOffsetTable, MAX_OFFSET_LOG, MAX_OFFSET_CODE);
+      currentOffsetTable = selectedTable;
+      ip = readSequenceTable((modes >>> 2) & 3, ip, end, matchLengthTable, DEFAULT_MATCH_LENGTH_TABLE,
+          currentMatchLengthTable, MAX_MATCH_LENGTH_LOG, MATCH_LENGTH_BASE.length - 1);
+      currentMatchLengthTable = selectedTable;
+
+      final FseTable literalLengths = currentLiteralLengthTable;
+      final FseTable offsets = currentOffsetTable;
+      final FseTable matchLengths = currentMatchLengthTable;
+      final BitReader reader = this.reader;
+      reader.initialize(ip, end - ip);
+      int literalLengthState = (int) reader.read(literalLengths.log);
+      int offsetState = (int) reader.read(offsets.log);
+      int matchLengthState = (int) reader.read(matchLengths.log);
+      long offset1 = repeatOffset1;
+      long offset2 = repeatOffset2;
+      long offset3 = repeatOffset3;
+
+      for (int i = 0; i < count; i++) {
+        final int offsetCode = offsets.symbols[offsetState];
+        final int matchLengthCode = matchLengths.symbols[matchLengthState];
+        final int literalLengthCode = literalLengths.symbols[literalLengthState];
+        final long offsetValue = (1L << offsetCode) + reader.read(offsetCode);
+        final long matchLength =
+            MATCH_LENGTH_BASE[matchLengthCode] + reader.read(MATCH_LENGTH_BITS[matchLengthCode]);
+        final long literalLength =
+            LITERAL_LENGTH_BASE[literalLengthCode] + reader.read(LITERAL_LENGTH_BITS[literalLengthCode]);
+
+        long offset;
+        if (offsetValue > 3) {
+          offset = offsetValue - 3;
+          offset3 = offset2;
+          offset2 = offset1;
+          offset1 = offset;
+        } else {
+          // repeat offsets, shifted by one when there are no literals
+          final int index = (int) offsetValue - 1 + (literalLength == 0 ? 1 : 0);
+          if (index == 0) {
+            offset = offset1;
+          } else {
+            offset = index == 1 ? offset2 : index == 2 ? offset3 : offset1 - 1;
+            if (index != 1) {
+              offset3 = offset2;
+            }
+            offset2 = offset1;
+            offset1 = offset;
+          }
+        }
+
+        if (i < count - 1) {
+          literalLengthState = literalLengths.baselines[literalLengthState] +
+              (int) reader.read(literalLengths.numberOfBits[literalLengthState]);
+          matchLengthState = matchLengths.baselines[matchLengthState] +
+              (int) reader.read(matchLengths.numberOfBits[matchLengthState]);
+          offsetState = offsets.baselines[offsetState] + (int) reader.read(offsets.numberOfBits[offsetState]);
+        }
+
+        if (literalLength > literalsEnd - literalsPosition) {
+          throw malformed("sequence uses more literals than available");
+        }
+        checkOutput(op, literalLength + matchLength, outputEnd);
+        if (literalLength <= 16 && literalsPosition + 16 <= literalsLimit && op + 16 <= outputEnd) {
+          PlatformDependent.putLong(op, PlatformDependent.getLong(literalsPosition));
+          PlatformDependent.putLong(op + 8, PlatformDependent.getLong(literalsPosition + 8));
+        } else {
+          PlatformDependent.copyMemory(literalsPosition, op, literalLength);
+        }
+        literalsPosition += literalLength;
+        op += literalLength;
+        if (offset <= 0 || offset > op - frameStart) {
+          throw malformed("invalid match offset");
+        }
+        if (matchLength <= 16 && offset >= 8 && op + 16 <= outputEnd) {
+          PlatformDependent.putLong(op, PlatformDependent.getLong(op - offset));
+          PlatformDependent.putLong(op + 8, PlatformDependent.getLong(op - offset + 8));
+          op += matchLength;
+        } else {
+          op = Lz4Frame.copyMatch(op, offset, matchLength);
+        }
+      }
+      if (!reader.isFinished()) {
+        throw malformed("sequences bitstream not fully consumed");
+      }
+      repeatOffset1 = offset1;
+      repeatOffset2 = offset2;
+      repeatOffset3 = offset3;
+    } else if (ip != end) {
+      throw malformed("unexpected data after the literals");
+    }
+
+    final long remaining = literalsEnd - literalsPosition;
+    checkOutput(op, remaining, outputEnd);
+    PlatformDependent.copyMemory(literalsPosition, op, remaining);
+    return op + remaining;
+  }
+
+  /**
+   * Selects the table of a sequence field, returning the address following its description.
+   *
+   * @param current the table used by the previous block, null if none.
+   */
+  private long readSequenceTable(int mode, long ip, long end, FseTable table, FseTable defaultTable,
+      FseTable current, int maxLog, int maxSymbol) {
+    switch (mode) {
+      case MODE_PREDEFINED:
+        selectedTable = defaultTable;
+        return ip;
+      case MODE_RLE:
+        checkInput(ip, 1, end);
+        final int symbol = PlatformDependent.getByte(ip) & 0xFF;
+        if (symbol > maxSymbol) {
+          throw malformed("invalid RLE symbol");
+        }
+        table.initializeRle(symbol);
+        selectedTable = table;
+        return ip + 1;
+      case MODE_COMPRESSED:
+        final long length = readFseTable(ip, end, table, maxLog, maxSymbol);
+        selectedTable = table;
+        return ip + length;
+      default:
+        if (current == null) {
+          throw malformed("repeated table without a previous table");
+        }
+        selectedTable = current;
+        return ip;
+    }
+  }
+
+  /**
+   * Reads the description of a FSE table into the given table, returning its length.
+   */
+  private long readFseTable(long ip, long end, FseTable table, int maxLog, int maxSymbol) {
+    final short[] probabilities = this.probabilities;
+    long bitOffset = 0;
+    final int log = (int) readBits(ip, end, bitOffset, 4) + 5;
+    bitOffset += 4;
+    if (log > maxLog) {
+      throw malformed("FSE table accuracy too large");
+    }
+    int remaining = 1 << log;
+    int symbol = 0;
+    while (remaining > 0) {
+      if (symbol > maxSymbol) {
+        throw malformed("too many FSE symbols");
+      }
+      // small values are stored with one bit less
+      final int bits = highestBit(remaining + 1) + 1;
+      int value = (int) readBits(ip, end, bitOffset, bits);
+      final int lowerMask = (1 << (bits - 1)) - 1;
+      final int threshold = (1 << bits) - 1 - (remaining + 1);
+      if ((value & lowerMask) < threshold) {
+        value &= lowerMask;
+        bitOffset += bits - 1;
+      } else {
+        if (value > lowerMask) {
+          value -= threshold;
+        }
+        bitOffset += bits;
+      }
+      final int probability = value - 1;
+      remaining -= Math.abs(probability);
+      probabilities[symbol++] = (short) probability;
+      if (probability == 0) {
+        int repeat;
+        do {
+          repeat = (int) readBits(ip, end, bitOffset, 2);
+          bitOffset += 2;
+          if (symbol + repeat > maxSymbol + 1) {
+            throw malformed("too many FSE symbols");
+          }
+          for (int i = 0; i < repeat; i++) {
+            probabilities[symbol++] = 0;
+          }
+        } while (repeat == 3);
+      }
+    }
+    final long length = (bitOffset + 7) >>> 3;
+    if (remaining != 0 || length > end - ip) {
+      throw malformed("invalid FSE table");
+    }
+    table.initialize(probabilities, symbol, log);
+    return length;
+  }
+
+  /**
+   * Reads bits forward from the given bit offset, reading zeros past the end.
+   */
+  private static long readBits(long ip, long end, long bitOffset, int count) {
+    final long address = ip + (bitOffset >>> 3);
+    final long available = end - address;
+    final long word = available >= 8 ? PlatformDependent.getLong(address)
+        : available > 0 ? readLittleEndian(address, (int) available) : 0;
+    return (word >>> (bitOffset & 7)) & ((1L << count) - 1);
+  }
+
+  static long readLittleEndian(long address, int length) {
+    long value = 0;
+    for (int i = length - 1; i >= 0; i--) {
+      value = (value << 8) | (PlatformDependent.getByte(address + i) & 0xFF);
+    }
+    return value;
+  }
+
+  static int highestBit(int value) {
+    return 31 - Integer.numberOfLeadingZeros(value);
+  }
+
+  private static void checkInput(long ip, long length, long end) {
+    if (length < 0 || length > end - ip) {
+      throw malformed("truncated input");
+    }
+  }
+
+  private static void checkOutput(long op, long length, long end) {
+    if (length < 0 || length > end - op) {
+      throw malformed("output larger than expected");
+    }
+  }
+
+  private static IllegalArgumentException malformed(String message) {
+    return new IllegalArgumentException("Malformed Zstandard frame: " + message);
+  }
+
+  /**
+   * A FSE decoding table.
+   */
+  static final class FseTable {
+    final byte[] symbols;
+    final byte[] numberOfBits;
+    final int[] baselines;
+    int log;
+
+    FseTable(int maxLog) {
+      symbols = new byte[1 << maxLog];
+      numberOfBits = new byte[1 << maxLog];
+      baselines = new int[1 << maxLog];
+    }
+
+    /**
+     * Spreads the symbols over the table according to their normalized probabilities, -1 standing for
+     * "less than 1".
+     */
+    void initialize(short[] probabilities, int symbolCount, int log) {
+      final int size = 1 << log;
+      final int[] next = new int[symbolCount];
+      int highThreshold = size;
+      for (int s = 0; s < symbolCount; s++) {
+        if (probabilities[s] == -1) {
+          symbols[--highThreshold] = (byte) s;
+          next[s] = 1;
+        }
+      }
+      final int step = (size >>> 1) + (size >>> 3) + 3;
+      final int mask = size - 1;
+      int position = 0;
+      for (int s = 0; s < symbolCount; s++) {
+        final int probability = probabilities[s];
+        if (probability <= 0) {
+          continue;
+        }
+        next[s] = probability;
+        for (int i = 0; i < probability; i++) {
+          symbols[position] = (byte) s;
+          do {
+            position = (position + step) & mask;
+          } while (position >= highThreshold);
+        }
+      }
+      if (position != 0) {
+        throw malformed("invalid FSE distribution");
+      }
+      for (int i = 0; i < size; i++) {
+        final int state = next[symbols[i]]++;
+        final int bits = log - highestBit(state);
+        numberOfBits[i] = (byte) bits;
+        baselines[i] = (state << bits) - size;
+      }
+      this.log = log;
+    }
+
+    void initializeRle(int symbol) {
+      symbols[0] = (byte) symbol;
+      numberOfBits[0] = 0;
+      baselines[0] = 0;
+      log = 0;
+    }
+  }
+
+  /**
+   * Reads a bitstream backwards, from its last bit to its first one, reading zeros past its start.
+   */
+  static final class BitReader {
+    private long start;
+    /**
+     * The address of the 8 bytes held by the container, never before the start.
+     */
+    private long address;
+    private long container;
+    /**
+     * The number of bits consumed from the top of the container, more than 64 once reading past the start.
+     */
+    private int consumed;
+
+    void initialize(long address, long length) {
+      checkInput(address, 1, address + length);
+      final int last = PlatformDependent.getByte(address + length - 1) & 0xFF;
+      if (last == 0) {
+        throw malformed("missing bitstream end mark");
+      }
+      this.start = address;
+      final int skipped = Integer.numberOfLeadingZeros(last) - 23;
+      if (length >= 8) {
+        this.address = address + length - 8;
+        this.container = PlatformDependent.getLong(this.address);
+        this.consumed = skipped;
+      } else {
+        this.address = address;
+        this.container = readLittleEndian(address, (int) length);
+        this.consumed = skipped + (int) (64 - 8 * length);
+      }
+    }
+
+    long peek(int count) {
+      if (consumed + count > 64) {
+        reload();
+        if (consumed >= 64) {
+          return 0;
+        }
+      }
+      return count == 0 ? 0 : (container << consumed) >>> (64 - count);
+    }
+
+    void skip(int count) {
+      consumed += count;
+    }
+
+    long read(int count) {
+      final long value = peek(count);
+      consumed += count;
+      return value;
+    }
+
+    boolean isOverflowed() {
+      return remaining() < 0;
+    }
+
+    boolean isFinished() {
+      return remaining() == 0;
+    }
+
+    private long remaining() {
+      return (address - start) * 8 + 64 - consumed;
+    }
+
+    private void reload() {
+      final long bytes = Math.min(consumed >>> 3, address - start);
+      if (bytes > 0) {
+        address -= bytes;
+        consumed -= (int) bytes * 8;
+        container = PlatformDependent.getLong(address);
+      }
+    }
+  }
+}
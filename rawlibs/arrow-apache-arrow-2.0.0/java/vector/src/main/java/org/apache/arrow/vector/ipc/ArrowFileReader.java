@@ -19,20 +19,30 @@ package org.apache.arrow.vector.ipc;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.arrow.flatbuf.Footer;
+import org.apache.arrow.flatbuf.MessageHeader;
+import org.apache.arrow.flatbuf.RecordBatch;
+import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.Preconditions;
 import org.apache.arrow.util.VisibleForTesting;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.ipc.message.ArrowBlock;
 import org.apache.arrow.vector.ipc.message.ArrowDictionaryBatch;
 import org.apache.arrow.vector.ipc.message.ArrowFooter;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.ipc.message.MessageMetadataResult;
 import org.apache.arrow.vector.ipc.message.MessageSerializer;
+import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
 import org.apache.arrow.vector.validate.MetadataV4UnionChecker;
 import org.slf4j.Logger;
@@ -46,7 +56,18 @@ public class ArrowFileReader extends ArrowReader {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ArrowFileReader.class);
 
+  /**
+   * The size of the regions of the file mapped at once by a memory-mapped reader.
+   */
+  static final long MAPPED_WINDOW_SIZE = 64L * 1024 * 1024;
+
   private SeekableReadChannel in;
+  private FileRegionMapper mapper;
+  private long mappedBytes;
+  private ExecutorService readAheadExecutor;
+  private int readAheadBlocks;
+  private long readAheadBytes;
+  private BlockPrefetcher prefetcher;
   private ArrowFooter footer;
   private int currentDictionaryBatch = 0;
   private int currentRecordBatch = 0;
@@ -60,14 +81,87 @@ public class ArrowFileReader extends ArrowReader {
     this(new SeekableReadChannel(in), allocator);
   }
 
+  /**
+   * Constructs a reader of a file, optionally memory-mapped.
+   *
+   * <p>A memory-mapped reader only reads the footer on initialization, and maps the batches in
+   * windows of the file instead of copying them: the buffers of the loaded vectors reference the
+   * mapped pages directly, and their size is accounted to the allocator until they are released.
+   * The file is mapped privately, i.e. copy-on-write, so that writing the vectors leaves it unchanged:
+   * this requires a channel opened for both reading and writing.
+   *
+   * <p>The fixed width vectors of a memory-mapped reader have lazy validity, see
+   * {@link BaseFixedWidthVector#setLazyValidity(boolean)}: no validity buffer is allocated for the
+   * batches without nulls.
+   *
+   * @param in the channel of the file.
+   * @param allocator the allocator accounting the buffers of the batches.
+   * @param memoryMapped whether to map the batches in memory instead of copying them.
+   * @throws IllegalArgumentException if the reader is memory-mapped and the channel is not opened for
+   *     writing.
+   * @throws IOException if the channel cannot be mapped.
+   */
+  public ArrowFileReader(FileChannel in, BufferAllocator allocator, boolean memoryMapped) throws IOException {
+    this(new SeekableReadChannel(in), allocator);
+    if (memoryMapped) {
+      this.mapper = new FileRegionMapper(in, allocator, MAPPED_WINDOW_SIZE);
+    }
+  }
+
+  /**
+   * Reads the next record batches ahead on an executor, while the current one is consumed, so that
+   * sequential scans do not wait on every read. The batches read ahead are allocated from the
+   * allocator of this reader until they are loaded, and released when the reader is closed or loads
+   * a batch out of order.
+   *
+   * <p>Memory-mapped readers do not read ahead, their pages being read on access.
+   *
+   * @param executor the executor reading the batches ahead, or null to read each batch when loaded.
+   * @param maxBlocks the maximum number of batches read ahead.
+   * @param maxBytes the maximum size in bytes of the batches read ahead, the next batch being read
+   *     ahead however large.
+   * @throws IllegalStateException if this reader is memory-mapped.
+   */
+  public void setReadAhead(ExecutorService executor, int maxBlocks, long maxBytes) {
+    Preconditions.checkArgument(maxBlocks > 0, "the number of batches read ahead must be positive");
+    Preconditions.checkArgument(maxBytes > 0, "the size of the batches read ahead must be positive");
+    Preconditions.checkState(executor == null || mapper == null, "memory-mapped readers do not read ahead");
+    closePrefetcher();
+    this.readAheadExecutor = executor;
+    this.readAheadBlocks = maxBlocks;
+    this.readAheadBytes = maxBytes;
+  }
+
+  private void closePrefetcher() {
+    if (prefetcher != null) {
+      prefetcher.close();
+      prefetcher = null;
+    }
+  }
+
   @Override
   public long bytesRead() {
-    return in.bytesRead();
+    return in.bytesRead() + mappedBytes;
+  }
+
+  @Override
+  public void close(boolean closeReadSource) throws IOException {
+    try {
+      closePrefetcher();
+    } finally {
+      super.close(closeReadSource);
+    }
   }
 
   @Override
   protected void closeReadSource() throws IOException {
-    in.close();
+    try {
+      if (mapper != null) {
+        mapper.close();
+      }
+    } finally {
+      in.close();
+    }
   }
 
   @Override
@@ -117,6 +211,25 @@ public class ArrowFileReader extends ArrowReader {
     }
   }
 
+  @Override
+  protected FieldVector createVector(Field field) {
+    final FieldVector vector = super.createVector(field);
+    if (mapper != null) {
+      setLazyValidity(vector);
+    }
+    return vector;
+  }
+
+  /* leave the validity buffers of the batches without nulls omitted, rather than allocating them */
+  private static void setLazyValidity(FieldVector vector) {
+    if (vector instanceof BaseFixedWidthVector && ((BaseFixedWidthVector) vector).getTypeWidth() > 0) {
+      ((BaseFixedWidthVector) vector).setLazyValidity(true);
+    }
+    for (FieldVector child : vector.getChildrenFromFields()) {
+      setLazyValidity(child);
+    }
+  }
+
   /**
    * Get custom metadata.
    */
@@ -139,6 +252,8 @@ public class ArrowFileReader extends ArrowReader {
       throw new IOException("Requested more dictionaries than defined in footer: " + currentDictionaryBatch);
     }
     ArrowBlock block = footer.getDictionaries().get(currentDictionaryBatch++);
+    // the channel must not be read by the batches read ahead meanwhile.
+    closePrefetcher();
     return readDictionaryBatch(in, block, allocator);
   }
 
@@ -148,9 +263,25 @@ public class ArrowFileReader extends ArrowReader {
     prepareLoadNextBatch();
 
     if (currentRecordBatch < footer.getRecordBatches().size()) {
-      ArrowBlock block = footer.getRecordBatches().get(currentRecordBatch++);
-      ArrowRecordBatch batch = readRecordBatch(in, block, allocator);
-      loadRecordBatch(batch);
+      int index = currentRecordBatch;
+      ArrowBlock block = footer.getRecordBatches().get(index);
+      ArrowRecordBatch batch;
+      if (readAheadExecutor != null) {
+        if (prefetcher == null) {
+          prefetcher = new BlockPrefetcher(footer.getRecordBatches(), this::readBatch, readAheadExecutor,
+              readAheadBlocks, readAheadBytes);
+        }
+        batch = prefetcher.read(index);
+      } else {
+        batch = readBatch(block);
+      }
+      // only move to the next block once this one is read, so that an interrupted read can be retried.
+      currentRecordBatch++;
+      if (getProjection() != null && !isMapped(block)) {
+        loadProjectedRecordBatch(batch);
+      } else {
+        loadRecordBatch(batch);
+      }
       return true;
     } else {
       return false;
@@ -194,8 +325,14 @@ public class ArrowFileReader extends ArrowReader {
                                                    BufferAllocator allocator) throws IOException {
     LOGGER.debug("DictionaryRecordBatch at {}, metadata: {}, body: {}",
         block.getOffset(), block.getMetadataLength(), block.getBodyLength());
-    in.setPosition(block.getOffset());
-    ArrowDictionaryBatch batch = MessageSerializer.deserializeDictionaryBatch(in, block, allocator);
+    ArrowBuf region = mapRegion(block);
+    ArrowDictionaryBatch batch;
+    if (region != null) {
+      batch = MessageSerializer.deserializeDictionaryBatch(region, block);
+    } else {
+      in.setPosition(block.getOffset());
+      batch = MessageSerializer.deserializeDictionaryBatch(in, block, allocator);
+    }
     if (batch == null) {
       throw new IOException("Invalid file. No batch at offset: " + block.getOffset());
     }
@@ -208,11 +345,73 @@ public class ArrowFileReader extends ArrowReader {
     LOGGER.debug("RecordBatch at {}, metadata: {}, body: {}",
         block.getOffset(), block.getMetadataLength(),
         block.getBodyLength());
-    in.setPosition(block.getOffset());
-    ArrowRecordBatch batch = MessageSerializer.deserializeRecordBatch(in, block, allocator);
+    ArrowBuf region = mapRegion(block);
+    ArrowRecordBatch batch;
+    if (region != null) {
+      batch = MessageSerializer.deserializeRecordBatch(region, block);
+    } else {
+      in.setPosition(block.getOffset());
+      batch = MessageSerializer.deserializeRecordBatch(in, block, allocator);
+    }
     if (batch == null) {
       throw new IOException("Invalid file. No batch at offset: " + block.getOffset());
     }
     return batch;
   }
+
+  /**
+   * Reads the record batch of a block, with only the buffers of the projected fields if it is not
+   * mapped in memory.
+   */
+  private ArrowRecordBatch readBatch(ArrowBlock block) throws IOException {
+    BatchProjection projection = getProjection();
+    if (projection != null && !isMapped(block)) {
+      return readProjectedRecordBatch(block, projection);
+    }
+    return readRecordBatch(in, block, allocator);
+  }
+
+  /**
+   * Reads the buffers of the projected fields of a record batch, skipping the others.
+   */
+  private ArrowRecordBatch readProjectedRecordBatch(ArrowBlock block, BatchProjection projection)
+      throws IOException {
+    LOGGER.debug("Projected RecordBatch at {}, metadata: {}, body: {}",
+        block.getOffset(), block.getMetadataLength(), block.getBodyLength());
+    in.setPosition(block.getOffset());
+    MessageMetadataResult result = MessageSerializer.readMessage(in);
+    if (result == null || result.getMessage().headerType() != MessageHeader.RecordBatch) {
+      throw new IOException("Invalid file. No batch at offset: " + block.getOffset());
+    }
+    RecordBatch recordBatchFB = (RecordBatch) result.getMessage().header(new RecordBatch());
+    in.setPosition(block.getOffset() + block.getMetadataLength());
+    return projection.readRecordBatch(recordBatchFB, block.getBodyLength(), in, allocator);
+  }
+
+  /**
+   * Tells whether the message of a block is mapped in memory rather than read, i.e. if this reader is
+   * memory-mapped and the message is small enough.
+   */
+  private boolean isMapped(ArrowBlock block) {
+    return mapper != null && FileRegionMapper.canMap(block.getMetadataLength() + block.getBodyLength());
+  }
+
+  /**
+   * Maps the message of a block, if it is not to be read.
+   *
+   * @return the mapped message, or null if it must be read.
+   */
+  private ArrowBuf mapRegion(ArrowBlock block) throws IOException {
+    if (!isMapped(block)) {
+      return null;
+    }
+    long length = block.getMetadataLength() + block.getBodyLength();
+    if (block.getOffset() < 0 || block.getOffset() + length > in.size()) {
+      throw new InvalidArrowFileException("block out of file bounds at offset " + block.getOffset() +
+          ", length: " + length);
+    }
+    ArrowBuf region = mapper.map(block.getOffset(), length);
+    mappedBytes += length;
+    return region;
+  }
 }
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.metrics.ArrowMetrics;
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.VectorLoader;
 import org.apache.arrow.vector.VectorSchemaRoot;
@@ -48,6 +49,8 @@ public abstract class ArrowReader implements DictionaryProvider, AutoCloseable {
   private VectorSchemaRoot root;
   protected Map<Long, Dictionary> dictionaries;
   private boolean initialized = false;
+  private List<String> projectedFieldPaths;
+  private BatchProjection projection;
 
   protected ArrowReader(BufferAllocator allocator) {
     this.allocator = allocator;
@@ -64,6 +67,33 @@ public abstract class ArrowReader implements DictionaryProvider, AutoCloseable {
     return root;
   }
 
+  /**
+   * Restricts the vector schema root to the given fields, so that only the buffers of these fields are
+   * loaded, and read when the source allows it. A field is given by its name, or by the path of the
+   * names of nested struct fields joined with dots, e.g. "trade.price", in which case the enclosing
+   * structs only hold the given children. The fields keep the order of the schema.
+   *
+   * <p>The projection must be set before the reader is initialized, i.e. before the vector schema
+   * root is requested or a batch is loaded. The initialization fails with an
+   * IllegalArgumentException if a path does not match any field of the schema.
+   *
+   * @param fieldPaths the names or paths of the fields to read, or null to read all the fields
+   * @throws IllegalStateException if the reader is already initialized
+   */
+  public void setProjection(List<String> fieldPaths) {
+    if (initialized) {
+      throw new IllegalStateException("Unable to set the projection after the reader has been initialized");
+    }
+    this.projectedFieldPaths = fieldPaths == null ? null : new ArrayList<>(fieldPaths);
+  }
+
+  /**
+   * Returns the projection of the schema, or null if all the fields are read.
+   */
+  BatchProjection getProjection() {
+    return projection;
+  }
+
   /**
    * Returns any dictionaries that were loaded along with ArrowRecordBatches.
    *
@@ -169,22 +199,37 @@ public abstract class ArrowReader implements DictionaryProvider, AutoCloseable {
   protected void initialize() throws IOException {
     Schema originalSchema = readSchema();
     List<Field> fields = new ArrayList<>(originalSchema.getFields().size());
-    List<FieldVector> vectors = new ArrayList<>(originalSchema.getFields().size());
     Map<Long, Dictionary> dictionaries = new HashMap<>();
 
     // Convert fields with dictionaries to have the index type
     for (Field field : originalSchema.getFields()) {
-      Field updated = DictionaryUtility.toMemoryFormat(field, allocator, dictionaries);
-      fields.add(updated);
-      vectors.add(updated.createVector(allocator));
+      fields.add(DictionaryUtility.toMemoryFormat(field, allocator, dictionaries));
     }
     Schema schema = new Schema(fields, originalSchema.getCustomMetadata());
+    if (projectedFieldPaths != null) {
+      this.projection = new BatchProjection(schema, projectedFieldPaths);
+      schema = projection.getSchema();
+    }
+    List<FieldVector> vectors = new ArrayList<>(schema.getFields().size());
+    for (Field field : schema.getFields()) {
+      vectors.add(createVector(field));
+    }
 
     this.root = new VectorSchemaRoot(schema, vectors, 0);
     this.loader = new VectorLoader(root);
     this.dictionaries = Collections.unmodifiableMap(dictionaries);
   }
 
+  /**
+   * Creates the vector of a field of the vector schema root.
+   *
+   * @param field the field, dictionary encoded fields having the index type
+   * @return the vector
+   */
+  protected FieldVector createVector(Field field) {
+    return field.createVector(allocator);
+  }
+
   /**
    * Ensure the reader has been initialized and reset the VectorSchemaRoot row count to 0.
    *
@@ -196,13 +241,29 @@ public abstract class ArrowReader implements DictionaryProvider, AutoCloseable {
   }
 
   /**
-   * Load an ArrowRecordBatch to the readers VectorSchemaRoot.
+   * Load an ArrowRecordBatch to the readers VectorSchemaRoot, keeping the buffers of the projected
+   * fields if a projection is set.
    *
    * @param batch the record batch to load
    */
   protected void loadRecordBatch(ArrowRecordBatch batch) {
+    loadProjectedRecordBatch(projection == null ? batch : projection.project(batch));
+  }
+
+  /**
+   * Load an ArrowRecordBatch holding only the buffers of the projected fields to the readers
+   * VectorSchemaRoot.
+   *
+   * @param batch the record batch to load
+   */
+  void loadProjectedRecordBatch(ArrowRecordBatch batch) {
+    final boolean timed = ArrowMetrics.isEnabled();
+    final long start = timed ? System.nanoTime() : 0;
     try {
       loader.load(batch);
+      if (timed) {
+        ArrowMetrics.recordBatchRead(batch.getLength(), batch.computeBodyLength(), System.nanoTime() - start);
+      }
     } finally {
       batch.close();
     }
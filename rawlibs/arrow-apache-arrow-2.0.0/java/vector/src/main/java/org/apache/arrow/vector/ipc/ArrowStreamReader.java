@@ -22,13 +22,16 @@ import java.io.InputStream;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 
+import org.apache.arrow.flatbuf.Message;
 import org.apache.arrow.flatbuf.MessageHeader;
+import org.apache.arrow.flatbuf.RecordBatch;
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.ipc.message.ArrowDictionaryBatch;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 import org.apache.arrow.vector.ipc.message.MessageChannelReader;
+import org.apache.arrow.vector.ipc.message.MessageMetadataResult;
 import org.apache.arrow.vector.ipc.message.MessageResult;
 import org.apache.arrow.vector.ipc.message.MessageSerializer;
 import org.apache.arrow.vector.types.MetadataVersion;
@@ -104,6 +107,10 @@ public class ArrowStreamReader extends ArrowReader {
    */
   public boolean loadNextBatch() throws IOException {
     prepareLoadNextBatch();
+    BatchProjection projection = getProjection();
+    if (projection != null) {
+      return loadNextProjectedBatch(projection);
+    }
     MessageResult result = messageReader.readNext();
 
     // Reached EOS
@@ -125,7 +132,7 @@ public class ArrowStreamReader extends ArrowReader {
       return true;
     } else if (result.getMessage().headerType() == MessageHeader.DictionaryBatch) {
       // if it's dictionary message, read dictionary message out and continue to read unless get a batch or eos.
-      ArrowDictionaryBatch dictionaryBatch = readDictionary(result);
+      ArrowDictionaryBatch dictionaryBatch = readDictionary(result.getMessage(), result.getBodyBuffer());
       loadDictionary(dictionaryBatch);
       loadedDictionaryCount++;
       return loadNextBatch();
@@ -135,6 +142,41 @@ public class ArrowStreamReader extends ArrowReader {
     }
   }
 
+  /**
+   * Load the next ArrowRecordBatch reading only the buffers of the projected fields, the others being
+   * skipped in the stream without being allocated.
+   */
+  private boolean loadNextProjectedBatch(BatchProjection projection) throws IOException {
+    MessageMetadataResult result = messageReader.readNextMetadata();
+
+    // Reached EOS
+    if (result == null) {
+      return false;
+    }
+
+    Message message = result.getMessage();
+    if (message.headerType() == MessageHeader.RecordBatch) {
+      RecordBatch recordBatchFB = (RecordBatch) message.header(new RecordBatch());
+      ArrowRecordBatch batch = projection.readRecordBatch(recordBatchFB, result.getMessageBodyLength(),
+          messageReader.getReadChannel(), allocator);
+      loadProjectedRecordBatch(batch);
+      checkDictionaries();
+      return true;
+    } else if (message.headerType() == MessageHeader.DictionaryBatch) {
+      ArrowBuf bodyBuffer = null;
+      if (result.messageHasBody()) {
+        bodyBuffer = MessageSerializer.readMessageBody(messageReader.getReadChannel(),
+            result.getMessageBodyLength(), allocator);
+      }
+      ArrowDictionaryBatch dictionaryBatch = readDictionary(message, bodyBuffer);
+      loadDictionary(dictionaryBatch);
+      loadedDictionaryCount++;
+      return loadNextBatch();
+    } else {
+      throw new IOException("Expected RecordBatch or DictionaryBatch but header was " + message.headerType());
+    }
+  }
+
   /**
    * When read a record batch, check whether its dictionaries are available.
    */
@@ -177,15 +219,12 @@ public class ArrowStreamReader extends ArrowReader {
   }
 
 
-  private ArrowDictionaryBatch readDictionary(MessageResult result) throws IOException {
-
-    ArrowBuf bodyBuffer = result.getBodyBuffer();
-
+  private ArrowDictionaryBatch readDictionary(Message message, ArrowBuf bodyBuffer) throws IOException {
     // For zero-length batches, need an empty buffer to deserialize the batch
     if (bodyBuffer == null) {
       bodyBuffer = allocator.getEmpty();
     }
 
-    return MessageSerializer.deserializeDictionaryBatch(result.getMessage(), bodyBuffer);
+    return MessageSerializer.deserializeDictionaryBatch(message, bodyBuffer);
   }
 }
@@ -25,6 +25,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.arrow.memory.metrics.ArrowMetrics;
 import org.apache.arrow.util.AutoCloseables;
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
@@ -77,7 +78,7 @@ public abstract class ArrowWriter implements AutoCloseable {
    * @param option   IPC write options
    */
   protected ArrowWriter(VectorSchemaRoot root, DictionaryProvider provider, WritableByteChannel out, IpcOption option) {
-    this.unloader = new VectorUnloader(root);
+    this.unloader = new VectorUnloader(root, true, option.codec, true);
     this.out = new WriteChannel(out);
     this.option = option;
 
@@ -100,7 +101,7 @@ public abstract class ArrowWriter implements AutoCloseable {
           Collections.singletonList(vector.getField()),
           Collections.singletonList(vector),
           count);
-      VectorUnloader unloader = new VectorUnloader(dictRoot);
+      VectorUnloader unloader = new VectorUnloader(dictRoot, true, option.codec, true);
       ArrowRecordBatch batch = unloader.getRecordBatch();
       this.dictionaries.add(new ArrowDictionaryBatch(id, batch));
     }
@@ -118,8 +119,14 @@ public abstract class ArrowWriter implements AutoCloseable {
   public void writeBatch() throws IOException {
     ensureStarted();
     ensureDictionariesWritten();
+    final boolean timed = ArrowMetrics.isEnabled();
+    final long start = timed ? System.nanoTime() : 0;
     try (ArrowRecordBatch batch = unloader.getRecordBatch()) {
-      writeRecordBatch(batch);
+      ArrowBlock block = writeRecordBatch(batch);
+      if (timed) {
+        ArrowMetrics.recordBatchWritten(batch.getLength(), block.getMetadataLength() + block.getBodyLength(),
+            System.nanoTime() - start);
+      }
     }
   }
 
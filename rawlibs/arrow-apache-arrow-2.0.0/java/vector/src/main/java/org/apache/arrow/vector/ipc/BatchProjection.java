@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.ipc;
+
+import static org.apache.arrow.memory.util.LargeMemoryUtil.checkedCastToInt;
+import static org.apache.arrow.util.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.arrow.flatbuf.Buffer;
+import org.apache.arrow.flatbuf.FieldNode;
+import org.apache.arrow.flatbuf.RecordBatch;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.TypeLayout;
+import org.apache.arrow.vector.compression.NoCompressionCodec;
+import org.apache.arrow.vector.ipc.message.ArrowBodyCompression;
+import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * A projection of the fields of a schema, selecting the nodes and buffers of the record batches that
+ * belong to the projected fields.
+ *
+ * <p>A field is projected by its name, or by a path of the names of nested struct fields joined with
+ * dots, e.g. "trade.price": the struct fields along the path are then projected with only the
+ * children selected. The projected fields keep the order of the schema.
+ */
+final class BatchProjection {
+
+  /**
+   * The maximum number of bytes between two projected buffers of a record batch body for them to be
+   * read at once, reading the bytes in between rather than skipping them.
+   */
+  static final long MAX_COALESCED_GAP = 64 * 1024;
+
+  private final Schema schema;
+  private final int nodeCount;
+  private final int bufferCount;
+  private final BitSet projectedNodes = new BitSet();
+  private final BitSet projectedBuffers = new BitSet();
+
+  /**
+   * Constructs a projection of a schema.
+   *
+   * @param schema the schema, in memory format, i.e. with the index types of dictionary encoded fields.
+   * @param fieldPaths the names or paths of the fields to project.
+   * @throws IllegalArgumentException if a path does not match any field.
+   */
+  BatchProjection(Schema schema, List<String> fieldPaths) {
+    Selection selection = new Selection();
+    for (String path : fieldPaths) {
+      if (!selection.select(schema.getFields(), path)) {
+        throw new IllegalArgumentException("No field found for path " + path + " in schema " + schema);
+      }
+    }
+    int[] counts = new int[2];
+    List<Field> fields = project(schema.getFields(), selection, counts);
+    this.schema = new Schema(fields, schema.getCustomMetadata());
+    this.nodeCount = counts[0];
+    this.bufferCount = counts[1];
+  }
+
+  private List<Field> project(List<Field> fields, Selection selection, int[] counts) {
+    List<Field> projected = new ArrayList<>();
+    for (int i = 0; i < fields.size(); i++) {
+      Field field = fields.get(i);
+      Selection childSelection = selection == null ? null : selection.get(i);
+      int layoutCount = TypeLayout.getTypeBufferCount(field.getType());
+      if (childSelection != null) {
+        projectedNodes.set(counts[0]);
+        projectedBuffers.set(counts[1], counts[1] + layoutCount);
+      }
+      counts[0]++;
+      counts[1] += layoutCount;
+      List<Field> children = project(field.getChildren(), childSelection, counts);
+      if (childSelection == Selection.ALL) {
+        projected.add(field);
+      } else if (childSelection != null) {
+        projected.add(new Field(field.getName(), field.getFieldType(), children));
+      }
+    }
+    return projected;
+  }
+
+  /**
+   * Gets the schema of the projected fields.
+   */
+  Schema getSchema() {
+    return schema;
+  }
+
+  /**
+   * Projects a record batch of the schema.
+   *
+   * @param batch the batch, which is closed.
+   * @return a batch of the nodes and buffers of the projected fields.
+   */
+  ArrowRecordBatch project(ArrowRecordBatch batch) {
+    try {
+      List<ArrowFieldNode> nodes = batch.getNodes();
+      List<ArrowBuf> buffers = batch.getBuffers();
+      checkArgument(nodes.size() == nodeCount && buffers.size() == bufferCount,
+          "the record batch has %s nodes and %s buffers while the schema expects %s and %s",
+          nodes.size(), buffers.size(), nodeCount, bufferCount);
+      return new ArrowRecordBatch(batch.getLength(), select(nodes, projectedNodes),
+          select(buffers, projectedBuffers), batch.getBodyCompression());
+    } finally {
+      batch.close();
+    }
+  }
+
+  private static <T> List<T> select(List<T> values, BitSet selected) {
+    List<T> result = new ArrayList<>(selected.cardinality());
+    for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+      result.add(values.get(i));
+    }
+    return result;
+  }
+
+  /**
+   * Reads the projected buffers of a record batch whose body is next in a channel, skipping the
+   * others. Projected buffers close to each other are read at once, and the channel is left at the
+   * end of the body.
+   *
+   * @param recordBatchFB the metadata of the batch.
+   * @param bodyLength the length of the body of the batch.
+   * @param in the channel.
+   * @param allocator the allocator of the buffers read.
+   * @return a batch of the nodes and buffers of the projected fields.
+   * @throws IOException on error.
+   */
+  ArrowRecordBatch readRecordBatch(RecordBatch recordBatchFB, long bodyLength, ReadChannel in,
+      BufferAllocator allocator) throws IOException {
+    if (recordBatchFB.nodesLength() != nodeCount || recordBatchFB.buffersLength() != bufferCount) {
+      throw new IOException("The record batch has " + recordBatchFB.nodesLength() + " nodes and " +
+          recordBatchFB.buffersLength() + " buffers while the schema expects " + nodeCount + " and " +
+          bufferCount);
+    }
+    if ((int) recordBatchFB.length() != recordBatchFB.length()) {
+      throw new IOException("Cannot currently deserialize record batches with more than INT_MAX records.");
+    }
+    List<ArrowFieldNode> nodes = new ArrayList<>(projectedNodes.cardinality());
+    for (int i = projectedNodes.nextSetBit(0); i >= 0; i = projectedNodes.nextSetBit(i + 1)) {
+      FieldNode node = recordBatchFB.nodes(i);
+      if ((int) node.length() != node.length() || (int) node.nullCount() != node.nullCount()) {
+        throw new IOException("Cannot currently deserialize record batches with " +
+            "node length larger than INT_MAX records.");
+      }
+      nodes.add(new ArrowFieldNode(node.length(), node.nullCount()));
+    }
+
+    // the projected buffers by offset in the body, the empty ones being left out.
+    int projectedCount = projectedBuffers.cardinality();
+    Buffer[] buffersFB = new Buffer[projectedCount];
+    Integer[] order = new Integer[projectedCount];
+    int readCount = 0;
+    for (int i = projectedBuffers.nextSetBit(0), j = 0; i >= 0; i = projectedBuffers.nextSetBit(i + 1), j++) {
+      Buffer bufferFB = recordBatchFB.buffers(i);
+      if (bufferFB.offset() < 0 || bufferFB.length() < 0 || bufferFB.offset() + bufferFB.length() > bodyLength) {
+        throw new IOException("Buffer out of the record batch body at offset " + bufferFB.offset() +
+            ", length: " + bufferFB.length());
+      }
+      buffersFB[j] = bufferFB;
+      if (bufferFB.length() > 0) {
+        order[readCount++] = j;
+      }
+    }
+    Arrays.sort(order, 0, readCount, (a, b) -> Long.compare(buffersFB[a].offset(), buffersFB[b].offset()));
+
+    ArrowBuf[] buffers = new ArrowBuf[projectedCount];
+    Arrays.fill(buffers, allocator.getEmpty());
+    List<ArrowBuf> ranges = new ArrayList<>();
+    try {
+      long position = 0;
+      int start = 0;
+      while (start < readCount) {
+        long rangeStart = buffersFB[order[start]].offset();
+        long rangeEnd = rangeStart + buffersFB[order[start]].length();
+        int end = start + 1;
+        while (end < readCount && buffersFB[order[end]].offset() - rangeEnd <= MAX_COALESCED_GAP) {
+          rangeEnd = Math.max(rangeEnd, buffersFB[order[end]].offset() + buffersFB[order[end]].length());
+          end++;
+        }
+        skipFully(in, rangeStart - position);
+        ArrowBuf range = allocator.buffer(rangeEnd - rangeStart);
+        ranges.add(range);
+        if (in.readFully(range, rangeEnd - rangeStart) != rangeEnd - rangeStart) {
+          throw new IOException("Unexpected end of input trying to read batch.");
+        }
+        for (int i = start; i < end; i++) {
+          Buffer bufferFB = buffersFB[order[i]];
+          buffers[order[i]] = range.slice(bufferFB.offset() - rangeStart, bufferFB.length());
+        }
+        position = rangeEnd;
+        start = end;
+      }
+      skipFully(in, bodyLength - position);
+
+      ArrowBodyCompression bodyCompression = recordBatchFB.compression() == null ?
+          NoCompressionCodec.DEFAULT_BODY_COMPRESSION :
+          new ArrowBodyCompression(recordBatchFB.compression().codec(), recordBatchFB.compression().method());
+      return new ArrowRecordBatch(checkedCastToInt(recordBatchFB.length()), nodes, Arrays.asList(buffers),
+          bodyCompression);
+    } finally {
+      // the batch retains the slices it holds.
+      ranges.forEach(ArrowBuf::close);
+    }
+  }
+
+  private static void skipFully(ReadChannel in, long length) throws IOException {
+    if (in.skip(length) != length) {
+      throw new IOException("Unexpected end of input trying to read batch.");
+    }
+  }
+
+  /**
+   * The selection of the children of a field: the fields selected as a whole are mapped to
+   * {@link #ALL}, and the struct fields of which only some children are selected to the selection of
+   * these children.
+   */
+  private static final class Selection {
+
+    static final Selection ALL = new Selection();
+
+    private final Map<Integer, Selection> children = new HashMap<>();
+
+    Selection get(int index) {
+      return this == ALL ? ALL : children.get(index);
+    }
+
+    boolean select(List<Field> fields, String path) {
+      for (int i = 0; i < fields.size(); i++) {
+        Field field = fields.get(i);
+        if (path.equals(field.getName())) {
+          children.put(i, ALL);
+          return true;
+        }
+        if (path.startsWith(field.getName() + ".") && field.getType() instanceof ArrowType.Struct) {
+          Selection current = children.get(i);
+          // a struct selected as a whole only needs the path to be checked.
+          Selection child = current == null || current == ALL ? new Selection() : current;
+          if (child.select(field.getChildren(), path.substring(field.getName().length() + 1))) {
+            children.putIfAbsent(i, child);
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.ipc;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.arrow.vector.ipc.message.ArrowBlock;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+
+/**
+ * Reads the record batches of a file ahead on an executor, while the previous ones are consumed.
+ *
+ * <p>The batches following the one requested are read ahead up to a number of blocks and a number of
+ * bytes, one at a time since they share the channel of the file. The batches read ahead are
+ * allocated until they are requested or this prefetcher is closed. Closing skips the reads not
+ * started yet, and waits for the ones in progress to release their batches, so that the channel is
+ * no longer used once it returns.
+ *
+ * <p>This class is not thread-safe: it must be used by the thread consuming the batches.
+ */
+final class BlockPrefetcher implements AutoCloseable {
+
+  /**
+   * Reads the record batch of a block.
+   */
+  interface BlockReader {
+    ArrowRecordBatch read(ArrowBlock block) throws IOException;
+  }
+
+  private final List<ArrowBlock> blocks;
+  private final BlockReader reader;
+  private final ExecutorService executor;
+  private final int maxBlocks;
+  private final long maxBytes;
+  private final Object channelLock = new Object();
+
+  /**
+   * The batches being read, of the blocks from headIndex to nextIndex.
+   */
+  private final ArrayDeque<Prefetch> pending = new ArrayDeque<>();
+  private int headIndex;
+  private int nextIndex;
+  private long pendingBytes;
+
+  BlockPrefetcher(List<ArrowBlock> blocks, BlockReader reader, ExecutorService executor, int maxBlocks,
+      long maxBytes) {
+    this.blocks = blocks;
+    this.reader = reader;
+    this.executor = executor;
+    this.maxBlocks = maxBlocks;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Gets the record batch of a block, and reads the following ones ahead. Requesting another block
+   * than the one following the previous request discards the batches read ahead. If the calling
+   * thread is interrupted while waiting, the batch stays pending and the next request of the same
+   * block returns it.
+   *
+   * @param index the index of the block.
+   * @return the record batch, to be closed by the caller.
+   * @throws IOException if reading the block failed, or the calling thread was interrupted.
+   */
+  ArrowRecordBatch read(int index) throws IOException {
+    if (pending.isEmpty() || index != headIndex) {
+      cancel();
+      headIndex = index;
+      nextIndex = index;
+    }
+    readAhead();
+
+    Prefetch head = pending.peek();
+    ArrowRecordBatch batch;
+    try {
+      batch = head.future.get();
+    } catch (InterruptedException e) {
+      // the batch stays pending, to be requested again or released on close.
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for the record batch of block " + index);
+    } catch (ExecutionException e) {
+      poll();
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IOException(cause);
+    }
+    poll();
+    readAhead();
+    return batch;
+  }
+
+  private void poll() {
+    pending.poll();
+    pendingBytes -= length(blocks.get(headIndex++));
+  }
+
+  private void readAhead() {
+    // at least the requested block is read, however large.
+    while (nextIndex < blocks.size() && (pending.isEmpty() ||
+        (pending.size() < maxBlocks && pendingBytes + length(blocks.get(nextIndex)) <= maxBytes))) {
+      ArrowBlock block = blocks.get(nextIndex);
+      Prefetch prefetch = new Prefetch(block);
+      prefetch.future = executor.submit(prefetch);
+      pending.add(prefetch);
+      pendingBytes += length(block);
+      nextIndex++;
+    }
+  }
+
+  private static long length(ArrowBlock block) {
+    return block.getMetadataLength() + block.getBodyLength();
+  }
+
+  /**
+   * Discards the batches read ahead: the reads not started yet are skipped, and the others waited
+   * for and their batches released.
+   */
+  private void cancel() {
+    boolean interrupted = false;
+    for (Prefetch prefetch : pending) {
+      if (prefetch.cancel()) {
+        prefetch.future.cancel(false);
+        continue;
+      }
+      while (true) {
+        try {
+          prefetch.future.get().close();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          // nothing to release
+          break;
+        }
+      }
+    }
+    pending.clear();
+    pendingBytes = 0;
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void close() {
+    cancel();
+  }
+
+  /**
+   * The read of a block on the executor. Cancelling the future of a running task doesn't stop it,
+   * so whether the read started is tracked under the lock of the task: once cancelled before
+   * starting, it returns without touching the channel.
+   */
+  private final class Prefetch implements Callable<ArrowRecordBatch> {
+    private final ArrowBlock block;
+    private Future<ArrowRecordBatch> future;
+    private boolean started;
+    private boolean cancelled;
+
+    private Prefetch(ArrowBlock block) {
+      this.block = block;
+    }
+
+    @Override
+    public ArrowRecordBatch call() throws IOException {
+      synchronized (this) {
+        if (cancelled) {
+          return null;
+        }
+        started = true;
+      }
+      synchronized (channelLock) {
+        return reader.read(block);
+      }
+    }
+
+    /**
+     * Cancels the read if it did not start.
+     *
+     * @return true if the read will not happen, false if it started and its batch must be released.
+     */
+    private synchronized boolean cancel() {
+      cancelled = true;
+      return !started;
+    }
+  }
+}
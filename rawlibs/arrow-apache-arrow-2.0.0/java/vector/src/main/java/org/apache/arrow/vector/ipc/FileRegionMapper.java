@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.ipc;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.MappedFileAllocation;
+import org.apache.arrow.memory.MappedFileAllocationManagerFactory;
+import org.apache.arrow.memory.OutOfMemoryException;
+
+/**
+ * Hands out buffers over regions of a file mapped in memory, accounted to an allocator.
+ *
+ * <p>The file is mapped in windows, so that consecutive small regions share a mapping. A window is
+ * unmapped once this mapper and all the buffers over it are released. The file is mapped privately,
+ * i.e. copy-on-write, so that writing the buffers leaves it unchanged. It is never mapped read-only,
+ * as writing a read-only mapping crashes the JVM instead of throwing an exception.
+ */
+final class FileRegionMapper implements AutoCloseable {
+
+  private final FileChannel channel;
+  private final BufferAllocator allocator;
+  private final long windowSize;
+
+  /**
+   * The mapped window holding the last region, referenced by this mapper.
+   */
+  private ArrowBuf window;
+  private long windowPosition;
+
+  /**
+   * Constructs a mapper of a file.
+   *
+   * @param channel the channel of the file, opened for reading and writing.
+   * @param allocator the allocator accounting the mapped windows.
+   * @param windowSize the size of the windows mapped at once.
+   * @throws IllegalArgumentException if the channel is not opened for writing.
+   * @throws IOException if the channel cannot be mapped.
+   */
+  FileRegionMapper(FileChannel channel, BufferAllocator allocator, long windowSize) throws IOException {
+    try {
+      // a private mapping requires a writable channel, fail now rather than on the first batch.
+      channel.map(FileChannel.MapMode.PRIVATE, 0, 0);
+    } catch (NonWritableChannelException e) {
+      throw new IllegalArgumentException("Memory mapping a file requires a channel opened for reading and writing," +
+          " the file is mapped copy-on-write and left unchanged", e);
+    }
+    this.channel = channel;
+    this.allocator = allocator;
+    this.windowSize = windowSize;
+  }
+
+  /**
+   * Tells whether a region of the given length can be mapped.
+   */
+  static boolean canMap(long length) {
+    return length > 0 && length <= MappedFileAllocationManagerFactory.MAX_MAPPED_SIZE;
+  }
+
+  /**
+   * Maps a region of the file.
+   *
+   * @param position the position of the region in the file.
+   * @param length the length of the region, which must be mappable.
+   * @return a buffer over the region, holding a reference for the caller.
+   * @throws IOException if the region cannot be mapped, e.g. when it is past the end of the file.
+   */
+  ArrowBuf map(long position, long length) throws IOException {
+    if (window == null || position < windowPosition ||
+        position + length > windowPosition + window.capacity()) {
+      release();
+      final long size = Math.min(Math.max(length, Math.min(windowSize, channel.size() - position)),
+          MappedFileAllocationManagerFactory.MAX_MAPPED_SIZE);
+      final MappedFileAllocation allocation =
+          MappedFileAllocation.map(channel, FileChannel.MapMode.PRIVATE, position, size);
+      try {
+        window = allocator.wrapForeignAllocation(allocation);
+      } catch (OutOfMemoryException e) {
+        allocation.unmap();
+        throw e;
+      }
+      windowPosition = position;
+    }
+    final ArrowBuf region = window.slice(position - windowPosition, length);
+    region.getReferenceManager().retain();
+    return region;
+  }
+
+  private void release() {
+    if (window != null) {
+      window.close();
+      window = null;
+    }
+  }
+
+  @Override
+  public void close() {
+    release();
+  }
+}
@@ -32,8 +32,11 @@ public class ReadChannel implements AutoCloseable {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ReadChannel.class);
 
+  private static final int SKIP_BUFFER_SIZE = 8192;
+
   private ReadableByteChannel in;
   private long bytesRead = 0;
+  private ByteBuffer skipBuffer;
 
   public ReadChannel(ReadableByteChannel in) {
     this.in = in;
@@ -92,6 +95,31 @@ public class ReadChannel implements AutoCloseable {
     return length - bytesLeft;
   }
 
+  /**
+   * Skips up to length bytes, reading them into a small reused buffer. Returns the number of bytes
+   * skipped, which can be less than length if there are no more.
+   *
+   * @param length the amount of bytes to skip
+   * @return the number of bytes skipped
+   * @throws IOException on error
+   */
+  public long skip(long length) throws IOException {
+    if (skipBuffer == null) {
+      skipBuffer = ByteBuffer.allocate(SKIP_BUFFER_SIZE);
+    }
+    long bytesLeft = length;
+    while (bytesLeft > 0) {
+      skipBuffer.clear();
+      skipBuffer.limit((int) Math.min(bytesLeft, SKIP_BUFFER_SIZE));
+      int n = readFully(skipBuffer);
+      bytesLeft -= n;
+      if (n < skipBuffer.limit()) {
+        break;
+      }
+    }
+    return length - bytesLeft;
+  }
+
   @Override
   public void close() throws IOException {
     if (this.in != null) {
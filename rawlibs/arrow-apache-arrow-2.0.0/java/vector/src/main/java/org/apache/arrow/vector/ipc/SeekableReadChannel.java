@@ -40,4 +40,15 @@ public class SeekableReadChannel extends ReadChannel {
   public long size() throws IOException {
     return in.size();
   }
+
+  /**
+   * Skips up to length bytes by moving the position, without reading them.
+   */
+  @Override
+  public long skip(long length) throws IOException {
+    long position = in.position();
+    long skipped = Math.max(0, Math.min(length, in.size() - position));
+    in.position(position + skipped);
+    return skipped;
+  }
 }
@@ -17,6 +17,8 @@
 
 package org.apache.arrow.vector.ipc.message;
 
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.compression.NoCompressionCodec;
 import org.apache.arrow.vector.types.MetadataVersion;
 
 /**
@@ -30,4 +32,7 @@ public class IpcOption {
 
   // The metadata version. Defaults to V5.
   public MetadataVersion metadataVersion = MetadataVersion.DEFAULT;
+
+  // The codec compressing the buffers of record and dictionary batches. Defaults to no compression.
+  public CompressionCodec codec = NoCompressionCodec.INSTANCE;
 }
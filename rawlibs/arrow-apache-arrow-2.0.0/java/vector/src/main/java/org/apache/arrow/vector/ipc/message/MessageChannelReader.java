@@ -54,7 +54,7 @@ public class MessageChannelReader implements AutoCloseable {
   public MessageResult readNext() throws IOException {
 
     // Read the flatbuf message and check for end-of-stream
-    MessageMetadataResult result = MessageSerializer.readMessage(in);
+    MessageMetadataResult result = readNextMetadata();
     if (result == null) {
       return null;
     }
@@ -70,6 +70,26 @@ public class MessageChannelReader implements AutoCloseable {
     return new MessageResult(message, bodyBuffer);
   }
 
+  /**
+   * Read the metadata of the next message from the ReadChannel, leaving its body unread. The body,
+   * if any, must be read or skipped from {@link #getReadChannel()} before reading the next message.
+   *
+   * @return MessageMetadataResult or null if reached end-of-stream
+   * @throws IOException on error
+   */
+  public MessageMetadataResult readNextMetadata() throws IOException {
+    return MessageSerializer.readMessage(in);
+  }
+
+  /**
+   * Get the ReadChannel messages are read from.
+   *
+   * @return the ReadChannel
+   */
+  public ReadChannel getReadChannel() {
+    return in;
+  }
+
   /**
    * Get the number of bytes read from the ReadChannel.
    *
@@ -33,6 +33,7 @@ import org.apache.arrow.flatbuf.MetadataVersion;
 import org.apache.arrow.flatbuf.RecordBatch;
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.metrics.ArrowMetrics;
 import org.apache.arrow.util.Preconditions;
 import org.apache.arrow.vector.compression.NoCompressionCodec;
 import org.apache.arrow.vector.ipc.ReadChannel;
@@ -168,6 +169,9 @@ public class MessageSerializer {
 
     int bytesWritten = writeMessageBuffer(out, messageLength, serializedMessage, option);
     Preconditions.checkArgument(bytesWritten % 8 == 0, "out is not aligned");
+    if (ArrowMetrics.isEnabled()) {
+      ArrowMetrics.recordMessageWritten(messageTypeName(MessageHeader.Schema), bytesWritten, 0);
+    }
     return bytesWritten;
   }
 
@@ -275,6 +279,10 @@ public class MessageSerializer {
 
     long bufferLength = writeBatchBuffers(out, batch);
     Preconditions.checkArgument(bufferLength % 8 == 0, "out is not aligned");
+    if (ArrowMetrics.isEnabled()) {
+      ArrowMetrics.recordMessageWritten(messageTypeName(MessageHeader.RecordBatch), metadataLength + prefixSize,
+          bufferLength);
+    }
 
     // Metadata size in the Block account for the size prefix
     return new ArrowBlock(start, metadataLength + prefixSize, bufferLength);
@@ -383,7 +391,20 @@ public class MessageSerializer {
     if (in.readFully(buffer, totalLen) != totalLen) {
       throw new IOException("Unexpected end of input trying to read batch.");
     }
+    return deserializeRecordBatch(buffer, block);
+  }
 
+  /**
+   * Deserializes an ArrowRecordBatch from a buffer holding the entire message, e.g. a region of a
+   * memory-mapped file. The buffers of the batch are slices of the given buffer.
+   *
+   * @param buffer the message, whose reference is released
+   * @param block the location of the message
+   * @return the deserialized ArrowRecordBatch
+   * @throws IOException if something went wrong
+   */
+  public static ArrowRecordBatch deserializeRecordBatch(ArrowBuf buffer, ArrowBlock block) throws IOException {
+    long totalLen = block.getMetadataLength() + block.getBodyLength();
     int prefixSize = buffer.getInt(0) == IPC_CONTINUATION_TOKEN ? 8 : 4;
 
     ArrowBuf metadataBuffer = buffer.slice(prefixSize, block.getMetadataLength() - prefixSize);
@@ -392,6 +413,10 @@ public class MessageSerializer {
         Message.getRootAsMessage(metadataBuffer.nioBuffer().asReadOnlyBuffer());
 
     RecordBatch recordBatchFB = (RecordBatch) messageFB.header(new RecordBatch());
+    if (ArrowMetrics.isEnabled()) {
+      ArrowMetrics.recordMessageRead(messageTypeName(messageFB.headerType()), block.getMetadataLength(),
+          block.getBodyLength());
+    }
 
     // Now read the body
     final ArrowBuf body = buffer.slice(block.getMetadataLength(),
@@ -494,6 +519,10 @@ public class MessageSerializer {
     // write the embedded record batch
     long bufferLength = writeBatchBuffers(out, batch.getDictionary());
     Preconditions.checkArgument(bufferLength % 8 == 0, "out is not aligned");
+    if (ArrowMetrics.isEnabled()) {
+      ArrowMetrics.recordMessageWritten(messageTypeName(MessageHeader.DictionaryBatch), metadataLength + prefixSize,
+          bufferLength);
+    }
 
     // Metadata size in the Block account for the size prefix
     return new ArrowBlock(start, metadataLength + prefixSize, bufferLength);
@@ -573,7 +602,21 @@ public class MessageSerializer {
     if (in.readFully(buffer, totalLen) != totalLen) {
       throw new IOException("Unexpected end of input trying to read batch.");
     }
+    return deserializeDictionaryBatch(buffer, block);
+  }
 
+  /**
+   * Deserializes a DictionaryBatch from a buffer holding the entire message, e.g. a region of a
+   * memory-mapped file. The buffers of the batch are slices of the given buffer.
+   *
+   * @param buffer the message, whose reference is released
+   * @param block the location of the message
+   * @return the deserialized ArrowDictionaryBatch
+   * @throws IOException if something went wrong
+   */
+  public static ArrowDictionaryBatch deserializeDictionaryBatch(ArrowBuf buffer, ArrowBlock block)
+      throws IOException {
+    long totalLen = block.getMetadataLength() + block.getBodyLength();
     int prefixSize = buffer.getInt(0) == IPC_CONTINUATION_TOKEN ? 8 : 4;
 
     ArrowBuf metadataBuffer = buffer.slice(prefixSize, block.getMetadataLength() - prefixSize);
@@ -582,6 +625,10 @@ public class MessageSerializer {
         Message.getRootAsMessage(metadataBuffer.nioBuffer().asReadOnlyBuffer());
 
     DictionaryBatch dictionaryBatchFB = (DictionaryBatch) messageFB.header(new DictionaryBatch());
+    if (ArrowMetrics.isEnabled()) {
+      ArrowMetrics.recordMessageRead(messageTypeName(messageFB.headerType()), block.getMetadataLength(),
+          block.getBodyLength());
+    }
 
     // Now read the body
     final ArrowBuf body = buffer.slice(block.getMetadataLength(),
@@ -704,6 +751,9 @@ public class MessageSerializer {
 
         // Load the message.
         Message message = Message.getRootAsMessage(messageBuffer);
+        if (ArrowMetrics.isEnabled()) {
+          ArrowMetrics.recordMessageRead(messageTypeName(message.headerType()), messageLength, message.bodyLength());
+        }
 
         return new MessageMetadataResult(messageLength, messageBuffer, message);
       }
@@ -728,4 +778,8 @@ public class MessageSerializer {
     }
     return bodyBuffer;
   }
+
+  private static String messageTypeName(byte headerType) {
+    return headerType >= 0 && headerType < MessageHeader.names.length ? MessageHeader.name(headerType) : "Unknown";
+  }
 }
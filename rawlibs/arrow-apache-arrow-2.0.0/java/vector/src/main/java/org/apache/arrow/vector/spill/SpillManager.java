@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.spill;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.arrow.memory.AllocationListener;
+import org.apache.arrow.memory.AllocationOutcome;
+import org.apache.arrow.util.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Frees memory under pressure by spilling registered {@link Spillable} consumers to local files.
+ *
+ * <p>The manager is an {@link AllocationListener}: give it to the allocator whose limit should be
+ * enforced, e.g. <code>root.newChildAllocator("sort", spillManager, 0, limit)</code>. When an
+ * allocation of that allocator (or of one of its children) exceeds the limit, the manager spills the
+ * largest consumers until enough memory is freed, and the allocator retries the allocation.
+ * Consumers can also be spilled explicitly with {@link #spill(long)}.
+ */
+public class SpillManager implements AllocationListener, AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(SpillManager.class);
+
+  private static final String FILE_PREFIX = "arrow-spill-";
+
+  private final Path directory;
+  private final List<Spillable> consumers = new CopyOnWriteArrayList<>();
+  private final ThreadLocal<Boolean> spilling = ThreadLocal.withInitial(() -> false);
+
+  private final AtomicLong spillCount = new AtomicLong();
+  private final AtomicLong spilledBytes = new AtomicLong();
+
+  /**
+   * Creates a manager.
+   *
+   * @param directory the directory for the spill files.
+   */
+  public SpillManager(Path directory) {
+    Preconditions.checkNotNull(directory, "directory must not be null");
+    this.directory = directory;
+  }
+
+  /**
+   * Registers a consumer that may be spilled from now on.
+   */
+  public void register(Spillable consumer) {
+    Preconditions.checkNotNull(consumer, "consumer must not be null");
+    consumers.add(consumer);
+  }
+
+  /**
+   * Unregisters a consumer, e.g. when it is closed.
+   *
+   * @return true if the consumer was registered.
+   */
+  public boolean unregister(Spillable consumer) {
+    return consumers.remove(consumer);
+  }
+
+  /**
+   * Creates a new spill file in the spill directory.
+   *
+   * @return the path of the empty file.
+   * @throws IOException if the file couldn't be created.
+   */
+  public Path createSpillFile() throws IOException {
+    return Files.createTempFile(directory, FILE_PREFIX, ".arrow");
+  }
+
+  @Override
+  public boolean onFailedAllocation(long size, AllocationOutcome outcome) {
+    return spill(size) > 0;
+  }
+
+  /**
+   * Spills consumers, largest first, until at least the given amount of memory is freed or no
+   * consumer is left to spill.
+   *
+   * @param bytes the amount of memory to free.
+   * @return the memory actually freed, in bytes.
+   */
+  public synchronized long spill(long bytes) {
+    if (spilling.get()) {
+      // an allocation failed while spilling, spilling more won't help.
+      return 0;
+    }
+    spilling.set(true);
+    try {
+      // snapshot the sizes, they may change while sorting.
+      final List<Candidate> candidates = new ArrayList<>(consumers.size());
+      for (Spillable consumer : consumers) {
+        final long size = consumer.getSpillableSize();
+        if (size > 0) {
+          candidates.add(new Candidate(consumer, size));
+        }
+      }
+      candidates.sort(Comparator.comparingLong((Candidate c) -> c.size).reversed());
+
+      long freed = 0;
+      for (Candidate candidate : candidates) {
+        if (freed >= bytes) {
+          break;
+        }
+        final Spillable victim = candidate.consumer;
+        try {
+          final long released = victim.spill();
+          if (released > 0) {
+            freed += released;
+            spillCount.incrementAndGet();
+            spilledBytes.addAndGet(released);
+          }
+        } catch (IOException e) {
+          logger.warn("Unable to spill {}", victim, e);
+        }
+      }
+      return freed;
+    } finally {
+      spilling.set(false);
+    }
+  }
+
+  /**
+   * Returns the number of consumers spilled so far.
+   */
+  public long getSpillCount() {
+    return spillCount.get();
+  }
+
+  /**
+   * Returns the memory freed by spilling so far, in bytes.
+   */
+  public long getSpilledBytes() {
+    return spilledBytes.get();
+  }
+
+  /**
+   * Unregisters all consumers. Closing the consumers, and deleting their files, is up to their owners.
+   */
+  @Override
+  public void close() {
+    consumers.clear();
+  }
+
+  private static final class Candidate {
+    private final Spillable consumer;
+    private final long size;
+
+    Candidate(Spillable consumer, long size) {
+      this.consumer = consumer;
+      this.size = size;
+    }
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.spill;
+
+import java.io.IOException;
+
+/**
+ * A consumer holding memory that can be written to disk on demand, see {@link SpillManager}.
+ */
+public interface Spillable {
+
+  /**
+   * Returns the memory (in bytes) that {@link #spill()} would currently free, or 0 if the consumer
+   * is already spilled or can't be spilled right now.
+   *
+   * @return the spillable size in bytes.
+   */
+  long getSpillableSize();
+
+  /**
+   * Writes the in-memory data to disk and releases its memory.
+   *
+   * <p>This may be called from any thread, including from within an allocation of another consumer
+   * that ran out of memory, so implementations must not block on locks held by other threads.
+   *
+   * @return the memory freed in bytes, 0 if nothing was spilled.
+   * @throws IOException if the data couldn't be written.
+   */
+  long spill() throws IOException;
+}
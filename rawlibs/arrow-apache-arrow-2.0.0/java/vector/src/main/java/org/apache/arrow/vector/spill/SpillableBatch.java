@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.spill;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.types.pojo.Field;
+
+/**
+ * A {@link VectorSchemaRoot} that can be spilled to an Arrow IPC file under memory pressure and is
+ * reloaded lazily.
+ *
+ * <p>The batch takes ownership of the root. The data must be accessed between {@link #pin()}, which
+ * reloads it if needed, and {@link #unpin()}; a pinned batch is never spilled. The root instance and
+ * its vectors stay the same across spills, only their buffers are released and reloaded.
+ * Dictionary-encoded fields are not supported.
+ */
+public class SpillableBatch implements Spillable, AutoCloseable {
+
+  private final SpillManager manager;
+  private final VectorSchemaRoot root;
+  private final BufferAllocator allocator;
+
+  // only ever acquired with tryLock by the spill manager, so that spilling never waits for a batch
+  // that is being reloaded.
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private int pinCount;
+  private Path spillFile;
+  private int spilledRowCount;
+  private boolean closed;
+
+  /**
+   * Creates a batch and registers it with the manager.
+   *
+   * @param manager   the manager that may spill the batch.
+   * @param root      the data, owned by the batch from now on.
+   * @param allocator the allocator for the buffers of the reloaded data.
+   */
+  public SpillableBatch(SpillManager manager, VectorSchemaRoot root, BufferAllocator allocator) {
+    Preconditions.checkNotNull(manager, "manager must not be null");
+    Preconditions.checkNotNull(root, "root must not be null");
+    Preconditions.checkNotNull(allocator, "allocator must not be null");
+    for (Field field : root.getSchema().getFields()) {
+      Preconditions.checkArgument(!isDictionaryEncoded(field),
+          "Dictionary-encoded field %s can't be spilled", field.getName());
+    }
+    this.manager = manager;
+    this.root = root;
+    this.allocator = allocator;
+    manager.register(this);
+  }
+
+  private static boolean isDictionaryEncoded(Field field) {
+    if (field.getDictionary() != null) {
+      return true;
+    }
+    for (Field child : field.getChildren()) {
+      if (isDictionaryEncoded(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Prevents the batch from being spilled, and reloads the data if it was spilled.
+   *
+   * @return the root holding the data, valid until the matching {@link #unpin()}.
+   * @throws IOException if the spill file couldn't be read.
+   */
+  public VectorSchemaRoot pin() throws IOException {
+    lock.lock();
+    try {
+      Preconditions.checkState(!closed, "The batch is closed");
+      // pin first, so that allocations made while reloading don't spill this batch again.
+      pinCount++;
+      boolean success = false;
+      try {
+        if (spillFile != null) {
+          reload();
+        }
+        success = true;
+      } finally {
+        if (!success) {
+          pinCount--;
+        }
+      }
+      return root;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Allows the batch to be spilled again once every {@link #pin()} has been matched.
+   */
+  public void unpin() {
+    lock.lock();
+    try {
+      Preconditions.checkState(pinCount > 0, "The batch is not pinned");
+      pinCount--;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Whether the data currently lives in a spill file rather than in memory.
+   */
+  public boolean isSpilled() {
+    lock.lock();
+    try {
+      return spillFile != null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public long getSpillableSize() {
+    if (!lock.tryLock()) {
+      return 0;
+    }
+    try {
+      return canSpill() ? getMemorySize() : 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public long spill() throws IOException {
+    if (!lock.tryLock()) {
+      return 0;
+    }
+    try {
+      if (!canSpill()) {
+        return 0;
+      }
+      final long size = getMemorySize();
+      final Path file = manager.createSpillFile();
+      boolean success = false;
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+           ArrowFileWriter writer = new ArrowFileWriter(root, new DictionaryProvider.MapDictionaryProvider(),
+               channel)) {
+        writer.start();
+        writer.writeBatch();
+        writer.end();
+        success = true;
+      } finally {
+        if (!success) {
+          Files.deleteIfExists(file);
+        }
+      }
+      spilledRowCount = root.getRowCount();
+      root.clear();
+      spillFile = file;
+      return size;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private boolean canSpill() {
+    return !closed && pinCount == 0 && spillFile == null && root.getRowCount() > 0;
+  }
+
+  private long getMemorySize() {
+    long size = 0;
+    for (FieldVector vector : root.getFieldVectors()) {
+      for (ArrowBuf buffer : vector.getBuffers(false)) {
+        size += buffer.capacity();
+      }
+    }
+    return size;
+  }
+
+  private void reload() throws IOException {
+    try (FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.READ);
+         ArrowFileReader reader = new ArrowFileReader(channel, allocator)) {
+      if (!reader.loadNextBatch()) {
+        throw new IOException("Spill file " + spillFile + " is empty");
+      }
+      final List<FieldVector> spilled = reader.getVectorSchemaRoot().getFieldVectors();
+      for (int i = 0; i < spilled.size(); i++) {
+        spilled.get(i).makeTransferPair(root.getVector(i)).transfer();
+      }
+      root.setRowCount(spilledRowCount);
+    }
+    Files.deleteIfExists(spillFile);
+    spillFile = null;
+  }
+
+  /**
+   * Unregisters the batch, releases its memory and deletes its spill file.
+   */
+  @Override
+  public void close() throws IOException {
+    lock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      manager.unregister(this);
+      root.close();
+      if (spillFile != null) {
+        Files.delete(spillFile);
+        spillFile = null;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.table;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.util.ValueVectorUtility;
+import org.apache.arrow.vector.util.VectorBatchAppender;
+
+/**
+ * A logical column made of a list of vectors of the same type, the chunks, without copying them
+ * into a single vector. The positions in the column are longs, so that a column can hold more
+ * values than a single vector.
+ *
+ * <p>The chunked vector owns its chunks, and closes them when it is closed.
+ */
+public final class ChunkedVector implements Iterable<FieldVector>, AutoCloseable {
+
+  private final Field field;
+  private final List<FieldVector> chunks;
+  // position in the column of the first value of each chunk, followed by the value count.
+  private final long[] chunkStarts;
+
+  /**
+   * Constructs a new instance.
+   *
+   * @param field the field of the column
+   * @param chunks the chunks, whose type must be the type of the field
+   */
+  public ChunkedVector(Field field, List<FieldVector> chunks) {
+    this.field = Preconditions.checkNotNull(field);
+    this.chunks = Collections.unmodifiableList(new ArrayList<>(chunks));
+    this.chunkStarts = new long[chunks.size() + 1];
+    for (int i = 0; i < chunks.size(); i++) {
+      final FieldVector chunk = chunks.get(i);
+      Preconditions.checkArgument(chunk.getField().getType().equals(field.getType()),
+          "chunk %s has type %s instead of %s", i, chunk.getField().getType(), field.getType());
+      chunkStarts[i + 1] = chunkStarts[i] + chunk.getValueCount();
+    }
+  }
+
+  /**
+   * Constructs a new instance, with the field of the first chunk.
+   *
+   * @param chunks the chunks, at least one
+   */
+  public ChunkedVector(List<FieldVector> chunks) {
+    this(checkNotEmpty(chunks).get(0).getField(), chunks);
+  }
+
+  private static List<FieldVector> checkNotEmpty(List<FieldVector> chunks) {
+    Preconditions.checkArgument(!chunks.isEmpty(), "at least one chunk is required");
+    return chunks;
+  }
+
+  public Field getField() {
+    return field;
+  }
+
+  public String getName() {
+    return field.getName();
+  }
+
+  /**
+   * Get the number of values of the column, over all the chunks.
+   *
+   * @return the value count
+   */
+  public long getValueCount() {
+    return chunkStarts[chunks.size()];
+  }
+
+  /**
+   * Get the number of null values of the column, over all the chunks.
+   *
+   * @return the null count
+   */
+  public long getNullCount() {
+    long nullCount = 0;
+    for (FieldVector chunk : chunks) {
+      nullCount += chunk.getNullCount();
+    }
+    return nullCount;
+  }
+
+  public int getChunkCount() {
+    return chunks.size();
+  }
+
+  public FieldVector getChunk(int chunkIndex) {
+    return chunks.get(chunkIndex);
+  }
+
+  /**
+   * Get the chunks. The list can't be modified.
+   *
+   * @return the chunks
+   */
+  public List<FieldVector> getChunks() {
+    return chunks;
+  }
+
+  /**
+   * Get the position in the column of the first value of a chunk.
+   *
+   * @param chunkIndex the index of the chunk
+   * @return the position of the first value of the chunk
+   */
+  public long getChunkStart(int chunkIndex) {
+    Preconditions.checkElementIndex(chunkIndex, chunks.size());
+    return chunkStarts[chunkIndex];
+  }
+
+  /**
+   * Find the chunk holding a value, by binary search over the chunk starts.
+   *
+   * @param index the position of the value in the column
+   * @return the index of the chunk holding the value
+   */
+  public int getChunkIndex(long index) {
+    return findChunk(chunkStarts, chunks.size(), index);
+  }
+
+  /* the last chunk starting at or before the index, which skips the empty chunks */
+  static int findChunk(long[] chunkStarts, int chunkCount, long index) {
+    if (index < 0 || index >= chunkStarts[chunkCount]) {
+      throw new IndexOutOfBoundsException("index " + index + " out of bounds for length " + chunkStarts[chunkCount]);
+    }
+    int low = 0;
+    int high = chunkCount - 1;
+    while (low < high) {
+      final int mid = (low + high + 1) >>> 1;
+      if (chunkStarts[mid] <= index) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Check if the value at the given position is null.
+   *
+   * @param index the position of the value in the column
+   * @return true if the value is null
+   */
+  public boolean isNull(long index) {
+    final int chunkIndex = getChunkIndex(index);
+    return chunks.get(chunkIndex).isNull((int) (index - chunkStarts[chunkIndex]));
+  }
+
+  /**
+   * Get the value at the given position, as returned by {@link ValueVector#getObject(int)}.
+   *
+   * @param index the position of the value in the column
+   * @return the value, null for a null value
+   */
+  public Object getObject(long index) {
+    final int chunkIndex = getChunkIndex(index);
+    return chunks.get(chunkIndex).getObject((int) (index - chunkStarts[chunkIndex]));
+  }
+
+  /**
+   * Iterate over the chunks.
+   */
+  @Override
+  public Iterator<FieldVector> iterator() {
+    return chunks.iterator();
+  }
+
+  /**
+   * Slice the column without copying the data. The chunks of the slice share the buffers of the
+   * chunks of this column, see {@link ValueVectorUtility#sliceShared(FieldVector, int, int)}: the
+   * slice is only made of the parts of the chunks within the range, and has no empty chunk.
+   *
+   * @param index the position of the first value of the slice
+   * @param length the number of values of the slice
+   * @return the slice, to be closed independently of this column
+   */
+  public ChunkedVector slice(long index, long length) {
+    Preconditions.checkArgument(index >= 0 && length >= 0 && index + length <= getValueCount(),
+        "Invalid parameters index: %s, length: %s for value count: %s", index, length, getValueCount());
+    final List<FieldVector> slices = new ArrayList<>();
+    if (length > 0) {
+      final long end = index + length;
+      try {
+        for (int i = getChunkIndex(index); i < chunks.size() && chunkStarts[i] < end; i++) {
+          final long start = Math.max(index, chunkStarts[i]);
+          final long chunkEnd = Math.min(end, chunkStarts[i + 1]);
+          if (start < chunkEnd) {
+            slices.add(ValueVectorUtility.sliceShared(chunks.get(i), (int) (start - chunkStarts[i]),
+                (int) (chunkEnd - start)));
+          }
+        }
+      } catch (RuntimeException e) {
+        AutoCloseables.close(e, slices);
+        throw e;
+      }
+    }
+    return new ChunkedVector(field, slices);
+  }
+
+  /**
+   * Copy the chunks into a single vector, when a contiguous vector is needed. A column with a
+   * single chunk allocated by the given allocator is sliced instead, without copying the data.
+   *
+   * @param allocator the allocator of the new vector
+   * @return the vector holding all the values of the column, to be closed by the caller
+   */
+  public FieldVector combineChunks(BufferAllocator allocator) {
+    Preconditions.checkState(getValueCount() <= Integer.MAX_VALUE,
+        "Value count %s is too large for a single vector", getValueCount());
+    if (chunks.size() == 1 && chunks.get(0).getAllocator() == allocator) {
+      return ValueVectorUtility.sliceShared(chunks.get(0), 0, chunks.get(0).getValueCount());
+    }
+    final FieldVector combined = field.createVector(allocator);
+    try {
+      VectorBatchAppender.batchAppend(combined, chunks.toArray(new FieldVector[0]));
+    } catch (RuntimeException e) {
+      combined.close();
+      throw e;
+    }
+    return combined;
+  }
+
+  /**
+   * Close the chunks.
+   */
+  @Override
+  public void close() {
+    AutoCloseables.closeNoChecked(AutoCloseables.all(chunks));
+  }
+}
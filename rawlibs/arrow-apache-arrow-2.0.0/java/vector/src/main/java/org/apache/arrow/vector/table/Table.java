@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.table;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.TransferPair;
+import org.apache.arrow.vector.util.ValueVectorUtility;
+
+/**
+ * A logical table made of a list of record batches with the same schema, without copying them
+ * into a single {@link VectorSchemaRoot}. Each column of the table is a {@link ChunkedVector}
+ * whose chunks are the vectors of the batches. The row positions are longs, so that a table can
+ * hold more rows than a single batch.
+ *
+ * <p>The table owns its batches, and closes them when it is closed. The columns are views over
+ * the batches, owned by the table: they must not be closed.
+ */
+public final class Table implements Iterable<VectorSchemaRoot>, AutoCloseable {
+
+  private final Schema schema;
+  private final List<VectorSchemaRoot> batches;
+  // position in the table of the first row of each batch, followed by the row count.
+  private final long[] batchStarts;
+  private final List<ChunkedVector> columns;
+
+  /**
+   * Constructs a new instance.
+   *
+   * @param schema the schema of the table
+   * @param batches the batches, whose fields must be the fields of the schema
+   */
+  public Table(Schema schema, List<VectorSchemaRoot> batches) {
+    this.schema = Preconditions.checkNotNull(schema);
+    this.batches = Collections.unmodifiableList(new ArrayList<>(batches));
+    this.batchStarts = new long[batches.size() + 1];
+    for (int i = 0; i < batches.size(); i++) {
+      final VectorSchemaRoot batch = batches.get(i);
+      Preconditions.checkArgument(batch.getSchema().getFields().equals(schema.getFields()),
+          "batch %s has schema %s instead of %s", i, batch.getSchema(), schema);
+      batchStarts[i + 1] = batchStarts[i] + batch.getRowCount();
+    }
+    final List<Field> fields = schema.getFields();
+    final List<ChunkedVector> columns = new ArrayList<>(fields.size());
+    for (int i = 0; i < fields.size(); i++) {
+      final List<FieldVector> chunks = new ArrayList<>(batches.size());
+      for (VectorSchemaRoot batch : batches) {
+        chunks.add(batch.getVector(i));
+      }
+      columns.add(new ChunkedVector(fields.get(i), chunks));
+    }
+    this.columns = Collections.unmodifiableList(columns);
+  }
+
+  /**
+   * Constructs a new instance, with the schema of the first batch.
+   *
+   * @param batches the batches, at least one
+   */
+  public Table(List<VectorSchemaRoot> batches) {
+    this(checkNotEmpty(batches).get(0).getSchema(), batches);
+  }
+
+  private static List<VectorSchemaRoot> checkNotEmpty(List<VectorSchemaRoot> batches) {
+    Preconditions.checkArgument(!batches.isEmpty(), "at least one batch is required");
+    return batches;
+  }
+
+  /**
+   * Read all the remaining batches of a reader into a table. The buffers of each batch are
+   * transferred out of the root of the reader, so they are not copied.
+   *
+   * @param reader the reader
+   * @return the table, to be closed by the caller
+   * @throws IOException on error reading the batches
+   */
+  public static Table read(ArrowReader reader) throws IOException {
+    final VectorSchemaRoot root = reader.getVectorSchemaRoot();
+    final List<VectorSchemaRoot> batches = new ArrayList<>();
+    try {
+      while (reader.loadNextBatch()) {
+        final List<FieldVector> vectors = new ArrayList<>(root.getFieldVectors().size());
+        for (FieldVector vector : root.getFieldVectors()) {
+          final TransferPair transferPair = vector.getTransferPair(vector.getAllocator());
+          transferPair.transfer();
+          vectors.add((FieldVector) transferPair.getTo());
+        }
+        batches.add(new VectorSchemaRoot(root.getSchema(), vectors, root.getRowCount()));
+      }
+    } catch (IOException | RuntimeException e) {
+      AutoCloseables.close(e, batches);
+      throw e;
+    }
+    return new Table(root.getSchema(), batches);
+  }
+
+  public Schema getSchema() {
+    return schema;
+  }
+
+  /**
+   * Get the number of rows of the table, over all the batches.
+   *
+   * @return the row count
+   */
+  public long getRowCount() {
+    return batchStarts[batches.size()];
+  }
+
+  public int getColumnCount() {
+    return columns.size();
+  }
+
+  public ChunkedVector getColumn(int columnIndex) {
+    return columns.get(columnIndex);
+  }
+
+  /**
+   * Get a column by name.
+   *
+   * @param name the name of the field of the column
+   * @return the first column with the given name, or null if there is none
+   */
+  public ChunkedVector getColumn(String name) {
+    for (ChunkedVector column : columns) {
+      if (column.getName().equals(name)) {
+        return column;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Get the columns. The list can't be modified.
+   *
+   * @return the columns
+   */
+  public List<ChunkedVector> getColumns() {
+    return columns;
+  }
+
+  public int getBatchCount() {
+    return batches.size();
+  }
+
+  public VectorSchemaRoot getBatch(int batchIndex) {
+    return batches.get(batchIndex);
+  }
+
+  /**
+   * Get the batches. The list can't be modified.
+   *
+   * @return the batches
+   */
+  public List<VectorSchemaRoot> getBatches() {
+    return batches;
+  }
+
+  /**
+   * Get the position in the table of the first row of a batch.
+   *
+   * @param batchIndex the index of the batch
+   * @return the position of the first row of the batch
+   */
+  public long getBatchStart(int batchIndex) {
+    Preconditions.checkElementIndex(batchIndex, batches.size());
+    return batchStarts[batchIndex];
+  }
+
+  /**
+   * Find the batch holding a row, by binary search over the batch starts.
+   *
+   * @param rowIndex the position of the row in the table
+   * @return the index of the batch holding the row
+   */
+  public int getBatchIndex(long rowIndex) {
+    return ChunkedVector.findChunk(batchStarts, batches.size(), rowIndex);
+  }
+
+  /**
+   * Iterate over the batches.
+   */
+  @Override
+  public Iterator<VectorSchemaRoot> iterator() {
+    return batches.iterator();
+  }
+
+  /**
+   * Slice the table without copying the data. The batches of the slice share the buffers of the
+   * batches of this table, see {@link ValueVectorUtility#sliceShared(FieldVector, int, int)}: the
+   * slice is only made of the parts of the batches within the range, and has no empty batch.
+   *
+   * @param rowIndex the position of the first row of the slice
+   * @param length the number of rows of the slice
+   * @return the slice, to be closed independently of this table
+   */
+  public Table slice(long rowIndex, long length) {
+    Preconditions.checkArgument(rowIndex >= 0 && length >= 0 && rowIndex + length <= getRowCount(),
+        "Invalid parameters rowIndex: %s, length: %s for row count: %s", rowIndex, length, getRowCount());
+    final List<VectorSchemaRoot> slices = new ArrayList<>();
+    if (length > 0) {
+      final long end = rowIndex + length;
+      try {
+        for (int i = getBatchIndex(rowIndex); i < batches.size() && batchStarts[i] < end; i++) {
+          final long start = Math.max(rowIndex, batchStarts[i]);
+          final long batchEnd = Math.min(end, batchStarts[i + 1]);
+          if (start < batchEnd) {
+            slices.add(sliceBatch(batches.get(i), (int) (start - batchStarts[i]), (int) (batchEnd - start)));
+          }
+        }
+      } catch (RuntimeException e) {
+        AutoCloseables.close(e, slices);
+        throw e;
+      }
+    }
+    return new Table(schema, slices);
+  }
+
+  private VectorSchemaRoot sliceBatch(VectorSchemaRoot batch, int index, int length) {
+    final List<FieldVector> vectors = new ArrayList<>(batch.getFieldVectors().size());
+    try {
+      for (FieldVector vector : batch.getFieldVectors()) {
+        vectors.add(ValueVectorUtility.sliceShared(vector, index, length));
+      }
+    } catch (RuntimeException e) {
+      AutoCloseables.close(e, vectors);
+      throw e;
+    }
+    return new VectorSchemaRoot(schema, vectors, length);
+  }
+
+  /**
+   * Copy the batches into a single {@link VectorSchemaRoot}, when a contiguous batch is needed.
+   * See {@link ChunkedVector#combineChunks(BufferAllocator)}.
+   *
+   * @param allocator the allocator of the new vectors
+   * @return the root holding all the rows of the table, to be closed by the caller
+   */
+  public VectorSchemaRoot combineChunks(BufferAllocator allocator) {
+    Preconditions.checkState(getRowCount() <= Integer.MAX_VALUE,
+        "Row count %s is too large for a single batch", getRowCount());
+    final List<FieldVector> vectors = new ArrayList<>(columns.size());
+    try {
+      for (ChunkedVector column : columns) {
+        vectors.add(column.combineChunks(allocator));
+      }
+    } catch (RuntimeException e) {
+      AutoCloseables.close(e, vectors);
+      throw e;
+    }
+    return new VectorSchemaRoot(schema, vectors, (int) getRowCount());
+  }
+
+  /**
+   * Close the batches.
+   */
+  @Override
+  public void close() {
+    AutoCloseables.closeNoChecked(AutoCloseables.all(batches));
+  }
+}
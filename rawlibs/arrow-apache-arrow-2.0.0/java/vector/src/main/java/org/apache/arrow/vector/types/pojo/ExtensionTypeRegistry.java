@@ -20,6 +20,8 @@ package org.apache.arrow.vector.types.pojo;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import org.apache.arrow.vector.ViewVarCharType;
+import org.apache.arrow.vector.complex.RunEndEncodedType;
 import org.apache.arrow.vector.types.pojo.ArrowType.ExtensionType;
 
 /**
@@ -28,6 +30,11 @@ import org.apache.arrow.vector.types.pojo.ArrowType.ExtensionType;
 public final class ExtensionTypeRegistry {
   private static final ConcurrentMap<String, ExtensionType> registry = new ConcurrentHashMap<>();
 
+  static {
+    register(RunEndEncodedType.INSTANCE);
+    register(ViewVarCharType.INSTANCE);
+  }
+
   public static void register(ExtensionType type) {
     registry.put(type.extensionName(), type);
   }
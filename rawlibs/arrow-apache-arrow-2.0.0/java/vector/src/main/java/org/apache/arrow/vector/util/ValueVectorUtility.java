@@ -21,6 +21,8 @@ import static org.apache.arrow.vector.validate.ValidateUtil.validateOrThrow;
 
 import org.apache.arrow.util.Preconditions;
 import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.ValueVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.arrow.vector.validate.ValidateVectorBufferVisitor;
@@ -146,6 +148,30 @@ public class ValueVectorUtility {
     }
   }
 
+  /**
+   * Slice a vector without copying its data whenever possible. Fixed width and variable width
+   * vectors are sliced with their sliceTo method, and share the buffers of the vector; the other
+   * vectors are split with {@link TransferPair#splitAndTransfer(int, int)}. Unlike
+   * {@link VectorSchemaRoot#sliceShared(int, int)}, the slice is always a new vector, even when it
+   * covers the whole vector.
+   *
+   * @param vector the vector to slice
+   * @param index start position of the slice
+   * @param length length of the slice
+   * @return the slice, allocated with the allocator of the vector
+   */
+  public static FieldVector sliceShared(FieldVector vector, int index, int length) {
+    final TransferPair transferPair = vector.getTransferPair(vector.getAllocator());
+    if (vector instanceof BaseFixedWidthVector) {
+      ((BaseFixedWidthVector) vector).sliceTo(index, length, (BaseFixedWidthVector) transferPair.getTo());
+    } else if (vector instanceof BaseVariableWidthVector) {
+      ((BaseVariableWidthVector) vector).sliceTo(index, length, (BaseVariableWidthVector) transferPair.getTo());
+    } else {
+      transferPair.splitAndTransfer(index, length);
+    }
+    return (FieldVector) transferPair.getTo();
+  }
+
   /**
    * Pre allocate memory for BaseFixedWidthVector.
    */
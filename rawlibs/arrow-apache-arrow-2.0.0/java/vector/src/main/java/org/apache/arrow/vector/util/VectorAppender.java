@@ -20,14 +20,17 @@ package org.apache.arrow.vector.util;
 import static org.apache.arrow.memory.util.LargeMemoryUtil.checkedCastToInt;
 
 import java.util.HashSet;
+import java.util.Set;
 
 import org.apache.arrow.util.Preconditions;
 import org.apache.arrow.vector.BaseFixedWidthVector;
 import org.apache.arrow.vector.BaseLargeVariableWidthVector;
 import org.apache.arrow.vector.BaseVariableWidthVector;
 import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.IntVector;
 import org.apache.arrow.vector.NullVector;
 import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.ViewVarCharVector;
 import org.apache.arrow.vector.compare.TypeEqualsVisitor;
 import org.apache.arrow.vector.compare.VectorVisitor;
 import org.apache.arrow.vector.complex.DenseUnionVector;
@@ -35,6 +38,7 @@ import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.LargeListVector;
 import org.apache.arrow.vector.complex.ListVector;
 import org.apache.arrow.vector.complex.NonNullableStructVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
 import org.apache.arrow.vector.complex.UnionVector;
 
 import io.netty.util.internal.PlatformDependent;
@@ -51,6 +55,12 @@ class VectorAppender implements VectorVisitor<ValueVector, Void> {
 
   private final TypeEqualsVisitor typeVisitor;
 
+  /**
+   * The types found in the target union vector, kept across appends so that
+   * appending many vectors doesn't scan the growing target every time.
+   */
+  private Set<Integer> targetUnionTypes;
+
   /**
    * Constructs a new targetVector appender, with the given targetVector.
    * @param targetVector the targetVector to be appended.
@@ -72,10 +82,19 @@ class VectorAppender implements VectorVisitor<ValueVector, Void> {
       targetVector.reAlloc();
     }
 
-    // append validity buffer
-    BitVectorHelper.concatBits(
-            targetVector.getValidityBuffer(), targetVector.getValueCount(),
-            deltaVector.getValidityBuffer(), deltaVector.getValueCount(), targetVector.getValidityBuffer());
+    // append validity buffer, the values of a vector with an omitted validity buffer are all non-null
+    final BaseFixedWidthVector fixedWidthTarget = (BaseFixedWidthVector) targetVector;
+    if (!deltaVector.isValidityOmitted()) {
+      fixedWidthTarget.materializeValidity();
+      deltaVector.materializeValidity();
+      BitVectorHelper.concatBits(
+              targetVector.getValidityBuffer(), targetVector.getValueCount(),
+              deltaVector.getValidityBuffer(), deltaVector.getValueCount(), targetVector.getValidityBuffer());
+    } else if (!fixedWidthTarget.isValidityOmitted()) {
+      fixedWidthTarget.materializeValidity();
+      BitVectorHelper.setRangeToOne(targetVector.getValidityBuffer(), targetVector.getValueCount(),
+              deltaVector.getValueCount());
+    }
 
     // append data buffer
     PlatformDependent.copyMemory(deltaVector.getDataBuffer().memoryAddress(),
@@ -92,16 +111,18 @@ class VectorAppender implements VectorVisitor<ValueVector, Void> {
 
     int newValueCount = targetVector.getValueCount() + deltaVector.getValueCount();
 
+    // make sure there is enough capacity. this also copies the buffers of a target sliced with sliceTo.
+    while (targetVector.getValueCapacity() < newValueCount) {
+      targetVector.reAlloc();
+    }
+
     int targetDataSize = targetVector.getOffsetBuffer().getInt(
             (long) targetVector.getValueCount() * BaseVariableWidthVector.OFFSET_WIDTH);
+    // the offsets of a vector sliced with sliceTo don't start at zero.
+    int deltaDataStart = deltaVector.getOffsetBuffer().getInt(0);
     int deltaDataSize = deltaVector.getOffsetBuffer().getInt(
-            (long) deltaVector.getValueCount() * BaseVariableWidthVector.OFFSET_WIDTH);
+            (long) deltaVector.getValueCount() * BaseVariableWidthVector.OFFSET_WIDTH) - deltaDataStart;
     int newValueCapacity = targetDataSize + deltaDataSize;
-
-    // make sure there is enough capacity
-    while (targetVector.getValueCapacity() < newValueCount) {
-      targetVector.reAlloc();
-    }
     while (targetVector.getDataBuffer().capacity() < newValueCapacity) {
       ((BaseVariableWidthVector) targetVector).reallocDataBuffer();
     }
@@ -112,7 +133,7 @@ class VectorAppender implements VectorVisitor<ValueVector, Void> {
             deltaVector.getValidityBuffer(), deltaVector.getValueCount(), targetVector.getValidityBuffer());
 
     // append data buffer
-    PlatformDependent.copyMemory(deltaVector.getDataBuffer().memoryAddress(),
+    PlatformDependent.copyMemory(deltaVector.getDataBuffer().memoryAddress() + deltaDataStart,
             targetVector.getDataBuffer().memoryAddress() + targetDataSize, deltaDataSize);
 
     // copy offset buffer
@@ -128,7 +149,7 @@ class VectorAppender implements VectorVisitor<ValueVector, Void> {
               BaseVariableWidthVector.OFFSET_WIDTH);
       targetVector.getOffsetBuffer().setInt(
               (long) (targetVector.getValueCount() + 1 + i) *
-                      BaseVariableWidthVector.OFFSET_WIDTH, oldOffset + targetDataSize);
+                      BaseVariableWidthVector.OFFSET_WIDTH, oldOffset - deltaDataStart + targetDataSize);
     }
     ((BaseVariableWidthVector) targetVector).setLastSet(newValueCount - 1);
     targetVector.setValueCount(newValueCount);
@@ -379,10 +400,13 @@ class VectorAppender implements VectorVisitor<ValueVector, Void> {
             deltaVector.getValueCount());
 
     // build the hash set for all types
-    HashSet<Integer> targetTypes = new HashSet<>();
-    for (int i = 0; i < targetUnionVector.getValueCount(); i++) {
-      targetTypes.add(targetUnionVector.getTypeValue(i));
+    if (targetUnionTypes == null) {
+      targetUnionTypes = new HashSet<>();
+      for (int i = 0; i < targetUnionVector.getValueCount(); i++) {
+        targetUnionTypes.add(targetUnionVector.getTypeValue(i));
+      }
     }
+    Set<Integer> targetTypes = targetUnionTypes;
     HashSet<Integer> deltaTypes = new HashSet<>();
     for (int i = 0; i < deltaVector.getValueCount(); i++) {
       deltaTypes.add(deltaVector.getTypeValue(i));
@@ -413,6 +437,7 @@ class VectorAppender implements VectorVisitor<ValueVector, Void> {
         targetChild.setValueCount(newValueCount);
       }
     }
+    targetTypes.addAll(deltaTypes);
 
     targetVector.setValueCount(newValueCount);
     return targetVector;
@@ -494,4 +519,43 @@ class VectorAppender implements VectorVisitor<ValueVector, Void> {
             "The targetVector to append must have the same type as the targetVector being appended");
     return targetVector;
   }
+  @Override
+  public ValueVector visit(RunEndEncodedVector deltaVector, Void value) {
+    Preconditions.checkArgument(typeVisitor.equals(deltaVector),
+            "The vector to append must have the same type as the targetVector being appended");
+
+    RunEndEncodedVector targetEncodedVector = (RunEndEncodedVector) targetVector;
+    int targetValueCount = targetVector.getValueCount();
+    int targetRunCount = targetEncodedVector.getRunCount();
+    int deltaRunCount = deltaVector.getRunCount();
+
+    // append values
+    VectorAppender valuesAppender = new VectorAppender(targetEncodedVector.getValuesVector());
+    deltaVector.getValuesVector().accept(valuesAppender, null);
+
+    // append run ends, shifted by the length of the target vector
+    IntVector targetRunEnds = targetEncodedVector.getRunEndsVector();
+    for (int i = 0; i < deltaRunCount; i++) {
+      targetRunEnds.setSafe(targetRunCount + i, targetValueCount + deltaVector.getRunEnd(i));
+    }
+    targetRunEnds.setValueCount(targetRunCount + deltaRunCount);
+
+    targetVector.setValueCount(targetValueCount + deltaVector.getValueCount());
+    return targetVector;
+  }
+
+  @Override
+  public ValueVector visit(ViewVarCharVector deltaVector, Void value) {
+    Preconditions.checkArgument(typeVisitor.equals(deltaVector),
+            "The vector to append must have the same type as the targetVector being appended");
+
+    // the strings of the target vector stay in place, only the appended strings are copied.
+    ViewVarCharVector targetViewVector = (ViewVarCharVector) targetVector;
+    int targetValueCount = targetVector.getValueCount();
+    for (int i = 0; i < deltaVector.getValueCount(); i++) {
+      targetViewVector.copyFromSafe(i, targetValueCount + i, deltaVector);
+    }
+    targetVector.setValueCount(targetValueCount + deltaVector.getValueCount());
+    return targetVector;
+  }
 }
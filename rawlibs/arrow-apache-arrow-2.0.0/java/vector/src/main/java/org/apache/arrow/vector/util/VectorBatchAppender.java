@@ -17,10 +17,25 @@
 
 package org.apache.arrow.vector.util;
 
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseLargeVariableWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
 import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.complex.DenseUnionVector;
+import org.apache.arrow.vector.complex.FixedSizeListVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.NonNullableStructVector;
+import org.apache.arrow.vector.complex.UnionVector;
 
 /**
  * Utility to add vector values in batch.
+ *
+ * <p>The sizes of all the vectors are summed up first, so that the buffers of the target vector
+ * are allocated once, instead of being reallocated as the vectors are appended one by one.
  */
 public class VectorBatchAppender {
 
@@ -30,10 +45,245 @@ public class VectorBatchAppender {
    * @param vectorsToAppend the vectors to append.
    * @param <V> the vector type.
    */
+  @SafeVarargs
   public static <V extends ValueVector> void batchAppend(V targetVector, V... vectorsToAppend) {
+    int[] valueCounts = new int[vectorsToAppend.length];
+    for (int i = 0; i < vectorsToAppend.length; i++) {
+      valueCounts[i] = vectorsToAppend[i].getValueCount();
+    }
+    reserve(targetVector, targetVector.getValueCount(), vectorsToAppend, valueCounts);
+
     VectorAppender appender = new VectorAppender(targetVector);
     for (V delta : vectorsToAppend) {
       delta.accept(appender, null);
     }
   }
+
+  /**
+   * Makes sure the target vector can hold its values and the values of the sources, given their
+   * value counts. An empty target is allocated with the total size directly, a non-empty one is
+   * grown once. Vector types not handled here are grown by the {@link VectorAppender} as usual.
+   */
+  private static void reserve(ValueVector target, int targetCount, ValueVector[] sources, int[] sourceCounts) {
+    long total = targetCount;
+    for (int i = 0; i < sources.length; i++) {
+      if (sources[i].getClass() != target.getClass()) {
+        // leave the type check to the appender.
+        return;
+      }
+      total += sourceCounts[i];
+    }
+    Preconditions.checkArgument(total <= Integer.MAX_VALUE, "Too many values to append: %s", total);
+    final int totalCount = (int) total;
+
+    if (target instanceof BaseFixedWidthVector) {
+      reserveValueCapacity(target, targetCount, totalCount);
+    } else if (target instanceof BaseVariableWidthVector) {
+      reserveVariableWidth((BaseVariableWidthVector) target, targetCount, sources, sourceCounts, totalCount);
+    } else if (target instanceof BaseLargeVariableWidthVector) {
+      reserveLargeVariableWidth((BaseLargeVariableWidthVector) target, targetCount, sources, sourceCounts, totalCount);
+    } else if (target instanceof ListVector) {
+      reserveList((ListVector) target, targetCount, sources, sourceCounts, totalCount);
+    } else if (target instanceof FixedSizeListVector) {
+      reserveFixedSizeList((FixedSizeListVector) target, targetCount, sources, sourceCounts, totalCount);
+    } else if (target instanceof NonNullableStructVector) {
+      reserveStruct((NonNullableStructVector) target, targetCount, sources, sourceCounts, totalCount);
+    } else if (target instanceof UnionVector) {
+      reserveUnion((UnionVector) target, targetCount, sources, sourceCounts, totalCount);
+    } else if (target instanceof DenseUnionVector) {
+      // the children hold a variable number of values each, they are grown while appending.
+      reserveValueCapacity(target, targetCount, totalCount);
+    }
+  }
+
+  private static void reserveValueCapacity(ValueVector target, int targetCount, int totalCount) {
+    if (target.getValueCapacity() >= totalCount) {
+      return;
+    }
+    if (targetCount == 0) {
+      // nothing to keep, allocate the final size directly.
+      target.setInitialCapacity(totalCount);
+      target.allocateNew();
+    }
+    int capacity = target.getValueCapacity();
+    while (capacity < totalCount) {
+      target.reAlloc();
+      int newCapacity = target.getValueCapacity();
+      if (newCapacity <= capacity) {
+        // e.g. a struct without children, which has no capacity.
+        return;
+      }
+      capacity = newCapacity;
+    }
+  }
+
+  private static void reserveVariableWidth(BaseVariableWidthVector target, int targetCount,
+      ValueVector[] sources, int[] sourceCounts, int totalCount) {
+    long dataSize = getDataSize(target, targetCount);
+    for (int i = 0; i < sources.length; i++) {
+      dataSize += getDataSize((BaseVariableWidthVector) sources[i], sourceCounts[i]);
+    }
+
+    if (targetCount == 0) {
+      if (target.getValueCapacity() < totalCount || target.getDataBuffer().capacity() < dataSize) {
+        target.allocateNew(dataSize, totalCount);
+      }
+      return;
+    }
+    while (target.getValueCapacity() < totalCount) {
+      target.reallocValidityAndOffsetBuffers();
+    }
+    while (target.getDataBuffer().capacity() < dataSize) {
+      target.reallocDataBuffer();
+    }
+  }
+
+  private static long getDataSize(BaseVariableWidthVector vector, int valueCount) {
+    if (valueCount == 0) {
+      return 0;
+    }
+    // the offsets of a vector sliced with sliceTo don't start at zero.
+    return vector.getStartOffset(valueCount) - vector.getStartOffset(0);
+  }
+
+  private static void reserveLargeVariableWidth(BaseLargeVariableWidthVector target, int targetCount,
+      ValueVector[] sources, int[] sourceCounts, int totalCount) {
+    long dataSize = getDataSize(target, targetCount);
+    for (int i = 0; i < sources.length; i++) {
+      dataSize += getDataSize((BaseLargeVariableWidthVector) sources[i], sourceCounts[i]);
+    }
+
+    if (targetCount == 0) {
+      if (target.getValueCapacity() < totalCount || target.getDataBuffer().capacity() < dataSize) {
+        target.allocateNew(dataSize, totalCount);
+      }
+      return;
+    }
+    while (target.getValueCapacity() < totalCount) {
+      target.reallocValidityAndOffsetBuffers();
+    }
+    while (target.getDataBuffer().capacity() < dataSize) {
+      target.reallocDataBuffer();
+    }
+  }
+
+  private static long getDataSize(BaseLargeVariableWidthVector vector, int valueCount) {
+    if (valueCount == 0) {
+      return 0;
+    }
+    return vector.getOffsetBuffer().getLong((long) valueCount * BaseLargeVariableWidthVector.OFFSET_WIDTH);
+  }
+
+  private static void reserveList(ListVector target, int targetCount,
+      ValueVector[] sources, int[] sourceCounts, int totalCount) {
+    int targetChildCount = getListChildCount(target, targetCount);
+    ValueVector[] childSources = new ValueVector[sources.length];
+    int[] childCounts = new int[sources.length];
+    long childTotal = targetChildCount;
+    for (int i = 0; i < sources.length; i++) {
+      childSources[i] = ((ListVector) sources[i]).getDataVector();
+      childCounts[i] = getListChildCount((ListVector) sources[i], sourceCounts[i]);
+      childTotal += childCounts[i];
+    }
+    Preconditions.checkArgument(childTotal <= Integer.MAX_VALUE, "Too many list elements to append: %s", childTotal);
+
+    if (targetCount == 0 && target.getValueCapacity() < totalCount) {
+      // size the data vector by the actual number of elements rather than the default per list.
+      target.setInitialCapacity(totalCount);
+      target.getDataVector().setInitialCapacity((int) childTotal);
+      target.allocateNew();
+    }
+    reserveValueCapacity(target, targetCount, totalCount);
+
+    // the appender sets the value counts of the data vectors the same way.
+    target.getDataVector().setValueCount(targetChildCount);
+    for (int i = 0; i < sources.length; i++) {
+      childSources[i].setValueCount(childCounts[i]);
+    }
+    reserve(target.getDataVector(), targetChildCount, childSources, childCounts);
+  }
+
+  private static int getListChildCount(ListVector vector, int valueCount) {
+    if (valueCount == 0) {
+      return 0;
+    }
+    return vector.getOffsetBuffer().getInt((long) valueCount * ListVector.OFFSET_WIDTH);
+  }
+
+  private static void reserveFixedSizeList(FixedSizeListVector target, int targetCount,
+      ValueVector[] sources, int[] sourceCounts, int totalCount) {
+    int listSize = target.getListSize();
+    ValueVector[] childSources = new ValueVector[sources.length];
+    int[] childCounts = new int[sources.length];
+    for (int i = 0; i < sources.length; i++) {
+      FixedSizeListVector source = (FixedSizeListVector) sources[i];
+      if (source.getListSize() != listSize) {
+        // leave the check to the appender.
+        return;
+      }
+      childSources[i] = source.getDataVector();
+      childCounts[i] = sourceCounts[i] * listSize;
+    }
+    Preconditions.checkArgument((long) totalCount * listSize <= Integer.MAX_VALUE,
+        "Too many list elements to append: %s", (long) totalCount * listSize);
+
+    reserveValueCapacity(target, targetCount, totalCount);
+
+    int targetChildCount = targetCount * listSize;
+    target.getDataVector().setValueCount(targetChildCount);
+    for (int i = 0; i < sources.length; i++) {
+      childSources[i].setValueCount(childCounts[i]);
+    }
+    reserve(target.getDataVector(), targetChildCount, childSources, childCounts);
+  }
+
+  private static void reserveStruct(NonNullableStructVector target, int targetCount,
+      ValueVector[] sources, int[] sourceCounts, int totalCount) {
+    int childCount = target.getChildrenFromFields().size();
+    for (ValueVector source : sources) {
+      if (((NonNullableStructVector) source).getChildrenFromFields().size() != childCount) {
+        // leave the type check to the appender.
+        return;
+      }
+    }
+
+    reserveValueCapacity(target, targetCount, totalCount);
+
+    // the appender sets the value counts of the children the same way.
+    for (int i = 0; i < childCount; i++) {
+      ValueVector targetChild = target.getVectorById(i);
+      ValueVector[] childSources = new ValueVector[sources.length];
+      targetChild.setValueCount(targetCount);
+      for (int j = 0; j < sources.length; j++) {
+        childSources[j] = ((NonNullableStructVector) sources[j]).getVectorById(i);
+        childSources[j].setValueCount(sourceCounts[j]);
+      }
+      reserve(targetChild, targetCount, childSources, sourceCounts);
+    }
+  }
+
+  private static void reserveUnion(UnionVector target, int targetCount,
+      ValueVector[] sources, int[] sourceCounts, int totalCount) {
+    reserveValueCapacity(target, targetCount, totalCount);
+
+    // the children of a sparse union have as many values as the union itself.
+    Set<Integer> types = new HashSet<>();
+    for (int i = 0; i < targetCount; i++) {
+      types.add(target.getTypeValue(i));
+    }
+    for (int i = 0; i < sources.length; i++) {
+      UnionVector source = (UnionVector) sources[i];
+      for (int j = 0; j < sourceCounts[i]; j++) {
+        types.add(source.getTypeValue(j));
+      }
+    }
+    for (int typeId : types) {
+      ValueVector targetChild = target.getVectorByType(typeId);
+      if (targetChild != null) {
+        // the appender sets the value count of the children the same way.
+        targetChild.setValueCount(targetCount);
+        reserveValueCapacity(targetChild, targetCount, totalCount);
+      }
+    }
+  }
 }
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.util;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.util.ArrowBufPointer;
+import org.apache.arrow.memory.util.hash.ArrowBufHasher64;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseLargeVariableWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.ValueVector;
+
+/**
+ * Computes the 64-bit hash codes of all the values of a vector at once.
+ * <p>
+ *   The hash code of a value is the same as the one of
+ *   <code>hasher.hashCode64(dataBuffer, start, length)</code> on the bytes of that value; null
+ *   values get {@link ArrowBufPointer#NULL_HASH_CODE}. The output vector is reallocated to hold
+ *   one non-null hash code per input value.
+ * </p>
+ */
+public class VectorHasher {
+
+  private VectorHasher() {
+  }
+
+  /**
+   * Hashes all the values of a fixed-width, variable-width or large variable-width vector.
+   * @param vector the vector to hash.
+   * @param hasher the hasher.
+   * @param output the vector for the hash codes.
+   */
+  public static void hash(ValueVector vector, ArrowBufHasher64 hasher, BigIntVector output) {
+    if (vector instanceof BaseFixedWidthVector) {
+      hash((BaseFixedWidthVector) vector, hasher, output);
+    } else if (vector instanceof BaseVariableWidthVector) {
+      hash((BaseVariableWidthVector) vector, hasher, output);
+    } else if (vector instanceof BaseLargeVariableWidthVector) {
+      hash((BaseLargeVariableWidthVector) vector, hasher, output);
+    } else {
+      throw new UnsupportedOperationException("Bulk hashing is not supported for " + vector.getClass().getSimpleName());
+    }
+  }
+
+  /**
+   * Hashes all the values of a fixed-width vector.
+   * @param vector the vector to hash, whose type width must be at least one byte.
+   * @param hasher the hasher.
+   * @param output the vector for the hash codes.
+   */
+  public static void hash(BaseFixedWidthVector vector, ArrowBufHasher64 hasher, BigIntVector output) {
+    final int typeWidth = vector.getTypeWidth();
+    Preconditions.checkArgument(typeWidth > 0, "Bulk hashing requires byte-aligned values");
+    final int valueCount = vector.getValueCount();
+    output.allocateNew(valueCount);
+    final long dataAddress = vector.getDataBufferAddress();
+    for (int i = 0; i < valueCount; i++) {
+      // isNull handles an omitted validity buffer and the bit offset of a slice.
+      final long hash = vector.isNull(i) ? ArrowBufPointer.NULL_HASH_CODE :
+          hasher.hashCode64(dataAddress + (long) i * typeWidth, typeWidth);
+      output.set(i, hash);
+    }
+    output.setValueCount(valueCount);
+  }
+
+  /**
+   * Hashes all the values of a variable-width vector.
+   * @param vector the vector to hash.
+   * @param hasher the hasher.
+   * @param output the vector for the hash codes.
+   */
+  public static void hash(BaseVariableWidthVector vector, ArrowBufHasher64 hasher, BigIntVector output) {
+    final int valueCount = vector.getValueCount();
+    output.allocateNew(valueCount);
+    final ArrowBuf validityBuffer = vector.getValidityBuffer();
+    final ArrowBuf offsetBuffer = vector.getOffsetBuffer();
+    final long dataAddress = vector.getDataBufferAddress();
+    int start = valueCount == 0 ? 0 : offsetBuffer.getInt(0);
+    for (int i = 0; i < valueCount; i++) {
+      final int end = offsetBuffer.getInt((long) (i + 1) * BaseVariableWidthVector.OFFSET_WIDTH);
+      final long hash = BitVectorHelper.get(validityBuffer, i) == 0 ? ArrowBufPointer.NULL_HASH_CODE :
+          hasher.hashCode64(dataAddress + start, end - start);
+      output.set(i, hash);
+      start = end;
+    }
+    output.setValueCount(valueCount);
+  }
+
+  /**
+   * Hashes all the values of a large variable-width vector.
+   * @param vector the vector to hash.
+   * @param hasher the hasher.
+   * @param output the vector for the hash codes.
+   */
+  public static void hash(BaseLargeVariableWidthVector vector, ArrowBufHasher64 hasher, BigIntVector output) {
+    final int valueCount = vector.getValueCount();
+    output.allocateNew(valueCount);
+    final ArrowBuf validityBuffer = vector.getValidityBuffer();
+    final ArrowBuf offsetBuffer = vector.getOffsetBuffer();
+    final long dataAddress = vector.getDataBufferAddress();
+    long start = valueCount == 0 ? 0 : offsetBuffer.getLong(0);
+    for (int i = 0; i < valueCount; i++) {
+      final long end = offsetBuffer.getLong((long) (i + 1) * BaseLargeVariableWidthVector.OFFSET_WIDTH);
+      final long hash = BitVectorHelper.get(validityBuffer, i) == 0 ? ArrowBufPointer.NULL_HASH_CODE :
+          hasher.hashCode64(dataAddress + start, end - start);
+      output.set(i, hash);
+      start = end;
+    }
+    output.setValueCount(valueCount);
+  }
+}
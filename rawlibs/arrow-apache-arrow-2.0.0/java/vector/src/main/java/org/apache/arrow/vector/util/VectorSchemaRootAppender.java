@@ -17,6 +17,12 @@
 
 package org.apache.arrow.vector.util;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.arrow.vector.compare.TypeEqualsVisitor;
 
@@ -33,41 +39,15 @@ public class VectorSchemaRootAppender {
    * @throws IllegalArgumentException throws if we need to check schema, and checking schema fails.
    */
   public static void append(boolean checkSchema, VectorSchemaRoot targetRoot, VectorSchemaRoot... rootsToAppend) {
-    // create appenders
-    VectorAppender[] appenders = new VectorAppender[targetRoot.getFieldVectors().size()];
-    for (int i = 0; i < appenders.length; i++) {
-      appenders[i] = new VectorAppender(targetRoot.getVector(i));
-    }
-
-    // create type checkers, if necessary
-    TypeEqualsVisitor[] typeCheckers = null;
     if (checkSchema) {
-      typeCheckers = new TypeEqualsVisitor[targetRoot.getFieldVectors().size()];
-      for (int i = 0; i < typeCheckers.length; i++) {
-        typeCheckers[i] = new TypeEqualsVisitor(targetRoot.getVector(i),
-            /* check name */ false, /* check meta data */ false);
-      }
+      checkSchemas(targetRoot, rootsToAppend);
     }
 
-    for (VectorSchemaRoot delta : rootsToAppend) {
-      // check schema, if necessary
-      if (checkSchema) {
-        if (delta.getFieldVectors().size() != targetRoot.getFieldVectors().size()) {
-          throw new IllegalArgumentException("Vector schema roots have different numbers of child vectors.");
-        }
-        for (int i = 0; i < typeCheckers.length; i++) {
-          if (!typeCheckers[i].equals(delta.getVector(i))) {
-            throw new IllegalArgumentException("Vector schema roots have different schemas.");
-          }
-        }
-      }
-
-      // append child vectors.
-      for (int i = 0; i < appenders.length; i++) {
-        delta.getVector(i).accept(appenders[i], null);
-      }
-      targetRoot.setRowCount(targetRoot.getRowCount() + delta.getRowCount());
+    // append the columns one at a time, each with all the roots at once.
+    for (int i = 0; i < targetRoot.getFieldVectors().size(); i++) {
+      appendColumn(i, targetRoot, rootsToAppend);
     }
+    targetRoot.setRowCount(getTotalRowCount(targetRoot, rootsToAppend));
   }
 
   /**
@@ -80,4 +60,67 @@ public class VectorSchemaRootAppender {
   public static void append(VectorSchemaRoot targetRoot, VectorSchemaRoot... rootsToAppend) {
     append(true, targetRoot, rootsToAppend);
   }
+
+  /**
+   * Appends a number of {@link VectorSchemaRoot}s, appending the columns in parallel.
+   * The columns must be allocated from thread-safe allocators, which the Arrow allocators are.
+   * @param pool the pool appending the columns.
+   * @param checkSchema if we need to check schema for the vector schema roots.
+   * @param targetRoot the vector schema root to be appended.
+   * @param rootsToAppend the vector schema roots to append.
+   * @throws IllegalArgumentException throws if we need to check schema, and checking schema fails.
+   */
+  public static void append(ForkJoinPool pool, boolean checkSchema,
+      VectorSchemaRoot targetRoot, VectorSchemaRoot... rootsToAppend) {
+    if (checkSchema) {
+      checkSchemas(targetRoot, rootsToAppend);
+    }
+
+    final int columnCount = targetRoot.getFieldVectors().size();
+    final List<ForkJoinTask<?>> tasks = new ArrayList<>(columnCount);
+    for (int i = 0; i < columnCount; i++) {
+      final int column = i;
+      tasks.add(ForkJoinTask.adapt(() -> appendColumn(column, targetRoot, rootsToAppend)));
+    }
+    // waits for all the columns, and rethrows the first failure.
+    pool.invoke(ForkJoinTask.adapt(() -> {
+      ForkJoinTask.invokeAll(tasks);
+    }));
+    targetRoot.setRowCount(getTotalRowCount(targetRoot, rootsToAppend));
+  }
+
+  private static void checkSchemas(VectorSchemaRoot targetRoot, VectorSchemaRoot... rootsToAppend) {
+    TypeEqualsVisitor[] typeCheckers = new TypeEqualsVisitor[targetRoot.getFieldVectors().size()];
+    for (int i = 0; i < typeCheckers.length; i++) {
+      typeCheckers[i] = new TypeEqualsVisitor(targetRoot.getVector(i),
+          /* check name */ false, /* check meta data */ false);
+    }
+
+    for (VectorSchemaRoot delta : rootsToAppend) {
+      if (delta.getFieldVectors().size() != targetRoot.getFieldVectors().size()) {
+        throw new IllegalArgumentException("Vector schema roots have different numbers of child vectors.");
+      }
+      for (int i = 0; i < typeCheckers.length; i++) {
+        if (!typeCheckers[i].equals(delta.getVector(i))) {
+          throw new IllegalArgumentException("Vector schema roots have different schemas.");
+        }
+      }
+    }
+  }
+
+  private static void appendColumn(int column, VectorSchemaRoot targetRoot, VectorSchemaRoot... rootsToAppend) {
+    FieldVector[] deltas = new FieldVector[rootsToAppend.length];
+    for (int i = 0; i < rootsToAppend.length; i++) {
+      deltas[i] = rootsToAppend[i].getVector(column);
+    }
+    VectorBatchAppender.batchAppend(targetRoot.getVector(column), deltas);
+  }
+
+  private static int getTotalRowCount(VectorSchemaRoot targetRoot, VectorSchemaRoot... rootsToAppend) {
+    int rowCount = targetRoot.getRowCount();
+    for (VectorSchemaRoot delta : rootsToAppend) {
+      rowCount += delta.getRowCount();
+    }
+    return rowCount;
+  }
 }
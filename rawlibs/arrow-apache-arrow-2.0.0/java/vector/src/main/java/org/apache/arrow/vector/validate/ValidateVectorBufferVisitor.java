@@ -28,12 +28,14 @@ import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.NullVector;
 import org.apache.arrow.vector.TypeLayout;
 import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.ViewVarCharVector;
 import org.apache.arrow.vector.compare.VectorVisitor;
 import org.apache.arrow.vector.complex.DenseUnionVector;
 import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.LargeListVector;
 import org.apache.arrow.vector.complex.ListVector;
 import org.apache.arrow.vector.complex.NonNullableStructVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
 import org.apache.arrow.vector.complex.UnionVector;
 import org.apache.arrow.vector.types.pojo.ArrowType;
 
@@ -57,6 +59,10 @@ public class ValidateVectorBufferVisitor implements VectorVisitor<Void, Void> {
   }
 
   private void validateValidityBuffer(ValueVector vector, int valueCount) {
+    if (vector instanceof BaseFixedWidthVector && ((BaseFixedWidthVector) vector).isValidityOmitted()) {
+      // all the values are non-null.
+      return;
+    }
     ArrowBuf validityBuffer = vector.getValidityBuffer();
     validateOrThrow(validityBuffer != null, "The validity buffer is null.");
     validateOrThrow(validityBuffer.capacity() * 8 >= valueCount,
@@ -236,4 +242,31 @@ public class ValidateVectorBufferVisitor implements VectorVisitor<Void, Void> {
   public Void visit(NullVector vector, Void value) {
     return null;
   }
+
+  @Override
+  public Void visit(RunEndEncodedVector vector, Void value) {
+    int runCount = vector.getRunCount();
+    validateVectorCommon(vector);
+    validateOrThrow(runCount == vector.getValuesVector().getValueCount(),
+        "Run ends length not equal to values length. Run ends length %s, values length %s",
+        runCount, vector.getValuesVector().getValueCount());
+    validateOrThrow((runCount == 0) == (vector.getValueCount() == 0),
+        "Run-end encoded vector of length %s has %s runs.", vector.getValueCount(), runCount);
+    for (ValueVector subVector : vector.getChildrenFromFields()) {
+      subVector.accept(this, null);
+    }
+    return null;
+  }
+
+  @Override
+  public Void visit(ViewVarCharVector vector, Void value) {
+    int valueCount = vector.getValueCount();
+    validateVectorCommon(vector);
+    validateValidityBuffer(vector, valueCount);
+    long minViewCapacity = (long) valueCount * ViewVarCharVector.VIEW_WIDTH;
+    validateOrThrow(vector.getViewBuffer().capacity() >= minViewCapacity,
+        "Not enough capacity for the view buffer. Minimum capacity %s, actual capacity %s.",
+        minViewCapacity, vector.getViewBuffer().capacity());
+    return null;
+  }
 }
@@ -25,12 +25,14 @@ import org.apache.arrow.vector.BaseLargeVariableWidthVector;
 import org.apache.arrow.vector.BaseVariableWidthVector;
 import org.apache.arrow.vector.NullVector;
 import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.ViewVarCharVector;
 import org.apache.arrow.vector.compare.VectorVisitor;
 import org.apache.arrow.vector.complex.DenseUnionVector;
 import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.LargeListVector;
 import org.apache.arrow.vector.complex.ListVector;
 import org.apache.arrow.vector.complex.NonNullableStructVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
 import org.apache.arrow.vector.complex.UnionVector;
 
 /**
@@ -170,4 +172,45 @@ public class ValidateVectorDataVisitor implements VectorVisitor<Void, Void> {
   public Void visit(NullVector vector, Void value) {
     return null;
   }
+
+  @Override
+  public Void visit(RunEndEncodedVector vector, Void value) {
+    int previousRunEnd = 0;
+    for (int i = 0; i < vector.getRunCount(); i++) {
+      int runEnd = vector.getRunEnd(i);
+      validateOrThrow(runEnd > previousRunEnd,
+          "The run ends must be strictly increasing. Run end #%s is %s, the previous one is %s",
+          i, runEnd, previousRunEnd);
+      previousRunEnd = runEnd;
+    }
+    validateOrThrow(previousRunEnd == vector.getValueCount(),
+        "The last run end %s is not the length of the vector %s", previousRunEnd, vector.getValueCount());
+    for (ValueVector subVector : vector.getChildrenFromFields()) {
+      subVector.accept(this, null);
+    }
+    return null;
+  }
+
+  @Override
+  public Void visit(ViewVarCharVector vector, Void value) {
+    ArrowBuf viewBuffer = vector.getViewBuffer();
+    int dataBufferCount = vector.getDataBuffers().size();
+    for (int i = 0; i < vector.getValueCount(); i++) {
+      int length = vector.getValueLength(i);
+      validateOrThrow(length >= 0, "Negative length %s at position %s.", length, i);
+      if (length > ViewVarCharVector.INLINE_SIZE) {
+        long view = (long) i * ViewVarCharVector.VIEW_WIDTH;
+        int bufferIndex = viewBuffer.getInt(view + ViewVarCharVector.BUFFER_INDEX_OFFSET);
+        int offset = viewBuffer.getInt(view + ViewVarCharVector.BUFFER_OFFSET_OFFSET);
+        validateOrThrow(bufferIndex >= 0 && bufferIndex < dataBufferCount,
+            "Invalid data buffer index %s at position %s, the vector has %s data buffers.",
+            bufferIndex, i, dataBufferCount);
+        long capacity = vector.getDataBuffers().get(bufferIndex).capacity();
+        validateOrThrow(offset >= 0 && offset + (long) length <= capacity,
+            "The string at position %s, of offset %s and length %s, is out of its data buffer of capacity %s.",
+            i, offset, length, capacity);
+      }
+    }
+    return null;
+  }
 }
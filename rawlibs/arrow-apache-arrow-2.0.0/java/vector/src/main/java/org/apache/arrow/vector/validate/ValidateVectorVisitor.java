@@ -26,12 +26,14 @@ import org.apache.arrow.vector.BaseVariableWidthVector;
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.NullVector;
 import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.ViewVarCharVector;
 import org.apache.arrow.vector.compare.VectorVisitor;
 import org.apache.arrow.vector.complex.DenseUnionVector;
 import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.LargeListVector;
 import org.apache.arrow.vector.complex.ListVector;
 import org.apache.arrow.vector.complex.NonNullableStructVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
 import org.apache.arrow.vector.complex.UnionVector;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.util.ValueVectorUtility;
@@ -263,4 +265,33 @@ public class ValidateVectorVisitor implements VectorVisitor<Void, Void> {
   public Void visit(NullVector vector, Void value) {
     return null;
   }
+
+  @Override
+  public Void visit(RunEndEncodedVector vector, Void value) {
+    final int runCount = vector.getRunCount();
+    if (vector.getValuesVector().getValueCount() != runCount) {
+      throw new IllegalArgumentException(String.format("run-end encoded vector has %s run ends and %s values",
+          runCount, vector.getValuesVector().getValueCount()));
+    }
+    final int lastRunEnd = runCount == 0 ? 0 : vector.getRunEnd(runCount - 1);
+    if (lastRunEnd != vector.getValueCount()) {
+      throw new IllegalArgumentException(String.format("run-end encoded vector runs end at %s, valueCount is %s",
+          lastRunEnd, vector.getValueCount()));
+    }
+    for (FieldVector child : vector.getChildrenFromFields()) {
+      child.accept(this, null);
+    }
+    return null;
+  }
+
+  @Override
+  public Void visit(ViewVarCharVector vector, Void value) {
+    long minViewBufferSize = (long) vector.getValueCount() * ViewVarCharVector.VIEW_WIDTH;
+    if (vector.getViewBuffer().capacity() < minViewBufferSize) {
+      throw new IllegalArgumentException(String.format("viewBuffer too small in vector of valueCount %s : " +
+          "expected at least %s byte(s), got %s",
+          vector.getValueCount(), minViewBufferSize, vector.getViewBuffer().capacity()));
+    }
+    return null;
+  }
 }
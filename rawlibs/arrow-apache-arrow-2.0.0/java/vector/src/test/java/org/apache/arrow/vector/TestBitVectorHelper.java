@@ -21,6 +21,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
+import java.util.Random;
+
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
@@ -222,6 +224,203 @@ public class TestBitVectorHelper {
     }
   }
 
+  @Test
+  public void testSetRangeToOne() {
+    try (BufferAllocator allocator = new RootAllocator(1024 * 1024)) {
+      try (ArrowBuf buf = allocator.buffer(16)) {
+        final int[][] ranges = {{0, 0}, {0, 64}, {3, 4}, {3, 5}, {5, 30}, {8, 16}, {17, 100}, {127, 1}};
+        for (int[] range : ranges) {
+          buf.setZero(0, buf.capacity());
+          BitVectorHelper.setRangeToOne(buf, range[0], range[1]);
+          for (int i = 0; i < 128; i++) {
+            final int expected = i >= range[0] && i < range[0] + range[1] ? 1 : 0;
+            assertEquals(expected, BitVectorHelper.get(buf, i));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testBitwiseOperations() {
+    final long[] offsets = {0, 3, 8, 13, 64};
+    final long[] lengths = {0, 1, 7, 8, 63, 64, 65, 130, 200};
+    final Random random = new Random(0);
+    try (BufferAllocator allocator = new RootAllocator(1024 * 1024);
+         ArrowBuf left = allocator.buffer(64);
+         ArrowBuf right = allocator.buffer(64);
+         ArrowBuf output = allocator.buffer(64)) {
+      for (int i = 0; i < 64; i++) {
+        left.setByte(i, random.nextInt());
+        right.setByte(i, random.nextInt());
+      }
+
+      for (long leftOffset : offsets) {
+        for (long rightOffset : offsets) {
+          for (long outputOffset : offsets) {
+            for (long length : lengths) {
+              for (int op = 0; op < 6; op++) {
+                output.setOne(0, (int) output.capacity());
+                switch (op) {
+                  case 0:
+                    BitVectorHelper.and(left, leftOffset, right, rightOffset, output, outputOffset, length);
+                    break;
+                  case 1:
+                    BitVectorHelper.or(left, leftOffset, right, rightOffset, output, outputOffset, length);
+                    break;
+                  case 2:
+                    BitVectorHelper.andNot(left, leftOffset, right, rightOffset, output, outputOffset, length);
+                    break;
+                  case 3:
+                    BitVectorHelper.xor(left, leftOffset, right, rightOffset, output, outputOffset, length);
+                    break;
+                  case 4:
+                    BitVectorHelper.not(left, leftOffset, output, outputOffset, length);
+                    break;
+                  default:
+                    BitVectorHelper.copyBits(left, leftOffset, output, outputOffset, length);
+                    break;
+                }
+
+                for (int i = 0; i < 512; i++) {
+                  int expected = 1;
+                  if (i >= outputOffset && i < outputOffset + length) {
+                    int leftBit = BitVectorHelper.get(left, (int) (leftOffset + i - outputOffset));
+                    int rightBit = BitVectorHelper.get(right, (int) (rightOffset + i - outputOffset));
+                    expected = op == 0 ? leftBit & rightBit :
+                        op == 1 ? leftBit | rightBit :
+                        op == 2 ? leftBit & (1 - rightBit) :
+                        op == 3 ? leftBit ^ rightBit :
+                        op == 4 ? 1 - leftBit : leftBit;
+                  }
+                  assertEquals(expected, BitVectorHelper.get(output, i));
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testBitwiseOperationInPlace() {
+    try (BufferAllocator allocator = new RootAllocator(1024 * 1024);
+         ArrowBuf left = allocator.buffer(32);
+         ArrowBuf right = allocator.buffer(32)) {
+      for (int i = 0; i < 256; i++) {
+        BitVectorHelper.setValidityBit(left, i, i % 3 == 0 ? 1 : 0);
+        BitVectorHelper.setValidityBit(right, i, i % 2 == 0 ? 1 : 0);
+      }
+
+      BitVectorHelper.and(left, 5, right, 5, left, 5, 200);
+      for (int i = 0; i < 256; i++) {
+        int expected = i % 3 == 0 && (i < 5 || i >= 205 || i % 2 == 0) ? 1 : 0;
+        assertEquals(expected, BitVectorHelper.get(left, i));
+      }
+    }
+  }
+
+  @Test
+  public void testCountSetBits() {
+    try (BufferAllocator allocator = new RootAllocator(1024 * 1024);
+         ArrowBuf buf = allocator.buffer(64)) {
+      for (int i = 0; i < 512; i++) {
+        BitVectorHelper.setValidityBit(buf, i, i % 7 == 0 ? 1 : 0);
+      }
+
+      final long[][] ranges = {{0, 0}, {0, 512}, {1, 6}, {3, 64}, {7, 1}, {13, 300}, {500, 12}};
+      for (long[] range : ranges) {
+        long expected = 0;
+        for (long i = range[0]; i < range[0] + range[1]; i++) {
+          expected += i % 7 == 0 ? 1 : 0;
+        }
+        assertEquals(expected, BitVectorHelper.countSetBits(buf, range[0], range[1]));
+      }
+      assertEquals(BitVectorHelper.getNullCount(buf, 500), 500 - BitVectorHelper.countSetBits(buf, 0, 500));
+    }
+  }
+
+  @Test
+  public void testNextSetBit() {
+    try (BufferAllocator allocator = new RootAllocator(1024 * 1024);
+         ArrowBuf buf = allocator.buffer(64)) {
+      buf.setZero(0, buf.capacity());
+      BitVectorHelper.setBit(buf, 3);
+      BitVectorHelper.setBit(buf, 200);
+      BitVectorHelper.setBit(buf, 511);
+
+      assertEquals(3, BitVectorHelper.nextSetBit(buf, 0, 512));
+      assertEquals(3, BitVectorHelper.nextSetBit(buf, 3, 512));
+      assertEquals(200, BitVectorHelper.nextSetBit(buf, 4, 512));
+      assertEquals(-1, BitVectorHelper.nextSetBit(buf, 4, 200));
+      assertEquals(511, BitVectorHelper.nextSetBit(buf, 201, 512));
+      assertEquals(-1, BitVectorHelper.nextSetBit(buf, 201, 511));
+      assertEquals(-1, BitVectorHelper.nextSetBit(buf, 3, 3));
+    }
+  }
+
+  @Test
+  public void testGetBits() {
+    try (BufferAllocator allocator = new RootAllocator(1024 * 1024);
+         ArrowBuf buf = allocator.buffer(16)) {
+      buf.setZero(0, buf.capacity());
+      BitVectorHelper.setBit(buf, 3);
+      BitVectorHelper.setBit(buf, 64);
+      BitVectorHelper.setBit(buf, 70);
+
+      assertEquals(1L << 3, BitVectorHelper.getBits(buf, 0, 64));
+      assertEquals(1L | (1L << 6), BitVectorHelper.getBits(buf, 64, 64));
+      assertEquals(1L | (1L << 61), BitVectorHelper.getBits(buf, 3, 64));
+      assertEquals(1L, BitVectorHelper.getBits(buf, 64, 6));
+      assertEquals(0, BitVectorHelper.getBits(buf, 4, 60));
+      assertEquals(0, BitVectorHelper.getBits(buf, 3, 0));
+    }
+  }
+
+  @Test
+  public void testAndValidity() {
+    try (BufferAllocator allocator = new RootAllocator(1024 * 1024);
+         IntVector left = new IntVector("left", allocator);
+         IntVector right = new IntVector("right", allocator);
+         IntVector noNulls = new IntVector("noNulls", allocator);
+         ArrowBuf output = allocator.buffer(16)) {
+      final int valueCount = 100;
+      left.allocateNew(valueCount);
+      right.allocateNew(valueCount);
+      noNulls.allocateNew(valueCount);
+      for (int i = 0; i < valueCount; i++) {
+        if (i % 2 != 0) {
+          left.set(i, i);
+        }
+        if (i % 3 != 0) {
+          right.set(i, i);
+        }
+        noNulls.set(i, i);
+      }
+      left.setValueCount(valueCount);
+      right.setValueCount(valueCount);
+      noNulls.setValueCount(valueCount);
+
+      int nullCount = BitVectorHelper.andValidity(left, right, output, valueCount);
+      int expectedNullCount = 0;
+      for (int i = 0; i < valueCount; i++) {
+        int expected = i % 2 != 0 && i % 3 != 0 ? 1 : 0;
+        expectedNullCount += 1 - expected;
+        assertEquals(expected, BitVectorHelper.get(output, i));
+      }
+      assertEquals(expectedNullCount, nullCount);
+
+      assertEquals(left.getNullCount(), BitVectorHelper.andValidity(left, noNulls, output, valueCount));
+      for (int i = 0; i < valueCount; i++) {
+        assertEquals(left.isSet(i), BitVectorHelper.get(output, i));
+      }
+
+      assertEquals(0, BitVectorHelper.andValidity(noNulls, noNulls, output, valueCount));
+      assertTrue(BitVectorHelper.checkAllBitsEqualTo(output, valueCount, true));
+    }
+  }
+
   private void concatAndVerify(ArrowBuf buf1, int count1, ArrowBuf buf2, int count2, ArrowBuf output) {
     BitVectorHelper.concatBits(buf1, count1, buf2, count2, output);
     int outputIdx = 0;
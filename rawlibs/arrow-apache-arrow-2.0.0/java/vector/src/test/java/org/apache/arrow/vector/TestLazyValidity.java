@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.util.TransferPair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestLazyValidity {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void init() {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+  }
+
+  @After
+  public void terminate() throws Exception {
+    allocator.close();
+  }
+
+  @Test
+  public void testAllocateWithoutValidity() {
+    try (IntVector vector = new IntVector("int", allocator)) {
+      vector.setLazyValidity(true);
+      vector.allocateNew(1024);
+      assertTrue(vector.isValidityOmitted());
+      assertEquals(1024 * 4, allocator.getAllocatedMemory());
+
+      for (int i = 0; i < 2000; i++) {
+        vector.setSafe(i, i);
+      }
+      vector.setValueCount(2000);
+      assertTrue(vector.isValidityOmitted());
+      assertEquals(0, vector.getNullCount());
+      for (int i = 0; i < 2000; i++) {
+        assertFalse(vector.isNull(i));
+        assertEquals(i, vector.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void testFirstNullAllocatesValidity() {
+    try (BigIntVector vector = new BigIntVector("bigint", allocator)) {
+      vector.setLazyValidity(true);
+      vector.allocateNew(64);
+      for (int i = 0; i < 64; i++) {
+        vector.set(i, i);
+      }
+      final long allocated = allocator.getAllocatedMemory();
+
+      vector.setNull(10);
+      assertFalse(vector.isValidityOmitted());
+      assertTrue(allocator.getAllocatedMemory() > allocated);
+
+      vector.setValueCount(64);
+      assertEquals(1, vector.getNullCount());
+      assertTrue(vector.isNull(10));
+      for (int i = 0; i < 64; i++) {
+        if (i != 10) {
+          assertEquals(i, vector.get(i));
+        }
+      }
+
+      // a new allocation starts again without validity buffer
+      vector.allocateNew(64);
+      assertTrue(vector.isValidityOmitted());
+    }
+  }
+
+  @Test
+  public void testGetValidityBuffer() {
+    try (IntVector vector = new IntVector("int", allocator)) {
+      vector.setLazyValidity(true);
+      vector.allocateNew(16);
+      vector.set(0, 1);
+      vector.setValueCount(16);
+
+      // the getter doesn't allocate the omitted validity buffer
+      final long allocated = allocator.getAllocatedMemory();
+      assertEquals(0, vector.getValidityBuffer().capacity());
+      assertTrue(vector.isValidityOmitted());
+      assertEquals(allocated, allocator.getAllocatedMemory());
+
+      ArrowBuf validity = BitVectorHelper.getValidityBitmap(vector);
+      assertFalse(vector.isValidityOmitted());
+      for (int i = 0; i < 16; i++) {
+        assertEquals(1, BitVectorHelper.get(validity, i));
+      }
+    }
+  }
+
+  @Test
+  public void testTransferAndSplit() {
+    try (IntVector vector = new IntVector("int", allocator);
+         IntVector target = new IntVector("target", allocator)) {
+      vector.setLazyValidity(true);
+      vector.allocateNew(32);
+      for (int i = 0; i < 32; i++) {
+        vector.set(i, i);
+      }
+      vector.setValueCount(32);
+
+      TransferPair transferPair = vector.makeTransferPair(target);
+      transferPair.splitAndTransfer(3, 10);
+      assertTrue(target.isValidityOmitted());
+      assertEquals(10, target.getValueCount());
+      assertEquals(0, target.getNullCount());
+      assertEquals(3, target.get(0));
+
+      transferPair.transfer();
+      assertTrue(target.isValidityOmitted());
+      assertEquals(32, target.getValueCount());
+      assertEquals(31, target.get(31));
+    }
+  }
+
+  @Test
+  public void testUnloadLoadWithoutNulls() {
+    try (IntVector source = new IntVector("int", allocator);
+         IntVector nullable = new IntVector("nullable", allocator)) {
+      for (int i = 0; i < 100; i++) {
+        source.setSafe(i, i);
+        if (i % 3 == 0) {
+          nullable.setNull(i);
+        } else {
+          nullable.setSafe(i, i);
+        }
+      }
+      source.setValueCount(100);
+      nullable.setValueCount(100);
+
+      List<FieldVector> vectors = Arrays.asList(source, nullable);
+      VectorSchemaRoot root = new VectorSchemaRoot(
+          Arrays.asList(source.getField(), nullable.getField()), vectors, 100);
+      try (ArrowRecordBatch batch = new VectorUnloader(root).getRecordBatch()) {
+        List<ArrowBuf> buffers = batch.getBuffers();
+        assertEquals(0, buffers.get(0).readableBytes());
+        assertEquals(100 * 4, buffers.get(1).readableBytes());
+        assertTrue(buffers.get(2).readableBytes() > 0);
+
+        try (IntVector loaded = new IntVector("int", allocator)) {
+          loaded.setLazyValidity(true);
+          final long allocated = allocator.getAllocatedMemory();
+          loaded.loadFieldBuffers(new ArrowFieldNode(100, 0), buffers.subList(0, 2));
+          assertTrue(loaded.isValidityOmitted());
+          assertEquals(allocated, allocator.getAllocatedMemory());
+          assertEquals(0, loaded.getNullCount());
+          for (int i = 0; i < 100; i++) {
+            assertEquals(i, loaded.get(i));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testUnloadLoadWithoutNullCount() {
+    try (IntVector source = new IntVector("int", allocator);
+         IntVector nullable = new IntVector("nullable", allocator)) {
+      source.setLazyValidity(true);
+      source.allocateNew(10);
+      for (int i = 0; i < 10; i++) {
+        source.set(i, i);
+        nullable.setSafe(i, i);
+      }
+      source.setValueCount(10);
+      nullable.setValueCount(10);
+
+      List<FieldVector> vectors = Arrays.asList(source, nullable);
+      VectorSchemaRoot root = new VectorSchemaRoot(
+          Arrays.asList(source.getField(), nullable.getField()), vectors, 10);
+      try (ArrowRecordBatch batch = new VectorUnloader(root, false, false).getRecordBatch()) {
+        // the null count of an omitted validity buffer is known, the other one is unknown
+        assertEquals(0, batch.getNodes().get(0).getNullCount());
+        assertEquals(-1, batch.getNodes().get(1).getNullCount());
+
+        try (IntVector loaded = new IntVector("nullable", allocator)) {
+          loaded.setLazyValidity(true);
+          loaded.loadFieldBuffers(batch.getNodes().get(1), batch.getBuffers().subList(2, 4));
+          assertFalse(loaded.isValidityOmitted());
+          assertEquals(0, loaded.getNullCount());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testLoadEmptyValidityWithoutNulls() {
+    try (Float8Vector source = new Float8Vector("float8", allocator);
+         Float8Vector loaded = new Float8Vector("float8", allocator)) {
+      source.setLazyValidity(true);
+      source.allocateNew(8);
+      for (int i = 0; i < 8; i++) {
+        source.set(i, i * 0.5);
+      }
+      source.setValueCount(8);
+
+      List<ArrowBuf> buffers = source.getFieldBuffers();
+      assertEquals(0, buffers.get(0).readableBytes());
+      loaded.setLazyValidity(true);
+      loaded.loadFieldBuffers(new ArrowFieldNode(8, 0), buffers);
+      assertTrue(loaded.isValidityOmitted());
+
+      loaded.setNull(2);
+      assertEquals(1, loaded.getNullCount());
+      assertEquals(3.5, loaded.get(7), 0);
+      assertTrue(loaded.isNull(2));
+    }
+  }
+
+  @Test
+  public void testLoadWithoutNullsKeepsValidityByDefault() {
+    try (IntVector source = new IntVector("int", allocator);
+         IntVector loaded = new IntVector("int", allocator)) {
+      source.setLazyValidity(true);
+      source.allocateNew(10);
+      for (int i = 0; i < 10; i++) {
+        source.set(i, i);
+      }
+      source.setValueCount(10);
+
+      List<ArrowBuf> buffers = source.getFieldBuffers();
+      assertEquals(0, buffers.get(0).readableBytes());
+      loaded.loadFieldBuffers(new ArrowFieldNode(10, 0), buffers);
+      assertFalse(loaded.isValidityOmitted());
+
+      final long allocated = allocator.getAllocatedMemory();
+      ArrowBuf validity = loaded.getValidityBuffer();
+      assertEquals(allocated, allocator.getAllocatedMemory());
+      for (int i = 0; i < 10; i++) {
+        assertEquals(1, BitVectorHelper.get(validity, i));
+      }
+    }
+  }
+
+  @Test
+  public void testMaterializeValidity() {
+    try (IntVector vector = new IntVector("int", allocator)) {
+      vector.setLazyValidity(true);
+      vector.allocateNew(16);
+      vector.set(0, 1);
+      vector.setValueCount(16);
+      assertTrue(vector.isValidityOmitted());
+
+      vector.materializeValidity();
+      assertFalse(vector.isValidityOmitted());
+      final long allocated = allocator.getAllocatedMemory();
+      vector.getValidityBuffer();
+      assertEquals(allocated, allocator.getAllocatedMemory());
+      assertEquals(0, vector.getNullCount());
+    }
+  }
+}
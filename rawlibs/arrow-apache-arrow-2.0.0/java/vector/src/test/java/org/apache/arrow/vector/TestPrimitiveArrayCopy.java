@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for the bulk primitive array import and export of fixed width vectors.
+ */
+public class TestPrimitiveArrayCopy {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void init() {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+  }
+
+  @After
+  public void terminate() throws Exception {
+    allocator.close();
+  }
+
+  @Test
+  public void testBigIntRoundTrip() {
+    final long[] values = new long[100];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i * 1000L;
+    }
+    try (BigIntVector vector = new BigIntVector("vector", allocator)) {
+      vector.allocateNew(10);
+      vector.setNull(0);
+      vector.setValuesSafe(1, values, 0, values.length);
+      vector.setValueCount(values.length + 1);
+
+      assertTrue(vector.isNull(0));
+      assertEquals(1, vector.getNullCount());
+      for (int i = 0; i < values.length; i++) {
+        assertEquals(values[i], vector.get(i + 1));
+      }
+
+      final long[] exported = new long[values.length + 2];
+      vector.getValues(1, exported, 2, values.length);
+      for (int i = 0; i < values.length; i++) {
+        assertEquals(values[i], exported[i + 2]);
+      }
+    }
+  }
+
+  @Test
+  public void testNullSentinel() {
+    final int[] values = {1, Integer.MIN_VALUE, 3, 4, Integer.MIN_VALUE, 6, 7, 8, 9, Integer.MIN_VALUE};
+    try (IntVector vector = new IntVector("vector", allocator)) {
+      vector.allocateNew(values.length);
+      vector.setValues(0, values, 0, values.length, Integer.MIN_VALUE);
+      vector.setValueCount(values.length);
+
+      assertEquals(3, vector.getNullCount());
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] == Integer.MIN_VALUE) {
+          assertTrue(vector.isNull(i));
+        } else {
+          assertEquals(values[i], vector.get(i));
+        }
+      }
+
+      final int[] exported = new int[values.length];
+      vector.getValues(0, exported, 0, values.length, Integer.MIN_VALUE);
+      assertArrayEquals(values, exported);
+    }
+  }
+
+  @Test
+  public void testFloat8NaNSentinel() {
+    final double[] values = {1.5, Double.NaN, -2.5, 0.0};
+    try (Float8Vector vector = new Float8Vector("vector", allocator)) {
+      vector.allocateNew(values.length);
+      vector.setValues(0, values, 0, values.length, Double.NaN);
+      vector.setValueCount(values.length);
+
+      assertEquals(1, vector.getNullCount());
+      assertTrue(vector.isNull(1));
+
+      final double[] exported = new double[values.length];
+      vector.getValues(0, exported, 0, values.length, Double.NaN);
+      assertArrayEquals(values, exported, 0);
+    }
+  }
+
+  @Test
+  public void testOtherTypes() {
+    final byte[] bytes = {1, 2, 3, 4, 5};
+    try (TinyIntVector vector = new TinyIntVector("vector", allocator)) {
+      vector.allocateNew(bytes.length);
+      vector.setValues(0, bytes, 0, bytes.length);
+      vector.setValueCount(bytes.length);
+      final byte[] exported = new byte[bytes.length];
+      vector.getValues(0, exported, 0, bytes.length);
+      assertArrayEquals(bytes, exported);
+    }
+
+    final long[] timestamps = {1_000_000_000L, Long.MIN_VALUE, 3_000_000_000L};
+    try (TimeStampNanoVector vector = new TimeStampNanoVector("vector", allocator)) {
+      vector.allocateNew(timestamps.length);
+      vector.setValues(0, timestamps, 0, timestamps.length, Long.MIN_VALUE);
+      vector.setValueCount(timestamps.length);
+      assertTrue(vector.isNull(1));
+      assertEquals(3_000_000_000L, vector.get(2));
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testSetBeyondCapacity() {
+    try (IntVector vector = new IntVector("vector", allocator)) {
+      vector.allocateNew(16);
+      vector.setValues(vector.getValueCapacity() - 1, new int[2], 0, 2);
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGetBeyondValueCount() {
+    try (IntVector vector = new IntVector("vector", allocator)) {
+      vector.allocateNew(16);
+      vector.setValueCount(4);
+      vector.getValues(2, new int[4], 0, 4);
+    }
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.compare.VectorEqualsVisitor;
+import org.apache.arrow.vector.complex.RunEndEncodedType;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.TransferPair;
+import org.apache.arrow.vector.util.ValueVectorUtility;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestRunEndEncodedVector {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void init() {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+  }
+
+  @After
+  public void terminate() throws Exception {
+    allocator.close();
+  }
+
+  /**
+   * Fills the vector with the runs [0] * 3, [null] * 2, [1] * 5, [2] * 1.
+   */
+  private void populate(RunEndEncodedVector vector) {
+    try (IntVector values = new IntVector("values", allocator)) {
+      values.allocateNew(4);
+      values.set(0, 0);
+      values.setNull(1);
+      values.set(2, 1);
+      values.set(3, 2);
+      values.setValueCount(4);
+
+      vector.appendRun(values, 0, 3);
+      vector.appendRun(values, 1, 2);
+      vector.appendRun(values, 2, 5);
+      vector.appendRun(values, 3, 1);
+    }
+  }
+
+  private RunEndEncodedVector newVector(String name) {
+    return RunEndEncodedVector.empty(name, FieldType.nullable(MinorType.INT.getType()), allocator);
+  }
+
+  @Test
+  public void testAppendRuns() {
+    try (RunEndEncodedVector vector = newVector("ree")) {
+      populate(vector);
+
+      assertEquals(11, vector.getValueCount());
+      assertEquals(4, vector.getRunCount());
+      assertEquals(2, vector.getNullCount());
+      assertEquals(3, vector.getRunEnd(0));
+      assertEquals(11, vector.getRunEnd(3));
+
+      final Object[] expected = {0, 0, 0, null, null, 1, 1, 1, 1, 1, 2};
+      for (int i = 0; i < expected.length; i++) {
+        assertEquals(expected[i], vector.getObject(i));
+        assertEquals(expected[i] == null, vector.isNull(i));
+      }
+      assertEquals(0, vector.getPhysicalIndex(2));
+      assertEquals(1, vector.getPhysicalIndex(3));
+      assertEquals(2, vector.getPhysicalIndex(9));
+      assertEquals(3, vector.getPhysicalIndex(10));
+      ValueVectorUtility.validateFull(vector);
+    }
+  }
+
+  @Test
+  public void testSetValueCountTruncates() {
+    try (RunEndEncodedVector vector = newVector("ree")) {
+      populate(vector);
+      vector.setValueCount(7);
+
+      assertEquals(7, vector.getValueCount());
+      assertEquals(3, vector.getRunCount());
+      assertEquals(7, vector.getRunEnd(2));
+      assertEquals(1, vector.getObject(6));
+      ValueVectorUtility.validateFull(vector);
+    }
+  }
+
+  @Test
+  public void testSplitAndTransfer() {
+    try (RunEndEncodedVector vector = newVector("ree")) {
+      populate(vector);
+      TransferPair transferPair = vector.getTransferPair(allocator);
+      try (RunEndEncodedVector to = (RunEndEncodedVector) transferPair.getTo()) {
+        transferPair.splitAndTransfer(1, 6);
+
+        assertEquals(6, to.getValueCount());
+        assertEquals(3, to.getRunCount());
+        assertEquals(2, to.getRunEnd(0));
+        assertEquals(4, to.getRunEnd(1));
+        assertEquals(6, to.getRunEnd(2));
+        final Object[] expected = {0, 0, null, null, 1, 1};
+        for (int i = 0; i < expected.length; i++) {
+          assertEquals(expected[i], to.getObject(i));
+        }
+        ValueVectorUtility.validateFull(to);
+
+        transferPair.transfer();
+        assertEquals(0, vector.getValueCount());
+        assertEquals(11, to.getValueCount());
+        assertEquals(4, to.getRunCount());
+        assertNull(to.getObject(4));
+      }
+    }
+  }
+
+  @Test
+  public void testRangeEquals() {
+    try (RunEndEncodedVector vector1 = newVector("ree");
+         RunEndEncodedVector vector2 = newVector("ree");
+         IntVector values = new IntVector("values", allocator)) {
+      populate(vector1);
+      populate(vector2);
+      assertTrue(VectorEqualsVisitor.vectorEquals(vector1, vector2));
+
+      // the same elements, with a different split into runs.
+      values.allocateNew(1);
+      values.set(0, 9);
+      values.setValueCount(1);
+      vector2.appendRun(values, 0, 2);
+      vector1.appendRun(values, 0, 1);
+      vector1.appendRun(values, 0, 1);
+      assertTrue(VectorEqualsVisitor.vectorEquals(vector1, vector2));
+
+      vector1.appendRun(vector1.getValuesVector(), 0, 1);
+      vector2.appendRun(vector2.getValuesVector(), 2, 1);
+      assertFalse(VectorEqualsVisitor.vectorEquals(vector1, vector2));
+    }
+  }
+
+  @Test
+  public void testUnloadLoad() {
+    try (RunEndEncodedVector vector = newVector("ree")) {
+      populate(vector);
+      Schema schema = new Schema(Collections.singletonList(vector.getField()));
+      assertTrue(schema.getFields().get(0).getType() instanceof RunEndEncodedType);
+
+      VectorSchemaRoot root = new VectorSchemaRoot(schema.getFields(),
+          Collections.singletonList(vector), vector.getValueCount());
+      try (ArrowRecordBatch batch = new VectorUnloader(root).getRecordBatch();
+           VectorSchemaRoot loaded = VectorSchemaRoot.create(schema, allocator)) {
+        new VectorLoader(loaded).load(batch);
+
+        assertEquals(11, loaded.getRowCount());
+        FieldVector loadedVector = loaded.getVector(0);
+        assertTrue(loadedVector instanceof RunEndEncodedVector);
+        assertEquals(4, ((RunEndEncodedVector) loadedVector).getRunCount());
+        assertTrue(VectorEqualsVisitor.vectorEquals(vector, loadedVector));
+        ValueVectorUtility.validateFull(loaded);
+      }
+    }
+  }
+
+  @Test
+  public void testCreateFromField() {
+    try (RunEndEncodedVector vector = newVector("ree")) {
+      Field field = vector.getField();
+      assertEquals(2, field.getChildren().size());
+      assertFalse(field.getChildren().get(0).isNullable());
+
+      try (FieldVector created = field.createVector(allocator)) {
+        assertTrue(created instanceof RunEndEncodedVector);
+        assertEquals(field, created.getField());
+      }
+    }
+  }
+}
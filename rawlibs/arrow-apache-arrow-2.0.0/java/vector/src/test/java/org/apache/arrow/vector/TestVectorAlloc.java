@@ -18,6 +18,7 @@
 package org.apache.arrow.vector;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -103,4 +104,34 @@ public class TestVectorAlloc {
       }
     }
   }
+
+  @Test
+  public void testVectorAllocWithStripedAccounting() {
+    try (BufferAllocator allocator = new RootAllocator(RootAllocator.configBuilder()
+            .stripeChunkSize(64 * 1024)
+            .build());
+         BufferAllocator child = allocator.newChildAllocator("child", 0, Long.MAX_VALUE);
+         IntVector vector = new IntVector("int", child)) {
+      assertEquals(64 * 1024, child.getStripeChunkSize());
+      vector.allocateNew(1024);
+      assertTrue(child.getAllocatedMemory() > 0);
+      vector.close();
+      assertEquals(0, child.getAllocatedMemory());
+    }
+  }
+
+  @Test
+  public void testVectorAllocWithAlignment() {
+    try (BufferAllocator allocator = new RootAllocator(RootAllocator.configBuilder()
+            .alignment(64)
+            .build());
+         BufferAllocator child = allocator.newChildAllocator("child", 0, Long.MAX_VALUE);
+         IntVector vector = new IntVector("int", child)) {
+      assertEquals(64, child.getAlignment());
+      vector.allocateNew(100);
+      assertEquals(0, vector.getDataBuffer().memoryAddress() % 64);
+      vector.close();
+      assertEquals(0, child.getAllocatedMemory());
+    }
+  }
 }
@@ -22,6 +22,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -31,6 +32,7 @@ import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
 import org.apache.arrow.vector.complex.ListVector;
 import org.apache.arrow.vector.complex.impl.UnionListWriter;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.FieldType;
@@ -221,6 +223,93 @@ public class TestVectorSchemaRoot {
     }
   }
 
+  private VectorSchemaRoot createSliceSharedRoot(int rowCount) {
+    final IntVector intVector = new IntVector("int", allocator);
+    final VarCharVector varCharVector = new VarCharVector("varchar", allocator);
+    intVector.allocateNew(rowCount);
+    varCharVector.allocateNew(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      if (i % 3 == 0) {
+        intVector.setNull(i);
+        varCharVector.setNull(i);
+      } else {
+        intVector.set(i, i);
+        varCharVector.setSafe(i, ("value" + i).getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    intVector.setValueCount(rowCount);
+    varCharVector.setValueCount(rowCount);
+    return new VectorSchemaRoot(Arrays.asList(intVector, varCharVector));
+  }
+
+  @Test
+  public void testSliceShared() {
+    try (final VectorSchemaRoot original = createSliceSharedRoot(100)) {
+      final long allocatedMemory = allocator.getAllocatedMemory();
+      try (final VectorSchemaRoot slice = original.sliceShared(13, 50)) {
+        // the slice doesn't allocate any buffer.
+        assertEquals(allocatedMemory, allocator.getAllocatedMemory());
+        assertEquals(50, slice.getRowCount());
+
+        try (final VectorSchemaRoot expected = original.slice(13, 50)) {
+          assertTrue(expected.equals(slice));
+          for (int i = 0; i < 2; i++) {
+            assertEquals(expected.getVector(i).getNullCount(), slice.getVector(i).getNullCount());
+          }
+        }
+
+        // slice of a slice.
+        try (final VectorSchemaRoot nested = slice.sliceShared(5, 30);
+             final VectorSchemaRoot expected = original.slice(18, 30)) {
+          assertTrue(expected.equals(nested));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSliceSharedCopiesOnWrite() {
+    try (final VectorSchemaRoot original = createSliceSharedRoot(40);
+         final VectorSchemaRoot expected = original.slice(0, 40)) {
+      try (final VectorSchemaRoot slice = original.sliceShared(5, 10)) {
+        final IntVector intSlice = (IntVector) slice.getVector(0);
+        final VarCharVector varCharSlice = (VarCharVector) slice.getVector(1);
+        intSlice.setSafe(1, 1000);
+        intSlice.setNull(2);
+        varCharSlice.setNull(2);
+        varCharSlice.setSafe(10, "appended".getBytes(StandardCharsets.UTF_8));
+        varCharSlice.setValueCount(11);
+
+        assertEquals(1000, intSlice.get(1));
+        assertTrue(intSlice.isNull(2));
+        assertTrue(varCharSlice.isNull(2));
+        assertEquals("value8", varCharSlice.getObject(3).toString());
+        assertEquals("appended", varCharSlice.getObject(10).toString());
+      }
+      // the original is not modified.
+      assertTrue(expected.equals(original));
+      for (int i = 0; i < 2; i++) {
+        assertEquals(expected.getVector(i).getNullCount(), original.getVector(i).getNullCount());
+      }
+    }
+  }
+
+  @Test
+  public void testSliceSharedUnloadLoad() {
+    try (final VectorSchemaRoot original = createSliceSharedRoot(100);
+         final VectorSchemaRoot slice = original.sliceShared(29, 42);
+         final VectorSchemaRoot expected = original.slice(29, 42);
+         final VectorSchemaRoot loaded = VectorSchemaRoot.create(original.getSchema(), allocator)) {
+      try (final ArrowRecordBatch batch = new VectorUnloader(slice).getRecordBatch()) {
+        new VectorLoader(loaded).load(batch);
+      }
+      assertTrue(expected.equals(loaded));
+      for (int i = 0; i < 2; i++) {
+        assertEquals(expected.getVector(i).getNullCount(), loaded.getVector(i).getNullCount());
+      }
+    }
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testSliceWithInvalidParam() {
     try (final IntVector intVector = new IntVector("intVector", allocator);
@@ -21,11 +21,14 @@ import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
@@ -38,6 +41,9 @@ import org.apache.arrow.vector.complex.writer.BaseWriter.ListWriter;
 import org.apache.arrow.vector.complex.writer.BaseWriter.StructWriter;
 import org.apache.arrow.vector.complex.writer.BigIntWriter;
 import org.apache.arrow.vector.complex.writer.IntWriter;
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.compression.Lz4CompressionCodec;
+import org.apache.arrow.vector.compression.ZstdCompressionCodec;
 import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 import org.apache.arrow.vector.types.pojo.ArrowType;
@@ -322,6 +328,90 @@ public class TestVectorUnloadLoad {
     }
   }
 
+  @Test
+  public void testUnloadLoadParallelCompression() {
+    final int count = 20000;
+    final List<FieldVector> sources = new ArrayList<>();
+    for (int k = 0; k < 8; k++) {
+      IntVector vector = new IntVector("int" + k, allocator);
+      vector.allocateNew(count);
+      for (int i = 0; i < count; i++) {
+        if (i % (k + 2) != 0) {
+          vector.set(i, i * k);
+        }
+      }
+      sources.add(vector);
+    }
+    VarCharVector strings = new VarCharVector("strings", allocator);
+    strings.allocateNew(count);
+    for (int i = 0; i < count; i++) {
+      strings.setSafe(i, ("value" + i % 100).getBytes());
+    }
+    sources.add(strings);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (VectorSchemaRoot root = new VectorSchemaRoot(sources)) {
+      root.setRowCount(count);
+      for (CompressionCodec codec : asList(new Lz4CompressionCodec(), new ZstdCompressionCodec())) {
+        for (long threshold : new long[] {0, 32 * 1024, Long.MAX_VALUE}) {
+          try (ArrowRecordBatch serialBatch = new VectorUnloader(root, true, codec, true).getRecordBatch();
+               ArrowRecordBatch parallelBatch =
+                   new VectorUnloader(root, true, codec, true, executor, threshold).getRecordBatch();
+               VectorSchemaRoot newRoot = VectorSchemaRoot.create(root.getSchema(), allocator)) {
+            // the buffers are compressed the same way, whichever thread does it
+            assertEquals(serialBatch.computeBodyLength(), parallelBatch.computeBodyLength());
+
+            new VectorLoader(newRoot, executor, threshold).load(parallelBatch);
+            assertEquals(count, newRoot.getRowCount());
+            for (int k = 0; k < sources.size(); k++) {
+              FieldVector source = sources.get(k);
+              FieldVector target = newRoot.getVector(k);
+              for (int i = 0; i < count; i++) {
+                assertEquals(source.getObject(i), target.getObject(i));
+              }
+            }
+          }
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testParallelCompressionFailure() {
+    final int count = 20000;
+    final CompressionCodec failingCodec = new Lz4CompressionCodec() {
+      @Override
+      protected long doCompress(BufferAllocator allocator, long input, long length, long output) {
+        if (length > count * 4) {
+          throw new IllegalStateException("cannot compress");
+        }
+        return super.doCompress(allocator, input, length, output);
+      }
+    };
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try (IntVector ints = new IntVector("ints", allocator);
+         BigIntVector longs = new BigIntVector("longs", allocator);
+         VectorSchemaRoot root = VectorSchemaRoot.of(ints, longs)) {
+      ints.allocateNew(count);
+      longs.allocateNew(count);
+      for (int i = 0; i < count; i++) {
+        ints.set(i, i);
+        longs.set(i, i);
+      }
+      root.setRowCount(count);
+
+      VectorUnloader unloader = new VectorUnloader(root, true, failingCodec, true, executor, 0);
+      assertThrows(IllegalStateException.class, unloader::getRecordBatch);
+      // the vectors still own their buffers, and nothing leaked
+      assertEquals(count - 1, ints.get(count - 1));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   public static VectorUnloader newVectorUnloader(FieldVector root) {
     Schema schema = new Schema(root.getField().getChildren());
     int valueCount = root.getValueCount();
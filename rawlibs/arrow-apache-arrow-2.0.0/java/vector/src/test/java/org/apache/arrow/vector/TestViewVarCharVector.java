@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.compare.VectorEqualsVisitor;
+import org.apache.arrow.vector.dictionary.DictionaryHashTable;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.TransferPair;
+import org.apache.arrow.vector.util.ValueVectorUtility;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestViewVarCharVector {
+
+  private static final String[] VALUES = {
+      "AAPL", null, "a string longer than twelve bytes", "", "exactly12byt", "a string longer than 12", "MSFT"
+  };
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void init() {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+  }
+
+  @After
+  public void terminate() throws Exception {
+    allocator.close();
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private void populate(ViewVarCharVector vector) {
+    vector.allocateNew(VALUES.length);
+    for (int i = 0; i < VALUES.length; i++) {
+      if (VALUES[i] == null) {
+        vector.setNull(i);
+      } else {
+        vector.set(i, bytes(VALUES[i]));
+      }
+    }
+    vector.setValueCount(VALUES.length);
+  }
+
+  private void assertValues(ViewVarCharVector vector) {
+    assertEquals(VALUES.length, vector.getValueCount());
+    for (int i = 0; i < VALUES.length; i++) {
+      if (VALUES[i] == null) {
+        assertTrue(vector.isNull(i));
+        assertNull(vector.getObject(i));
+      } else {
+        assertArrayEquals(bytes(VALUES[i]), vector.get(i));
+        assertEquals(VALUES[i].length(), vector.getValueLength(i));
+      }
+    }
+  }
+
+  @Test
+  public void testSetAndGet() {
+    try (ViewVarCharVector vector = new ViewVarCharVector("view", allocator)) {
+      populate(vector);
+      assertValues(vector);
+      assertEquals(1, vector.getNullCount());
+      // only the strings longer than 12 bytes are in a data buffer
+      assertEquals(1, vector.getDataBuffers().size());
+      ValueVectorUtility.validateFull(vector);
+    }
+  }
+
+  @Test
+  public void testGrowWithoutCopyingStrings() {
+    try (ViewVarCharVector vector = new ViewVarCharVector("view", allocator)) {
+      vector.allocateNew(4);
+      final byte[] value = new byte[ViewVarCharVector.DATA_BUFFER_SIZE / 3];
+      for (int i = 0; i < 10; i++) {
+        value[0] = (byte) i;
+        vector.setSafe(i, value);
+      }
+      vector.setValueCount(10);
+
+      // full data buffers are kept as they are, and new ones are added
+      assertEquals(4, vector.getDataBuffers().size());
+      for (ArrowBuf dataBuffer : vector.getDataBuffers()) {
+        assertEquals(ViewVarCharVector.DATA_BUFFER_SIZE, dataBuffer.capacity());
+      }
+      for (int i = 0; i < 10; i++) {
+        assertEquals(i, vector.get(i)[0]);
+        assertEquals(value.length, vector.get(i).length);
+      }
+      ValueVectorUtility.validateFull(vector);
+    }
+  }
+
+  @Test
+  public void testCompareAndEquals() {
+    try (ViewVarCharVector vector = new ViewVarCharVector("view", allocator)) {
+      vector.allocateNew(8);
+      vector.set(0, bytes("AAPL"));
+      vector.set(1, bytes("AAPL"));
+      vector.set(2, bytes("AAP"));
+      vector.set(3, bytes("a string longer than twelve bytes"));
+      vector.set(4, bytes("a string longer than 12"));
+      vector.set(5, bytes("a string longer than twelve bytes"));
+      vector.set(6, new byte[] {(byte) 0xff, 0, 0, 0});
+      vector.set(7, new byte[] {(byte) 0xff, 0, 0, 0, 0});
+      vector.setValueCount(8);
+
+      assertEquals(0, vector.compareValues(0, vector, 1));
+      assertTrue(vector.valuesEqual(0, vector, 1));
+      assertTrue(vector.compareValues(2, vector, 0) < 0);
+      assertFalse(vector.valuesEqual(2, vector, 0));
+
+      assertEquals(0, vector.compareValues(3, vector, 5));
+      assertTrue(vector.valuesEqual(3, vector, 5));
+      assertTrue(vector.compareValues(4, vector, 3) < 0);
+      assertFalse(vector.valuesEqual(4, vector, 3));
+
+      // unsigned comparison, and a prefix is smaller
+      assertTrue(vector.compareValues(6, vector, 0) > 0);
+      assertTrue(vector.compareValues(6, vector, 7) < 0);
+      assertTrue(vector.compareValues(7, vector, 6) > 0);
+
+      assertEquals(vector.hashCode(3), vector.hashCode(5));
+      assertEquals(vector.hashCode(0), vector.hashCode(1));
+    }
+  }
+
+  @Test
+  public void testHashCodeMatchesVarChar() {
+    try (ViewVarCharVector vector = new ViewVarCharVector("view", allocator);
+         VarCharVector varChar = new VarCharVector("varchar", allocator)) {
+      populate(vector);
+      varChar.allocateNew();
+      for (int i = 0; i < VALUES.length; i++) {
+        if (VALUES[i] != null) {
+          varChar.setSafe(i, bytes(VALUES[i]));
+        }
+      }
+      varChar.setValueCount(VALUES.length);
+
+      for (int i = 0; i < VALUES.length; i++) {
+        assertEquals(varChar.hashCode(i), vector.hashCode(i));
+      }
+    }
+  }
+
+  @Test
+  public void testDictionaryHashTable() {
+    try (ViewVarCharVector dictionary = new ViewVarCharVector("dict", allocator);
+         ViewVarCharVector vector = new ViewVarCharVector("view", allocator)) {
+      dictionary.allocateNew(3);
+      dictionary.set(0, bytes("MSFT"));
+      dictionary.set(1, bytes("a string longer than 12"));
+      dictionary.set(2, bytes("AAPL"));
+      dictionary.setValueCount(3);
+      populate(vector);
+
+      DictionaryHashTable hashTable = new DictionaryHashTable(dictionary);
+      assertEquals(2, hashTable.getIndex(0, vector));
+      assertEquals(-1, hashTable.getIndex(2, vector));
+      assertEquals(1, hashTable.getIndex(5, vector));
+      assertEquals(0, hashTable.getIndex(6, vector));
+    }
+  }
+
+  @Test
+  public void testSplitAndTransfer() {
+    try (ViewVarCharVector vector = new ViewVarCharVector("view", allocator)) {
+      populate(vector);
+      TransferPair transferPair = vector.getTransferPair(allocator);
+      try (ViewVarCharVector to = (ViewVarCharVector) transferPair.getTo()) {
+        transferPair.splitAndTransfer(1, 5);
+        assertEquals(5, to.getValueCount());
+        for (int i = 0; i < 5; i++) {
+          assertEquals(vector.getObject(i + 1), to.getObject(i));
+        }
+        ValueVectorUtility.validateFull(to);
+
+        // appending to the target doesn't overwrite the shared data buffer
+        to.setSafe(5, bytes("another string longer than 12"));
+        to.setValueCount(6);
+        assertEquals(2, to.getDataBuffers().size());
+        assertValues(vector);
+
+        transferPair.transfer();
+        assertEquals(0, vector.getValueCount());
+        assertValues(to);
+      }
+    }
+  }
+
+  @Test
+  public void testCopyFromAndAppend() {
+    try (ViewVarCharVector vector = new ViewVarCharVector("view", allocator);
+         ViewVarCharVector target = new ViewVarCharVector("view", allocator)) {
+      populate(vector);
+      target.allocateNew(1);
+      for (int i = 0; i < VALUES.length; i++) {
+        target.copyFromSafe(i, i, vector);
+      }
+      target.setValueCount(VALUES.length);
+      assertValues(target);
+      assertTrue(VectorEqualsVisitor.vectorEquals(vector, target));
+
+      target.setSafe(3, bytes("changed"));
+      assertFalse(VectorEqualsVisitor.vectorEquals(vector, target));
+    }
+  }
+
+  @Test
+  public void testUnloadLoad() {
+    try (ViewVarCharVector vector = new ViewVarCharVector("view", allocator)) {
+      populate(vector);
+      Schema schema = new Schema(Collections.singletonList(vector.getField()));
+      VectorSchemaRoot root = new VectorSchemaRoot(schema.getFields(),
+          Collections.singletonList(vector), vector.getValueCount());
+      try (ArrowRecordBatch batch = new VectorUnloader(root).getRecordBatch();
+           VectorSchemaRoot loaded = VectorSchemaRoot.create(schema, allocator)) {
+        // the offsets and data in VarChar layout
+        int dataLength = 0;
+        for (String value : VALUES) {
+          dataLength += value == null ? 0 : value.length();
+        }
+        assertEquals(dataLength, batch.getBuffers().get(2).readableBytes());
+
+        new VectorLoader(loaded).load(batch);
+        ViewVarCharVector loadedVector = (ViewVarCharVector) loaded.getVector(0);
+        assertValues(loadedVector);
+        assertTrue(VectorEqualsVisitor.vectorEquals(vector, loadedVector));
+        ValueVectorUtility.validateFull(loaded);
+      }
+    }
+  }
+}
@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.compression;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import org.apache.arrow.flatbuf.CompressionType;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.SeekableReadChannel;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class TestCompressionCodec {
+
+  /**
+   * The squares modulo 97 of 0 to 2047, as 32-bit little-endian integers.
+   */
+  private static final byte[] REFERENCE_DATA = squares(2048);
+
+  /**
+   * {@link #REFERENCE_DATA} compressed by the zstd library at level 3, with a content checksum.
+   */
+  private static final String ZSTD_REFERENCE_FRAME =
+      "28b52ffd64001f45060022cc141710b7e61be204f624d960e673f0ff1ea410020a918896a4af72cb2fcfdc73eada054f" +
+      "5c72cdaf13ee38e7db1bdf1cf0c8ab2ffeb9e19d1f1e3ae3d8271f1cf4c703974e39e2dca7630eb9e28577cf6efd3dfa" +
+      "302010124210c31e797ea8c3df7e6f6d9cb5f065e1ea85a7168e5af8b170f3c24b0b272d7c58b878e1a185830bff16ee" +
+      "2cbc2d9c59f85eb8b6f0bc7074e1c7c2cdc28b85d3854f0b970b0f170e5cf85bb8bff0b6707ee16be1fac2d3c2f185cf" +
+      "0bb70b6f164e5978b7706ee17781e02e9002a0f5a0c8";
+
+  /**
+   * {@link #REFERENCE_DATA} compressed by the lz4 library with linked blocks, block and content checksums.
+   */
+  private static final String LZ4_REFERENCE_FRAME =
+      "04224d187c400020000000000000377b010000f3b2000000000100000004000000090000001000000019000000240000" +
+      "0031000000400000005100000003000000180000002f00000048000000020000001f0000003e0000005f000000210000" +
+      "00460000000c00000035000000600000002c0000005b0000002b0000005e0000003200000008000000410000001b0000" +
+      "00580000003600000016000000590000003d000000230000000b00000056000000420000003000000020000000120000" +
+      "00060000005d000000550000004f0000004b000000490400000c00001400001c00002400002c00003400003c00004400" +
+      "004c00005400005c00006400006c00007400007c00008400008c00009400009c0000a40000ac0000b40000bc0000c400" +
+      "00cc0000d40000dc0000e40000ec0000f40000fc00000401000c01001401001c01002401002c01003401003c01004401" +
+      "004c01005401005c01006401006c0113047c010002000f8401ffffffffffffffffffffffffffffffffffffffffffffff" +
+      "ffffffffffffff7e50000300000019f71c5c00000000f19ff33a";
+
+  private final CompressionCodec codec;
+  private BufferAllocator allocator;
+
+  public TestCompressionCodec(String name, CompressionCodec codec) {
+    this.codec = codec;
+  }
+
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> getCodecs() {
+    return Arrays.asList(
+        new Object[] {"LZ4_FRAME", new Lz4CompressionCodec()},
+        new Object[] {"ZSTD", new ZstdCompressionCodec()});
+  }
+
+  @Before
+  public void init() {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+  }
+
+  @After
+  public void terminate() {
+    allocator.close();
+  }
+
+  @Test
+  public void testRoundTrip() {
+    final Random random = new Random(42);
+    final byte[] text = repeat("the quick brown fox jumps over the lazy dog, ", 5000);
+    final byte[] runs = new byte[300_000];
+    for (int i = 0; i < runs.length; i++) {
+      runs[i] = (byte) (i / 1000);
+    }
+    final byte[] mixed = new byte[200_000];
+    random.nextBytes(mixed);
+    Arrays.fill(mixed, 50_000, 150_000, (byte) 7);
+
+    for (byte[] data : new byte[][] {new byte[] {1}, "abcabcabcabc".getBytes(StandardCharsets.UTF_8),
+        REFERENCE_DATA, squares(1_000_000), text, runs, mixed, new byte[500_000]}) {
+      try (ArrowBuf compressed = codec.compress(allocator, toBuffer(data))) {
+        if (data.length >= 64) {
+          assertTrue(compressed.writerIndex() < data.length);
+          assertEquals(data.length, compressed.getLong(0));
+        }
+        compressed.getReferenceManager().retain();
+        try (ArrowBuf decompressed = codec.decompress(allocator, compressed)) {
+          assertArrayEquals(data, toBytes(decompressed));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testIncompressibleBufferIsLeftUncompressed() {
+    final byte[] data = new byte[100_000];
+    new Random(1).nextBytes(data);
+    try (ArrowBuf compressed = codec.compress(allocator, toBuffer(data))) {
+      assertEquals(CompressionUtil.NO_COMPRESSION_LENGTH, compressed.getLong(0));
+      assertEquals(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH + data.length, compressed.writerIndex());
+      compressed.getReferenceManager().retain();
+      try (ArrowBuf decompressed = codec.decompress(allocator, compressed)) {
+        assertArrayEquals(data, toBytes(decompressed));
+      }
+    }
+  }
+
+  @Test
+  public void testEmptyBuffer() {
+    try (ArrowBuf compressed = codec.compress(allocator, allocator.buffer(0))) {
+      assertEquals(0, compressed.writerIndex());
+      compressed.getReferenceManager().retain();
+      try (ArrowBuf decompressed = codec.decompress(allocator, compressed)) {
+        assertEquals(0, decompressed.writerIndex());
+      }
+    }
+
+    // an empty buffer compressed with a prefix
+    final ArrowBuf prefixed = allocator.buffer(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH);
+    prefixed.setLong(0, 0);
+    prefixed.writerIndex(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH);
+    try (ArrowBuf decompressed = codec.decompress(allocator, prefixed)) {
+      assertEquals(0, decompressed.writerIndex());
+    }
+  }
+
+  @Test
+  public void testDecompressReferenceFrame() {
+    final byte[] frame = hexToBytes(codec instanceof ZstdCompressionCodec ? ZSTD_REFERENCE_FRAME : LZ4_REFERENCE_FRAME);
+    final byte[] prefixed = new byte[frame.length + 8];
+    prefixed[0] = (byte) REFERENCE_DATA.length;
+    prefixed[1] = (byte) (REFERENCE_DATA.length >>> 8);
+    System.arraycopy(frame, 0, prefixed, 8, frame.length);
+    try (ArrowBuf decompressed = codec.decompress(allocator, toBuffer(prefixed))) {
+      assertArrayEquals(REFERENCE_DATA, toBytes(decompressed));
+    }
+  }
+
+  @Test
+  public void testMalformedInput() {
+    final byte[] compressed;
+    try (ArrowBuf buffer = codec.compress(allocator, toBuffer(squares(10_000)))) {
+      compressed = toBytes(buffer);
+    }
+
+    // truncated frame
+    assertThrows(IllegalArgumentException.class,
+        () -> codec.decompress(allocator, toBuffer(Arrays.copyOf(compressed, compressed.length - 5))));
+    // wrong uncompressed length
+    final byte[] wrongLength = compressed.clone();
+    wrongLength[0]++;
+    assertThrows(IllegalArgumentException.class, () -> codec.decompress(allocator, toBuffer(wrongLength)));
+    // missing prefix
+    assertThrows(IllegalArgumentException.class, () -> codec.decompress(allocator, toBuffer(new byte[] {1, 2})));
+
+    // corrupted bytes may only be detected as malformed, never read or write out of bounds
+    final Random random = new Random(3);
+    for (int i = 0; i < 1000; i++) {
+      final byte[] corrupted = compressed.clone();
+      final int position = 8 + random.nextInt(corrupted.length - 8);
+      corrupted[position] ^= (byte) (1 << random.nextInt(8));
+      try {
+        codec.decompress(allocator, toBuffer(corrupted)).close();
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void testCreateCodec() {
+    final byte type = codec instanceof ZstdCompressionCodec ? CompressionType.ZSTD : CompressionType.LZ4_FRAME;
+    assertEquals(codec.getCodecName(), CompressionUtil.createCodec(type).getCodecName());
+    assertEquals(type, CompressionUtil.createBodyCompression(codec).getCodec());
+  }
+
+  @Test
+  public void testFileRoundTrip() throws IOException {
+    final int count = 10_000;
+    try (IntVector ints = new IntVector("ints", allocator);
+         VarCharVector strings = new VarCharVector("strings", allocator);
+         VectorSchemaRoot root = VectorSchemaRoot.of(ints, strings)) {
+      ints.allocateNew(count);
+      strings.allocateNew(count);
+      for (int i = 0; i < count; i++) {
+        ints.set(i, i % 100);
+        if (i % 3 != 0) {
+          strings.setSafe(i, ("value" + i % 10).getBytes(StandardCharsets.UTF_8));
+        }
+      }
+      root.setRowCount(count);
+
+      final byte[] compressed = writeFile(root, codec);
+      assertTrue(compressed.length < writeFile(root, NoCompressionCodec.INSTANCE).length);
+
+      try (ArrowFileReader reader = new ArrowFileReader(
+          new SeekableReadChannel(new ByteArrayReadableSeekableByteChannel(compressed)), allocator)) {
+        for (int batch = 0; batch < 2; batch++) {
+          assertTrue(reader.loadNextBatch());
+          final VectorSchemaRoot read = reader.getVectorSchemaRoot();
+          assertEquals(count, read.getRowCount());
+          for (int i = 0; i < count; i++) {
+            assertEquals(ints.getObject(i), read.getVector("ints").getObject(i));
+            assertEquals(strings.getObject(i), read.getVector("strings").getObject(i));
+          }
+        }
+      }
+    }
+  }
+
+  private byte[] writeFile(VectorSchemaRoot root, CompressionCodec fileCodec) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final IpcOption option = new IpcOption();
+    option.codec = fileCodec;
+    try (ArrowFileWriter writer = new ArrowFileWriter(root, null, Channels.newChannel(out), option)) {
+      writer.start();
+      writer.writeBatch();
+      writer.writeBatch();
+      writer.end();
+    }
+    return out.toByteArray();
+  }
+
+  private ArrowBuf toBuffer(byte[] data) {
+    final ArrowBuf buffer = allocator.buffer(data.length);
+    buffer.setBytes(0, data);
+    buffer.writerIndex(data.length);
+    return buffer;
+  }
+
+  private static byte[] toBytes(ArrowBuf buffer) {
+    final byte[] bytes = new byte[(int) buffer.writerIndex()];
+    buffer.getBytes(0, bytes);
+    return bytes;
+  }
+
+  private static byte[] squares(int count) {
+    final byte[] data = new byte[count * 4];
+    for (int i = 0; i < count; i++) {
+      final int value = (int) ((long) i * i % 97);
+      data[i * 4] = (byte) value;
+    }
+    return data;
+  }
+
+  private static byte[] repeat(String value, int count) {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      builder.append(value);
+    }
+    return builder.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] hexToBytes(String hex) {
+    final byte[] bytes = new byte[hex.length() / 2];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+    }
+    return bytes;
+  }
+}
@@ -19,8 +19,10 @@ package org.apache.arrow.vector.ipc;
 
 import static java.nio.channels.Channels.newChannel;
 import static org.apache.arrow.vector.TestUtils.newVarCharVector;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -28,10 +30,14 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.util.Collections2;
 import org.apache.arrow.vector.FieldVector;
@@ -72,6 +78,72 @@ public class TestArrowFile extends BaseFileTest {
     }
   }
 
+  @Test
+  public void testReadMemoryMapped() throws IOException {
+    File file = new File("target/mytest_read_mapped.arrow");
+    int count = COUNT;
+    try (
+        BufferAllocator vectorAllocator = allocator.newChildAllocator("original vectors", 0, Integer.MAX_VALUE);
+        StructVector parent = StructVector.empty("parent", vectorAllocator)) {
+      writeData(count, parent);
+      write(parent.getChild("root"), file, null);
+    }
+
+    try (BufferAllocator readerAllocator = allocator.newChildAllocator("reader", 0, Integer.MAX_VALUE)) {
+      try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+           ArrowFileReader reader = new ArrowFileReader(channel, readerAllocator, true)) {
+        VectorSchemaRoot root = reader.getVectorSchemaRoot();
+        assertEquals(0, readerAllocator.getAllocatedMemory());
+        assertTrue(reader.loadNextBatch());
+        assertEquals(count, root.getRowCount());
+        validateContent(count, root);
+
+        // the buffers reference the mapped file, accounted to the allocator
+        long remaining = file.length() - reader.getRecordBlocks().get(0).getOffset();
+        assertEquals(remaining, readerAllocator.getAllocatedMemory());
+        assertFalse(reader.loadNextBatch());
+      }
+      assertEquals(0, readerAllocator.getAllocatedMemory());
+    }
+
+    // the file is mapped copy-on-write, which a read-only channel doesn't allow
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      assertThrows(IllegalArgumentException.class, () -> new ArrowFileReader(channel, allocator, true));
+    }
+  }
+
+  @Test
+  public void testReadMemoryMappedReleasesBatches() throws IOException {
+    File file = new File("target/mytest_read_mapped_release.arrow");
+    int count = COUNT;
+    try (
+        BufferAllocator vectorAllocator = allocator.newChildAllocator("original vectors", 0, Integer.MAX_VALUE);
+        StructVector parent = StructVector.empty("parent", vectorAllocator)) {
+      writeData(count, parent);
+      write(parent.getChild("root"), file, null);
+    }
+
+    try (BufferAllocator readerAllocator = allocator.newChildAllocator("reader", 0, Integer.MAX_VALUE);
+         FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      ArrowFileReader reader = new ArrowFileReader(channel, readerAllocator, true);
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      assertTrue(reader.loadNextBatch());
+
+      // buffers retained from the vectors keep the mapping alive after the reader is closed
+      List<ArrowBuf> buffers = new ArrayList<>();
+      for (FieldVector vector : root.getFieldVectors()) {
+        ArrowBuf buffer = vector.getDataBuffer();
+        buffer.getReferenceManager().retain();
+        buffers.add(buffer);
+      }
+      reader.close();
+      assertTrue(readerAllocator.getAllocatedMemory() > 0);
+      assertEquals(1, buffers.get(0).getInt(4));
+      buffers.forEach(buffer -> buffer.getReferenceManager().release());
+      assertEquals(0, readerAllocator.getAllocatedMemory());
+    }
+  }
+
   /**
    * Writes the contents of parents to file. If outStream is non-null, also writes it
    * to outStream in the streaming serialized format.
@@ -26,10 +26,12 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.Channels;
@@ -41,6 +43,9 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import org.apache.arrow.flatbuf.FieldNode;
@@ -60,6 +65,7 @@ import org.apache.arrow.vector.VectorLoader;
 import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.arrow.vector.VectorUnloader;
 import org.apache.arrow.vector.compare.VectorEqualsVisitor;
+import org.apache.arrow.vector.complex.StructVector;
 import org.apache.arrow.vector.dictionary.Dictionary;
 import org.apache.arrow.vector.dictionary.DictionaryEncoder;
 import org.apache.arrow.vector.dictionary.DictionaryProvider;
@@ -783,4 +789,298 @@ public class TestArrowReaderWriter {
       }
     }
   }
+
+  private VectorSchemaRoot createProjectionData() {
+    final int count = 10000;
+    IntVector a = new IntVector("a", allocator);
+    VarCharVector b = newVarCharVector("b", allocator);
+    StructVector s = StructVector.empty("s", allocator);
+    IntVector x = s.addOrGet("x", FieldType.nullable(new ArrowType.Int(32, true)), IntVector.class);
+    VarCharVector y = s.addOrGet("y", FieldType.nullable(new ArrowType.Utf8()), VarCharVector.class);
+    IntVector c = new IntVector("c", allocator);
+    for (int i = 0; i < count; i++) {
+      a.setSafe(i, i);
+      b.setSafe(i, ("a long enough value " + i).getBytes(StandardCharsets.UTF_8));
+      s.setIndexDefined(i);
+      x.setSafe(i, -i);
+      y.setSafe(i, ("y" + i).getBytes(StandardCharsets.UTF_8));
+      if (i % 3 != 0) {
+        c.setSafe(i, i * 2);
+      }
+    }
+    List<FieldVector> vectors = Arrays.asList(a, b, s, c);
+    vectors.forEach(vector -> vector.setValueCount(count));
+    List<Field> fields = vectors.stream().map(FieldVector::getField).collect(Collectors.toList());
+    return new VectorSchemaRoot(fields, vectors, count);
+  }
+
+  private void validateProjection(VectorSchemaRoot expected, VectorSchemaRoot actual) {
+    assertEquals(2, actual.getFieldVectors().size());
+    StructVector s = (StructVector) actual.getVector("s");
+    assertEquals(Collections.singletonList("y"),
+        s.getField().getChildren().stream().map(Field::getName).collect(Collectors.toList()));
+    StructVector expectedS = (StructVector) expected.getVector("s");
+    assertEquals(expected.getRowCount(), actual.getRowCount());
+    assertTrue(VectorEqualsVisitor.vectorEquals(expectedS.getChild("y"), s.getChild("y")));
+    assertTrue(VectorEqualsVisitor.vectorEquals(expected.getVector("c"), actual.getVector("c")));
+  }
+
+  @Test
+  public void testReadProjection() throws IOException {
+    try (VectorSchemaRoot root = createProjectionData()) {
+      ByteArrayOutputStream fileOut = new ByteArrayOutputStream();
+      ByteArrayOutputStream streamOut = new ByteArrayOutputStream();
+      try (ArrowFileWriter fileWriter = new ArrowFileWriter(root, null, newChannel(fileOut));
+           ArrowStreamWriter streamWriter = new ArrowStreamWriter(root, null, newChannel(streamOut))) {
+        fileWriter.start();
+        streamWriter.start();
+        for (int i = 0; i < 2; i++) {
+          fileWriter.writeBatch();
+          streamWriter.writeBatch();
+        }
+        fileWriter.end();
+        streamWriter.end();
+      }
+
+      long fullBytesRead;
+      try (ArrowFileReader reader = new ArrowFileReader(
+          new ByteArrayReadableSeekableByteChannel(fileOut.toByteArray()), allocator)) {
+        while (reader.loadNextBatch()) {
+          assertEquals(4, reader.getVectorSchemaRoot().getFieldVectors().size());
+        }
+        fullBytesRead = reader.bytesRead();
+      }
+
+      // the projected fields keep the order of the schema, and the struct only holds the projected child
+      try (ArrowFileReader reader = new ArrowFileReader(
+          new ByteArrayReadableSeekableByteChannel(fileOut.toByteArray()), allocator)) {
+        reader.setProjection(Arrays.asList("c", "s.y"));
+        VectorSchemaRoot projected = reader.getVectorSchemaRoot();
+        assertEquals(Arrays.asList("s", "c"),
+            projected.getSchema().getFields().stream().map(Field::getName).collect(Collectors.toList()));
+        for (int i = 0; i < 2; i++) {
+          assertTrue(reader.loadNextBatch());
+          validateProjection(root, projected);
+        }
+        assertFalse(reader.loadNextBatch());
+
+        // the buffers of "a" and "b" are skipped
+        long skipped = root.getVector("a").getBufferSize() + root.getVector("b").getBufferSize();
+        assertTrue(reader.bytesRead() <= fullBytesRead - 2 * skipped);
+      }
+
+      try (ArrowStreamReader reader = new ArrowStreamReader(
+          new ByteArrayInputStream(streamOut.toByteArray()), allocator)) {
+        reader.setProjection(Arrays.asList("s.y", "c"));
+        VectorSchemaRoot projected = reader.getVectorSchemaRoot();
+        for (int i = 0; i < 2; i++) {
+          assertTrue(reader.loadNextBatch());
+          validateProjection(root, projected);
+        }
+        assertFalse(reader.loadNextBatch());
+      }
+    }
+  }
+
+  @Test
+  public void testReadProjectionInvalid() throws IOException {
+    try (VectorSchemaRoot root = createProjectionData()) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (ArrowFileWriter writer = new ArrowFileWriter(root, null, newChannel(out))) {
+        writer.start();
+        writer.writeBatch();
+        writer.end();
+      }
+
+      for (String path : Arrays.asList("d", "s.z", "a.x", "s.")) {
+        try (ArrowFileReader reader = new ArrowFileReader(
+            new ByteArrayReadableSeekableByteChannel(out.toByteArray()), allocator)) {
+          reader.setProjection(Collections.singletonList(path));
+          assertThrows(IllegalArgumentException.class, reader::getVectorSchemaRoot);
+        }
+      }
+
+      try (ArrowFileReader reader = new ArrowFileReader(
+          new ByteArrayReadableSeekableByteChannel(out.toByteArray()), allocator)) {
+        reader.getVectorSchemaRoot();
+        assertThrows(IllegalStateException.class, () -> reader.setProjection(Collections.singletonList("a")));
+      }
+    }
+  }
+
+  @Test
+  public void testReadAhead() throws IOException {
+    final int batchCount = 20;
+    final int count = 1000;
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (IntVector vector = new IntVector("a", allocator);
+         VectorSchemaRoot root = new VectorSchemaRoot(Collections.singletonList(vector));
+         ArrowFileWriter writer = new ArrowFileWriter(root, null, newChannel(out))) {
+      writer.start();
+      for (int i = 0; i < batchCount; i++) {
+        for (int j = 0; j < count; j++) {
+          vector.setSafe(j, i * count + j);
+        }
+        root.setRowCount(count);
+        writer.writeBatch();
+      }
+      writer.end();
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try (BufferAllocator readerAllocator = allocator.newChildAllocator("reader", 0, Long.MAX_VALUE)) {
+      try (ArrowFileReader reader = new ArrowFileReader(
+          new ByteArrayReadableSeekableByteChannel(out.toByteArray()), readerAllocator)) {
+        reader.setReadAhead(executor, 4, 16 * 1024);
+        IntVector vector = (IntVector) reader.getVectorSchemaRoot().getVector("a");
+        for (int i = 0; i < batchCount; i++) {
+          assertTrue(reader.loadNextBatch());
+          assertEquals(count, vector.getValueCount());
+          assertEquals(i * count, vector.get(0));
+          assertEquals(i * count + count - 1, vector.get(count - 1));
+        }
+        assertFalse(reader.loadNextBatch());
+
+        // loading a batch out of order discards the batches read ahead
+        assertTrue(reader.loadRecordBatch(reader.getRecordBlocks().get(5)));
+        assertEquals(5 * count, vector.get(0));
+        assertTrue(reader.loadNextBatch());
+        assertEquals(6 * count, vector.get(0));
+        assertTrue(reader.loadRecordBatch(reader.getRecordBlocks().get(2)));
+        assertEquals(2 * count, vector.get(0));
+      }
+      assertEquals(0, readerAllocator.getAllocatedMemory());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testCloseDuringReadAhead() throws Exception {
+    final int batchCount = 5;
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (IntVector vector = new IntVector("a", allocator);
+         VectorSchemaRoot root = new VectorSchemaRoot(Collections.singletonList(vector));
+         ArrowFileWriter writer = new ArrowFileWriter(root, null, newChannel(out))) {
+      writer.start();
+      for (int i = 0; i < batchCount; i++) {
+        vector.setSafe(0, i);
+        root.setRowCount(1);
+        writer.writeBatch();
+      }
+      writer.end();
+    }
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (BufferAllocator readerAllocator = allocator.newChildAllocator("reader", 0, Long.MAX_VALUE)) {
+      BlockingChannel channel = new BlockingChannel(out.toByteArray());
+      ArrowFileReader reader = new ArrowFileReader(channel, readerAllocator);
+      reader.setReadAhead(executor, batchCount, Long.MAX_VALUE);
+      // the reads of the blocks following the first one wait for the gate
+      channel.blockFrom = reader.getRecordBlocks().get(1).getOffset();
+      assertTrue(reader.loadNextBatch());
+      channel.readStarted.await();
+
+      final Thread closingThread = Thread.currentThread();
+      Thread opener = new Thread(() -> {
+        // open the gate once the reader waits for the read in progress
+        while (closingThread.getState() != Thread.State.WAITING) {
+          Thread.yield();
+        }
+        channel.gate.countDown();
+      });
+      opener.start();
+      reader.close();
+      opener.join();
+
+      assertFalse(channel.readAfterClose);
+      assertEquals(0, readerAllocator.getAllocatedMemory());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testInterruptedReadAhead() throws Exception {
+    final int batchCount = 5;
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (IntVector vector = new IntVector("a", allocator);
+         VectorSchemaRoot root = new VectorSchemaRoot(Collections.singletonList(vector));
+         ArrowFileWriter writer = new ArrowFileWriter(root, null, newChannel(out))) {
+      writer.start();
+      for (int i = 0; i < batchCount; i++) {
+        vector.setSafe(0, i);
+        root.setRowCount(1);
+        writer.writeBatch();
+      }
+      writer.end();
+    }
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (BufferAllocator readerAllocator = allocator.newChildAllocator("reader", 0, Long.MAX_VALUE)) {
+      BlockingChannel channel = new BlockingChannel(out.toByteArray());
+      try (ArrowFileReader reader = new ArrowFileReader(channel, readerAllocator)) {
+        reader.setReadAhead(executor, batchCount, Long.MAX_VALUE);
+        IntVector vector = (IntVector) reader.getVectorSchemaRoot().getVector("a");
+        // the reads of the blocks following the first one wait for the gate
+        channel.blockFrom = reader.getRecordBlocks().get(1).getOffset();
+        assertTrue(reader.loadNextBatch());
+        assertEquals(0, vector.get(0));
+
+        // interrupted while waiting for the second batch
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedIOException.class, reader::loadNextBatch);
+        assertTrue(Thread.interrupted());
+
+        // the next load returns the batch whose read was interrupted
+        channel.gate.countDown();
+        for (int i = 1; i < batchCount; i++) {
+          assertTrue(reader.loadNextBatch());
+          assertEquals(i, vector.get(0));
+        }
+        assertFalse(reader.loadNextBatch());
+      }
+      assertEquals(0, readerAllocator.getAllocatedMemory());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * A channel whose reads past a position block until a gate is opened, recording reads after it
+   * is closed.
+   */
+  private static class BlockingChannel extends ByteArrayReadableSeekableByteChannel {
+    private final CountDownLatch readStarted = new CountDownLatch(1);
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private volatile long blockFrom = Long.MAX_VALUE;
+    private volatile boolean closed;
+    private volatile boolean readAfterClose;
+
+    BlockingChannel(byte[] bytes) {
+      super(bytes);
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+      if (closed) {
+        readAfterClose = true;
+      }
+      if (position() >= blockFrom) {
+        readStarted.countDown();
+        try {
+          gate.await();
+        } catch (InterruptedException e) {
+          throw new InterruptedIOException();
+        }
+      }
+      return super.read(dst);
+    }
+
+    @Override
+    public void close() throws IOException {
+      closed = true;
+      super.close();
+    }
+  }
 }
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.spill;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestSpillManager {
+
+  private static final int ROW_COUNT = 4096;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private BufferAllocator rootAllocator;
+  private SpillManager manager;
+  private BufferAllocator allocator;
+
+  @Before
+  public void init() {
+    rootAllocator = new RootAllocator(Long.MAX_VALUE);
+    manager = new SpillManager(folder.getRoot().toPath());
+    allocator = rootAllocator.newChildAllocator("spill", manager, 0, Long.MAX_VALUE);
+  }
+
+  @After
+  public void terminate() throws Exception {
+    manager.close();
+    allocator.close();
+    rootAllocator.close();
+  }
+
+  private VectorSchemaRoot createRoot(int offset) {
+    IntVector vector = new IntVector("ints", allocator);
+    vector.allocateNew(ROW_COUNT);
+    for (int i = 0; i < ROW_COUNT; i++) {
+      if (i % 7 == 0) {
+        vector.setNull(i);
+      } else {
+        vector.set(i, offset + i);
+      }
+    }
+    vector.setValueCount(ROW_COUNT);
+    return VectorSchemaRoot.of(vector);
+  }
+
+  private void verifyRoot(VectorSchemaRoot root, int offset) {
+    assertEquals(ROW_COUNT, root.getRowCount());
+    IntVector vector = (IntVector) root.getVector(0);
+    for (int i = 0; i < ROW_COUNT; i++) {
+      if (i % 7 == 0) {
+        assertTrue(vector.isNull(i));
+      } else {
+        assertEquals(offset + i, vector.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void testSpillOnFailedAllocation() throws Exception {
+    try (SpillableBatch first = new SpillableBatch(manager, createRoot(0), allocator);
+         SpillableBatch second = new SpillableBatch(manager, createRoot(ROW_COUNT), allocator)) {
+      // leave no headroom, so that the next allocation has to spill one batch.
+      allocator.setLimit(allocator.getAllocatedMemory());
+
+      try (ArrowBuf buf = allocator.buffer(1024)) {
+        assertEquals(1, manager.getSpillCount());
+        assertTrue(first.isSpilled() ^ second.isSpilled());
+      }
+
+      allocator.setLimit(Long.MAX_VALUE);
+      verifyRoot(first.pin(), 0);
+      verifyRoot(second.pin(), ROW_COUNT);
+      assertFalse(first.isSpilled());
+      assertFalse(second.isSpilled());
+      first.unpin();
+      second.unpin();
+    }
+    assertEquals(0, allocator.getAllocatedMemory());
+    assertEquals(0, folder.getRoot().list().length);
+  }
+
+  @Test
+  public void testPinnedBatchNotSpilled() throws Exception {
+    try (SpillableBatch first = new SpillableBatch(manager, createRoot(0), allocator);
+         SpillableBatch second = new SpillableBatch(manager, createRoot(ROW_COUNT), allocator)) {
+      first.pin();
+      long freed = manager.spill(Long.MAX_VALUE);
+      assertTrue(freed > 0);
+      assertFalse(first.isSpilled());
+      assertTrue(second.isSpilled());
+      assertEquals(1, folder.getRoot().list().length);
+      first.unpin();
+
+      // spilling again only affects the batch that was pinned.
+      manager.spill(Long.MAX_VALUE);
+      assertTrue(first.isSpilled());
+      assertEquals(2, manager.getSpillCount());
+
+      verifyRoot(second.pin(), ROW_COUNT);
+      second.unpin();
+      assertEquals(1, folder.getRoot().list().length);
+    }
+    assertEquals(0, allocator.getAllocatedMemory());
+    assertEquals(0, folder.getRoot().list().length);
+  }
+}
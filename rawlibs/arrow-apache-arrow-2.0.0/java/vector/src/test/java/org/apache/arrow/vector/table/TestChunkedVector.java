@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestChunkedVector {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void init() {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+  }
+
+  @After
+  public void terminate() throws Exception {
+    allocator.close();
+  }
+
+  /* chunks of the given sizes, holding consecutive values, with a null every 5 values */
+  private ChunkedVector createChunkedVector(int... chunkSizes) {
+    final List<FieldVector> chunks = new ArrayList<>();
+    int value = 0;
+    for (int chunkSize : chunkSizes) {
+      final IntVector chunk = new IntVector("int", allocator);
+      chunk.allocateNew(chunkSize);
+      for (int i = 0; i < chunkSize; i++, value++) {
+        if (value % 5 == 0) {
+          chunk.setNull(i);
+        } else {
+          chunk.set(i, value);
+        }
+      }
+      chunk.setValueCount(chunkSize);
+      chunks.add(chunk);
+    }
+    return new ChunkedVector(chunks);
+  }
+
+  private static void assertValues(ChunkedVector vector, int firstValue) {
+    for (long i = 0; i < vector.getValueCount(); i++) {
+      final int value = (int) (firstValue + i);
+      assertEquals(value % 5 == 0, vector.isNull(i));
+      assertEquals(value % 5 == 0 ? null : value, vector.getObject(i));
+    }
+  }
+
+  @Test
+  public void testRandomAccess() {
+    try (final ChunkedVector vector = createChunkedVector(10, 0, 7, 0, 0, 33, 1, 0)) {
+      assertEquals(51, vector.getValueCount());
+      assertEquals(11, vector.getNullCount());
+      assertEquals(8, vector.getChunkCount());
+      assertValues(vector, 0);
+
+      assertEquals(0, vector.getChunkIndex(9));
+      assertEquals(2, vector.getChunkIndex(10));
+      assertEquals(5, vector.getChunkIndex(17));
+      assertEquals(6, vector.getChunkIndex(50));
+      assertEquals(17, vector.getChunkStart(5));
+      assertThrows(IndexOutOfBoundsException.class, () -> vector.getObject(51));
+      assertThrows(IndexOutOfBoundsException.class, () -> vector.getObject(-1));
+
+      int chunkCount = 0;
+      for (FieldVector chunk : vector) {
+        assertTrue(chunk == vector.getChunk(chunkCount++));
+      }
+      assertEquals(8, chunkCount);
+    }
+  }
+
+  @Test
+  public void testSlice() {
+    try (final ChunkedVector vector = createChunkedVector(10, 0, 7, 33)) {
+      final long allocatedMemory = allocator.getAllocatedMemory();
+      try (final ChunkedVector slice = vector.slice(3, 20)) {
+        // the slices share the buffers of the chunks.
+        assertEquals(allocatedMemory, allocator.getAllocatedMemory());
+        assertEquals(20, slice.getValueCount());
+        assertEquals(3, slice.getChunkCount());
+        assertEquals(7, slice.getChunk(0).getValueCount());
+        assertEquals(7, slice.getChunk(1).getValueCount());
+        assertEquals(6, slice.getChunk(2).getValueCount());
+        assertValues(slice, 3);
+
+        try (final ChunkedVector nested = slice.slice(10, 10)) {
+          // the last 4 values of the second chunk and the 6 values of the third one.
+          assertEquals(2, nested.getChunkCount());
+          assertEquals(4, nested.getChunk(0).getValueCount());
+          assertEquals(6, nested.getChunk(1).getValueCount());
+          assertValues(nested, 13);
+        }
+      }
+
+      try (final ChunkedVector empty = vector.slice(17, 0)) {
+        assertEquals(0, empty.getValueCount());
+        assertEquals(0, empty.getChunkCount());
+      }
+    }
+  }
+
+  @Test
+  public void testCombineChunks() {
+    try (final ChunkedVector vector = createChunkedVector(10, 0, 7, 33);
+         final IntVector combined = (IntVector) vector.combineChunks(allocator)) {
+      assertEquals(50, combined.getValueCount());
+      for (int i = 0; i < 50; i++) {
+        assertEquals(i % 5 == 0 ? null : i, combined.getObject(i));
+      }
+    }
+
+    try (final ChunkedVector vector = createChunkedVector(10);
+         final ChunkedVector slice = vector.slice(3, 6);
+         final IntVector combined = (IntVector) slice.combineChunks(allocator)) {
+      assertEquals(6, combined.getValueCount());
+      assertNull(combined.getObject(2));
+      assertEquals(3, combined.get(0));
+    }
+  }
+
+  @Test
+  public void testTypeMismatch() {
+    try (final IntVector intVector = new IntVector("int", allocator);
+         final VarCharVector varCharVector = new VarCharVector("int", allocator)) {
+      assertThrows(IllegalArgumentException.class,
+          () -> new ChunkedVector(Arrays.asList(intVector, varCharVector)));
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestTable {
+
+  private static final Schema SCHEMA = new Schema(Arrays.asList(
+      Field.nullable("int", new ArrowType.Int(32, true)),
+      Field.nullable("varchar", ArrowType.Utf8.INSTANCE)));
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void init() {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+  }
+
+  @After
+  public void terminate() throws Exception {
+    allocator.close();
+  }
+
+  /* a batch holding the rows [firstRow, firstRow + rowCount), with a null every 4 rows */
+  private VectorSchemaRoot createBatch(int firstRow, int rowCount) {
+    final VectorSchemaRoot batch = VectorSchemaRoot.create(SCHEMA, allocator);
+    final IntVector intVector = (IntVector) batch.getVector(0);
+    final VarCharVector varCharVector = (VarCharVector) batch.getVector(1);
+    batch.allocateNew();
+    for (int i = 0; i < rowCount; i++) {
+      final int row = firstRow + i;
+      if (row % 4 == 0) {
+        intVector.setNull(i);
+        varCharVector.setNull(i);
+      } else {
+        intVector.setSafe(i, row);
+        varCharVector.setSafe(i, ("row" + row).getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    batch.setRowCount(rowCount);
+    return batch;
+  }
+
+  private Table createTable(int... batchSizes) {
+    final List<VectorSchemaRoot> batches = new ArrayList<>();
+    int firstRow = 0;
+    for (int batchSize : batchSizes) {
+      batches.add(createBatch(firstRow, batchSize));
+      firstRow += batchSize;
+    }
+    return new Table(SCHEMA, batches);
+  }
+
+  private static void assertRows(Table table, int firstRow) {
+    final ChunkedVector intColumn = table.getColumn("int");
+    final ChunkedVector varCharColumn = table.getColumn(1);
+    for (long i = 0; i < table.getRowCount(); i++) {
+      final int row = (int) (firstRow + i);
+      if (row % 4 == 0) {
+        assertTrue(intColumn.isNull(i));
+        assertNull(varCharColumn.getObject(i));
+      } else {
+        assertEquals(row, intColumn.getObject(i));
+        assertEquals("row" + row, varCharColumn.getObject(i).toString());
+      }
+    }
+  }
+
+  @Test
+  public void testColumns() {
+    try (final Table table = createTable(100, 0, 37, 64)) {
+      assertEquals(201, table.getRowCount());
+      assertEquals(4, table.getBatchCount());
+      assertEquals(2, table.getColumnCount());
+      assertEquals(4, table.getColumn(0).getChunkCount());
+      assertNull(table.getColumn("missing"));
+      assertEquals(2, table.getBatchIndex(136));
+      assertEquals(3, table.getBatchIndex(137));
+      assertEquals(137, table.getBatchStart(3));
+      assertRows(table, 0);
+
+      long rowCount = 0;
+      for (VectorSchemaRoot batch : table) {
+        rowCount += batch.getRowCount();
+      }
+      assertEquals(201, rowCount);
+    }
+  }
+
+  @Test
+  public void testSliceAndCombine() {
+    try (final Table table = createTable(100, 0, 37, 64)) {
+      final long allocatedMemory = allocator.getAllocatedMemory();
+      try (final Table slice = table.slice(51, 101)) {
+        // the slices share the buffers of the batches.
+        assertEquals(allocatedMemory, allocator.getAllocatedMemory());
+        assertEquals(101, slice.getRowCount());
+        assertEquals(3, slice.getBatchCount());
+        assertRows(slice, 51);
+
+        try (final Table combined = new Table(Arrays.asList(slice.combineChunks(allocator)))) {
+          assertEquals(1, combined.getBatchCount());
+          assertEquals(101, combined.getRowCount());
+          assertRows(combined, 51);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testRead() throws Exception {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (final VectorSchemaRoot root = VectorSchemaRoot.create(SCHEMA, allocator);
+         final ArrowStreamWriter writer = new ArrowStreamWriter(root, null, out)) {
+      writer.start();
+      for (int firstRow = 0; firstRow < 300; firstRow += 100) {
+        try (final VectorSchemaRoot batch = createBatch(firstRow, 100)) {
+          for (int i = 0; i < 2; i++) {
+            batch.getVector(i).makeTransferPair(root.getVector(i)).transfer();
+          }
+          root.setRowCount(100);
+        }
+        writer.writeBatch();
+      }
+      writer.end();
+    }
+
+    try (final ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()), allocator);
+         final Table table = Table.read(reader)) {
+      assertEquals(3, table.getBatchCount());
+      assertEquals(300, table.getRowCount());
+      assertRows(table, 0);
+    }
+  }
+}
@@ -18,11 +18,20 @@
 package org.apache.arrow.vector.util;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+import java.util.Arrays;
 
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
 import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.StructVector;
 import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.FieldType;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -69,4 +78,100 @@ public class TestVectorBatchAppender {
       }
     }
   }
+
+  @Test
+  public void testBatchAppendManyVarCharVectors() {
+    final int deltaCount = 100;
+    final int deltaLength = 5;
+    VarCharVector[] deltas = new VarCharVector[deltaCount];
+    try (VarCharVector target = new VarCharVector("", allocator)) {
+      for (int i = 0; i < deltaCount; i++) {
+        deltas[i] = new VarCharVector("", allocator);
+        // at most 8 bytes per value, the default allocation would exceed the allocator limit.
+        deltas[i].allocateNew(8 * deltaLength, deltaLength);
+        for (int j = 0; j < deltaLength; j++) {
+          int value = i * deltaLength + j;
+          if (value % 7 != 0) {
+            deltas[i].setSafe(j, new Text("value" + value));
+          }
+        }
+        deltas[i].setValueCount(deltaLength);
+      }
+
+      VectorBatchAppender.batchAppend(target, deltas);
+
+      // the buffers were allocated once, for all the values.
+      assertEquals(deltaCount * deltaLength, target.getValueCount());
+      assertTrue(target.getValueCapacity() >= deltaCount * deltaLength);
+      for (int i = 0; i < target.getValueCount(); i++) {
+        if (i % 7 == 0) {
+          assertTrue(target.isNull(i));
+        } else {
+          assertEquals("value" + i, target.getObject(i).toString());
+        }
+      }
+    } finally {
+      for (VarCharVector delta : deltas) {
+        if (delta != null) {
+          delta.close();
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testBatchAppendListVector() {
+    try (ListVector target = ListVector.empty("target", allocator);
+         ListVector delta1 = ListVector.empty("delta1", allocator);
+         ListVector delta2 = ListVector.empty("delta2", allocator)) {
+
+      target.addOrGetVector(FieldType.nullable(Types.MinorType.INT.getType()));
+      ValueVectorDataPopulator.setVector(delta1, Arrays.asList(0, 1), null, Arrays.asList(2, 3, 4));
+      ValueVectorDataPopulator.setVector(delta2, Arrays.asList(5), Arrays.asList(6, 7, 8, 9));
+
+      VectorBatchAppender.batchAppend(target, delta1, delta2);
+
+      assertEquals(5, target.getValueCount());
+      assertEquals(Arrays.asList(0, 1), target.getObject(0));
+      assertTrue(target.isNull(1));
+      assertEquals(Arrays.asList(2, 3, 4), target.getObject(2));
+      assertEquals(Arrays.asList(5), target.getObject(3));
+      assertEquals(Arrays.asList(6, 7, 8, 9), target.getObject(4));
+    }
+  }
+
+  @Test
+  public void testBatchAppendStructVector() {
+    try (StructVector target = StructVector.empty("target", allocator);
+         StructVector delta1 = StructVector.empty("delta1", allocator);
+         StructVector delta2 = StructVector.empty("delta2", allocator)) {
+
+      target.addOrGet("f0", FieldType.nullable(new ArrowType.Int(32, true)), IntVector.class);
+      target.addOrGet("f1", FieldType.nullable(new ArrowType.Utf8()), VarCharVector.class);
+      populateStructVector(delta1, 0, 3);
+      populateStructVector(delta2, 3, 4);
+
+      VectorBatchAppender.batchAppend(target, delta1, delta2);
+
+      assertEquals(7, target.getValueCount());
+      IntVector child1 = (IntVector) target.getVectorById(0);
+      VarCharVector child2 = (VarCharVector) target.getVectorById(1);
+      for (int i = 0; i < 7; i++) {
+        assertEquals(i, child1.get(i));
+        assertEquals("a" + i, child2.getObject(i).toString());
+      }
+    }
+  }
+
+  private void populateStructVector(StructVector vector, int start, int length) {
+    IntVector child1 = vector.addOrGet("f0", FieldType.nullable(new ArrowType.Int(32, true)), IntVector.class);
+    VarCharVector child2 = vector.addOrGet("f1", FieldType.nullable(new ArrowType.Utf8()), VarCharVector.class);
+    vector.allocateNew();
+    for (int i = 0; i < length; i++) {
+      vector.setIndexDefined(i);
+      child1.setSafe(i, start + i);
+      child2.setSafe(i, new Text("a" + (start + i)));
+    }
+    vector.setValueCount(length);
+  }
 }
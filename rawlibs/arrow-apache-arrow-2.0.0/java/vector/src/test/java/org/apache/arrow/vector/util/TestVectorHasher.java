@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.memory.util.ArrowBufPointer;
+import org.apache.arrow.memory.util.hash.ArrowBufHasher64;
+import org.apache.arrow.memory.util.hash.XxHasher64;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link VectorHasher}.
+ */
+public class TestVectorHasher {
+
+  private static final int VECTOR_LENGTH = 1000;
+
+  private final ArrowBufHasher64 hasher = XxHasher64.INSTANCE;
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(1024 * 1024);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  @Test
+  public void testHashFixedWidthVector() {
+    try (IntVector vector = new IntVector("int", allocator);
+         BigIntVector hashes = new BigIntVector("hashes", allocator)) {
+      vector.allocateNew(VECTOR_LENGTH);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        if (i % 10 == 0) {
+          vector.setNull(i);
+        } else {
+          vector.set(i, i);
+        }
+      }
+      vector.setValueCount(VECTOR_LENGTH);
+
+      VectorHasher.hash(vector, hasher, hashes);
+
+      assertEquals(VECTOR_LENGTH, hashes.getValueCount());
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        assertFalse(hashes.isNull(i));
+        long expected = vector.isNull(i) ? ArrowBufPointer.NULL_HASH_CODE :
+            hasher.hashCode64(vector.getDataBuffer(), (long) i * IntVector.TYPE_WIDTH, IntVector.TYPE_WIDTH);
+        assertEquals(expected, hashes.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void testHashVariableWidthVector() {
+    try (VarCharVector vector = new VarCharVector("varchar", allocator);
+         BigIntVector hashes = new BigIntVector("hashes", allocator)) {
+      vector.allocateNew(VECTOR_LENGTH);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        if (i % 10 == 0) {
+          vector.setNull(i);
+        } else {
+          vector.setSafe(i, ("value" + i).getBytes(StandardCharsets.UTF_8));
+        }
+      }
+      vector.setValueCount(VECTOR_LENGTH);
+
+      VectorHasher.hash(vector, hasher, hashes);
+
+      assertEquals(VECTOR_LENGTH, hashes.getValueCount());
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        long expected = ArrowBufPointer.NULL_HASH_CODE;
+        if (!vector.isNull(i)) {
+          long start = vector.getStartOffset(i);
+          long end = vector.getStartOffset(i + 1);
+          expected = hasher.hashCode64(vector.getDataBuffer(), start, end - start);
+        }
+        assertEquals(expected, hashes.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void testHashEmptyVector() {
+    try (VarCharVector vector = new VarCharVector("varchar", allocator);
+         BigIntVector hashes = new BigIntVector("hashes", allocator)) {
+      vector.setValueCount(0);
+      VectorHasher.hash(vector, hasher, hashes);
+      assertEquals(0, hashes.getValueCount());
+    }
+  }
+}
@@ -21,6 +21,8 @@ import static junit.framework.TestCase.assertEquals;
 import static org.apache.arrow.vector.util.TestVectorAppender.assertVectorsEqual;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
 import org.apache.arrow.vector.BigIntVector;
@@ -105,6 +107,46 @@ public class TestVectorSchemaRootAppender {
     }
   }
 
+  @Test
+  public void testParallelAppend() {
+    final int rootCount = 20;
+    final int rowCount = 10;
+    final VectorSchemaRoot[] roots = new VectorSchemaRoot[rootCount];
+    final ForkJoinPool pool = new ForkJoinPool(2);
+    try (IntVector targetChild1 = new IntVector("t1", allocator);
+         VarCharVector targetChild2 = new VarCharVector("t2", allocator)) {
+      VectorSchemaRoot target = VectorSchemaRoot.of(targetChild1, targetChild2);
+      for (int i = 0; i < rootCount; i++) {
+        IntVector child1 = new IntVector("t1", allocator);
+        VarCharVector child2 = new VarCharVector("t2", allocator);
+        child1.allocateNew(rowCount);
+        child2.allocateNew(rowCount);
+        for (int j = 0; j < rowCount; j++) {
+          int value = i * rowCount + j;
+          child1.set(j, value);
+          child2.setSafe(j, new Text(String.valueOf(value)));
+        }
+        roots[i] = VectorSchemaRoot.of(child1, child2);
+        roots[i].setRowCount(rowCount);
+      }
+
+      VectorSchemaRootAppender.append(pool, true, target, roots);
+
+      assertEquals(rootCount * rowCount, target.getRowCount());
+      for (int i = 0; i < target.getRowCount(); i++) {
+        assertEquals(i, targetChild1.get(i));
+        assertEquals(String.valueOf(i), targetChild2.getObject(i).toString());
+      }
+    } finally {
+      pool.shutdown();
+      for (VectorSchemaRoot root : roots) {
+        if (root != null) {
+          root.close();
+        }
+      }
+    }
+  }
+
   @Test
   public void testRootWithDifferentChildCounts() {
     try (IntVector targetChild1 = new IntVector("t1", allocator);